@@ -0,0 +1,47 @@
+#!/usr/bin/env python3
+"""Compare two JMH json result files: compare.py before.json after.json"""
+
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for entry in json.load(f):
+            params = ",".join("%s=%s" % kv for kv in sorted(entry.get("params", {}).items()))
+            name = entry["benchmark"].rsplit(".", 2)
+            key = "%s.%s" % (name[-2], name[-1]) + ("(%s)" % params if params else "")
+            metric = entry["primaryMetric"]
+            results[key] = (metric["score"], metric["scoreError"], metric["scoreUnit"], entry["mode"])
+        return results
+
+
+def verdict(before, after, mode):
+    low_b, high_b = before[0] - before[1], before[0] + before[1]
+    low_a, high_a = after[0] - after[1], after[0] + after[1]
+    if low_a <= high_b and low_b <= high_a:
+        return "~"
+    lower_is_better = mode in ("avgt", "sample", "ss")
+    better = after[0] < before[0] if lower_is_better else after[0] > before[0]
+    return "faster" if better else "slower"
+
+
+def main():
+    if len(sys.argv) != 3:
+        sys.exit(__doc__)
+    before, after = load(sys.argv[1]), load(sys.argv[2])
+    width = max([len(k) for k in before] + [9])
+    print("%-*s %14s %14s %9s  %s" % (width, "benchmark", "before", "after", "delta", ""))
+    for key in sorted(set(before) | set(after)):
+        if key not in before or key not in after:
+            print("%-*s %s" % (width, key, "only in " + ("after" if key in after else "before")))
+            continue
+        b, a = before[key], after[key]
+        delta = (a[0] - b[0]) / b[0] * 100 if b[0] else 0.0
+        print("%-*s %14s %14s %+8.1f%%  %s %s" % (
+            width, key, "%.3f±%.3f" % b[:2], "%.3f±%.3f" % a[:2], delta, verdict(b, a, b[3]), b[2]))
+
+
+if __name__ == "__main__":
+    main()
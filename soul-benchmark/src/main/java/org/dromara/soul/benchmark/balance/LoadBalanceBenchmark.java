@@ -0,0 +1,89 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.benchmark.balance;
+
+import org.dromara.soul.benchmark.fixture.Fixtures;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.web.balance.utils.LoadBalanceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Load balance benchmark.
+ * runs on four threads so the shared state of round robin is contended as in the gateway, the client
+ * ips rotate through a seeded set so hash does not see a single key.
+ *
+ * @author xiaoyu(Myth)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+public class LoadBalanceBenchmark {
+
+    private static final int IP_COUNT = 1024;
+
+    @Param({"random", "roundRobin", "hash"})
+    private String algorithm;
+
+    @Param({"2", "8", "64"})
+    private int upstreams;
+
+    private List<DivideUpstream> upstreamList;
+
+    private String[] ips;
+
+    private int index;
+
+    /**
+     * Build the upstreams and the client ips.
+     */
+    @Setup
+    public void setUp() {
+        upstreamList = Fixtures.upstreams(upstreams);
+        ips = Fixtures.ips(IP_COUNT);
+    }
+
+    /**
+     * Select.
+     *
+     * @return the upstream
+     */
+    @Benchmark
+    public DivideUpstream select() {
+        index = (index + 1) & (IP_COUNT - 1);
+        return LoadBalanceUtils.selector(upstreamList, algorithm, ips[index]);
+    }
+}
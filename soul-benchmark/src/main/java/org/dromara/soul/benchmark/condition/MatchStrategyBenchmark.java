@@ -0,0 +1,97 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.benchmark.condition;
+
+import org.dromara.soul.benchmark.fixture.Fixtures;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.common.enums.OperatorEnum;
+import org.dromara.soul.common.enums.ParamTypeEnum;
+import org.dromara.soul.web.condition.strategy.MatchStrategyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Match strategy benchmark.
+ * both modes are measured in their worst case: every condition matches for and, only the last one for or,
+ * so all the conditions are judged.
+ *
+ * @author xiaoyu(Myth)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MatchStrategyBenchmark {
+
+    @Param({"and", "or"})
+    private String mode;
+
+    @Param({"1", "4", "16"})
+    private int conditions;
+
+    private Integer strategy;
+
+    private List<ConditionData> conditionList;
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Build the conditions and the request.
+     */
+    @Setup
+    public void setUp() {
+        exchange = Fixtures.exchange(1, 2);
+        if (MatchModeEnum.AND.getName().equals(mode)) {
+            strategy = MatchModeEnum.AND.getCode();
+            conditionList = Fixtures.conditions(conditions, 1, 2);
+        } else {
+            strategy = MatchModeEnum.OR.getCode();
+            conditionList = Fixtures.conditions(conditions, 1, 2);
+            for (int i = 0; i < conditions - 1; i++) {
+                conditionList.set(i, Fixtures.condition(ParamTypeEnum.HEADER, OperatorEnum.EQ, "X-Tenant", "tenant-" + (i + 100)));
+            }
+        }
+    }
+
+    /**
+     * Match.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public boolean match() {
+        return MatchStrategyUtils.match(strategy, conditionList, exchange);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.benchmark.condition;
+
+import org.dromara.soul.benchmark.fixture.Fixtures;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.enums.OperatorEnum;
+import org.dromara.soul.common.enums.ParamTypeEnum;
+import org.dromara.soul.web.condition.judge.OperatorJudgeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Operator judge benchmark.
+ * each operator judges a value it accepts, the uri operators a request path as the strategies pass it.
+ *
+ * @author xiaoyu(Myth)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OperatorJudgeBenchmark {
+
+    @Param({"=", "match", "like", "regEx"})
+    private String operator;
+
+    private ConditionData condition;
+
+    private String realData;
+
+    /**
+     * Build the condition of the operator.
+     */
+    @Setup
+    public void setUp() {
+        switch (OperatorEnum.getOperatorEnumByAlias(operator)) {
+            case EQ:
+                condition = Fixtures.condition(ParamTypeEnum.HEADER, OperatorEnum.EQ, "X-Tenant", "tenant-1");
+                realData = "tenant-1";
+                break;
+            case MATCH:
+                condition = Fixtures.condition(ParamTypeEnum.URI, OperatorEnum.MATCH, "/", "/order/*/item/**");
+                realData = "/order/1/item/2/detail";
+                break;
+            case LIKE:
+                condition = Fixtures.condition(ParamTypeEnum.QUERY, OperatorEnum.LIKE, "channel", "app");
+                realData = "mobile-app-ios";
+                break;
+            default:
+                condition = Fixtures.condition(ParamTypeEnum.URI, OperatorEnum.REGEX, "/", "^/order/\\d+/item/\\d+/.*$");
+                realData = "/order/1/item/2/detail";
+                break;
+        }
+    }
+
+    /**
+     * Judge.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public Boolean judge() {
+        return OperatorJudgeFactory.judge(condition, realData);
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.benchmark.fixture;
+
+import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.common.dto.convert.RateLimiterHandle;
+import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
+import org.dromara.soul.common.enums.LoadBalanceEnum;
+import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.common.enums.OperatorEnum;
+import org.dromara.soul.common.enums.ParamTypeEnum;
+import org.dromara.soul.common.enums.SelectorTypeEnum;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.web.cache.LocalCacheManager;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The type Fixtures.
+ * generates the selectors, rules, upstreams and requests of the benchmarks. Every request is shaped as
+ * {@code GET /order/{selector}/item/{rule}/detail?channel=app-{rule}} with an {@code X-Tenant: tenant-{selector}}
+ * header, and the generated conditions of selector s and rule r match exactly that request. The random
+ * parts are seeded so two runs measure the same data.
+ *
+ * @author xiaoyu(Myth)
+ */
+public final class Fixtures {
+
+    /**
+     * The constant PLUGIN_NAME.
+     */
+    public static final String PLUGIN_NAME = "benchmark";
+
+    private static final long SEED = 20190501L;
+
+    private static final String TENANT_HEADER = "X-Tenant";
+
+    private static final String CHANNEL_QUERY = "channel";
+
+    private Fixtures() {
+    }
+
+    /**
+     * A request of the selector and the rule.
+     *
+     * @param selector the selector index
+     * @param rule     the rule index
+     * @return the exchange
+     */
+    public static ServerWebExchange exchange(final int selector, final int rule) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/order/" + selector + "/item/" + rule + "/detail")
+                .header(TENANT_HEADER, "tenant-" + selector)
+                .queryParam(CHANNEL_QUERY, "app-" + rule)
+                .build());
+    }
+
+    /**
+     * Conditions that all match the request of the selector and the rule, cycling through uri match,
+     * header equals, query like and uri regex.
+     *
+     * @param count    the condition count
+     * @param selector the selector index
+     * @param rule     the rule index
+     * @return the conditions
+     */
+    public static List<ConditionData> conditions(final int count, final int selector, final int rule) {
+        final List<ConditionData> conditions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (i % 4) {
+                case 0:
+                    conditions.add(condition(ParamTypeEnum.URI, OperatorEnum.MATCH, "/", "/order/" + selector + "/**"));
+                    break;
+                case 1:
+                    conditions.add(condition(ParamTypeEnum.HEADER, OperatorEnum.EQ, TENANT_HEADER, "tenant-" + selector));
+                    break;
+                case 2:
+                    conditions.add(condition(ParamTypeEnum.QUERY, OperatorEnum.LIKE, CHANNEL_QUERY, "app-" + rule));
+                    break;
+                default:
+                    conditions.add(condition(ParamTypeEnum.URI, OperatorEnum.REGEX, "/", "^/order/\\d+/item/" + rule + "/.*$"));
+                    break;
+            }
+        }
+        return conditions;
+    }
+
+    /**
+     * A condition.
+     *
+     * @param paramType the param type
+     * @param operator  the operator
+     * @param name      the param name
+     * @param value     the param value
+     * @return the condition
+     */
+    public static ConditionData condition(final ParamTypeEnum paramType, final OperatorEnum operator,
+                                          final String name, final String value) {
+        return new ConditionData(paramType.getName(), operator.getAlias(), name, value);
+    }
+
+    /**
+     * A cache manager of the benchmark plugin, every selector matches its own tenant and path prefix
+     * and every rule its own item and channel.
+     *
+     * @param selectors        the selector count
+     * @param rulesPerSelector the rule count of each selector
+     * @return the local cache manager
+     */
+    public static LocalCacheManager cacheManager(final int selectors, final int rulesPerSelector) {
+        final PluginData plugin = new PluginData("1", PLUGIN_NAME, null, 0, true);
+        final String selectorHandle = GsonUtils.getInstance().toJson(upstreams(4));
+        final String ruleHandle = divideRuleHandleJson();
+        final List<SelectorData> selectorList = new ArrayList<>(selectors);
+        final Map<String, List<RuleData>> rules = new HashMap<>(selectors);
+        for (int s = 0; s < selectors; s++) {
+            final String selectorId = "selector-" + s;
+            selectorList.add(new SelectorData(selectorId, plugin.getId(), PLUGIN_NAME, selectorId,
+                    MatchModeEnum.AND.getCode(), SelectorTypeEnum.CUSTOM_FLOW.getCode(), s, true, false, true,
+                    selectorHandle, conditions(2, s, 0)));
+            final List<RuleData> ruleList = new ArrayList<>(rulesPerSelector);
+            for (int r = 0; r < rulesPerSelector; r++) {
+                ruleList.add(new RuleData("rule-" + s + "-" + r, "rule-" + r, PLUGIN_NAME, selectorId,
+                        MatchModeEnum.AND.getCode(), r, true, false, ruleHandle,
+                        Arrays.asList(condition(ParamTypeEnum.URI, OperatorEnum.MATCH, "/", "/order/*/item/" + r + "/**"),
+                                condition(ParamTypeEnum.QUERY, OperatorEnum.LIKE, CHANNEL_QUERY, "app-" + r))));
+            }
+            rules.put(selectorId, ruleList);
+        }
+        return new FixtureCacheManager(plugin, selectorList, rules);
+    }
+
+    /**
+     * Upstreams with seeded weights.
+     *
+     * @param count the upstream count
+     * @return the upstreams
+     */
+    public static List<DivideUpstream> upstreams(final int count) {
+        final Random random = new Random(SEED);
+        final List<DivideUpstream> upstreams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final DivideUpstream upstream = new DivideUpstream();
+            upstream.setUpstreamHost("10.0." + (i / 250) + "." + (i % 250 + 1));
+            upstream.setUpstreamUrl(upstream.getUpstreamHost() + ":8080");
+            upstream.setProtocol("http://");
+            upstream.setWeight(1 + random.nextInt(100));
+            upstreams.add(upstream);
+        }
+        return upstreams;
+    }
+
+    /**
+     * Seeded client ips.
+     *
+     * @param count the ip count
+     * @return the ips
+     */
+    public static String[] ips(final int count) {
+        final Random random = new Random(SEED);
+        final String[] ips = new String[count];
+        for (int i = 0; i < count; i++) {
+            ips[i] = (random.nextInt(223) + 1) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + (random.nextInt(254) + 1);
+        }
+        return ips;
+    }
+
+    /**
+     * The params of a signed request, the sign params plus the extra business params.
+     *
+     * @param extra the extra param count
+     * @return the params
+     */
+    public static Map<String, String> signParams(final int extra) {
+        final Random random = new Random(SEED);
+        final Map<String, String> params = new LinkedHashMap<>();
+        params.put("timestamp", String.valueOf(1556640000000L + random.nextInt(1000000)));
+        params.put("path", "/order/1/item/2/detail");
+        params.put("version", "1.0.0");
+        for (int i = 0; i < extra; i++) {
+            params.put("param" + i, Long.toHexString(random.nextLong()));
+        }
+        return params;
+    }
+
+    /**
+     * The handle of a divide rule.
+     *
+     * @return the json
+     */
+    public static String divideRuleHandleJson() {
+        final DivideRuleHandle handle = new DivideRuleHandle();
+        handle.setLoadBalance(LoadBalanceEnum.ROUND_ROBIN.getName());
+        handle.setRetry(2);
+        handle.setIdempotent(true);
+        handle.setCoalesceVaryHeaders(Collections.singletonList("Accept-Language"));
+        return GsonUtils.getInstance().toJson(handle);
+    }
+
+    /**
+     * The handle of a rate limiter rule.
+     *
+     * @return the json
+     */
+    public static String rateLimiterHandleJson() {
+        final RateLimiterHandle handle = new RateLimiterHandle();
+        handle.setReplenishRate(100D);
+        handle.setBurstCapacity(200D);
+        handle.setKeyDimensions(Arrays.asList("ip", "header:" + TENANT_HEADER));
+        return GsonUtils.getInstance().toJson(handle);
+    }
+
+    /**
+     * A selector as it is stored in zookeeper.
+     *
+     * @param conditionCount the condition count
+     * @return the selector data
+     */
+    public static SelectorData selectorData(final int conditionCount) {
+        return new SelectorData("selector-0", "1", PLUGIN_NAME, "selector-0", MatchModeEnum.AND.getCode(),
+                SelectorTypeEnum.CUSTOM_FLOW.getCode(), 1, true, true, true,
+                GsonUtils.getInstance().toJson(upstreams(4)), conditions(conditionCount, 0, 0));
+    }
+
+    /**
+     * A rule as it is stored in zookeeper.
+     *
+     * @param conditionCount the condition count
+     * @return the rule data
+     */
+    public static RuleData ruleData(final int conditionCount) {
+        return new RuleData("rule-0-0", "rule-0", PLUGIN_NAME, "selector-0", MatchModeEnum.AND.getCode(), 1,
+                true, true, divideRuleHandleJson(), conditions(conditionCount, 0, 0));
+    }
+
+    private static final class FixtureCacheManager implements LocalCacheManager {
+
+        private final PluginData plugin;
+
+        private final List<SelectorData> selectors;
+
+        private final Map<String, List<RuleData>> rules;
+
+        FixtureCacheManager(final PluginData plugin, final List<SelectorData> selectors, final Map<String, List<RuleData>> rules) {
+            this.plugin = plugin;
+            this.selectors = selectors;
+            this.rules = rules;
+        }
+
+        @Override
+        public AppAuthData findAuthDataByAppKey(final String appKey) {
+            return null;
+        }
+
+        @Override
+        public PluginData findPluginByName(final String pluginName) {
+            return PLUGIN_NAME.equals(pluginName) ? plugin : null;
+        }
+
+        @Override
+        public List<SelectorData> findSelectorByPluginName(final String pluginName) {
+            return PLUGIN_NAME.equals(pluginName) ? selectors : Collections.emptyList();
+        }
+
+        @Override
+        public List<RuleData> findRuleBySelectorId(final String selectorId) {
+            return rules.getOrDefault(selectorId, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.benchmark.json;
+
+import org.dromara.soul.benchmark.fixture.Fixtures;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.common.dto.convert.RateLimiterHandle;
+import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.common.utils.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Json benchmark.
+ * the handles are parsed per request by the divide and rate limiter plugins, the selector is written
+ * on every config change and access log line.
+ *
+ * @author xiaoyu(Myth)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonBenchmark {
+
+    private String divideRuleHandle;
+
+    private String rateLimiterHandle;
+
+    private String upstreams;
+
+    private SelectorData selector;
+
+    /**
+     * Build the payloads.
+     */
+    @Setup
+    public void setUp() {
+        divideRuleHandle = Fixtures.divideRuleHandleJson();
+        rateLimiterHandle = Fixtures.rateLimiterHandleJson();
+        upstreams = GsonUtils.getInstance().toJson(Fixtures.upstreams(8));
+        selector = Fixtures.selectorData(4);
+    }
+
+    /**
+     * Parse a divide rule handle.
+     *
+     * @return the divide rule handle
+     */
+    @Benchmark
+    public DivideRuleHandle parseDivideRuleHandle() {
+        return GsonUtils.getInstance().fromJson(divideRuleHandle, DivideRuleHandle.class);
+    }
+
+    /**
+     * Parse a rate limiter handle.
+     *
+     * @return the rate limiter handle
+     */
+    @Benchmark
+    public RateLimiterHandle parseRateLimiterHandle() {
+        return GsonUtils.getInstance().fromJson(rateLimiterHandle, RateLimiterHandle.class);
+    }
+
+    /**
+     * Parse the upstreams of a selector.
+     *
+     * @return the upstreams
+     */
+    @Benchmark
+    public List<DivideUpstream> parseUpstreams() {
+        return GsonUtils.getInstance().fromList(upstreams, DivideUpstream.class);
+    }
+
+    /**
+     * Write a selector with gson.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String writeSelectorGson() {
+        return GsonUtils.getInstance().toJson(selector);
+    }
+
+    /**
+     * Write a selector with jackson.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String writeSelectorJackson() {
+        return JsonUtils.toJson(selector);
+    }
+}
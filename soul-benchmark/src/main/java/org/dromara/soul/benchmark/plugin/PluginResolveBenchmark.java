@@ -0,0 +1,125 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.benchmark.plugin;
+
+import org.dromara.soul.benchmark.fixture.Fixtures;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.enums.PluginTypeEnum;
+import org.dromara.soul.web.cache.LocalCacheManager;
+import org.dromara.soul.web.plugin.AbstractSoulPlugin;
+import org.dromara.soul.web.plugin.SoulPluginChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Plugin resolve benchmark.
+ * the selector and the rule of a request are resolved synchronously in execute, before the mono of
+ * doExecute is built, so returning that mono measures the resolution alone. The request matches the
+ * last selector, or the last rule of the only selector, which is the worst case of the linear scan.
+ *
+ * @author xiaoyu(Myth)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PluginResolveBenchmark {
+
+    private static final SoulPluginChain CHAIN = exchange -> Mono.empty();
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    @Param({"selector", "rule"})
+    private String dimension;
+
+    private ResolvePlugin plugin;
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Build the selectors and rules.
+     */
+    @Setup
+    public void setUp() {
+        if ("selector".equals(dimension)) {
+            plugin = new ResolvePlugin(Fixtures.cacheManager(size, 1));
+            exchange = Fixtures.exchange(size - 1, 0);
+        } else {
+            plugin = new ResolvePlugin(Fixtures.cacheManager(1, size));
+            exchange = Fixtures.exchange(0, size - 1);
+        }
+    }
+
+    /**
+     * Resolve.
+     *
+     * @return the mono of the resolved plugin
+     */
+    @Benchmark
+    public Mono<Void> resolve() {
+        return plugin.execute(exchange, CHAIN);
+    }
+
+    private static final class ResolvePlugin extends AbstractSoulPlugin {
+
+        private static final Mono<Void> RESOLVED = Mono.empty();
+
+        ResolvePlugin(final LocalCacheManager localCacheManager) {
+            super(localCacheManager);
+        }
+
+        @Override
+        protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain,
+                                       final SelectorData selector, final RuleData rule) {
+            return RESOLVED;
+        }
+
+        @Override
+        public PluginTypeEnum pluginType() {
+            return PluginTypeEnum.FUNCTION;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return Fixtures.PLUGIN_NAME;
+        }
+    }
+}
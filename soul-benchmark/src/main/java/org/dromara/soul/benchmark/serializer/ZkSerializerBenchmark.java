@@ -0,0 +1,92 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.benchmark.serializer;
+
+import org.I0Itec.zkclient.serialize.ZkSerializer;
+import org.dromara.soul.benchmark.fixture.Fixtures;
+import org.dromara.soul.configuration.zookeeper.serializer.ZkSerializerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Zk serializer benchmark.
+ *
+ * @author xiaoyu(Myth)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ZkSerializerBenchmark {
+
+    @Param({"jdk", "kryo", "hessian", "protostuff"})
+    private String serializer;
+
+    @Param({"selector", "rule"})
+    private String payload;
+
+    private ZkSerializer zkSerializer;
+
+    private Object data;
+
+    private byte[] bytes;
+
+    /**
+     * Build the serializer and the payload.
+     */
+    @Setup
+    public void setUp() {
+        zkSerializer = ZkSerializerFactory.of(serializer);
+        data = "selector".equals(payload) ? Fixtures.selectorData(4) : Fixtures.ruleData(4);
+        bytes = zkSerializer.serialize(data);
+    }
+
+    /**
+     * Serialize.
+     *
+     * @return the bytes
+     */
+    @Benchmark
+    public byte[] serialize() {
+        return zkSerializer.serialize(data);
+    }
+
+    /**
+     * Deserialize.
+     *
+     * @return the data
+     */
+    @Benchmark
+    public Object deserialize() {
+        return zkSerializer.deserialize(bytes);
+    }
+}
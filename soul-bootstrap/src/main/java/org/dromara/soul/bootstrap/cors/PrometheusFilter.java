@@ -0,0 +1,85 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.bootstrap.cors;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The type Prometheus filter.
+ * the soul web handler replaces the dispatcher handler, so the actuator endpoint is
+ * served here, in the same way as the health check. It shares the public port, so it is off
+ * unless soul.prometheus.enabled is set, and by default only answers loopback callers; other
+ * callers go down the chain as for any other path.
+ *
+ * @author xiaoyu
+ */
+@Component
+@Order(-98)
+@ConditionalOnProperty(name = "soul.prometheus.enabled", havingValue = "true")
+public final class PrometheusFilter implements WebFilter {
+
+    private static final String SCRAPE_PATH = "/actuator/prometheus";
+
+    private final PrometheusMeterRegistry prometheusMeterRegistry;
+
+    private final boolean localOnly;
+
+    @Autowired
+    private PrometheusFilter(final PrometheusMeterRegistry registry,
+                             @Value("${soul.prometheus.local-only:true}") final boolean localOnly) {
+        prometheusMeterRegistry = registry;
+        this.localOnly = localOnly;
+    }
+
+    @Override
+    public Mono<Void> filter(@Nullable final ServerWebExchange exchange, @Nullable final WebFilterChain chain) {
+        ServerHttpRequest request = Objects.requireNonNull(exchange).getRequest();
+        if (SCRAPE_PATH.equals(request.getURI().getPath()) && (!localOnly || isLoopback(request.getRemoteAddress()))) {
+            String result = prometheusMeterRegistry.scrape();
+            exchange.getResponse().getHeaders().set(HttpHeaders.CONTENT_TYPE, TextFormat.CONTENT_TYPE_004);
+            DataBuffer dataBuffer = exchange.getResponse().bufferFactory().wrap(result.getBytes(StandardCharsets.UTF_8));
+            return exchange.getResponse().writeWith(Mono.just(dataBuffer));
+        }
+        return Objects.requireNonNull(chain).filter(exchange);
+    }
+
+    private static boolean isLoopback(@Nullable final InetSocketAddress remoteAddress) {
+        // the socket peer, forwarded headers can be set by anyone
+        return remoteAddress != null && remoteAddress.getAddress() != null && remoteAddress.getAddress().isLoopbackAddress();
+    }
+
+}
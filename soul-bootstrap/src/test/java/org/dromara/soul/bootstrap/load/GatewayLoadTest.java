@@ -0,0 +1,312 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.bootstrap.load;
+
+import io.netty.handler.codec.http.HttpMethod;
+import org.dromara.soul.bootstrap.SoulBootstrapApplication;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.AuthPathData;
+import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.common.dto.convert.RateLimiterHandle;
+import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
+import org.dromara.soul.common.dto.convert.rule.DubboRuleHandle;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.enums.LoadBalanceEnum;
+import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.common.enums.PluginEnum;
+import org.dromara.soul.common.enums.RateLimiterModeEnum;
+import org.dromara.soul.common.enums.RpcTypeEnum;
+import org.dromara.soul.common.enums.SelectorTypeEnum;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.common.utils.SignUtils;
+import org.dromara.soul.web.cache.LocalCacheManager;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The type Gateway load test.
+ * boots the gateway against a stub admin, a netty echo upstream and a local dubbo provider, then drives
+ * every scenario at a constant rate and writes the results as json. Tuned with system properties:
+ * soul.load.rate, soul.load.warmup, soul.load.duration (seconds), soul.load.upstreamLatency (millis),
+ * soul.load.output, and soul.load.baseline with soul.load.tolerance to fail on regressions.
+ *
+ * <pre>
+ * mvn -Plocal,load -pl soul-bootstrap -am test -Dsoul.load.baseline=baseline.json -DfailIfNoTests=false
+ * </pre>
+ *
+ * @author xiaoyu(Myth)
+ */
+public class GatewayLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GatewayLoadTest.class);
+
+    private static final int RATE = Integer.getInteger("soul.load.rate", 500);
+
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("soul.load.warmup", 10L));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("soul.load.duration", 30L));
+
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(Long.getLong("soul.load.upstreamLatency", 5L));
+
+    private static final String OUTPUT = System.getProperty("soul.load.output", "target/load/results.json");
+
+    private static final String BASELINE = System.getProperty("soul.load.baseline");
+
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("soul.load.tolerance", "0.2"));
+
+    private static final int MAX_IN_FLIGHT = 2000;
+
+    private static final String APP_KEY = "soul-load";
+
+    private static final String APP_SECRET = "2D47C325AE5B4A4C926C23FD4395C719";
+
+    private static final String SIGNED_PATH = "/http/signed";
+
+    private static final List<String> OPTIONAL_PLUGINS = Arrays.asList(PluginEnum.RATE_LIMITER.getName(), PluginEnum.SIGN.getName());
+
+    private static StubAdmin admin;
+
+    private static StubUpstream upstream;
+
+    private static StubDubboProvider provider;
+
+    private static ConfigurableApplicationContext gateway;
+
+    private static OpenLoopLoadGenerator generator;
+
+    /**
+     * Start the stubs and the gateway.
+     */
+    @BeforeClass
+    public static void setUp() {
+        upstream = new StubUpstream(UPSTREAM_LATENCY);
+        upstream.start();
+        provider = new StubDubboProvider(UPSTREAM_LATENCY);
+        provider.start();
+        admin = new StubAdmin();
+        publishSnapshot();
+        admin.start();
+        gateway = new SpringApplicationBuilder(SoulBootstrapApplication.class).run(
+                "--spring.profiles.active=local",
+                "--server.address=" + LoadScenario.HOST,
+                "--server.port=0",
+                "--soul.sync.strategy=http",
+                "--soul.sync.http.url=" + admin.url(),
+                "--eureka.client.enabled=false");
+        final int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+        generator = new OpenLoopLoadGenerator(port, MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Stop the gateway and the stubs.
+     */
+    @AfterClass
+    public static void tearDown() {
+        if (Objects.nonNull(gateway)) {
+            gateway.close();
+        }
+        if (Objects.nonNull(admin)) {
+            admin.stop();
+        }
+        if (Objects.nonNull(provider)) {
+            provider.stop();
+        }
+        if (Objects.nonNull(upstream)) {
+            upstream.stop();
+        }
+    }
+
+    /**
+     * Run every scenario, write the results and compare them with the baseline.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    public void testLoad() throws IOException {
+        final List<ScenarioResult> results = new ArrayList<>();
+        for (LoadScenario scenario : scenarios()) {
+            enablePlugins(scenario.getPlugins());
+            final String probe = generator.probe(scenario);
+            Assert.assertTrue(scenario.getName() + " is not routed to the upstream: " + probe,
+                    probe.contains(LoadScenario.ECHO));
+            final ScenarioResult result = generator.run(scenario, RATE, WARMUP, DURATION);
+            LOGGER.info("{}", result);
+            results.add(result);
+        }
+        final Path output = Paths.get(OUTPUT).toAbsolutePath();
+        Files.createDirectories(output.getParent());
+        Files.write(output, GsonUtils.getInstance().toJson(results).getBytes(StandardCharsets.UTF_8));
+        LOGGER.info("load results written to {}", output);
+        if (Objects.nonNull(BASELINE)) {
+            final String json = new String(Files.readAllBytes(Paths.get(BASELINE)), StandardCharsets.UTF_8);
+            final Map<String, ScenarioResult> baseline = GsonUtils.getInstance().fromList(json, ScenarioResult.class)
+                    .stream().collect(Collectors.toMap(ScenarioResult::getScenario, Function.identity()));
+            final List<String> regressions = results.stream()
+                    .filter(result -> baseline.containsKey(result.getScenario()))
+                    .flatMap(result -> result.regressions(baseline.get(result.getScenario()), TOLERANCE).stream())
+                    .collect(Collectors.toList());
+            Assert.assertTrue("regressed against " + BASELINE + ": " + regressions, regressions.isEmpty());
+        }
+    }
+
+    private static List<LoadScenario> scenarios() {
+        final String timestamp = String.valueOf(System.currentTimeMillis());
+        final Map<String, String> signParams = new HashMap<>(4);
+        signParams.put(Constants.TIMESTAMP, timestamp);
+        signParams.put(Constants.PATH, SIGNED_PATH);
+        signParams.put(Constants.VERSION, "1.0.0");
+        final Map<String, String> signHeaders = new HashMap<>(4);
+        signHeaders.put(Constants.APP_KEY, APP_KEY);
+        signHeaders.put(Constants.TIMESTAMP, timestamp);
+        signHeaders.put(Constants.SIGN, SignUtils.generateSign(APP_SECRET, signParams));
+        return Arrays.asList(
+                new LoadScenario("divide", HttpMethod.GET, "/http/divide", null,
+                        Collections.emptyMap(), Collections.emptyList()),
+                new LoadScenario("dubbo", HttpMethod.POST, "/dubbo/echo", "{\"id\":1}",
+                        Collections.emptyMap(), Collections.emptyList()),
+                new LoadScenario("rate-limited", HttpMethod.GET, "/http/limited", null,
+                        Collections.emptyMap(), Collections.singletonList(PluginEnum.RATE_LIMITER.getName())),
+                new LoadScenario("signed", HttpMethod.GET, SIGNED_PATH, null,
+                        signHeaders, Collections.singletonList(PluginEnum.SIGN.getName())));
+    }
+
+    /**
+     * The rate limiter and sign plugins apply to every request once enabled, so each scenario turns on only
+     * its own and waits until the gateway has synced the change.
+     */
+    private static void enablePlugins(final List<String> enabled) {
+        admin.publish(ConfigGroupEnum.PLUGIN, plugins(enabled));
+        final LocalCacheManager localCacheManager = gateway.getBean(LocalCacheManager.class);
+        final long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (!OPTIONAL_PLUGINS.stream().allMatch(name ->
+                localCacheManager.findPluginByName(name).getEnabled() == enabled.contains(name))) {
+            Assert.assertTrue("plugins not synced: " + enabled, System.nanoTime() < deadline);
+            sleep();
+        }
+    }
+
+    private static void publishSnapshot() {
+        admin.publish(ConfigGroupEnum.PLUGIN, plugins(Collections.emptyList()));
+
+        final DivideUpstream divideUpstream = new DivideUpstream();
+        divideUpstream.setUpstreamHost(LoadScenario.HOST);
+        divideUpstream.setProtocol("http://");
+        divideUpstream.setUpstreamUrl(upstream.address());
+        divideUpstream.setWeight(50);
+        admin.publish(ConfigGroupEnum.SELECTOR, Arrays.asList(
+                selector(PluginEnum.DIVIDE, GsonUtils.getInstance().toJson(Collections.singletonList(divideUpstream))),
+                selector(PluginEnum.DUBBO, ""),
+                selector(PluginEnum.RATE_LIMITER, "")));
+
+        final DivideRuleHandle divideRuleHandle = new DivideRuleHandle();
+        divideRuleHandle.setLoadBalance(LoadBalanceEnum.ROUND_ROBIN.getName());
+        final RateLimiterHandle rateLimiterHandle = new RateLimiterHandle();
+        rateLimiterHandle.setMode(RateLimiterModeEnum.LOCAL_TOKEN_BUCKET.getName());
+        // half of the offered rate, so the reject path is measured too
+        rateLimiterHandle.setReplenishRate(RATE / 2D);
+        rateLimiterHandle.setBurstCapacity(RATE / 2D);
+        admin.publish(ConfigGroupEnum.RULE, Arrays.asList(
+                rule(PluginEnum.DIVIDE, GsonUtils.getInstance().toJson(divideRuleHandle)),
+                rule(PluginEnum.DUBBO, GsonUtils.getInstance().toJson(new DubboRuleHandle())),
+                rule(PluginEnum.RATE_LIMITER, GsonUtils.getInstance().toJson(rateLimiterHandle))));
+
+        admin.publish(ConfigGroupEnum.APP_AUTH, Collections.singletonList(new AppAuthData(APP_KEY, APP_SECRET, true,
+                Collections.emptyList(), Collections.singletonList(new AuthPathData("http", SIGNED_PATH, true)))));
+
+        final Map<String, Object> dubboExt = new HashMap<>(4);
+        dubboExt.put("url", provider.url());
+        dubboExt.put("timeout", 3000);
+        admin.publish(ConfigGroupEnum.META_DATA, Arrays.asList(
+                metaData("/http/divide", RpcTypeEnum.HTTP, "divide", null),
+                metaData("/http/limited", RpcTypeEnum.HTTP, "limited", null),
+                metaData(SIGNED_PATH, RpcTypeEnum.HTTP, "signed", null),
+                metaData("/dubbo/echo", RpcTypeEnum.DUBBO, StubDubboProvider.SERVICE, GsonUtils.getInstance().toJson(dubboExt))));
+    }
+
+    private static List<PluginData> plugins(final List<String> enabled) {
+        final List<PluginData> plugins = new ArrayList<>();
+        plugins.add(new PluginData("1", PluginEnum.DIVIDE.getName(), null, 0, true));
+        plugins.add(new PluginData("2", PluginEnum.DUBBO.getName(), "{\"register\":\"N/A\"}", 0, true));
+        // the redis connection is created lazily and never used by the local token bucket
+        plugins.add(new PluginData("3", PluginEnum.RATE_LIMITER.getName(), "{\"url\":\"127.0.0.1:6379\"}", 0,
+                enabled.contains(PluginEnum.RATE_LIMITER.getName())));
+        plugins.add(new PluginData("4", PluginEnum.SIGN.getName(), null, 0, enabled.contains(PluginEnum.SIGN.getName())));
+        return plugins;
+    }
+
+    private static SelectorData selector(final PluginEnum plugin, final String handle) {
+        return new SelectorData(plugin.getName(), plugin.getName(), plugin.getName(), plugin.getName(),
+                MatchModeEnum.AND.getCode(), SelectorTypeEnum.FULL_FLOW.getCode(), 1, true, false, true,
+                handle, Collections.emptyList());
+    }
+
+    private static RuleData rule(final PluginEnum plugin, final String handle) {
+        return new RuleData(plugin.getName(), plugin.getName(), plugin.getName(), plugin.getName(),
+                MatchModeEnum.AND.getCode(), 1, true, false, handle, Collections.emptyList());
+    }
+
+    private static MetaData metaData(final String path, final RpcTypeEnum rpcType, final String serviceName, final String rpcExt) {
+        final MetaData metaData = new MetaData();
+        metaData.setAppName(path.split("/")[1]);
+        metaData.setPath(path);
+        metaData.setRpcType(rpcType.getName());
+        metaData.setServiceName(serviceName);
+        metaData.setMethodName("echo");
+        metaData.setRpcExt(rpcExt);
+        metaData.setEnabled(true);
+        return metaData;
+    }
+
+    private static void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
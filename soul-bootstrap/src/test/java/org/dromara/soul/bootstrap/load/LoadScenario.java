@@ -0,0 +1,100 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.bootstrap.load;
+
+import io.netty.handler.codec.http.HttpMethod;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The type Load scenario.
+ * one request shape driven against the gateway, with the plugins that have to be enabled for it.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class LoadScenario {
+
+    /**
+     * The host every stub and the gateway bind to.
+     */
+    static final String HOST = "127.0.0.1";
+
+    /**
+     * The key every stub upstream answers with, an answer without it was produced by the gateway.
+     */
+    static final String ECHO = "\"echo\"";
+
+    private final String name;
+
+    private final HttpMethod method;
+
+    private final String path;
+
+    private final String body;
+
+    private final Map<String, String> headers;
+
+    private final List<String> plugins;
+
+    /**
+     * Instantiates a new Load scenario.
+     *
+     * @param name    the name
+     * @param method  the method
+     * @param path    the path
+     * @param body    the json body, null for none
+     * @param headers the headers
+     * @param plugins the optional plugins enabled while it runs
+     */
+    LoadScenario(final String name, final HttpMethod method, final String path, final String body,
+                 final Map<String, String> headers, final List<String> plugins) {
+        this.name = name;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.plugins = Collections.unmodifiableList(plugins);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    HttpMethod getMethod() {
+        return method;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    String getBody() {
+        return body;
+    }
+
+    Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    List<String> getPlugins() {
+        return plugins;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.bootstrap.load;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.HdrHistogram.Recorder;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The type Open loop load generator.
+ * requests are sent on a fixed schedule whether or not earlier ones have completed, a slow gateway
+ * therefore shows up as latency instead of silently lowering the offered rate. Requests that would
+ * exceed the in-flight limit are dropped and counted, never delayed.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class OpenLoopLoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+
+    private final int maxInFlight;
+
+    /**
+     * Instantiates a new Open loop load generator.
+     *
+     * @param port        the port of the gateway
+     * @param maxInFlight the max requests in flight
+     */
+    OpenLoopLoadGenerator(final int port, final int maxInFlight) {
+        this.httpClient = HttpClient.create(ConnectionProvider.fixed("soul-load", maxInFlight))
+                .baseUrl("http://" + LoadScenario.HOST + ":" + port);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Send a single request of the scenario.
+     *
+     * @param scenario the scenario
+     * @return the response body
+     */
+    String probe(final LoadScenario scenario) {
+        return receiver(scenario, client(scenario))
+                .responseSingle((response, body) -> body.asString().defaultIfEmpty(""))
+                .block(REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Drive the scenario for the warmup, then measure it for the duration.
+     *
+     * @param scenario the scenario
+     * @param rate     the requests per second
+     * @param warmup   the warmup
+     * @param duration the duration
+     * @return the scenario result
+     */
+    ScenarioResult run(final LoadScenario scenario, final int rate, final Duration warmup, final Duration duration) {
+        final HttpClient client = client(scenario);
+        drive(scenario, client, rate, warmup);
+        return drive(scenario, client, rate, duration).result(scenario.getName(), rate);
+    }
+
+    private Phase drive(final LoadScenario scenario, final HttpClient client, final int rate, final Duration duration) {
+        final Phase phase = new Phase();
+        final long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        final long count = duration.toNanos() / interval;
+        final long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            final long intended = start + i * interval;
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            phase.sent.increment();
+            if (phase.inFlight.incrementAndGet() > maxInFlight) {
+                phase.inFlight.decrementAndGet();
+                phase.dropped.increment();
+                continue;
+            }
+            receiver(scenario, client)
+                    .responseSingle((response, body) -> body.asString().defaultIfEmpty("")
+                            .map(text -> classify(response.status(), text)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .subscribe(outcome -> phase.complete(outcome, intended), error -> phase.fail());
+        }
+        phase.elapsed = System.nanoTime() - start;
+        final long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos() * 2;
+        while (phase.inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return phase;
+    }
+
+    private HttpClient client(final LoadScenario scenario) {
+        return httpClient.headers(headers -> {
+            scenario.getHeaders().forEach(headers::set);
+            if (Objects.nonNull(scenario.getBody())) {
+                headers.set("Content-Type", "application/json");
+            }
+        });
+    }
+
+    private HttpClient.ResponseReceiver<?> receiver(final LoadScenario scenario, final HttpClient client) {
+        final HttpClient.RequestSender sender = client.request(scenario.getMethod()).uri(scenario.getPath());
+        if (Objects.isNull(scenario.getBody())) {
+            return sender;
+        }
+        return sender.send(ByteBufFlux.fromString(Mono.just(scenario.getBody())));
+    }
+
+    private static Outcome classify(final HttpResponseStatus status, final String body) {
+        if (status.equals(HttpResponseStatus.TOO_MANY_REQUESTS)) {
+            return Outcome.LIMITED;
+        }
+        // the gateway reports its own errors with a 200, only an echo proves the upstream answered
+        return status.equals(HttpResponseStatus.OK) && body.contains(LoadScenario.ECHO) ? Outcome.OK : Outcome.ERROR;
+    }
+
+    private enum Outcome {
+
+        OK, LIMITED, ERROR
+    }
+
+    private static final class Phase {
+
+        private final Recorder recorder = new Recorder(3);
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final LongAdder sent = new LongAdder();
+
+        private final LongAdder ok = new LongAdder();
+
+        private final LongAdder limited = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder dropped = new LongAdder();
+
+        private long elapsed;
+
+        void complete(final Outcome outcome, final long intended) {
+            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+            if (outcome == Outcome.OK) {
+                ok.increment();
+            } else if (outcome == Outcome.LIMITED) {
+                limited.increment();
+            } else {
+                errors.increment();
+            }
+            inFlight.decrementAndGet();
+        }
+
+        void fail() {
+            errors.increment();
+            inFlight.decrementAndGet();
+        }
+
+        ScenarioResult result(final String scenario, final int rate) {
+            // requests still in flight after the drain deadline never answered
+            final long[] counts = {sent.sum(), ok.sum(), limited.sum(), errors.sum() + inFlight.get(), dropped.sum()};
+            return ScenarioResult.of(scenario, rate, elapsed / 1e9, counts, recorder.getIntervalHistogram());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.bootstrap.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The type Scenario result.
+ * latencies are in milliseconds and measured from the intended send time, so they include the time a
+ * request waited behind a slow gateway.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class ScenarioResult {
+
+    private String scenario;
+
+    private int rate;
+
+    private double seconds;
+
+    private long sent;
+
+    private long ok;
+
+    private long limited;
+
+    private long errors;
+
+    private long dropped;
+
+    private double throughput;
+
+    private double mean;
+
+    private double p50;
+
+    private double p90;
+
+    private double p99;
+
+    private double p999;
+
+    private double max;
+
+    /**
+     * Build a result from the counters and the latency histogram in microseconds.
+     *
+     * @param scenario  the scenario
+     * @param rate      the offered rate
+     * @param seconds   the measured seconds
+     * @param counts    sent, ok, limited, errors and dropped
+     * @param histogram the histogram
+     * @return the scenario result
+     */
+    static ScenarioResult of(final String scenario, final int rate, final double seconds,
+                             final long[] counts, final Histogram histogram) {
+        final ScenarioResult result = new ScenarioResult();
+        result.scenario = scenario;
+        result.rate = rate;
+        result.seconds = seconds;
+        result.sent = counts[0];
+        result.ok = counts[1];
+        result.limited = counts[2];
+        result.errors = counts[3];
+        result.dropped = counts[4];
+        result.throughput = (result.ok + result.limited) / seconds;
+        result.mean = histogram.getMean() / 1000D;
+        result.p50 = histogram.getValueAtPercentile(50D) / 1000D;
+        result.p90 = histogram.getValueAtPercentile(90D) / 1000D;
+        result.p99 = histogram.getValueAtPercentile(99D) / 1000D;
+        result.p999 = histogram.getValueAtPercentile(99.9D) / 1000D;
+        result.max = histogram.getMaxValue() / 1000D;
+        return result;
+    }
+
+    String getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Compare against the same scenario of a baseline run.
+     *
+     * @param baseline  the baseline
+     * @param tolerance the allowed relative regression
+     * @return the regressions, empty when there are none
+     */
+    List<String> regressions(final ScenarioResult baseline, final double tolerance) {
+        final List<String> regressions = new ArrayList<>();
+        if (p99 > baseline.p99 * (1 + tolerance)) {
+            regressions.add(String.format("%s p99 %.2fms > baseline %.2fms", scenario, p99, baseline.p99));
+        }
+        if (throughput < baseline.throughput * (1 - tolerance)) {
+            regressions.add(String.format("%s throughput %.1f/s < baseline %.1f/s", scenario, throughput, baseline.throughput));
+        }
+        if (errorRate() > baseline.errorRate() + tolerance / 100) {
+            regressions.add(String.format("%s error rate %.4f > baseline %.4f", scenario, errorRate(), baseline.errorRate()));
+        }
+        return regressions;
+    }
+
+    private double errorRate() {
+        return sent == 0 ? 0D : (double) (errors + dropped) / sent;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d/s for %.1fs, ok=%d limited=%d errors=%d dropped=%d, %.1f/s, "
+                        + "mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                scenario, rate, seconds, ok, limited, errors, dropped, throughput, mean, p50, p90, p99, p999, max);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.bootstrap.load;
+
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.dromara.soul.common.dto.ConfigData;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.common.utils.Md5Utils;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The type Stub admin.
+ * serves the http sync protocol of soul-admin from an in-memory snapshot, so the gateway is configured
+ * through the same long polling path it uses in production.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class StubAdmin {
+
+    private static final Duration LONG_POLL = Duration.ofSeconds(30);
+
+    private final Map<ConfigGroupEnum, ConfigData<?>> groups = new ConcurrentHashMap<>();
+
+    private final DirectProcessor<ConfigGroupEnum> changes = DirectProcessor.create();
+
+    private final FluxSink<ConfigGroupEnum> sink = changes.sink();
+
+    private DisposableServer server;
+
+    /**
+     * Instantiates a new Stub admin with every group empty.
+     */
+    StubAdmin() {
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            publish(group, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Start.
+     */
+    void start() {
+        server = HttpServer.create().host(LoadScenario.HOST).port(0).handle(this::handle).bindNow();
+    }
+
+    /**
+     * Stop.
+     */
+    void stop() {
+        server.disposeNow();
+    }
+
+    /**
+     * Url.
+     *
+     * @return the url of the admin
+     */
+    String url() {
+        return "http://" + LoadScenario.HOST + ":" + server.port();
+    }
+
+    /**
+     * Replace the data of a group, pending listeners are answered right away.
+     *
+     * @param group the group
+     * @param data  the data
+     */
+    void publish(final ConfigGroupEnum group, final List<?> data) {
+        final String json = GsonUtils.getInstance().toJson(data);
+        groups.put(group, new ConfigData<>(Md5Utils.md5(json), System.currentTimeMillis(), data));
+        sink.next(group);
+    }
+
+    private Publisher<Void> handle(final HttpServerRequest request, final HttpServerResponse response) {
+        if (request.uri().startsWith("/configs/fetch")) {
+            final Map<String, ConfigData<?>> data = new LinkedHashMap<>();
+            new QueryStringDecoder(request.uri()).parameters().getOrDefault("groupKeys", Collections.emptyList())
+                    .forEach(key -> data.put(key, groups.get(ConfigGroupEnum.valueOf(key))));
+            return send(response, data);
+        }
+        if (request.uri().startsWith("/configs/listener")) {
+            return request.receive().aggregate().asString().defaultIfEmpty("")
+                    .flatMap(body -> {
+                        final Map<String, List<String>> known = new QueryStringDecoder(body, false).parameters();
+                        // subscribe to changes before comparing, a publish in between is seen by one of them
+                        return Flux.merge(changes.next().map(Collections::singletonList),
+                                Mono.fromCallable(() -> changed(known)).filter(changed -> !changed.isEmpty()))
+                                .next()
+                                .timeout(LONG_POLL, Mono.just(Collections.<ConfigGroupEnum>emptyList()));
+                    })
+                    .flatMap(changed -> Mono.from(send(response, changed)));
+        }
+        return response.status(404).send();
+    }
+
+    private List<ConfigGroupEnum> changed(final Map<String, List<String>> known) {
+        return groups.entrySet().stream()
+                .filter(entry -> {
+                    final List<String> values = known.get(entry.getKey().name());
+                    return Objects.isNull(values) || !values.get(0).startsWith(entry.getValue().getMd5() + ",");
+                })
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private Publisher<Void> send(final HttpServerResponse response, final Object data) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("code", 200);
+        result.put("data", data);
+        return response.header("Content-Type", "application/json")
+                .sendString(Mono.just(GsonUtils.getInstance().toJson(result)));
+    }
+}
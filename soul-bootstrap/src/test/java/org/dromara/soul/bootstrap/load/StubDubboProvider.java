@@ -0,0 +1,102 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.bootstrap.load;
+
+import com.alibaba.dubbo.common.utils.NetUtils;
+import com.alibaba.dubbo.config.ApplicationConfig;
+import com.alibaba.dubbo.config.ProtocolConfig;
+import com.alibaba.dubbo.config.RegistryConfig;
+import com.alibaba.dubbo.config.ServiceConfig;
+import com.alibaba.dubbo.rpc.service.GenericService;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Stub dubbo provider.
+ * exports a generic echo service without a registry, the gateway connects to it directly through the
+ * url of the meta data.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class StubDubboProvider {
+
+    /**
+     * The interface the echo service is exported as, it does not need to exist as a class.
+     */
+    static final String SERVICE = "org.dromara.soul.bootstrap.load.EchoService";
+
+    private final Duration latency;
+
+    private ServiceConfig<GenericService> service;
+
+    private int port;
+
+    /**
+     * Instantiates a new Stub dubbo provider.
+     *
+     * @param latency the latency added to every invocation
+     */
+    StubDubboProvider(final Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Export the echo service.
+     */
+    void start() {
+        port = NetUtils.getAvailablePort();
+        final ProtocolConfig protocol = new ProtocolConfig("dubbo", port);
+        protocol.setHost(LoadScenario.HOST);
+        final RegistryConfig registry = new RegistryConfig(RegistryConfig.NO_AVAILABLE);
+        service = new ServiceConfig<>();
+        service.setApplication(new ApplicationConfig("soul_load_provider"));
+        service.setRegistry(registry);
+        service.setProtocol(protocol);
+        service.setInterface(SERVICE);
+        service.setRef((method, parameterTypes, args) -> {
+            if (!latency.isZero()) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(latency.toNanos());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Collections.singletonMap("echo", method);
+        });
+        service.export();
+    }
+
+    /**
+     * Unexport the echo service.
+     */
+    void stop() {
+        service.unexport();
+    }
+
+    /**
+     * Url.
+     *
+     * @return the direct url of the provider
+     */
+    String url() {
+        return "dubbo://" + LoadScenario.HOST + ":" + port;
+    }
+}
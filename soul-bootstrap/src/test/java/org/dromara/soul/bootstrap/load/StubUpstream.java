@@ -0,0 +1,80 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.bootstrap.load;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+
+/**
+ * The type Stub upstream.
+ * a netty http echo server that answers every request after a fixed latency.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class StubUpstream {
+
+    private final Duration latency;
+
+    private DisposableServer server;
+
+    /**
+     * Instantiates a new Stub upstream.
+     *
+     * @param latency the latency added to every response
+     */
+    StubUpstream(final Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Start.
+     */
+    void start() {
+        server = HttpServer.create().host(LoadScenario.HOST).port(0).handle(this::handle).bindNow();
+    }
+
+    /**
+     * Stop.
+     */
+    void stop() {
+        server.disposeNow();
+    }
+
+    /**
+     * Address.
+     *
+     * @return the host and port of the upstream
+     */
+    String address() {
+        return LoadScenario.HOST + ":" + server.port();
+    }
+
+    private Publisher<Void> handle(final HttpServerRequest request, final HttpServerResponse response) {
+        final String body = "{" + LoadScenario.ECHO + ":\"" + request.uri() + "\"}";
+        final Mono<String> echo = Mono.just(body);
+        return request.receive().then(latency.isZero() ? echo : echo.delayElement(latency))
+                .flatMap(json -> Mono.from(response.header("Content-Type", "application/json").sendString(Mono.just(json))));
+    }
+}
@@ -34,4 +34,14 @@ import java.io.Serializable;
 public class DubboRegisterConfig implements Serializable {
 
     private String register;
+
+    /**
+     * max cached generic references, evicted in LRU order.
+     */
+    private Integer maxReferences;
+
+    /**
+     * references unused for this long are destroyed.
+     */
+    private Long referenceIdleSeconds;
 }
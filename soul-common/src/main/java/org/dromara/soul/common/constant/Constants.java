@@ -77,11 +77,46 @@ public interface Constants {
      */
     String HTTP_URL = "httpUrl";
 
+    /**
+     * The constant HTTP_FAILOVER.
+     */
+    String HTTP_FAILOVER = "httpFailover";
+
+    /**
+     * The constant HTTP_HEDGE.
+     */
+    String HTTP_HEDGE = "httpHedge";
+
     /**
      * The constant DUBBO_PARAMS.
      */
     String DUBBO_PARAMS = "dubbo_params";
 
+    /**
+     * The constant CACHED_REQUEST_BODY.
+     */
+    String CACHED_REQUEST_BODY = "cached_request_body";
+
+    /**
+     * The constant ACCESS_LOG_SELECTOR.
+     */
+    String ACCESS_LOG_SELECTOR = "access_log_selector";
+
+    /**
+     * The constant ACCESS_LOG_RULE.
+     */
+    String ACCESS_LOG_RULE = "access_log_rule";
+
+    /**
+     * The constant ACCESS_LOG_MISS.
+     */
+    String ACCESS_LOG_MISS = "access_log_miss";
+
+    /**
+     * The constant TRACE_CONTEXT.
+     */
+    String TRACE_CONTEXT = "trace_context";
+
     /**
      * The constant DECODE.
      */
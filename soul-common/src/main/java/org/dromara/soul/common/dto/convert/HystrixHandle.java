@@ -30,6 +30,11 @@ public class HystrixHandle {
      */
     private int maxConcurrentRequests = Constants.MAX_CONCURRENT_REQUESTS;
 
+    /**
+     * adapt the concurrency limit to the observed latency, maxConcurrentRequests is then its upper bound.
+     */
+    private boolean adaptiveConcurrency;
+
     /**
      * hystrix withCircuitBreakerErrorThresholdPercentage.
      */
@@ -20,6 +20,9 @@ package org.dromara.soul.common.dto.convert;
 
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * this is rateLimiter plugin handle.
  *
@@ -38,6 +41,18 @@ public class RateLimiterHandle {
      */
     private double burstCapacity;
 
+    /**
+     * redis, redisLease, localTokenBucket, localSlidingWindow, redisConcurrent or localConcurrent.
+     * {@linkplain org.dromara.soul.common.enums.RateLimiterModeEnum}
+     */
+    private String mode;
+
+    /**
+     * what a limit is counted per, empty for the whole rule.
+     * ip, appKey, header:{name} or path:{segment index}, combined in order.
+     */
+    private List<String> keyDimensions = new ArrayList<>();
+
     /**
      * loged.
      */
@@ -0,0 +1,50 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.common.dto.convert.rule;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The type Cache rule handle.
+ *
+ * @author xiaoyu(Myth)
+ */
+@Data
+public class CacheRuleHandle implements Serializable {
+
+    /**
+     * seconds a response stays fresh when the upstream sends no max-age or Expires.
+     */
+    private long ttl = 60;
+
+    /**
+     * seconds a stale response may still be served while it is refreshed in the background.
+     */
+    private long staleWhileRevalidate;
+
+    /**
+     * request headers that are part of the cache key.
+     */
+    private List<String> varyHeaders = new ArrayList<>();
+
+}
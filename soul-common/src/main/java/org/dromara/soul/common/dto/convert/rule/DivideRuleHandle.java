@@ -22,6 +22,8 @@ import lombok.Data;
 import org.dromara.soul.common.dto.convert.HystrixHandle;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The type Divide rule handle.
@@ -42,4 +44,39 @@ public class DivideRuleHandle extends HystrixHandle implements Serializable {
      */
     private int retry;
 
+    /**
+     * hedge slow requests to a second upstream, only GET/HEAD or idempotent routes are hedged.
+     */
+    private boolean hedge;
+
+    /**
+     * hedge delay in millis, 0 uses the observed p95 of the rule.
+     */
+    private long hedgeDelay;
+
+    /**
+     * the route is idempotent whatever its http method.
+     */
+    private boolean idempotent;
+
+    /**
+     * identical concurrent GET/HEAD requests share one upstream call.
+     */
+    private boolean coalesce;
+
+    /**
+     * waiters on one shared call, the next ones call the upstream themselves.
+     */
+    private int coalesceMaxWaiters = 1000;
+
+    /**
+     * millis a waiter waits for the shared call before calling the upstream itself.
+     */
+    private long coalesceTimeout = 3000;
+
+    /**
+     * request headers that are part of the coalescing key.
+     */
+    private List<String> coalesceVaryHeaders = new ArrayList<>();
+
 }
@@ -32,6 +32,11 @@ import java.util.Arrays;
 @Getter
 public enum PluginEnum {
 
+    /**
+     * Trace plugin enum.
+     */
+    TRACE(0, 0, "trace"),
+
     /**
      * Global plugin enum.
      */
@@ -62,6 +67,11 @@ public enum PluginEnum {
      */
     REDIRECT(40, 0, "redirect"),
 
+    /**
+     * Cache plugin enum.
+     */
+    CACHE(45, 0, "cache"),
+
     /**
      * Divide plugin enum.
      */
@@ -87,6 +97,11 @@ public enum PluginEnum {
      */
     MONITOR(80, 0, "monitor"),
 
+    /**
+     * Compress plugin enum.
+     */
+    COMPRESS(90, 0, "compress"),
+
     /**
      * Response plugin enum.
      */
@@ -0,0 +1,78 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * rate limiter mode enum.
+ *
+ * @author xiaoyu(Myth)
+ */
+@RequiredArgsConstructor
+@Getter
+public enum RateLimiterModeEnum {
+
+    /**
+     * Token bucket shared through redis.
+     */
+    REDIS("redis"),
+
+    /**
+     * Token bucket in redis, served from batches leased to each gateway.
+     */
+    REDIS_LEASE("redisLease"),
+
+    /**
+     * In-process token bucket.
+     */
+    LOCAL_TOKEN_BUCKET("localTokenBucket"),
+
+    /**
+     * In-process sliding window counter.
+     */
+    LOCAL_SLIDING_WINDOW("localSlidingWindow"),
+
+    /**
+     * Requests in flight counted in redis, burst capacity is the limit.
+     */
+    REDIS_CONCURRENT("redisConcurrent"),
+
+    /**
+     * Requests in flight counted in process, burst capacity is the limit.
+     */
+    LOCAL_CONCURRENT("localConcurrent");
+
+    private final String name;
+
+    /**
+     * get rate limiter mode enum by name, redis when unknown.
+     *
+     * @param name mode name.
+     * @return rate limiter mode enum.
+     */
+    public static RateLimiterModeEnum getRateLimiterModeEnumByName(final String name) {
+        return Arrays.stream(RateLimiterModeEnum.values())
+                .filter(modeEnum -> modeEnum.getName().equals(name))
+                .findFirst().orElse(RateLimiterModeEnum.REDIS);
+    }
+}
@@ -18,9 +18,11 @@
 
 package org.dromara.soul.common.utils;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
@@ -35,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -51,6 +54,8 @@ public final class JsonUtils {
 
     private static ObjectMapper mapper = new ObjectMapper();
 
+    private static ObjectWriter classFreeWriter;
+
     private static Logger logger = LoggerFactory.getLogger(JsonUtils.class);
 
     static {
@@ -71,7 +76,10 @@ public final class JsonUtils {
                 .setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"))
                 .registerModule(javaTimeModule)
                 .setFilterProvider(filterProvider);
-
+        ObjectMapper classFreeMapper = mapper.copy();
+        classFreeMapper.configOverride(Map.class)
+                .setIgnorals(JsonIgnoreProperties.Value.forIgnoredProperties("class"));
+        classFreeWriter = classFreeMapper.writer();
     }
 
     /**
@@ -89,6 +97,17 @@ public final class JsonUtils {
         }
     }
 
+    /**
+     * Write json straight to the output stream, dropping the "class" key of every map on the way.
+     *
+     * @param out    the output stream
+     * @param object the object
+     * @throws IOException the io exception
+     */
+    public static void writeWithoutClass(final OutputStream out, final Object object) throws IOException {
+        classFreeWriter.writeValue(out, object);
+    }
+
     /**
      * Remove class object.
      *
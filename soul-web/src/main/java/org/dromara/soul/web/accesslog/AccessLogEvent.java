@@ -0,0 +1,78 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.accesslog;
+
+import lombok.Data;
+
+/**
+ * The type Access log event.
+ * Preallocated in the ring buffer and overwritten in place, so recording allocates nothing.
+ *
+ * @author xiaoyu(Myth)
+ */
+@Data
+public class AccessLogEvent {
+
+    private long timestamp;
+
+    private long elapsedMillis;
+
+    private int status;
+
+    private String method;
+
+    private String path;
+
+    private String upstream;
+
+    private String selector;
+
+    private String rule;
+
+    private String miss;
+
+    /**
+     * Append the record as one tab separated line.
+     *
+     * @param builder the builder
+     */
+    public void appendTo(final StringBuilder builder) {
+        builder.append(timestamp).append('\t')
+                .append(method).append('\t')
+                .append(path).append('\t')
+                .append(status).append('\t')
+                .append(elapsedMillis).append('\t')
+                .append(upstream == null ? "-" : upstream).append('\t')
+                .append(selector == null ? "-" : selector).append('\t')
+                .append(rule == null ? "-" : rule).append('\t')
+                .append(miss == null ? "-" : miss).append('\n');
+    }
+
+    /**
+     * clear data help gc.
+     */
+    public void clear() {
+        method = null;
+        path = null;
+        upstream = null;
+        selector = null;
+        rule = null;
+        miss = null;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.accesslog;
+
+import com.lmax.disruptor.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * The type Access log file writer.
+ * The single consumer of the access log ring buffer, flushing once per batch and rolling by size.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class AccessLogFileWriter implements EventHandler<AccessLogEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessLogFileWriter.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+
+    private final long maxFileSize;
+
+    private final int maxHistory;
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    private Writer writer;
+
+    private long written;
+
+    /**
+     * Instantiates a new Access log file writer.
+     *
+     * @param path        the file path
+     * @param maxFileSize the max file size in bytes
+     * @param maxHistory  the rolled files to keep
+     */
+    public AccessLogFileWriter(final String path, final long maxFileSize, final int maxHistory) {
+        this.file = new File(path).getAbsoluteFile();
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+    }
+
+    @Override
+    public void onEvent(final AccessLogEvent event, final long sequence, final boolean endOfBatch) throws IOException {
+        line.setLength(0);
+        event.appendTo(line);
+        event.clear();
+        if (writer == null) {
+            open();
+        }
+        writer.append(line);
+        written += line.length();
+        if (endOfBatch) {
+            writer.flush();
+            if (written >= maxFileSize) {
+                roll();
+            }
+        }
+    }
+
+    /**
+     * Close the current file.
+     */
+    public void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.error("close access log error", e);
+            }
+            writer = null;
+        }
+    }
+
+    private void open() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("can not create access log dir:" + parent);
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        written = file.length();
+    }
+
+    private void roll() throws IOException {
+        close();
+        String suffix = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File rolled = new File(file.getPath() + "." + suffix);
+        if (!file.renameTo(rolled)) {
+            LOGGER.error("roll access log failed:{}", rolled);
+        }
+        File[] history = file.getParentFile().listFiles((dir, name) -> name.startsWith(file.getName() + "."));
+        if (history != null && history.length > maxHistory) {
+            Arrays.sort(history);
+            for (int i = 0; i < history.length - maxHistory; i++) {
+                if (!history[i].delete()) {
+                    LOGGER.error("delete access log failed:{}", history[i]);
+                }
+            }
+        }
+        open();
+    }
+}
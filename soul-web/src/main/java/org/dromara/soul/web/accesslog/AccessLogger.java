@@ -0,0 +1,176 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.accesslog;
+
+import com.lmax.disruptor.IgnoreExceptionHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.utils.PathMatchUtils;
+import org.dromara.soul.web.config.SoulConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Access logger.
+ * Requests are recorded into a lock-free ring buffer and written by one background thread,
+ * sampled per route, and misses are rate limited; a full buffer drops the record instead of blocking.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class AccessLogger implements InitializingBean, DisposableBean {
+
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private final SoulConfig.AccessLog config;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final AtomicLong missWindow = new AtomicLong();
+
+    private final AtomicInteger missCount = new AtomicInteger();
+
+    private Disruptor<AccessLogEvent> disruptor;
+
+    private AccessLogFileWriter fileWriter;
+
+    /**
+     * Instantiates a new Access logger.
+     *
+     * @param soulConfig the soul config
+     */
+    public AccessLogger(final SoulConfig soulConfig) {
+        this.config = soulConfig.getAccessLog() == null ? new SoulConfig.AccessLog() : soulConfig.getAccessLog();
+    }
+
+    /**
+     * Record the finished exchange when it is sampled.
+     *
+     * @param exchange     the exchange
+     * @param elapsedNanos the elapsed nanos
+     */
+    public void log(final ServerWebExchange exchange, final long elapsedNanos) {
+        if (disruptor == null) {
+            return;
+        }
+        final String miss = exchange.getAttribute(Constants.ACCESS_LOG_MISS);
+        if (miss != null) {
+            if (!acquireMiss()) {
+                return;
+            }
+        } else if (!sampled(exchange)) {
+            return;
+        }
+        final RingBuffer<AccessLogEvent> ringBuffer = disruptor.getRingBuffer();
+        final long sequence;
+        try {
+            sequence = ringBuffer.tryNext();
+        } catch (InsufficientCapacityException e) {
+            dropped.increment();
+            return;
+        }
+        try {
+            final AccessLogEvent event = ringBuffer.get(sequence);
+            final HttpStatus status = exchange.getResponse().getStatusCode();
+            event.setTimestamp(System.currentTimeMillis());
+            event.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            event.setStatus(status == null ? HttpStatus.OK.value() : status.value());
+            event.setMethod(exchange.getRequest().getMethodValue());
+            event.setPath(exchange.getRequest().getURI().getRawPath());
+            event.setUpstream(exchange.getAttribute(Constants.HTTP_URL));
+            event.setSelector(exchange.getAttribute(Constants.ACCESS_LOG_SELECTOR));
+            event.setRule(exchange.getAttribute(Constants.ACCESS_LOG_RULE));
+            event.setMiss(miss);
+        } finally {
+            ringBuffer.publish(sequence);
+        }
+    }
+
+    /**
+     * Records dropped because the ring buffer was full.
+     *
+     * @return the count
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    private boolean sampled(final ServerWebExchange exchange) {
+        double rate = config.getSampleRate();
+        if (exchange.getAttribute(Constants.ACCESS_LOG_SELECTOR) != null
+                || exchange.getAttribute(Constants.ACCESS_LOG_RULE) != null) {
+            rate = 1D;
+        }
+        if (!config.getRoutes().isEmpty()) {
+            final String path = exchange.getRequest().getURI().getRawPath();
+            for (Map.Entry<String, Double> route : config.getRoutes().entrySet()) {
+                if (PathMatchUtils.match(route.getKey(), path)) {
+                    rate = route.getValue();
+                    break;
+                }
+            }
+        }
+        return rate >= 1D || (rate > 0D && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private boolean acquireMiss() {
+        final long second = System.currentTimeMillis() / 1000;
+        final long window = missWindow.get();
+        if (window != second && missWindow.compareAndSet(window, second)) {
+            missCount.set(0);
+        }
+        return missCount.incrementAndGet() <= config.getMissPerSecond();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!config.getEnabled()) {
+            return;
+        }
+        fileWriter = new AccessLogFileWriter(config.getFile(), BYTES_PER_MB * config.getMaxFileSize(), config.getMaxHistory());
+        disruptor = new Disruptor<>(AccessLogEvent::new, config.getBufferSize(),
+                SoulThreadFactory.create("access-log-writer", true),
+                ProducerType.MULTI,
+                new SleepingWaitStrategy());
+        disruptor.handleEventsWith(fileWriter);
+        disruptor.setDefaultExceptionHandler(new IgnoreExceptionHandler());
+        disruptor.start();
+    }
+
+    @Override
+    public void destroy() {
+        if (disruptor != null) {
+            disruptor.shutdown();
+            fileWriter.close();
+        }
+    }
+}
@@ -26,6 +26,8 @@ import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.web.plugin.config.PluginConfigHandler;
 import org.dromara.soul.web.plugin.dubbo.ApplicationConfigCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Objects;
@@ -38,6 +40,8 @@ import java.util.concurrent.ConcurrentMap;
  */
 public abstract class AbstractLocalCacheManager implements LocalCacheManager {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLocalCacheManager.class);
+
     /**
      * pluginName -> PluginData.
      */
@@ -136,18 +140,40 @@ public abstract class AbstractLocalCacheManager implements LocalCacheManager {
             if (RpcTypeEnum.DUBBO.getName().equals(metaData.getRpcType())) {
                 MetaData exist = META_DATA.get(metaData.getPath());
                 if (Objects.isNull(exist)
-                        || Objects.isNull(ApplicationConfigCache.getInstance().get(exist.getServiceName()).isInit())) {
+                        || Objects.isNull(ApplicationConfigCache.getInstance().get(exist))) {
                     //第一次初始化
-                    ApplicationConfigCache.getInstance().initRef(metaData);
-                } else {
-                    if (!exist.getServiceName().equals(metaData.getServiceName())
-                            || !exist.getRpcExt().equals(metaData.getRpcExt())) {
-                        //有更新
-                        ApplicationConfigCache.getInstance().build(metaData);
+                    try {
+                        ApplicationConfigCache.getInstance().initRef(metaData);
+                    } catch (Exception e) {
+                        LOGGER.error("init dubbo ref error:{}", metaData, e);
                     }
+                } else if (!exist.getServiceName().equals(metaData.getServiceName())
+                        || !Objects.equals(exist.getRpcExt(), metaData.getRpcExt())) {
+                    //有更新
+                    invalidateDubboRef(exist);
+                    ApplicationConfigCache.getInstance().build(metaData);
                 }
             }
         }
     }
 
+    /**
+     * Invalidate the dubbo ref of the meta data, unless another path still shares it.
+     *
+     * @param metaData the removed or replaced meta data
+     */
+    void invalidateDubboRef(final MetaData metaData) {
+        if (!RpcTypeEnum.DUBBO.getName().equals(metaData.getRpcType())) {
+            return;
+        }
+        final String key = ApplicationConfigCache.buildKey(metaData);
+        boolean shared = META_DATA.values().stream()
+                .filter(e -> !e.getPath().equals(metaData.getPath()))
+                .filter(e -> RpcTypeEnum.DUBBO.getName().equals(e.getRpcType()))
+                .anyMatch(e -> key.equals(ApplicationConfigCache.buildKey(e)));
+        if (!shared) {
+            ApplicationConfigCache.getInstance().invalidate(metaData);
+        }
+    }
+
 }
@@ -36,6 +36,7 @@ import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.ConfigGroupEnum;
 import org.dromara.soul.common.exception.SoulException;
 import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.metrics.GatewayMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
@@ -180,6 +181,7 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
             ConfigData<PluginData> result = GSON.fromJson(pluginData, new TypeToken<ConfigData<PluginData>>() {
             }.getType());
             GROUP_CACHE.put(ConfigGroupEnum.PLUGIN, result);
+            GatewayMetrics.recordSync(ConfigGroupEnum.PLUGIN, result.getLastModifyTime());
             this.flushAllPlugin(result.getData());
         }
 
@@ -189,6 +191,7 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
             ConfigData<RuleData> result = GSON.fromJson(ruleData, new TypeToken<ConfigData<RuleData>>() {
             }.getType());
             GROUP_CACHE.put(ConfigGroupEnum.RULE, result);
+            GatewayMetrics.recordSync(ConfigGroupEnum.RULE, result.getLastModifyTime());
             this.flushAllRule(result.getData());
         }
 
@@ -198,6 +201,7 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
             ConfigData<SelectorData> result = GSON.fromJson(selectorData, new TypeToken<ConfigData<SelectorData>>() {
             }.getType());
             GROUP_CACHE.put(ConfigGroupEnum.SELECTOR, result);
+            GatewayMetrics.recordSync(ConfigGroupEnum.SELECTOR, result.getLastModifyTime());
             this.flushAllSelector(result.getData());
         }
 
@@ -207,6 +211,7 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
             ConfigData<AppAuthData> result = GSON.fromJson(appAuthData, new TypeToken<ConfigData<AppAuthData>>() {
             }.getType());
             GROUP_CACHE.put(ConfigGroupEnum.APP_AUTH, result);
+            GatewayMetrics.recordSync(ConfigGroupEnum.APP_AUTH, result.getLastModifyTime());
             this.flushAllAppAuth(result.getData());
         }
 
@@ -216,6 +221,7 @@ public class HttpLongPollSyncCache extends HttpCacheHandler implements CommandLi
             ConfigData<MetaData> result = GSON.fromJson(metaData, new TypeToken<ConfigData<MetaData>>() {
             }.getType());
             GROUP_CACHE.put(ConfigGroupEnum.META_DATA, result);
+            GatewayMetrics.recordSync(ConfigGroupEnum.META_DATA, result.getLastModifyTime());
             this.flushMetaData(result.getData());
         }
 
@@ -29,13 +29,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * this is divide  http url upstream.
@@ -51,6 +55,8 @@ public class UpstreamCacheManager {
 
     private static final Map<String, List<DivideUpstream>> UPSTREAM_MAP = Maps.newConcurrentMap();
 
+    private final List<UpstreamListener> listeners = new CopyOnWriteArrayList<>();
+
     /**
      * Find upstream list by selector id list.
      *
@@ -61,6 +67,15 @@ public class UpstreamCacheManager {
         return UPSTREAM_MAP.get(selectorId);
     }
 
+    /**
+     * Register a listener notified of newly learned upstreams.
+     *
+     * @param listener the listener
+     */
+    public void registerListener(final UpstreamListener listener) {
+        listeners.add(listener);
+    }
+
     /**
      * Remove by key.
      *
@@ -112,12 +127,34 @@ public class UpstreamCacheManager {
         final List<DivideUpstream> upstreamList =
                 GsonUtils.getInstance().fromList(selectorData.getHandle(), DivideUpstream.class);
         if (CollectionUtils.isNotEmpty(upstreamList)) {
-            UPSTREAM_MAP.put(selectorData.getId(), upstreamList);
+            final List<DivideUpstream> previous = UPSTREAM_MAP.put(selectorData.getId(), upstreamList);
+            if (!listeners.isEmpty()) {
+                notifyAdded(previous, upstreamList);
+            }
         } else {
             UPSTREAM_MAP.remove(selectorData.getId());
         }
     }
 
+    private void notifyAdded(final List<DivideUpstream> previous, final List<DivideUpstream> current) {
+        final Set<String> known = Optional.ofNullable(previous)
+                .map(list -> list.stream().map(UpstreamCacheManager::upstreamKey).collect(Collectors.toSet()))
+                .orElse(Collections.emptySet());
+        current.stream()
+                .filter(upstream -> !known.contains(upstreamKey(upstream)))
+                .forEach(upstream -> listeners.forEach(listener -> {
+                    try {
+                        listener.onAdded(upstream);
+                    } catch (Exception e) {
+                        LOGGER.error("upstream listener failed for {}", upstream.getUpstreamUrl(), e);
+                    }
+                }));
+    }
+
+    private static String upstreamKey(final DivideUpstream upstream) {
+        return upstream.getProtocol() + upstream.getUpstreamUrl();
+    }
+
     /**
      * The type Worker.
      */
@@ -25,7 +25,6 @@ import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
 import org.dromara.soul.common.enums.PluginEnum;
-import org.dromara.soul.web.plugin.dubbo.ApplicationConfigCache;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -185,8 +184,8 @@ class WebsocketCacheHandler extends CommonCacheHandler {
                     break;
                 case DELETE:
                     metaDataList.forEach(e -> {
-                        ApplicationConfigCache.getInstance().invalidate(e.getServiceName());
                         META_DATA.remove(e.getPath());
+                        invalidateDubboRef(e);
                     });
                     break;
                 case UPDATE:
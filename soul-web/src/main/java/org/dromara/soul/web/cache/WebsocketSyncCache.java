@@ -30,6 +30,7 @@ import org.dromara.soul.common.enums.ConfigGroupEnum;
 import org.dromara.soul.common.enums.DataEventTypeEnum;
 import org.dromara.soul.common.utils.GsonUtils;
 import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.metrics.GatewayMetrics;
 import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.handshake.ServerHandshake;
 import org.slf4j.Logger;
@@ -162,5 +163,6 @@ public class WebsocketSyncCache extends WebsocketCacheHandler {
             default:
                 break;
         }
+        GatewayMetrics.recordSync(groupEnum, 0L);
     }
 }
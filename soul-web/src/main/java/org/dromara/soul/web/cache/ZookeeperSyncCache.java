@@ -29,7 +29,8 @@ import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
-import org.dromara.soul.web.plugin.dubbo.ApplicationConfigCache;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.web.metrics.GatewayMetrics;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.CommandLineRunner;
 
@@ -105,6 +106,7 @@ public class ZookeeperSyncCache extends CommonCacheHandler implements CommandLin
                             PluginData pluginData = (PluginData) d;
                             configPlugin(Collections.singletonList(pluginData));
                             PLUGIN_MAP.put(pluginData.getName(), pluginData);
+                            GatewayMetrics.recordSync(ConfigGroupEnum.PLUGIN, 0L);
                         });
             }
 
@@ -176,7 +178,10 @@ public class ZookeeperSyncCache extends CommonCacheHandler implements CommandLin
         zkClient.subscribeDataChanges(path, new IZkDataListener() {
             @Override
             public void handleDataChange(final String dataPath, final Object data) {
-                Optional.ofNullable(data).ifPresent(d -> cacheSelectorData((SelectorData) d));
+                Optional.ofNullable(data).ifPresent(d -> {
+                    cacheSelectorData((SelectorData) d);
+                    GatewayMetrics.recordSync(ConfigGroupEnum.SELECTOR, 0L);
+                });
             }
 
             @Override
@@ -210,7 +215,10 @@ public class ZookeeperSyncCache extends CommonCacheHandler implements CommandLin
         zkClient.subscribeDataChanges(path, new IZkDataListener() {
             @Override
             public void handleDataChange(final String dataPath, final Object data) {
-                Optional.ofNullable(data).ifPresent(d -> cacheRuleData((RuleData) d));
+                Optional.ofNullable(data).ifPresent(d -> {
+                    cacheRuleData((RuleData) d);
+                    GatewayMetrics.recordSync(ConfigGroupEnum.RULE, 0L);
+                });
             }
 
             @Override
@@ -287,6 +295,7 @@ public class ZookeeperSyncCache extends CommonCacheHandler implements CommandLin
                         .ifPresent(metaData -> {
                             initDubboRef(Collections.singletonList(metaData));
                             META_DATA.put(metaData.getPath(), metaData);
+                            GatewayMetrics.recordSync(ConfigGroupEnum.META_DATA, 0L);
                         });
             }
 
@@ -295,7 +304,7 @@ public class ZookeeperSyncCache extends CommonCacheHandler implements CommandLin
                 final MetaData metaData = zkClient.readData(dataPath);
                 Optional.ofNullable(metaData).ifPresent(d -> {
                     META_DATA.remove(d.getPath());
-                    ApplicationConfigCache.getInstance().invalidate(d.getServiceName());
+                    invalidateDubboRef(d);
                 });
             }
         });
@@ -318,8 +327,10 @@ public class ZookeeperSyncCache extends CommonCacheHandler implements CommandLin
         zkClient.subscribeDataChanges(realPath, new IZkDataListener() {
             @Override
             public void handleDataChange(final String dataPath, final Object data) {
-                Optional.ofNullable(data)
-                        .ifPresent(o -> AUTH_MAP.put(((AppAuthData) o).getAppKey(), (AppAuthData) o));
+                Optional.ofNullable(data).ifPresent(o -> {
+                    AUTH_MAP.put(((AppAuthData) o).getAppKey(), (AppAuthData) o);
+                    GatewayMetrics.recordSync(ConfigGroupEnum.APP_AUTH, 0L);
+                });
             }
 
             @Override
@@ -69,6 +69,11 @@ public class HttpClientProperties {
      */
     private Ssl ssl = new Ssl();
 
+    /**
+     * HTTP/2 configuration for h2 and h2c upstreams.
+     */
+    private Http2 http2 = new Http2();
+
     /**
      * Enables wiretap debugging for Netty HttpClient.
      */
@@ -164,6 +169,24 @@ public class HttpClientProperties {
         this.ssl = ssl;
     }
 
+    /**
+     * Gets http2.
+     *
+     * @return the http2
+     */
+    public Http2 getHttp2() {
+        return http2;
+    }
+
+    /**
+     * Sets http2.
+     *
+     * @param http2 the http2
+     */
+    public void setHttp2(final Http2 http2) {
+        this.http2 = http2;
+    }
+
     /**
      * Is wiretap boolean.
      *
@@ -191,6 +214,7 @@ public class HttpClientProperties {
                 .append("pool", pool)
                 .append("proxy", proxy)
                 .append("ssl", ssl)
+                .append("http2", http2)
                 .append("wiretap", wiretap)
                 .toString();
         // @formatter:on
@@ -212,7 +236,7 @@ public class HttpClientProperties {
         private String name = "proxy";
 
         /**
-         * Only for type FIXED, the maximum number of connections before starting pending
+         * Only for type FIXED, the maximum number of connections per upstream before starting pending
          * acquisition on existing ones.
          */
         private Integer maxConnections = ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS;
@@ -222,6 +246,26 @@ public class HttpClientProperties {
          */
         private Long acquireTimeout = ConnectionProvider.DEFAULT_POOL_ACQUIRE_TIMEOUT;
 
+        /**
+         * The maximum acquires waiting for a connection of one upstream, -1 is unbounded.
+         */
+        private Integer maxPendingAcquires = -1;
+
+        /**
+         * Idle connections older than this (millis) are closed, 0 never evicts.
+         */
+        private Long maxIdleTime = 0L;
+
+        /**
+         * Idle connections open longer than this (millis) are closed, 0 never evicts.
+         */
+        private Long maxLifeTime = 0L;
+
+        /**
+         * Connections opened in the background when a new upstream is learned, 0 disables pre-warming.
+         */
+        private Integer prewarmConnections = 0;
+
         /**
          * Gets type.
          *
@@ -294,11 +338,85 @@ public class HttpClientProperties {
             this.acquireTimeout = acquireTimeout;
         }
 
+        /**
+         * Gets max pending acquires.
+         *
+         * @return the max pending acquires
+         */
+        public Integer getMaxPendingAcquires() {
+            return maxPendingAcquires;
+        }
+
+        /**
+         * Sets max pending acquires.
+         *
+         * @param maxPendingAcquires the max pending acquires
+         */
+        public void setMaxPendingAcquires(final Integer maxPendingAcquires) {
+            this.maxPendingAcquires = maxPendingAcquires;
+        }
+
+        /**
+         * Gets max idle time.
+         *
+         * @return the max idle time
+         */
+        public Long getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        /**
+         * Sets max idle time.
+         *
+         * @param maxIdleTime the max idle time
+         */
+        public void setMaxIdleTime(final Long maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        /**
+         * Gets max life time.
+         *
+         * @return the max life time
+         */
+        public Long getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        /**
+         * Sets max life time.
+         *
+         * @param maxLifeTime the max life time
+         */
+        public void setMaxLifeTime(final Long maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        /**
+         * Gets prewarm connections.
+         *
+         * @return the prewarm connections
+         */
+        public Integer getPrewarmConnections() {
+            return prewarmConnections;
+        }
+
+        /**
+         * Sets prewarm connections.
+         *
+         * @param prewarmConnections the prewarm connections
+         */
+        public void setPrewarmConnections(final Integer prewarmConnections) {
+            this.prewarmConnections = prewarmConnections;
+        }
+
         @Override
         public String toString() {
             return "Pool{" + "type=" + type + ", name='" + name + '\''
                     + ", maxConnections=" + maxConnections + ", acquireTimeout="
-                    + acquireTimeout + '}';
+                    + acquireTimeout + ", maxPendingAcquires=" + maxPendingAcquires
+                    + ", maxIdleTime=" + maxIdleTime + ", maxLifeTime=" + maxLifeTime
+                    + ", prewarmConnections=" + prewarmConnections + '}';
         }
 
         /**
@@ -325,6 +443,88 @@ public class HttpClientProperties {
 
     }
 
+    /**
+     * The type Http2.
+     */
+    public static class Http2 {
+
+        /**
+         * The maximum multiplexed connections per upstream.
+         */
+        private Integer maxConnections = 4;
+
+        /**
+         * The maximum concurrent streams per connection, the peer's SETTINGS_MAX_CONCURRENT_STREAMS may lower it.
+         */
+        private Integer maxConcurrentStreams = 256;
+
+        /**
+         * Connections without streams for longer than this (millis) are closed, 0 never closes them.
+         */
+        private Long maxIdleTime = 60000L;
+
+        /**
+         * Gets max connections.
+         *
+         * @return the max connections
+         */
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        /**
+         * Sets max connections.
+         *
+         * @param maxConnections the max connections
+         */
+        public void setMaxConnections(final Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        /**
+         * Gets max concurrent streams.
+         *
+         * @return the max concurrent streams
+         */
+        public Integer getMaxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        /**
+         * Sets max concurrent streams.
+         *
+         * @param maxConcurrentStreams the max concurrent streams
+         */
+        public void setMaxConcurrentStreams(final Integer maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+        }
+
+        /**
+         * Gets max idle time.
+         *
+         * @return the max idle time
+         */
+        public Long getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        /**
+         * Sets max idle time.
+         *
+         * @param maxIdleTime the max idle time
+         */
+        public void setMaxIdleTime(final Long maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        @Override
+        public String toString() {
+            return "Http2{" + "maxConnections=" + maxConnections
+                    + ", maxConcurrentStreams=" + maxConcurrentStreams
+                    + ", maxIdleTime=" + maxIdleTime + '}';
+        }
+    }
+
     /**
      * The type Proxy.
      */
@@ -24,6 +24,11 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The type Soul config.
@@ -42,8 +47,29 @@ public class SoulConfig implements Serializable {
 
     private Sync sync;
 
-    private Disruptor disruptor;
+    private Disruptor disruptor = new Disruptor();
 
+    private Body body = new Body();
+
+    private AccessLog accessLog = new AccessLog();
+
+    private Retry retry = new Retry();
+
+    private Hedge hedge = new Hedge();
+
+    private Cache cache = new Cache();
+
+    private Coalesce coalesce = new Coalesce();
+
+    private Compress compress = new Compress();
+
+    private RateLimiter rateLimiter = new RateLimiter();
+
+    private Monitor monitor = new Monitor();
+
+    private Profile profile = new Profile();
+
+    private Trace trace = new Trace();
 
     /**
      * The type Sync.
@@ -85,7 +111,294 @@ public class SoulConfig implements Serializable {
 
         private Integer threadSize;
 
+        /**
+         * the most rows handed to the sinks at once.
+         */
+        private Integer batchSize = 512;
+
+        /**
+         * blocking, liteBlocking, sleeping, yielding or busySpin.
+         */
+        private String waitStrategy = "sleeping";
+
+    }
+
+    /**
+     * The type Body, sizes in MB. The limit applies to every request body, not only multipart uploads.
+     */
+    @Data
+    public static class Body {
+
+        /**
+         * unset falls back to the legacy file.size property, then to 10.
+         */
+        private Integer maxSize;
+
+        /**
+         * path pattern -> max size.
+         */
+        private Map<String, Integer> routes = new LinkedHashMap<>();
+
+    }
+
+    /**
+     * The type Access log.
+     */
+    @Data
+    public static class AccessLog {
+
+        private Boolean enabled = true;
+
+        private String file = "logs/soul-access.log";
+
+        /**
+         * roll size in MB.
+         */
+        private Integer maxFileSize = 100;
+
+        private Integer maxHistory = 7;
+
+        /**
+         * ring buffer size, a power of 2.
+         */
+        private Integer bufferSize = 8192;
+
+        /**
+         * sample rate of requests whose selector and rule are not loged.
+         */
+        private Double sampleRate = 0D;
+
+        /**
+         * path pattern -> sample rate.
+         */
+        private Map<String, Double> routes = new LinkedHashMap<>();
+
+        private Integer missPerSecond = 10;
+
+    }
+
+    /**
+     * The type Retry.
+     */
+    @Data
+    public static class Retry {
+
+        /**
+         * retries allowed as a share of the requests in the window.
+         */
+        private Double budgetRatio = 0.1D;
+
+        /**
+         * retries always allowed per second, so that low traffic can still retry.
+         */
+        private Integer minRetriesPerSecond = 10;
+
+        private Integer windowSeconds = 10;
+
+        /**
+         * upstream statuses retried for idempotent methods.
+         */
+        private List<Integer> statuses = new ArrayList<>(Arrays.asList(502, 503, 504));
+
     }
 
+    /**
+     * The type Hedge.
+     */
+    @Data
+    public static class Hedge {
 
+        /**
+         * hedges allowed as a share of the hedgeable requests.
+         */
+        private Double ratio = 0.05D;
+
+        private Integer burst = 20;
+
+        /**
+         * hedge delay in millis while a rule has too few samples for its p95.
+         */
+        private Long defaultDelay = 100L;
+
+        private Integer minSamples = 100;
+
+    }
+
+    /**
+     * The type Cache, sizes in bytes.
+     */
+    @Data
+    public static class Cache {
+
+        private Long maxHeapBytes = 64L * 1024 * 1024;
+
+        /**
+         * budget of the off-heap tier, 0 keeps every entry on heap.
+         */
+        private Long maxOffHeapBytes = 0L;
+
+        /**
+         * bodies larger than this go to the off-heap tier when it is enabled.
+         */
+        private Integer offHeapThreshold = 64 * 1024;
+
+        /**
+         * larger responses are never cached.
+         */
+        private Integer maxEntryBytes = 4 * 1024 * 1024;
+
+    }
+
+    /**
+     * The type Coalesce.
+     */
+    @Data
+    public static class Coalesce {
+
+        /**
+         * a larger shared response makes the waiters call the upstream themselves.
+         */
+        private Integer maxBodyBytes = 4 * 1024 * 1024;
+
+    }
+
+    /**
+     * The type Compress.
+     */
+    @Data
+    public static class Compress {
+
+        private Boolean enabled = false;
+
+        /**
+         * responses with a smaller Content-Length are sent as is.
+         */
+        private Integer minResponseSize = 1024;
+
+        /**
+         * deflate level, 1 (fastest) to 9 (smallest).
+         */
+        private Integer level = 6;
+
+        /**
+         * idle deflaters kept per encoding.
+         */
+        private Integer poolSize = 64;
+
+        private List<String> mimeTypes = new ArrayList<>(Arrays.asList("text/html", "text/plain", "text/css", "text/xml",
+                "application/json", "application/xml", "application/javascript"));
+
+    }
+
+    /**
+     * The type Rate limiter, settings of the local and lease modes.
+     */
+    @Data
+    public static class RateLimiter {
+
+        /**
+         * millis after which an unused key is dropped.
+         */
+        private Long idleTimeout = 60000L;
+
+        private Long maxKeys = 100000L;
+
+        /**
+         * millis a leased batch may be served locally before its rest goes back to redis.
+         */
+        private Long leaseTime = 1000L;
+
+        /**
+         * share of the burst capacity one gateway may hold leased, bounds the global error.
+         */
+        private Double leaseErrorRatio = 0.1D;
+
+        /**
+         * counters per row of the count-min sketch in front of per client keys, a power of two.
+         */
+        private Integer sketchWidth = 65536;
+
+        /**
+         * share of the rate a client must reach within a second before it gets its own bucket.
+         */
+        private Double heavyHitterRatio = 0.5D;
+
+        /**
+         * millis after which a concurrent slot that was never released is dropped.
+         */
+        private Long concurrentTimeout = 60000L;
+
+    }
+
+    /**
+     * The type Monitor.
+     */
+    @Data
+    public static class Monitor {
+
+        /**
+         * seconds between two writes of the aggregated metrics.
+         */
+        private Integer flushInterval = 10;
+
+        /**
+         * the largest latency the histograms track, slower requests are counted at it.
+         */
+        private Long highestTrackableMillis = 60000L;
+
+        /**
+         * flush intervals without requests after which a row is removed.
+         */
+        private Integer idleFlushes = 6;
+
+    }
+
+    /**
+     * The type Profile.
+     */
+    @Data
+    public static class Profile {
+
+        /**
+         * the share of requests whose plugin spans are recorded, 0 turns the profiling off.
+         */
+        private Double sampleRate = 0D;
+
+        /**
+         * sampled requests slower than this, in milliseconds, have their spans logged.
+         */
+        private Long slowThreshold = 1000L;
+
+    }
+
+    /**
+     * The type Trace.
+     */
+    @Data
+    public static class Trace {
+
+        private Boolean enabled = false;
+
+        /**
+         * the share of new traces that are sampled up front, a sampled traceparent from the caller is always kept.
+         */
+        private Double headSampleRate = 0.01D;
+
+        /**
+         * spans not sampled up front are still kept when the request is slower than this, in milliseconds.
+         */
+        private Long tailSlowThreshold = 1000L;
+
+        /**
+         * spans not sampled up front are still kept when the request fails.
+         */
+        private Boolean tailErrors = true;
+
+        private Integer bufferSize = 4096;
+
+        private Integer batchSize = 256;
+
+        private String file = "logs/soul-trace.log";
+
+    }
 }
@@ -18,10 +18,15 @@
 
 package org.dromara.soul.web.configuration;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.dromara.soul.web.cache.LocalCacheManager;
 import org.dromara.soul.web.filter.DubboBodyWebFilter;
 import org.dromara.soul.web.plugin.SoulPlugin;
 import org.dromara.soul.web.plugin.after.DubboResponsePlugin;
+import org.dromara.soul.web.plugin.breaker.CircuitBreakerRegistry;
+import org.dromara.soul.web.plugin.dubbo.ApplicationConfigCache;
 import org.dromara.soul.web.plugin.dubbo.DefaultGenericParamResolveServiceImpl;
 import org.dromara.soul.web.plugin.dubbo.DubboProxyService;
 import org.dromara.soul.web.plugin.dubbo.GenericParamResolveService;
@@ -65,12 +70,14 @@ public class DubboConfiguration {
     /**
      * init dubboPlugin.
      *
-     * @param localCacheManager the local cache manager
+     * @param localCacheManager      the local cache manager
+     * @param circuitBreakerRegistry the circuit breaker registry
      * @return {@linkplain DubboPlugin}
      */
     @Bean
-    public SoulPlugin dubboPlugin(@Qualifier("localCacheManager") final LocalCacheManager localCacheManager) {
-        return new DubboPlugin(localCacheManager, new DubboProxyService(genericParamResolveService()));
+    public SoulPlugin dubboPlugin(@Qualifier("localCacheManager") final LocalCacheManager localCacheManager,
+                                  final CircuitBreakerRegistry circuitBreakerRegistry) {
+        return new DubboPlugin(localCacheManager, new DubboProxyService(genericParamResolveService()), circuitBreakerRegistry);
     }
 
     /**
@@ -83,5 +90,25 @@ public class DubboConfiguration {
         return new DubboResponsePlugin();
     }
 
+    /**
+     * Binds the dubbo reference cache meters.
+     *
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder dubboMeterBinder() {
+        return registry -> {
+            final ApplicationConfigCache cache = ApplicationConfigCache.getInstance();
+            Gauge.builder("soul.dubbo.references.active", cache, ApplicationConfigCache::activeReferences)
+                    .register(registry);
+            Gauge.builder("soul.dubbo.connections.active", cache, ApplicationConfigCache::activeConnections)
+                    .register(registry);
+            FunctionCounter.builder("soul.dubbo.references.created", cache, ApplicationConfigCache::createdReferences)
+                    .register(registry);
+            FunctionCounter.builder("soul.dubbo.references.destroyed", cache, ApplicationConfigCache::destroyedReferences)
+                    .register(registry);
+        };
+    }
+
 }
 
@@ -19,15 +19,27 @@
 
 package org.dromara.soul.web.configuration;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.dromara.soul.web.cache.UpstreamCacheManager;
 import org.dromara.soul.web.config.HttpClientProperties;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.metrics.GatewayMetrics;
 import org.dromara.soul.web.plugin.SoulPlugin;
 import org.dromara.soul.web.plugin.after.NettyClientResponsePlugin;
 import org.dromara.soul.web.plugin.after.WebClientResponsePlugin;
 import org.dromara.soul.web.plugin.http.NettyHttpClientPlugin;
 import org.dromara.soul.web.plugin.http.WebClientPlugin;
+import org.dromara.soul.web.plugin.http.hedge.HedgePolicy;
+import org.dromara.soul.web.plugin.http.http2.Http2ClientHttpConnector;
+import org.dromara.soul.web.plugin.http.http2.Http2ConnectionPool;
+import org.dromara.soul.web.plugin.http.pool.ConnectionPrewarmer;
+import org.dromara.soul.web.plugin.http.pool.UpstreamConnectionProvider;
+import org.dromara.soul.web.plugin.http.retry.HttpRetryPolicy;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.PropertyMapper;
@@ -51,25 +63,38 @@ import java.security.cert.X509Certificate;
 public class HttpClientConfiguration {
 
     /**
-     * Gateway http client http client.
+     * Connection provider, pooled connections are partitioned per upstream.
      *
      * @param properties the properties
-     * @return the http client
+     * @return the connection provider
      */
     @Bean
     @ConditionalOnMissingBean
-    public HttpClient httpClient(final HttpClientProperties properties) {
-        // configure pool resources
+    public ConnectionProvider connectionProvider(final HttpClientProperties properties) {
         HttpClientProperties.Pool pool = properties.getPool();
-        ConnectionProvider connectionProvider;
         if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
-            connectionProvider = ConnectionProvider.newConnection();
-        } else if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
-            connectionProvider = ConnectionProvider.fixed(pool.getName(),
+            return ConnectionProvider.newConnection();
+        }
+        ConnectionProvider delegate;
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
+            delegate = ConnectionProvider.fixed(pool.getName(),
                     pool.getMaxConnections(), pool.getAcquireTimeout());
         } else {
-            connectionProvider = ConnectionProvider.elastic(pool.getName());
+            delegate = ConnectionProvider.elastic(pool.getName());
         }
+        return new UpstreamConnectionProvider(delegate, pool);
+    }
+
+    /**
+     * Gateway http client http client.
+     *
+     * @param properties         the properties
+     * @param connectionProvider the connection provider
+     * @return the http client
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public HttpClient httpClient(final HttpClientProperties properties, final ConnectionProvider connectionProvider) {
         HttpClient httpClient = HttpClient.create(connectionProvider)
                 .tcpConfiguration(tcpClient -> {
                     if (properties.getConnectTimeout() != null) {
@@ -126,6 +151,123 @@ public class HttpClientConfiguration {
         return httpClient;
     }
 
+    /**
+     * Binds the per upstream pool gauges of the connection provider.
+     *
+     * @param connectionProvider the connection provider
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder upstreamPoolMeterBinder(final ConnectionProvider connectionProvider) {
+        return registry -> {
+            if (connectionProvider instanceof UpstreamConnectionProvider) {
+                ((UpstreamConnectionProvider) connectionProvider).bindTo(registry);
+            }
+        };
+    }
+
+    /**
+     * Connection prewarmer, opens pool connections to newly learned upstreams.
+     *
+     * @param httpClient           the http client
+     * @param properties           the properties
+     * @param upstreamCacheManager the upstream cache manager
+     * @return the connection prewarmer
+     */
+    @Bean
+    @ConditionalOnProperty(name = "soul.httpclient.pool.prewarm-connections")
+    public ConnectionPrewarmer connectionPrewarmer(final HttpClient httpClient,
+                                                   final HttpClientProperties properties,
+                                                   final UpstreamCacheManager upstreamCacheManager) {
+        ConnectionPrewarmer connectionPrewarmer = new ConnectionPrewarmer(httpClient,
+                Math.max(1, properties.getPool().getPrewarmConnections()));
+        if (properties.getPool().getPrewarmConnections() > 0) {
+            upstreamCacheManager.registerListener(connectionPrewarmer);
+        }
+        return connectionPrewarmer;
+    }
+
+    /**
+     * Http retry policy shared by the http client plugins.
+     *
+     * @param soulConfig the soul config
+     * @return the http retry policy
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public HttpRetryPolicy httpRetryPolicy(final SoulConfig soulConfig) {
+        return new HttpRetryPolicy(soulConfig.getRetry());
+    }
+
+    /**
+     * Binds the retry counters of the http retry policy.
+     *
+     * @param httpRetryPolicy the http retry policy
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder httpRetryMeterBinder(final HttpRetryPolicy httpRetryPolicy) {
+        return registry -> {
+            FunctionCounter.builder("soul.http.retry.attempts", httpRetryPolicy, HttpRetryPolicy::attempts).register(registry);
+            FunctionCounter.builder("soul.http.retry.successes", httpRetryPolicy, HttpRetryPolicy::successes).register(registry);
+            FunctionCounter.builder("soul.http.retry.budget.exhausted", httpRetryPolicy, HttpRetryPolicy::budgetExhausted).register(registry);
+        };
+    }
+
+    /**
+     * Hedge policy of the web client plugin.
+     *
+     * @param soulConfig the soul config
+     * @return the hedge policy
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public HedgePolicy hedgePolicy(final SoulConfig soulConfig) {
+        return new HedgePolicy(soulConfig.getHedge());
+    }
+
+    /**
+     * Binds the hedge counters of the hedge policy.
+     *
+     * @param hedgePolicy the hedge policy
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder hedgeMeterBinder(final HedgePolicy hedgePolicy) {
+        return registry -> {
+            FunctionCounter.builder("soul.http.hedge.hedged", hedgePolicy, HedgePolicy::hedged).register(registry);
+            FunctionCounter.builder("soul.http.hedge.wins", hedgePolicy, HedgePolicy::wins).register(registry);
+            FunctionCounter.builder("soul.http.hedge.throttled", hedgePolicy, HedgePolicy::throttled).register(registry);
+        };
+    }
+
+    /**
+     * Http2 connection pool for h2 and h2c upstreams.
+     *
+     * @param properties the properties
+     * @return the http2 connection pool
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public Http2ConnectionPool http2ConnectionPool(final HttpClientProperties properties) {
+        return new Http2ConnectionPool(properties);
+    }
+
+    /**
+     * Binds the connection and stream numbers of the http2 connection pool.
+     *
+     * @param http2ConnectionPool the http2 connection pool
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder http2PoolMeterBinder(final Http2ConnectionPool http2ConnectionPool) {
+        return registry -> {
+            Gauge.builder("soul.http2.connections", http2ConnectionPool, Http2ConnectionPool::connections).register(registry);
+            Gauge.builder("soul.http2.streams.active", http2ConnectionPool, Http2ConnectionPool::activeStreams).register(registry);
+            FunctionCounter.builder("soul.http2.streams.opened", http2ConnectionPool, Http2ConnectionPool::openedStreams).register(registry);
+            FunctionCounter.builder("soul.http2.streams.rejected", http2ConnectionPool, Http2ConnectionPool::rejectedStreams).register(registry);
+        };
+    }
 
     /**
      * The type Web client configuration.
@@ -137,14 +279,22 @@ public class HttpClientConfiguration {
         /**
          * Web client plugin soul plugin.
          *
+         * @param httpClient          the http client
+         * @param http2ConnectionPool the http2 connection pool
+         * @param httpRetryPolicy     the http retry policy
+         * @param hedgePolicy         the hedge policy
+         * @param gatewayMetrics      the gateway metrics
          * @return the soul plugin
          */
         @Bean
-        public SoulPlugin webClientPlugin(final HttpClient httpClient) {
+        public SoulPlugin webClientPlugin(final HttpClient httpClient, final Http2ConnectionPool http2ConnectionPool,
+                                          final HttpRetryPolicy httpRetryPolicy, final HedgePolicy hedgePolicy,
+                                          final GatewayMetrics gatewayMetrics) {
             WebClient webClient = WebClient.builder()
-                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .clientConnector(new Http2ClientHttpConnector(http2ConnectionPool,
+                            new ReactorClientHttpConnector(httpClient)))
                     .build();
-            return new WebClientPlugin(webClient);
+            return new WebClientPlugin(webClient, httpRetryPolicy, hedgePolicy, gatewayMetrics);
         }
 
         /**
@@ -169,12 +319,16 @@ public class HttpClientConfiguration {
         /**
          * Netty http client plugin soul plugin.
          *
-         * @param httpClient the http client
+         * @param httpClient          the http client
+         * @param http2ConnectionPool the http2 connection pool
+         * @param httpRetryPolicy     the http retry policy
+         * @param gatewayMetrics      the gateway metrics
          * @return the soul plugin
          */
         @Bean
-        public SoulPlugin nettyHttpClientPlugin(final HttpClient httpClient) {
-            return new NettyHttpClientPlugin(httpClient);
+        public SoulPlugin nettyHttpClientPlugin(final HttpClient httpClient, final Http2ConnectionPool http2ConnectionPool,
+                                                final HttpRetryPolicy httpRetryPolicy, final GatewayMetrics gatewayMetrics) {
+            return new NettyHttpClientPlugin(httpClient, http2ConnectionPool, httpRetryPolicy, gatewayMetrics);
         }
 
         /**
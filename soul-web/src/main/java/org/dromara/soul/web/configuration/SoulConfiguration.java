@@ -18,19 +18,31 @@
 
 package org.dromara.soul.web.configuration;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dromara.soul.web.accesslog.AccessLogger;
 import org.dromara.soul.web.cache.LocalCacheManager;
 import org.dromara.soul.web.cache.UpstreamCacheManager;
 import org.dromara.soul.web.config.HttpClientProperties;
 import org.dromara.soul.web.config.SoulConfig;
 import org.dromara.soul.web.disruptor.publisher.SoulEventPublisher;
+import org.dromara.soul.web.disruptor.sink.InfluxDbSink;
+import org.dromara.soul.web.disruptor.sink.LocalFileSink;
+import org.dromara.soul.web.disruptor.sink.TelemetrySink;
+import org.dromara.soul.web.filter.BodySizeWebFilter;
 import org.dromara.soul.web.filter.DefaultParamService;
-import org.dromara.soul.web.filter.FileSizeFilter;
 import org.dromara.soul.web.filter.ParamService;
 import org.dromara.soul.web.filter.ParamWebFilter;
 import org.dromara.soul.web.filter.TimeWebFilter;
 import org.dromara.soul.web.filter.WebSocketWebFilter;
 import org.dromara.soul.web.handler.SoulWebHandler;
 import org.dromara.soul.web.influxdb.service.InfluxDbService;
+import org.dromara.soul.web.influxdb.service.MonitorAggregator;
+import org.dromara.soul.web.metrics.GatewayMetrics;
+import org.dromara.soul.web.metrics.PluginSpanProfiler;
 import org.dromara.soul.web.plugin.SoulPlugin;
 import org.dromara.soul.web.plugin.after.MonitorPlugin;
 import org.dromara.soul.web.plugin.before.DefaultSignService;
@@ -38,13 +50,31 @@ import org.dromara.soul.web.plugin.before.GlobalPlugin;
 import org.dromara.soul.web.plugin.before.SignPlugin;
 import org.dromara.soul.web.plugin.before.SignService;
 import org.dromara.soul.web.plugin.before.WafPlugin;
+import org.dromara.soul.web.plugin.breaker.CircuitBreakerRegistry;
+import org.dromara.soul.web.plugin.cache.CachePlugin;
+import org.dromara.soul.web.plugin.cache.ResponseCache;
+import org.dromara.soul.web.plugin.compress.CompressPlugin;
+import org.dromara.soul.web.plugin.compress.CompressionMetrics;
+import org.dromara.soul.web.plugin.config.Singleton;
 import org.dromara.soul.web.plugin.function.DividePlugin;
 import org.dromara.soul.web.plugin.function.RateLimiterPlugin;
 import org.dromara.soul.web.plugin.function.RewritePlugin;
 import org.dromara.soul.web.plugin.function.WebSocketPlugin;
+import org.dromara.soul.web.plugin.http.coalesce.RequestCoalescer;
+import org.dromara.soul.web.plugin.ratelimter.HeavyHitterFilter;
+import org.dromara.soul.web.plugin.ratelimter.LocalConcurrentLimiter;
+import org.dromara.soul.web.plugin.ratelimter.LocalRateLimiter;
+import org.dromara.soul.web.plugin.ratelimter.RedisConcurrentLimiter;
+import org.dromara.soul.web.plugin.ratelimter.RedisLeaseRateLimiter;
 import org.dromara.soul.web.plugin.ratelimter.RedisRateLimiter;
+import org.dromara.soul.web.plugin.trace.JsonLinesSpanExporter;
+import org.dromara.soul.web.plugin.trace.SpanExporter;
+import org.dromara.soul.web.plugin.trace.TracePlugin;
+import org.dromara.soul.web.plugin.trace.TraceReporter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -138,11 +168,90 @@ public class SoulConfiguration {
     /**
      * init rateLimiterPlugin.
      *
+     * @param localRateLimiter       the local rate limiter
+     * @param redisLeaseRateLimiter  the redis lease rate limiter
+     * @param heavyHitterFilter      the heavy hitter filter
+     * @param localConcurrentLimiter the local concurrent limiter
+     * @param redisConcurrentLimiter the redis concurrent limiter
      * @return {@linkplain RateLimiterPlugin}
      */
     @Bean
-    public SoulPlugin rateLimiterPlugin() {
-        return new RateLimiterPlugin(localCacheManager, redisRateLimiter());
+    public SoulPlugin rateLimiterPlugin(final LocalRateLimiter localRateLimiter,
+                                        final RedisLeaseRateLimiter redisLeaseRateLimiter,
+                                        final HeavyHitterFilter heavyHitterFilter,
+                                        final LocalConcurrentLimiter localConcurrentLimiter,
+                                        final RedisConcurrentLimiter redisConcurrentLimiter) {
+        return new RateLimiterPlugin(localCacheManager, redisRateLimiter(), localRateLimiter,
+                redisLeaseRateLimiter, heavyHitterFilter, localConcurrentLimiter, redisConcurrentLimiter);
+    }
+
+    /**
+     * init localConcurrentLimiter.
+     *
+     * @param soulConfig the soul config
+     * @return {@linkplain LocalConcurrentLimiter}
+     */
+    @Bean
+    public LocalConcurrentLimiter localConcurrentLimiter(final SoulConfig soulConfig) {
+        return new LocalConcurrentLimiter(soulConfig.getRateLimiter());
+    }
+
+    /**
+     * init redisConcurrentLimiter.
+     *
+     * @param soulConfig the soul config
+     * @return {@linkplain RedisConcurrentLimiter}
+     */
+    @Bean
+    public RedisConcurrentLimiter redisConcurrentLimiter(final SoulConfig soulConfig) {
+        return new RedisConcurrentLimiter(soulConfig.getRateLimiter());
+    }
+
+    /**
+     * init heavyHitterFilter.
+     *
+     * @param soulConfig the soul config
+     * @return {@linkplain HeavyHitterFilter}
+     */
+    @Bean
+    public HeavyHitterFilter heavyHitterFilter(final SoulConfig soulConfig) {
+        return new HeavyHitterFilter(soulConfig.getRateLimiter());
+    }
+
+    /**
+     * init localRateLimiter.
+     *
+     * @param soulConfig the soul config
+     * @return {@linkplain LocalRateLimiter}
+     */
+    @Bean
+    public LocalRateLimiter localRateLimiter(final SoulConfig soulConfig) {
+        return new LocalRateLimiter(soulConfig.getRateLimiter());
+    }
+
+    /**
+     * init redisLeaseRateLimiter.
+     *
+     * @param soulConfig the soul config
+     * @return {@linkplain RedisLeaseRateLimiter}
+     */
+    @Bean
+    public RedisLeaseRateLimiter redisLeaseRateLimiter(final SoulConfig soulConfig) {
+        return new RedisLeaseRateLimiter(soulConfig.getRateLimiter());
+    }
+
+    /**
+     * Redis lease rate limiter meter binder, requests served against the script calls they cost.
+     *
+     * @param redisLeaseRateLimiter the redis lease rate limiter
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder redisLeaseRateLimiterMeterBinder(final RedisLeaseRateLimiter redisLeaseRateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("soul.ratelimiter.lease.requests", redisLeaseRateLimiter, RedisLeaseRateLimiter::requests).register(registry);
+            FunctionCounter.builder("soul.ratelimiter.lease.redis.calls", redisLeaseRateLimiter, RedisLeaseRateLimiter::redisCalls).register(registry);
+        };
     }
 
 
@@ -167,14 +276,155 @@ public class SoulConfiguration {
         return new RewritePlugin(localCacheManager);
     }
 
+    /**
+     * init tracePlugin.
+     *
+     * @param soulConfig    the soul config
+     * @param traceReporter the trace reporter
+     * @return {@linkplain TracePlugin}
+     */
+    @Bean
+    @ConditionalOnProperty(name = "soul.trace.enabled", havingValue = "true")
+    public SoulPlugin tracePlugin(final SoulConfig soulConfig, final TraceReporter traceReporter) {
+        return new TracePlugin(soulConfig.getTrace(), traceReporter);
+    }
+
+    /**
+     * Trace reporter, exports the kept spans in batches off the request threads.
+     *
+     * @param soulConfig   the soul config
+     * @param spanExporter the span exporter
+     * @return the trace reporter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "soul.trace.enabled", havingValue = "true")
+    public TraceReporter traceReporter(final SoulConfig soulConfig, final SpanExporter spanExporter) {
+        return new TraceReporter(soulConfig.getTrace(), spanExporter);
+    }
+
+    /**
+     * Span exporter writing json lines to a local file, replace it with a bean of your own exporter.
+     *
+     * @param soulConfig the soul config
+     * @return the span exporter
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "soul.trace.enabled", havingValue = "true")
+    public SpanExporter spanExporter(final SoulConfig soulConfig) {
+        return new JsonLinesSpanExporter(soulConfig.getTrace().getFile());
+    }
+
+    /**
+     * init compressPlugin.
+     *
+     * @param soulConfig the soul config
+     * @return {@linkplain CompressPlugin}
+     */
+    @Bean
+    @ConditionalOnProperty(name = "soul.compress.enabled", havingValue = "true")
+    public CompressPlugin compressPlugin(final SoulConfig soulConfig) {
+        return new CompressPlugin(soulConfig.getCompress());
+    }
+
+    /**
+     * Compression meter binder, the compression ratio and the cpu spent per byte.
+     *
+     * @param compressPlugin the compress plugin
+     * @return the meter binder
+     */
+    @Bean
+    @ConditionalOnProperty(name = "soul.compress.enabled", havingValue = "true")
+    public MeterBinder compressMeterBinder(final CompressPlugin compressPlugin) {
+        return registry -> {
+            final CompressionMetrics metrics = compressPlugin.metrics();
+            FunctionCounter.builder("soul.compress.compressed", metrics, CompressionMetrics::compressed).register(registry);
+            FunctionCounter.builder("soul.compress.skipped", metrics, CompressionMetrics::skipped).register(registry);
+            Gauge.builder("soul.compress.ratio", metrics, CompressionMetrics::compressionRatio).register(registry);
+            Gauge.builder("soul.compress.cpu.nanos.per.byte", metrics, CompressionMetrics::nanosPerByte).register(registry);
+        };
+    }
+
+    /**
+     * init responseCache.
+     *
+     * @param soulConfig the soul config
+     * @return {@linkplain ResponseCache}
+     */
+    @Bean
+    public ResponseCache responseCache(final SoulConfig soulConfig) {
+        return new ResponseCache(soulConfig.getCache());
+    }
+
+    /**
+     * init cachePlugin.
+     *
+     * @param responseCache the response cache
+     * @return {@linkplain CachePlugin}
+     */
+    @Bean
+    public SoulPlugin cachePlugin(final ResponseCache responseCache) {
+        return new CachePlugin(localCacheManager, responseCache);
+    }
+
+    /**
+     * init circuitBreakerRegistry.
+     *
+     * @return {@linkplain CircuitBreakerRegistry}
+     */
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        return new CircuitBreakerRegistry();
+    }
+
+    /**
+     * Circuit breaker meter binder, state, in flight calls and refusals per breaker.
+     *
+     * @param circuitBreakerRegistry the circuit breaker registry
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder circuitBreakerMeterBinder(final CircuitBreakerRegistry circuitBreakerRegistry) {
+        return circuitBreakerRegistry::bindTo;
+    }
+
+    /**
+     * init requestCoalescer.
+     *
+     * @param soulConfig the soul config
+     * @return {@linkplain RequestCoalescer}
+     */
+    @Bean
+    public RequestCoalescer requestCoalescer(final SoulConfig soulConfig) {
+        return new RequestCoalescer(soulConfig.getCoalesce().getMaxBodyBytes());
+    }
+
+    /**
+     * Request coalescer meter binder, upstream calls, shared responses and the collapse ratio.
+     *
+     * @param requestCoalescer the request coalescer
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder coalesceMeterBinder(final RequestCoalescer requestCoalescer) {
+        return registry -> {
+            FunctionCounter.builder("soul.coalesce.calls", requestCoalescer, RequestCoalescer::calls).register(registry);
+            FunctionCounter.builder("soul.coalesce.shared", requestCoalescer, RequestCoalescer::shared).register(registry);
+            FunctionCounter.builder("soul.coalesce.fallbacks", requestCoalescer, RequestCoalescer::fallbacks).register(registry);
+            Gauge.builder("soul.coalesce.collapse.ratio", requestCoalescer, RequestCoalescer::collapseRatio).register(registry);
+        };
+    }
+
     /**
      * init dividePlugin.
      *
+     * @param requestCoalescer       the request coalescer
+     * @param circuitBreakerRegistry the circuit breaker registry
      * @return {@linkplain DividePlugin}
      */
     @Bean
-    public SoulPlugin dividePlugin() {
-        return new DividePlugin(localCacheManager, upstreamCacheManager);
+    public SoulPlugin dividePlugin(final RequestCoalescer requestCoalescer, final CircuitBreakerRegistry circuitBreakerRegistry) {
+        return new DividePlugin(localCacheManager, upstreamCacheManager, requestCoalescer, circuitBreakerRegistry);
     }
 
     /**
@@ -201,35 +451,102 @@ public class SoulConfiguration {
     }
 
     /**
-     * Soul event publisher soul event publisher.
+     * Influx db sink telemetry sink.
      *
      * @param influxDbService the influx db service
+     * @return the telemetry sink
+     */
+    @Bean
+    public TelemetrySink influxDbSink(final InfluxDbService influxDbService) {
+        return new InfluxDbSink(influxDbService);
+    }
+
+    /**
+     * Local file sink telemetry sink.
+     *
+     * @param file the file path
+     * @return the telemetry sink
+     */
+    @Bean
+    @ConditionalOnProperty(name = "soul.disruptor.file")
+    public TelemetrySink localFileSink(@Value("${soul.disruptor.file}") final String file) {
+        return new LocalFileSink(file);
+    }
+
+    /**
+     * Soul event publisher soul event publisher.
+     *
+     * @param sinks      the telemetry sinks
+     * @param soulConfig the soul config
      * @return the soul event publisher
      */
     @Bean
-    public SoulEventPublisher soulEventPublisher(final InfluxDbService influxDbService) {
-        return new SoulEventPublisher(influxDbService);
+    public SoulEventPublisher soulEventPublisher(final List<TelemetrySink> sinks, final SoulConfig soulConfig) {
+        return new SoulEventPublisher(sinks, soulConfig.getDisruptor());
     }
 
     /**
-     * Monitor plugin soul plugin.
+     * Telemetry meter binder, the disruptor ring and its drops.
+     *
+     * @param soulEventPublisher the soul event publisher
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder telemetryMeterBinder(final SoulEventPublisher soulEventPublisher) {
+        return registry -> {
+            Gauge.builder("soul.disruptor.ring.occupancy", soulEventPublisher, SoulEventPublisher::occupancy).register(registry);
+            FunctionCounter.builder("soul.disruptor.published", soulEventPublisher, SoulEventPublisher::published).register(registry);
+            FunctionCounter.builder("soul.disruptor.dropped", soulEventPublisher, SoulEventPublisher::dropped).register(registry);
+            FunctionCounter.builder("soul.disruptor.failed", soulEventPublisher, SoulEventPublisher::failed).register(registry);
+        };
+    }
+
+    /**
+     * Monitor aggregator monitor aggregator.
      *
      * @param soulEventPublisher the soul event publisher
+     * @param soulConfig         the soul config
+     * @return the monitor aggregator
+     */
+    @Bean
+    public MonitorAggregator monitorAggregator(final SoulEventPublisher soulEventPublisher, final SoulConfig soulConfig) {
+        return new MonitorAggregator(soulEventPublisher, soulConfig.getMonitor());
+    }
+
+    /**
+     * Monitor plugin soul plugin.
+     *
+     * @param monitorAggregator the monitor aggregator
      * @return the soul plugin
      */
     @Bean
-    public SoulPlugin monitorPlugin(final SoulEventPublisher soulEventPublisher) {
-        return new MonitorPlugin(soulEventPublisher, localCacheManager);
+    public SoulPlugin monitorPlugin(final MonitorAggregator monitorAggregator) {
+        return new MonitorPlugin(monitorAggregator, localCacheManager);
+    }
+
+    /**
+     * Access logger.
+     *
+     * @param soulConfig the soul config
+     * @return the access logger
+     */
+    @Bean
+    public AccessLogger accessLogger(final SoulConfig soulConfig) {
+        return new AccessLogger(soulConfig);
     }
 
     /**
      * init SoulWebHandler.
      *
-     * @param plugins this plugins is All impl SoulPlugin.
+     * @param plugins        this plugins is All impl SoulPlugin.
+     * @param accessLogger   the access logger
+     * @param gatewayMetrics the gateway metrics
+     * @param profiler       the plugin span profiler
      * @return {@linkplain SoulWebHandler}
      */
     @Bean("webHandler")
-    public SoulWebHandler soulWebHandler(final List<SoulPlugin> plugins) {
+    public SoulWebHandler soulWebHandler(final List<SoulPlugin> plugins, final AccessLogger accessLogger,
+                                         final GatewayMetrics gatewayMetrics, final PluginSpanProfiler profiler) {
         final List<SoulPlugin> soulPlugins = plugins.stream()
                 .sorted((m, n) -> {
                     if (m.pluginType().equals(n.pluginType())) {
@@ -238,18 +555,45 @@ public class SoulConfiguration {
                         return m.pluginType().getName().compareTo(n.pluginType().getName());
                     }
                 }).collect(Collectors.toList());
-        return new SoulWebHandler(soulPlugins);
+        return new SoulWebHandler(soulPlugins, accessLogger, gatewayMetrics, profiler);
+    }
+
+    /**
+     * Plugin span profiler, sampling is off unless soul.profile.sample-rate is set.
+     *
+     * @param soulConfig     the soul config
+     * @param gatewayMetrics the gateway metrics
+     * @return the plugin span profiler
+     */
+    @Bean
+    public PluginSpanProfiler pluginSpanProfiler(final SoulConfig soulConfig, final GatewayMetrics gatewayMetrics) {
+        return new PluginSpanProfiler(soulConfig.getProfile(), gatewayMetrics.getRegistry());
+    }
+
+    /**
+     * Gateway metrics gateway metrics.
+     *
+     * @param meterRegistry the meter registry
+     * @return the gateway metrics
+     */
+    @Bean
+    public GatewayMetrics gatewayMetrics(final ObjectProvider<MeterRegistry> meterRegistry) {
+        final GatewayMetrics gatewayMetrics = new GatewayMetrics(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        Singleton.INST.single(GatewayMetrics.class, gatewayMetrics);
+        return gatewayMetrics;
     }
 
     /**
-     * Body web filter web filter.
+     * Body size web filter.
      *
+     * @param soulConfig the soul config
+     * @param fileSize   the legacy file.size, used when soul.body.max-size is unset
      * @return the web filter
      */
     @Bean
     @Order(-10)
-    public WebFilter bodySizeFilter() {
-        return new FileSizeFilter();
+    public WebFilter bodySizeFilter(final SoulConfig soulConfig, @Value("${file.size:10}") final Integer fileSize) {
+        return new BodySizeWebFilter(soulConfig, fileSize);
     }
 
     /**
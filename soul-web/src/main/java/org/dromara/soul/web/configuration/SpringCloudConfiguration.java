@@ -20,6 +20,7 @@ package org.dromara.soul.web.configuration;
 
 import org.dromara.soul.web.cache.LocalCacheManager;
 import org.dromara.soul.web.plugin.SoulPlugin;
+import org.dromara.soul.web.plugin.breaker.CircuitBreakerRegistry;
 import org.dromara.soul.web.plugin.function.SpringCloudPlugin;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -46,12 +47,14 @@ public class SpringCloudConfiguration {
     /**
      * init springCloud plugin.
      *
-     * @param loadBalancerClient the load balancer client
-     * @param localCacheManager  the local cache manager
+     * @param loadBalancerClient     the load balancer client
+     * @param localCacheManager      the local cache manager
+     * @param circuitBreakerRegistry the circuit breaker registry
      * @return {@linkplain SpringCloudPlugin}
      */
     @Bean
-    public SoulPlugin springCloudPlugin(final LoadBalancerClient loadBalancerClient, final LocalCacheManager localCacheManager) {
-        return new SpringCloudPlugin(localCacheManager, loadBalancerClient);
+    public SoulPlugin springCloudPlugin(final LoadBalancerClient loadBalancerClient, final LocalCacheManager localCacheManager,
+                                        final CircuitBreakerRegistry circuitBreakerRegistry) {
+        return new SpringCloudPlugin(localCacheManager, loadBalancerClient, circuitBreakerRegistry);
     }
 }
@@ -18,39 +18,93 @@
 
 package org.dromara.soul.web.disruptor.handler;
 
-import com.lmax.disruptor.WorkHandler;
+import com.lmax.disruptor.EventHandler;
+import org.dromara.soul.common.utils.LogUtils;
 import org.dromara.soul.web.disruptor.event.SoulDataEvent;
-import org.dromara.soul.web.influxdb.service.InfluxDbService;
+import org.dromara.soul.web.disruptor.sink.TelemetrySink;
+import org.dromara.soul.web.influxdb.entity.MonitorDO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.Executor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * this is disruptor consumer.
+ * the only consumer of the ring, it copies each event out and clears the slot at once, then hands
+ * the collected rows to the sinks at the end of every disruptor batch or when the batch is full.
  *
  * @author xiaoyu(Myth)
  */
-public class SoulDataHandler implements WorkHandler<SoulDataEvent> {
+public class SoulDataHandler implements EventHandler<SoulDataEvent> {
 
-    private Executor executor;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SoulDataHandler.class);
 
-    private final InfluxDbService influxDbService;
+    private final List<TelemetrySink> sinks;
+
+    private final int batchSize;
+
+    private final List<MonitorDO> batch;
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
 
     /**
      * Instantiates a new Soul data handler.
      *
-     * @param executor        the executor
-     * @param influxDbService the influx db service
+     * @param sinks     the sinks
+     * @param batchSize the most rows handed to the sinks at once
      */
-    public SoulDataHandler(final Executor executor, final InfluxDbService influxDbService) {
-        this.executor = executor;
-        this.influxDbService = influxDbService;
+    public SoulDataHandler(final List<TelemetrySink> sinks, final int batchSize) {
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
     }
 
     @Override
-    public void onEvent(final SoulDataEvent event) {
-        executor.execute(() -> {
-            influxDbService.writeData(event.getMonitorDO());
-            event.clear();
-        });
+    public void onEvent(final SoulDataEvent event, final long sequence, final boolean endOfBatch) {
+        if (event.getMonitorDO() != null) {
+            batch.add(event.getMonitorDO());
+        }
+        event.clear();
+        if (endOfBatch || batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Rows the sinks accepted, counted once per sink.
+     *
+     * @return the long
+     */
+    public long written() {
+        return written.sum();
+    }
+
+    /**
+     * Sink writes that failed.
+     *
+     * @return the long
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    private void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (TelemetrySink sink : sinks) {
+            try {
+                sink.write(batch);
+                written.add(batch.size());
+            } catch (Exception e) {
+                failed.increment();
+                LogUtils.error(LOGGER, "telemetry sink write error:{}", e::getMessage);
+            }
+        }
+        batch.clear();
     }
 }
@@ -19,28 +19,33 @@
 package org.dromara.soul.web.disruptor.publisher;
 
 import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
 import com.lmax.disruptor.IgnoreExceptionHandler;
+import com.lmax.disruptor.LiteBlockingWaitStrategy;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.web.config.SoulConfig;
 import org.dromara.soul.web.disruptor.event.SoulDataEvent;
 import org.dromara.soul.web.disruptor.factory.SoulEventFactory;
 import org.dromara.soul.web.disruptor.handler.SoulDataHandler;
+import org.dromara.soul.web.disruptor.sink.TelemetrySink;
 import org.dromara.soul.web.disruptor.translator.SoulEventTranslator;
 import org.dromara.soul.web.influxdb.entity.MonitorDO;
-import org.dromara.soul.web.influxdb.service.InfluxDbService;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * disruptor start and publishEvent.
+ * publishing never blocks the caller, when the ring is full the event is dropped and counted.
  *
  * @author xiaoyu(Myth)
  */
@@ -48,24 +53,28 @@ public class SoulEventPublisher implements InitializingBean, DisposableBean {
 
     private Disruptor<SoulDataEvent> disruptor;
 
-    private final InfluxDbService influxDbService;
+    private SoulDataHandler handler;
 
-    @Value("${soul.disruptor.bufferSize:4096}")
-    private int bufferSize;
+    private final List<TelemetrySink> sinks;
+
+    private final LongAdder published = new LongAdder();
 
-    @Value("${soul.disruptor.threadSize:16}")
-    private int threadSize;
+    private final LongAdder dropped = new LongAdder();
 
-    @Value("${soul.disruptor.taskQueueSize:4096}")
-    private int threadPoolQueueSize;
+    @Value("${soul.disruptor.bufferSize:4096}")
+    private int bufferSize = 4096;
+
+    private final SoulConfig.Disruptor config;
 
     /**
      * Instantiates a new Soul event publisher.
      *
-     * @param influxDbService the influx db service
+     * @param sinks  the sinks
+     * @param config the disruptor config
      */
-    public SoulEventPublisher(final InfluxDbService influxDbService) {
-        this.influxDbService = influxDbService;
+    public SoulEventPublisher(final List<TelemetrySink> sinks, final SoulConfig.Disruptor config) {
+        this.sinks = sinks;
+        this.config = config;
     }
 
     /**
@@ -73,33 +82,90 @@ public class SoulEventPublisher implements InitializingBean, DisposableBean {
      */
     private void start() {
         disruptor = new Disruptor<>(new SoulEventFactory(), bufferSize,
-                SoulThreadFactory.create("monitor-disruptor-thread-", false),
+                SoulThreadFactory.create("monitor-disruptor-thread-", true),
                 ProducerType.MULTI,
-                new BlockingWaitStrategy());
-
-        final Executor executor = new ThreadPoolExecutor(threadSize, threadSize, 0, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(threadPoolQueueSize),
-                SoulThreadFactory.create("monitor-disruptor-executor", false),
-                new ThreadPoolExecutor.AbortPolicy());
-
-        SoulDataHandler[] consumers = new SoulDataHandler[threadSize];
-        for (int i = 0; i < threadSize; i++) {
-            consumers[i] = new SoulDataHandler(executor, influxDbService);
-        }
-        disruptor.handleEventsWithWorkerPool(consumers);
+                buildWaitStrategy(config.getWaitStrategy()));
+        handler = new SoulDataHandler(sinks, config.getBatchSize());
+        disruptor.handleEventsWith(handler);
         disruptor.setDefaultExceptionHandler(new IgnoreExceptionHandler());
         disruptor.start();
     }
 
     /**
-     * publish disruptor event.
+     * publish disruptor event, without blocking.
      *
      * @param monitorDO data.
+     * @return false when the ring was full and the event dropped
+     */
+    public boolean tryPublish(final MonitorDO monitorDO) {
+        final RingBuffer<SoulDataEvent> ringBuffer = disruptor.getRingBuffer();
+        if (ringBuffer.tryPublishEvent(SoulEventTranslator.INSTANCE, monitorDO)) {
+            published.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Events accepted by the ring.
+     *
+     * @return the long
+     */
+    public long published() {
+        return published.sum();
+    }
+
+    /**
+     * Events dropped because the ring was full.
+     *
+     * @return the long
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Rows the sinks accepted, counted once per sink.
+     *
+     * @return the long
+     */
+    public long written() {
+        return handler.written();
+    }
+
+    /**
+     * Sink writes that failed.
+     *
+     * @return the long
      */
-    public void publishEvent(final MonitorDO monitorDO) {
+    public long failed() {
+        return handler.failed();
+    }
+
+    /**
+     * Events waiting in the ring.
+     *
+     * @return the long
+     */
+    public long occupancy() {
         final RingBuffer<SoulDataEvent> ringBuffer = disruptor.getRingBuffer();
-        ringBuffer.publishEvent(new SoulEventTranslator(), monitorDO);
+        return ringBuffer.getBufferSize() - ringBuffer.remainingCapacity();
+    }
 
+    private static WaitStrategy buildWaitStrategy(final String name) {
+        switch (name) {
+            case "blocking":
+                return new BlockingWaitStrategy();
+            case "liteBlocking":
+                return new LiteBlockingWaitStrategy();
+            case "yielding":
+                return new YieldingWaitStrategy();
+            case "busySpin":
+                return new BusySpinWaitStrategy();
+            default:
+                return new SleepingWaitStrategy();
+        }
     }
 
     @Override
@@ -0,0 +1,80 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.disruptor.sink;
+
+import org.dromara.soul.common.exception.SoulException;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.web.influxdb.entity.MonitorDO;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The type Local file sink.
+ * appends every row as one json line, the file is flushed once per batch.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class LocalFileSink implements TelemetrySink, DisposableBean {
+
+    private final BufferedWriter writer;
+
+    /**
+     * Instantiates a new Local file sink.
+     *
+     * @param file the file path
+     */
+    public LocalFileSink(final String file) {
+        try {
+            final Path path = Paths.get(file);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new SoulException(e);
+        }
+    }
+
+    @Override
+    public void write(final List<MonitorDO> batch) {
+        try {
+            for (MonitorDO monitorDO : batch) {
+                writer.write(GsonUtils.getInstance().toJson(monitorDO));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new SoulException(e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        writer.close();
+    }
+}
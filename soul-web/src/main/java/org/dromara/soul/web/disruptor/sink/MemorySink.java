@@ -0,0 +1,65 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.disruptor.sink;
+
+import org.dromara.soul.web.influxdb.entity.MonitorDO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Memory sink.
+ * keeps what was written, for tests.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class MemorySink implements TelemetrySink {
+
+    private final List<MonitorDO> written = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicInteger batches = new AtomicInteger();
+
+    @Override
+    public void write(final List<MonitorDO> batch) {
+        written.addAll(batch);
+        batches.incrementAndGet();
+    }
+
+    /**
+     * The rows written so far.
+     *
+     * @return the list
+     */
+    public List<MonitorDO> getWritten() {
+        synchronized (written) {
+            return new ArrayList<>(written);
+        }
+    }
+
+    /**
+     * The batches written so far.
+     *
+     * @return the int
+     */
+    public int getBatches() {
+        return batches.get();
+    }
+}
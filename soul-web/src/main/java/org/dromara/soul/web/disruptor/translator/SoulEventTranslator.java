@@ -29,6 +29,11 @@ import org.dromara.soul.web.influxdb.entity.MonitorDO;
  */
 public class SoulEventTranslator implements EventTranslatorOneArg<SoulDataEvent, MonitorDO> {
 
+    /**
+     * The constant INSTANCE, it is stateless.
+     */
+    public static final SoulEventTranslator INSTANCE = new SoulEventTranslator();
+
     @Override
     public void translateTo(final SoulDataEvent soulDataEvent, final long l, final MonitorDO monitorDO) {
         soulDataEvent.setMonitorDO(monitorDO);
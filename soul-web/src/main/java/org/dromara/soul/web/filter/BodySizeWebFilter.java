@@ -0,0 +1,119 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.filter;
+
+import org.dromara.soul.common.exception.SoulException;
+import org.dromara.soul.common.utils.PathMatchUtils;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.result.SoulResultEnum;
+import org.dromara.soul.web.result.SoulResultUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Body size web filter.
+ * Rejects oversize request bodies without buffering them: a declared Content-Length is checked up front,
+ * otherwise the streamed bytes are counted as downstream reads them.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class BodySizeWebFilter implements WebFilter {
+
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private final SoulConfig.Body bodyConfig;
+
+    private final long defaultMaxSize;
+
+    /**
+     * Instantiates a new Body size web filter.
+     *
+     * @param soulConfig the soul config
+     * @param fileSize   the legacy file.size in MB, used when soul.body.max-size is unset
+     */
+    public BodySizeWebFilter(final SoulConfig soulConfig, final Integer fileSize) {
+        this.bodyConfig = soulConfig.getBody() == null ? new SoulConfig.Body() : soulConfig.getBody();
+        this.defaultMaxSize = BYTES_PER_MB * (bodyConfig.getMaxSize() == null ? fileSize : bodyConfig.getMaxSize());
+    }
+
+    @Override
+    public Mono<Void> filter(@NonNull final ServerWebExchange exchange, @NonNull final WebFilterChain chain) {
+        final ServerHttpRequest request = exchange.getRequest();
+        final long maxSize = maxSize(request.getURI().getPath());
+        final long contentLength = request.getHeaders().getContentLength();
+        if (contentLength > maxSize) {
+            return payloadTooLarge(exchange);
+        }
+        if (contentLength >= 0) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequestDecorator decorator = new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                final AtomicLong count = new AtomicLong();
+                return super.getBody().handle((buffer, sink) -> {
+                    if (count.addAndGet(buffer.readableByteCount()) > maxSize) {
+                        DataBufferUtils.release(buffer);
+                        sink.error(new PayloadTooLargeException());
+                    } else {
+                        sink.next(buffer);
+                    }
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().request(decorator).build())
+                .onErrorResume(PayloadTooLargeException.class, e -> exchange.getResponse().isCommitted()
+                        ? Mono.error(e) : payloadTooLarge(exchange));
+    }
+
+    private long maxSize(final String path) {
+        for (Map.Entry<String, Integer> route : bodyConfig.getRoutes().entrySet()) {
+            if (PathMatchUtils.match(route.getKey(), path)) {
+                return BYTES_PER_MB * route.getValue();
+            }
+        }
+        return defaultMaxSize;
+    }
+
+    private Mono<Void> payloadTooLarge(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
+        return SoulResultUtils.error(exchange, SoulResultEnum.PAYLOAD_TOO_LARGE);
+    }
+
+    private static final class PayloadTooLargeException extends SoulException {
+
+        private static final long serialVersionUID = -3312871466127345582L;
+
+        PayloadTooLargeException() {
+            super(SoulResultEnum.PAYLOAD_TOO_LARGE.getMsg());
+        }
+    }
+}
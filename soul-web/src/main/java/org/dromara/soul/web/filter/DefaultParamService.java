@@ -82,6 +82,7 @@ public class DefaultParamService implements ParamService {
         requestDTO.setTimestamp(timestamp);
         requestDTO.setMetaData(metaData);
         requestDTO.setStartDateTime(LocalDateTime.now());
+        requestDTO.setStartNanos(System.nanoTime());
         HttpMethod method = request.getMethod();
         if (Objects.nonNull(method)) {
             requestDTO.setHttpMethod(method.name());
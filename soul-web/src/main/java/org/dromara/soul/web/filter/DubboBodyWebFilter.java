@@ -18,49 +18,39 @@ package org.dromara.soul.web.filter;
 
 import org.dromara.soul.common.constant.Constants;
 import org.dromara.soul.common.enums.RpcTypeEnum;
-import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.web.filter.support.CachedRequestBody;
 import org.dromara.soul.web.request.RequestDTO;
 import org.springframework.http.MediaType;
-import org.springframework.http.codec.HttpMessageReader;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.web.reactive.function.server.HandlerStrategies;
-import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
  * The type Body web filter.
+ * The dubbo body is aggregated once through {@link CachedRequestBody} and decoded straight from that buffer.
  *
  * @author xiaoyu(Myth)
  */
 public class DubboBodyWebFilter implements WebFilter {
 
-    private final List<HttpMessageReader<?>> messageReaders;
-
-    public DubboBodyWebFilter() {
-        this.messageReaders = HandlerStrategies.withDefaults().messageReaders();
-    }
-
     @Override
     public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
-        final ServerHttpRequest request = exchange.getRequest();
         final RequestDTO requestDTO = exchange.getAttribute(Constants.REQUESTDTO);
         if (Objects.nonNull(requestDTO) && RpcTypeEnum.DUBBO.getName().equals(requestDTO.getRpcType())) {
-            MediaType mediaType = request.getHeaders().getContentType();
-            ServerRequest serverRequest = ServerRequest.create(exchange, messageReaders);
-            return serverRequest.bodyToMono(String.class)
+            MediaType mediaType = exchange.getRequest().getHeaders().getContentType();
+            return CachedRequestBody.aggregate(exchange)
                     .flatMap(body -> {
                         if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
-                            exchange.getAttributes().put(Constants.DUBBO_PARAMS, body);
+                            exchange.getAttributes().put(Constants.DUBBO_PARAMS,
+                                    StandardCharsets.UTF_8.decode(body.asByteBuffer()).toString());
                         }
-                        return chain.filter(exchange);
-                    });
+                        return chain.filter(CachedRequestBody.replay(exchange, body));
+                    })
+                    .doFinally(signal -> CachedRequestBody.release(exchange));
         }
         return chain.filter(exchange);
     }
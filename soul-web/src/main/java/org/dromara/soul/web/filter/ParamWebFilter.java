@@ -22,7 +22,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -59,8 +58,7 @@ public class ParamWebFilter extends AbstractWebFilter {
     protected Mono<Void> doDenyResponse(final ServerWebExchange exchange) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.BAD_REQUEST);
-        Object error = SoulResultWarp.error(SoulResultEnum.PARAM_ERROR.getCode(), SoulResultEnum.PARAM_ERROR.getMsg(), null);
-        return SoulResultUtils.result(exchange, error);
+        return SoulResultUtils.error(exchange, SoulResultEnum.PARAM_ERROR);
     }
 
 }
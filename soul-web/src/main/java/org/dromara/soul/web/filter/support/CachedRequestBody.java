@@ -0,0 +1,105 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.filter.support;
+
+import org.dromara.soul.common.constant.Constants;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The type Cached request body.
+ * The request body is read once into a (composite, pooled) buffer that every plugin shares;
+ * replays hand out retained slices so nothing is copied.
+ *
+ * @author xiaoyu(Myth)
+ */
+public final class CachedRequestBody {
+
+    private CachedRequestBody() {
+    }
+
+    /**
+     * Aggregate the request body, or return the already aggregated one.
+     *
+     * @param exchange the exchange
+     * @return the whole body, an empty buffer when there is none
+     */
+    public static Mono<DataBuffer> aggregate(final ServerWebExchange exchange) {
+        final DataBuffer cached = exchange.getAttribute(Constants.CACHED_REQUEST_BODY);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return DataBufferUtils.join(exchange.getRequest().getBody())
+                .switchIfEmpty(Mono.fromSupplier(() -> exchange.getResponse().bufferFactory().allocateBuffer(0)))
+                .doOnNext(body -> exchange.getAttributes().put(Constants.CACHED_REQUEST_BODY, body));
+    }
+
+    /**
+     * Mutate the exchange so that downstream readers replay the cached body.
+     *
+     * @param exchange the exchange
+     * @param body     the cached body
+     * @return the mutated exchange
+     */
+    public static ServerWebExchange replay(final ServerWebExchange exchange, final DataBuffer body) {
+        ServerHttpRequestDecorator decorator = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return replayBody(body);
+            }
+        };
+        return exchange.mutate().request(decorator).build();
+    }
+
+    /**
+     * A body publisher that hands out a new slice of the cached body on each subscription.
+     *
+     * @param body the cached body
+     * @return the flux
+     */
+    public static Flux<DataBuffer> replayBody(final DataBuffer body) {
+        return Flux.defer(() -> Flux.just(slice(body)));
+    }
+
+    /**
+     * Release the cached body once the exchange is done.
+     *
+     * @param exchange the exchange
+     */
+    public static void release(final ServerWebExchange exchange) {
+        final Object cached = exchange.getAttributes().remove(Constants.CACHED_REQUEST_BODY);
+        if (cached instanceof DataBuffer) {
+            DataBufferUtils.release((DataBuffer) cached);
+        }
+    }
+
+    private static DataBuffer slice(final DataBuffer body) {
+        if (body instanceof NettyDataBuffer) {
+            NettyDataBuffer nettyBody = (NettyDataBuffer) body;
+            return nettyBody.factory().wrap(nettyBody.getNativeBuffer().retainedSlice());
+        }
+        return body.slice(body.readPosition(), body.readableByteCount());
+    }
+}
@@ -18,6 +18,9 @@
 
 package org.dromara.soul.web.handler;
 
+import org.dromara.soul.web.accesslog.AccessLogger;
+import org.dromara.soul.web.metrics.GatewayMetrics;
+import org.dromara.soul.web.metrics.PluginSpanProfiler;
 import org.dromara.soul.web.plugin.SoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.springframework.web.server.ServerWebExchange;
@@ -40,13 +43,27 @@ public final class SoulWebHandler implements WebHandler {
 
     private Scheduler scheduler;
 
+    private final AccessLogger accessLogger;
+
+    private final GatewayMetrics.PluginMeters[] meters;
+
+    private final PluginSpanProfiler profiler;
+
     /**
      * Instantiates a new Soul web handler.
      *
-     * @param plugins the plugins
+     * @param plugins        the plugins
+     * @param accessLogger   the access logger
+     * @param gatewayMetrics the gateway metrics
+     * @param profiler       the plugin span profiler
      */
-    public SoulWebHandler(final List<SoulPlugin> plugins) {
+    public SoulWebHandler(final List<SoulPlugin> plugins, final AccessLogger accessLogger,
+                          final GatewayMetrics gatewayMetrics, final PluginSpanProfiler profiler) {
         this.plugins = plugins;
+        this.accessLogger = accessLogger;
+        this.profiler = profiler;
+        this.meters = plugins.stream().map(plugin -> gatewayMetrics.plugin(plugin.named()))
+                .toArray(GatewayMetrics.PluginMeters[]::new);
         String schedulerType = System.getProperty("soul.scheduler.type", "fixed");
         if (Objects.equals(schedulerType, "fixed")) {
             int threads = Integer.parseInt(System.getProperty(
@@ -67,8 +84,17 @@ public final class SoulWebHandler implements WebHandler {
      */
     @Override
     public Mono<Void> handle(final ServerWebExchange exchange) {
-        return new DefaultSoulPluginChain(plugins)
-                .execute(exchange).subscribeOn(scheduler);
+        final long startTime = System.nanoTime();
+        final long[] spans = profiler.sample(plugins.size());
+        return new DefaultSoulPluginChain(plugins, meters, spans)
+                .execute(exchange).subscribeOn(scheduler)
+                .doFinally(signal -> {
+                    final long elapsed = System.nanoTime() - startTime;
+                    accessLogger.log(exchange, elapsed);
+                    if (spans != null) {
+                        profiler.record(exchange, plugins, spans, startTime, elapsed);
+                    }
+                });
     }
 
     private static class DefaultSoulPluginChain implements SoulPluginChain {
@@ -77,13 +103,22 @@ public final class SoulWebHandler implements WebHandler {
 
         private final List<SoulPlugin> plugins;
 
+        private final GatewayMetrics.PluginMeters[] meters;
+
+        private final long[] spans;
+
         /**
          * Instantiates a new Default soul plugin chain.
          *
          * @param plugins the plugins
+         * @param meters  the meters of each plugin
+         * @param spans   the entry and exit nanos of each plugin, null when the request is not sampled
          */
-        DefaultSoulPluginChain(final List<SoulPlugin> plugins) {
+        DefaultSoulPluginChain(final List<SoulPlugin> plugins, final GatewayMetrics.PluginMeters[] meters,
+                               final long[] spans) {
             this.plugins = plugins;
+            this.meters = meters;
+            this.spans = spans;
         }
 
         /**
@@ -96,12 +131,24 @@ public final class SoulWebHandler implements WebHandler {
         public Mono<Void> execute(final ServerWebExchange exchange) {
             return Mono.defer(() -> {
                 if (this.index < plugins.size()) {
-                    SoulPlugin plugin = plugins.get(this.index++);
+                    final int current = this.index++;
+                    SoulPlugin plugin = plugins.get(current);
                     Boolean skip = plugin.skip(exchange);
                     if (skip) {
                         return this.execute(exchange);
                     } else {
-                        return plugin.execute(exchange, this);
+                        // the next plugin is deferred, so this is the plugin's own synchronous time
+                        final long start = System.nanoTime();
+                        final Mono<Void> result = plugin.execute(exchange, this);
+                        meters[current].recordExecute(System.nanoTime() - start);
+                        if (spans == null) {
+                            return result;
+                        }
+                        // the exit is taken before the terminal signal reaches the outer plugins
+                        final int exit = (current << 1) + 1;
+                        spans[current << 1] = start;
+                        return result.doOnTerminate(() -> spans[exit] = System.nanoTime())
+                                .doOnCancel(() -> spans[exit] = System.nanoTime());
                     }
                 } else {
                     return Mono.empty();
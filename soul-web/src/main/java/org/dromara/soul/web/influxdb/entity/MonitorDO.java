@@ -27,6 +27,7 @@ import java.io.Serializable;
 
 /**
  * this is influxDb entity.
+ * one row per module, method, rpcType and resultType aggregated over a flush interval.
  *
  * @author xiaoyu(Myth)
  */
@@ -38,14 +39,8 @@ public class MonitorDO implements Serializable {
 
     private String module;
 
-    private String ip;
-
-    private String host;
-
     private String method;
 
-    private Integer count;
-
     /**
      * success /error /timeout.
      */
@@ -53,7 +48,27 @@ public class MonitorDO implements Serializable {
 
     private String rpcType;
 
-    private Long elapsedTime;
+    private Long count;
+
+    /**
+     * error results and 5xx responses.
+     */
+    private Long errorCount;
+
+    /**
+     * latency percentiles in millis.
+     */
+    private Double p50;
+
+    private Double p90;
+
+    private Double p99;
 
+    private Double max;
+
+    /**
+     * the end of the interval, epoch millis.
+     */
+    private Long timestamp;
 
 }
@@ -23,8 +23,10 @@ import org.dromara.soul.web.plugin.config.Singleton;
 import org.influxdb.dto.Point;
 import org.springframework.data.influxdb.InfluxDBTemplate;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * the influx db Service.
@@ -34,27 +36,35 @@ import java.util.concurrent.TimeUnit;
 public class InfluxDbService {
 
     /**
-     * save data in influxDb.
+     * save data in influxDb with one batched write.
      *
-     * @param monitorDO {@linkplain MonitorDO}
+     * @param monitorDOList {@linkplain MonitorDO}
      */
     @SuppressWarnings("unchecked")
-    public void writeData(final MonitorDO monitorDO) {
+    public void writeBatch(final List<MonitorDO> monitorDOList) {
         InfluxDBTemplate<Point> influxDBTemplate = Singleton.INST.get(InfluxDBTemplate.class);
-        if (Objects.nonNull(influxDBTemplate)) {
-            final Point.Builder builder = Point.measurement("monitorDO")
-                    .time(System.currentTimeMillis(), TimeUnit.MILLISECONDS);
-            builder.tag("host", monitorDO.getHost())
-                    .tag("ip", monitorDO.getIp())
-                    .tag("method", monitorDO.getMethod())
-                    .tag("module", monitorDO.getModule())
-                    .tag("resultType", monitorDO.getResultType())
-                    .tag("rpcType", monitorDO.getRpcType())
-                    .tag("elapsedTime", String.valueOf(monitorDO.getElapsedTime()))
-                    .addField("count", monitorDO.getCount());
-            final Point point = builder.build();
-            influxDBTemplate.write(point);
+        if (Objects.nonNull(influxDBTemplate) && !monitorDOList.isEmpty()) {
+            influxDBTemplate.write(monitorDOList.stream().map(this::buildPoint).collect(Collectors.toList()));
         }
+    }
 
+    /**
+     * only the low cardinality dimensions are tags, the measures are fields.
+     */
+    private Point buildPoint(final MonitorDO monitorDO) {
+        final long time = Objects.nonNull(monitorDO.getTimestamp()) ? monitorDO.getTimestamp() : System.currentTimeMillis();
+        return Point.measurement("monitorDO")
+                .time(time, TimeUnit.MILLISECONDS)
+                .tag("method", monitorDO.getMethod())
+                .tag("module", monitorDO.getModule())
+                .tag("resultType", monitorDO.getResultType())
+                .tag("rpcType", monitorDO.getRpcType())
+                .addField("count", monitorDO.getCount())
+                .addField("errorCount", monitorDO.getErrorCount())
+                .addField("p50", monitorDO.getP50())
+                .addField("p90", monitorDO.getP90())
+                .addField("p99", monitorDO.getP99())
+                .addField("max", monitorDO.getMax())
+                .build();
     }
 }
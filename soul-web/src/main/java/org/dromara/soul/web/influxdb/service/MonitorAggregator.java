@@ -0,0 +1,187 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.influxdb.service;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.disruptor.publisher.SoulEventPublisher;
+import org.dromara.soul.web.influxdb.entity.MonitorDO;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Monitor aggregator.
+ * requests are counted in the gateway per module, method, rpcType and resultType, with striped
+ * counters and an HDR latency histogram each. Every flush interval the rows are published to
+ * the telemetry pipeline, which hands them to the sinks in one batch, instead of one point per
+ * request. Rows idle for idle-flushes intervals are removed, so the map only holds the
+ * combinations in use; a removed row is drained once more on the next flush, so a request
+ * that still got hold of it is carried over instead of lost.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class MonitorAggregator implements InitializingBean, DisposableBean {
+
+    private static final double MICROS_PER_MILLI = 1000D;
+
+    private final Map<Key, Metrics> metrics = new ConcurrentHashMap<>();
+
+    private final Map<Key, Metrics> evicted = new HashMap<>();
+
+    private final SoulEventPublisher soulEventPublisher;
+
+    private final SoulConfig.Monitor config;
+
+    private final long highestTrackableMicros;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Instantiates a new Monitor aggregator.
+     *
+     * @param soulEventPublisher the soul event publisher
+     * @param config             the config
+     */
+    public MonitorAggregator(final SoulEventPublisher soulEventPublisher, final SoulConfig.Monitor config) {
+        this.soulEventPublisher = soulEventPublisher;
+        this.config = config;
+        this.highestTrackableMicros = TimeUnit.MILLISECONDS.toMicros(config.getHighestTrackableMillis());
+    }
+
+    /**
+     * Record one request.
+     *
+     * @param module       the module
+     * @param method       the method
+     * @param rpcType      the rpc type
+     * @param resultType   the result type
+     * @param error        whether it failed
+     * @param elapsedNanos the elapsed nanos
+     */
+    public void record(final String module, final String method, final String rpcType,
+                       final String resultType, final boolean error, final long elapsedNanos) {
+        final Metrics row = metrics.computeIfAbsent(new Key(module, method, rpcType, resultType), key -> new Metrics(highestTrackableMicros));
+        row.count.increment();
+        if (error) {
+            row.errors.increment();
+        }
+        final long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(elapsedNanos, 0L));
+        row.latency.recordValue(Math.min(micros, highestTrackableMicros));
+    }
+
+    /**
+     * Publish the rows of the interval, called by the scheduler.
+     */
+    synchronized void flush() {
+        final long now = System.currentTimeMillis();
+        // increments that raced the removal of a row are moved into the live row of its key
+        evicted.forEach(this::carryOver);
+        evicted.clear();
+        metrics.forEach((key, row) -> {
+            final long count = row.count.sumThenReset();
+            if (count == 0) {
+                if (++row.idleFlushes >= config.getIdleFlushes() && metrics.remove(key, row)) {
+                    evicted.put(key, row);
+                }
+                return;
+            }
+            row.idleFlushes = 0;
+            final Histogram histogram = row.latency.getIntervalHistogram();
+            soulEventPublisher.tryPublish(MonitorDO.builder()
+                    .module(key.module)
+                    .method(key.method)
+                    .rpcType(key.rpcType)
+                    .resultType(key.resultType)
+                    .count(count)
+                    .errorCount(row.errors.sumThenReset())
+                    .p50(histogram.getValueAtPercentile(50) / MICROS_PER_MILLI)
+                    .p90(histogram.getValueAtPercentile(90) / MICROS_PER_MILLI)
+                    .p99(histogram.getValueAtPercentile(99) / MICROS_PER_MILLI)
+                    .max(histogram.getMaxValue() / MICROS_PER_MILLI)
+                    .timestamp(now)
+                    .build());
+        });
+    }
+
+    private void carryOver(final Key key, final Metrics row) {
+        final long count = row.count.sumThenReset();
+        if (count == 0) {
+            return;
+        }
+        final Metrics live = metrics.computeIfAbsent(key, k -> new Metrics(highestTrackableMicros));
+        live.count.add(count);
+        live.errors.add(row.errors.sumThenReset());
+        for (HistogramIterationValue value : row.latency.getIntervalHistogram().recordedValues()) {
+            live.latency.recordValueWithCount(value.getValueIteratedTo(), value.getCountAtValueIteratedTo());
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(SoulThreadFactory.create("monitor-aggregator", true));
+        scheduler.scheduleAtFixedRate(this::flush, config.getFlushInterval(), config.getFlushInterval(), TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class Key {
+
+        private final String module;
+
+        private final String method;
+
+        private final String rpcType;
+
+        private final String resultType;
+    }
+
+    private static final class Metrics {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final Recorder latency;
+
+        private int idleFlushes;
+
+        private Metrics(final long highestTrackableMicros) {
+            this.latency = new Recorder(1, highestTrackableMicros, 2);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.dromara.soul.common.enums.ConfigGroupEnum;
+import org.dromara.soul.web.plugin.config.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * The type Gateway metrics.
+ * the meters of the hot path are registered once per plugin and per upstream and then held,
+ * so recording is a nanoTime pair and a timer update without any lookup. Tags are limited to
+ * plugin names, upstream host:port, status classes and config groups.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class GatewayMetrics {
+
+    private static final String[] STATUS_CLASSES = {"error", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry registry;
+
+    private final Map<String, PluginMeters> plugins = new ConcurrentHashMap<>();
+
+    private final Map<String, UpstreamMeters> upstreams = new ConcurrentHashMap<>();
+
+    private final Map<ConfigGroupEnum, SyncMeters> syncs = new EnumMap<>(ConfigGroupEnum.class);
+
+    /**
+     * Instantiates a new Gateway metrics.
+     *
+     * @param registry the registry
+     */
+    public GatewayMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            syncs.put(group, new SyncMeters(registry, group));
+        }
+    }
+
+    /**
+     * The meters of a plugin.
+     *
+     * @param name the plugin name
+     * @return the plugin meters
+     */
+    public PluginMeters plugin(final String name) {
+        return plugins.computeIfAbsent(name, key -> new PluginMeters(registry, key));
+    }
+
+    /**
+     * The meters of the upstream of an url.
+     *
+     * @param url the url
+     * @return the upstream meters
+     */
+    public UpstreamMeters upstream(final String url) {
+        return upstreams.computeIfAbsent(authority(url), key -> new UpstreamMeters(registry, key));
+    }
+
+    /**
+     * Record a config update applied by a sync strategy.
+     *
+     * @param group          the config group
+     * @param lastModifyTime the change time in admin, 0 when the strategy does not send it
+     */
+    public void syncUpdated(final ConfigGroupEnum group, final long lastModifyTime) {
+        syncs.get(group).updated(lastModifyTime);
+    }
+
+    /**
+     * Record a config update with the registered gateway metrics, if any.
+     *
+     * @param group          the config group
+     * @param lastModifyTime the change time in admin, 0 when the strategy does not send it
+     */
+    public static void recordSync(final ConfigGroupEnum group, final long lastModifyTime) {
+        final GatewayMetrics metrics = Singleton.INST.get(GatewayMetrics.class);
+        if (metrics != null && group != null) {
+            metrics.syncUpdated(group, lastModifyTime);
+        }
+    }
+
+    /**
+     * Gets registry.
+     *
+     * @return the registry
+     */
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    private static String authority(final String url) {
+        final int scheme = url.indexOf("://");
+        final int start = scheme < 0 ? 0 : scheme + 3;
+        int end = url.length();
+        for (int i = start; i < url.length(); i++) {
+            final char c = url.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+        return url.substring(start, end);
+    }
+
+    /**
+     * The meters of one plugin.
+     */
+    public static final class PluginMeters {
+
+        private final Timer execute;
+
+        private final Timer selectorMatch;
+
+        private final Counter selectorMiss;
+
+        private final Timer ruleMatch;
+
+        private final Counter ruleMiss;
+
+        private PluginMeters(final MeterRegistry registry, final String plugin) {
+            this.execute = Timer.builder("soul.plugin.execute").tag("plugin", plugin)
+                    .description("synchronous time spent in SoulPlugin.execute").register(registry);
+            this.selectorMatch = Timer.builder("soul.selector.match").tag("plugin", plugin).register(registry);
+            this.selectorMiss = Counter.builder("soul.selector.miss").tag("plugin", plugin).register(registry);
+            this.ruleMatch = Timer.builder("soul.rule.match").tag("plugin", plugin).register(registry);
+            this.ruleMiss = Counter.builder("soul.rule.miss").tag("plugin", plugin).register(registry);
+        }
+
+        /**
+         * Record execute.
+         *
+         * @param nanos the nanos
+         */
+        public void recordExecute(final long nanos) {
+            execute.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Record selector match.
+         *
+         * @param nanos   the nanos
+         * @param matched whether a selector matched
+         */
+        public void recordSelector(final long nanos, final boolean matched) {
+            selectorMatch.record(nanos, TimeUnit.NANOSECONDS);
+            if (!matched) {
+                selectorMiss.increment();
+            }
+        }
+
+        /**
+         * Record rule match.
+         *
+         * @param nanos   the nanos
+         * @param matched whether a rule matched
+         */
+        public void recordRule(final long nanos, final boolean matched) {
+            ruleMatch.record(nanos, TimeUnit.NANOSECONDS);
+            if (!matched) {
+                ruleMiss.increment();
+            }
+        }
+    }
+
+    /**
+     * The meters of one upstream.
+     */
+    public static final class UpstreamMeters {
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private final Timer[] requests = new Timer[STATUS_CLASSES.length];
+
+        private UpstreamMeters(final MeterRegistry registry, final String upstream) {
+            Gauge.builder("soul.upstream.active", active, AtomicInteger::get).tag("upstream", upstream).register(registry);
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                requests[i] = Timer.builder("soul.upstream.requests")
+                        .tag("upstream", upstream).tag("status", STATUS_CLASSES[i])
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+        }
+
+        /**
+         * Time a call from subscription to its end, whatever the end is.
+         *
+         * @param <T>    the response type
+         * @param call   the call
+         * @param status the status code of a response
+         * @return the timed call
+         */
+        public <T> Mono<T> timed(final Mono<T> call, final ToIntFunction<T> status) {
+            return Mono.defer(() -> {
+                final long start = start();
+                final AtomicInteger code = new AtomicInteger();
+                return call.doOnNext(res -> code.set(status.applyAsInt(res)))
+                        .doFinally(signal -> end(start, code.get()));
+            });
+        }
+
+        /**
+         * Time a call from subscription to its end, whatever the end is.
+         *
+         * @param <T>    the response type
+         * @param call   the call
+         * @param status the status code of a response
+         * @return the timed call
+         */
+        public <T> Flux<T> timed(final Flux<T> call, final ToIntFunction<T> status) {
+            return Flux.defer(() -> {
+                final long start = start();
+                final AtomicInteger code = new AtomicInteger();
+                return call.doOnNext(res -> code.set(status.applyAsInt(res)))
+                        .doFinally(signal -> end(start, code.get()));
+            });
+        }
+
+        private long start() {
+            active.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        private void end(final long startNanos, final int status) {
+            active.decrementAndGet();
+            final int statusClass = status / 100;
+            requests[statusClass > 0 && statusClass < STATUS_CLASSES.length ? statusClass : 0]
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class SyncMeters {
+
+        private final AtomicLong version = new AtomicLong();
+
+        private final AtomicLong lag = new AtomicLong();
+
+        private final AtomicLong appliedAt = new AtomicLong();
+
+        private final Counter updates;
+
+        private SyncMeters(final MeterRegistry registry, final ConfigGroupEnum group) {
+            final String name = group.name();
+            Gauge.builder("soul.sync.version", version, AtomicLong::get).tag("group", name)
+                    .description("lastModifyTime of the config in admin").register(registry);
+            Gauge.builder("soul.sync.lag", lag, AtomicLong::get).tag("group", name).baseUnit("milliseconds")
+                    .description("time from the change in admin to its apply in the gateway").register(registry);
+            Gauge.builder("soul.sync.age", appliedAt, at -> at.get() == 0 ? 0D : (System.currentTimeMillis() - at.get()) / 1000D)
+                    .tag("group", name).baseUnit("seconds").register(registry);
+            this.updates = Counter.builder("soul.sync.updates").tag("group", name).register(registry);
+        }
+
+        private void updated(final long lastModifyTime) {
+            final long now = System.currentTimeMillis();
+            updates.increment();
+            appliedAt.set(now);
+            if (lastModifyTime > 0) {
+                version.set(lastModifyTime);
+                lag.set(Math.max(0L, now - lastModifyTime));
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.plugin.SoulPlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Plugin span profiler.
+ * a sampled request carries a long array with the entry and the exit nanos of each plugin, the exit
+ * is taken when the mono returned by the plugin terminates or is cancelled. The plugins are nested,
+ * each one runs the rest of the chain inside its mono, so the own time of a plugin is its span less
+ * the span of the next plugin that ran. Requests that are not sampled carry no array.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class PluginSpanProfiler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PluginSpanProfiler.class);
+
+    private final double sampleRate;
+
+    private final long slowNanos;
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Plugin span profiler.
+     *
+     * @param profile  the profile config
+     * @param registry the registry
+     */
+    public PluginSpanProfiler(final SoulConfig.Profile profile, final MeterRegistry registry) {
+        this.sampleRate = profile.getSampleRate();
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(profile.getSlowThreshold());
+        this.registry = registry;
+    }
+
+    /**
+     * The span array of a new request, or null when the request is not sampled.
+     *
+     * @param plugins the plugin count
+     * @return the span array
+     */
+    public long[] sample(final int plugins) {
+        if (sampleRate <= 0D || (sampleRate < 1D && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return null;
+        }
+        return new long[plugins << 1];
+    }
+
+    /**
+     * Feed the plugin histograms with the spans of a finished request and log them when it is slow.
+     *
+     * @param exchange     the exchange
+     * @param plugins      the plugins
+     * @param spans        the span array
+     * @param startNanos   the request start nanos
+     * @param elapsedNanos the request elapsed nanos
+     */
+    public void record(final ServerWebExchange exchange, final List<SoulPlugin> plugins, final long[] spans,
+                       final long startNanos, final long elapsedNanos) {
+        final long endNanos = startNanos + elapsedNanos;
+        final boolean slow = elapsedNanos >= slowNanos;
+        final StringBuilder dump = slow ? new StringBuilder(256) : null;
+        int current = next(spans, 0);
+        while (current >= 0) {
+            final int following = next(spans, current + 1);
+            final long total = span(spans, current, endNanos);
+            final long own = following < 0 ? total : Math.max(0L, total - span(spans, following, endNanos));
+            final String name = plugins.get(current).named();
+            final Timer[] pluginTimers = timers.computeIfAbsent(name, this::register);
+            pluginTimers[0].record(own, TimeUnit.NANOSECONDS);
+            pluginTimers[1].record(total, TimeUnit.NANOSECONDS);
+            if (dump != null) {
+                dump.append("\n  ").append(name)
+                        .append(" at ").append(millis(spans[current << 1] - startNanos))
+                        .append(" own ").append(millis(own))
+                        .append(" total ").append(millis(total));
+            }
+            current = following;
+        }
+        if (dump != null) {
+            LOGGER.warn("slow request {} {} took {}ms, plugin spans in ms:{}", exchange.getRequest().getMethodValue(),
+                    exchange.getRequest().getURI().getRawPath(), millis(elapsedNanos), dump);
+        }
+    }
+
+    private Timer[] register(final String name) {
+        final Timer own = Timer.builder("soul.plugin.span.own").tag("plugin", name)
+                .publishPercentileHistogram().register(registry);
+        final Timer total = Timer.builder("soul.plugin.span.total").tag("plugin", name)
+                .publishPercentileHistogram().register(registry);
+        return new Timer[]{own, total};
+    }
+
+    private static int next(final long[] spans, final int from) {
+        for (int i = from; i < spans.length >> 1; i++) {
+            if (spans[i << 1] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long span(final long[] spans, final int index, final long endNanos) {
+        final long exit = spans[(index << 1) + 1];
+        return (exit == 0 ? endNanos : exit) - spans[index << 1];
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%.3f", nanos / 1_000_000D);
+    }
+}
@@ -26,15 +26,12 @@ import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.SelectorTypeEnum;
-import org.dromara.soul.common.utils.LogUtils;
 import org.dromara.soul.web.cache.LocalCacheManager;
 import org.dromara.soul.web.condition.strategy.MatchStrategyUtils;
-import org.dromara.soul.web.request.RequestDTO;
+import org.dromara.soul.web.metrics.GatewayMetrics;
+import org.dromara.soul.web.plugin.config.Singleton;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -50,13 +47,10 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public abstract class AbstractSoulPlugin implements SoulPlugin {
 
-    /**
-     * logger.
-     */
-    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractSoulPlugin.class);
-
     private final LocalCacheManager localCacheManager;
 
+    private volatile GatewayMetrics.PluginMeters meters;
+
     /**
      * this is Template Method child has Implement your own logic.
      *
@@ -81,31 +75,31 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
         String pluginName = named();
         final PluginData pluginData = localCacheManager.findPluginByName(pluginName);
         if (pluginData != null && pluginData.getEnabled()) {
-            final RequestDTO request = exchange.getAttribute(Constants.REQUESTDTO);
             final List<SelectorData> selectors = localCacheManager.findSelectorByPluginName(named());
             if (CollectionUtils.isEmpty(selectors)) {
-                LOGGER.error("can not find selector data :{},params:{}", named(), Objects.requireNonNull(request).toString());
-                Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_SELECTOR.getCode(), SoulResultEnum.CANNOT_FIND_SELECTOR.getMsg(), null);
-                return SoulResultUtils.result(exchange, error);
+                exchange.getAttributes().put(Constants.ACCESS_LOG_MISS, named() + ":selector not found");
+                return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_SELECTOR);
             }
+            final GatewayMetrics.PluginMeters pluginMeters = meters();
+            long start = System.nanoTime();
             final SelectorData selectorData = selectors.stream()
                     .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange))
                     .findFirst().orElse(null);
+            if (Objects.nonNull(pluginMeters)) {
+                pluginMeters.recordSelector(System.nanoTime() - start, Objects.nonNull(selectorData));
+            }
 
             if (Objects.isNull(selectorData)) {
-                LOGGER.error("can not match selector data :{},params:{}", named(), Objects.requireNonNull(request).toString());
-                Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_SELECTOR.getCode(), SoulResultEnum.CANNOT_FIND_SELECTOR.getMsg(), null);
-                return SoulResultUtils.result(exchange, error);
+                exchange.getAttributes().put(Constants.ACCESS_LOG_MISS, named() + ":selector not match");
+                return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_SELECTOR);
             }
 
             if (selectorData.getLoged()) {
-                LogUtils.info(LOGGER, named() + " selector success selector name :{}", selectorData::getName);
-
+                exchange.getAttributes().put(Constants.ACCESS_LOG_SELECTOR, selectorData.getName());
             }
             final List<RuleData> rules =
                     localCacheManager.findRuleBySelectorId(selectorData.getId());
             if (CollectionUtils.isEmpty(rules)) {
-                LOGGER.error("can not match rule data :{},params:{}", named(), Objects.requireNonNull(request).toString());
                 return chain.execute(exchange);
             }
             RuleData rule;
@@ -113,29 +107,42 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
                 //get last
                 rule = rules.get(rules.size() - 1);
             } else {
+                start = System.nanoTime();
                 rule = filterRule(exchange, rules);
+                if (Objects.nonNull(pluginMeters)) {
+                    pluginMeters.recordRule(System.nanoTime() - start, Objects.nonNull(rule));
+                }
             }
             if (Objects.isNull(rule)) {
                 //If the divide or dubbo or spring cloud plug-in does not match, return directly
                 if (PluginEnum.DIVIDE.getName().equals(pluginName)
                         || PluginEnum.DUBBO.getName().equals(pluginName)
                         || PluginEnum.SPRING_CLOUD.getName().equals(pluginName)) {
-                    LOGGER.error(Objects.requireNonNull(request).getModule() + ":" + request.getMethod() + " not match  " + pluginName + "  rule");
-                    Object error = SoulResultWarp.error(SoulResultEnum.RULE_NOT_FIND.getCode(), SoulResultEnum.RULE_NOT_FIND.getMsg(), null);
-                    return SoulResultUtils.result(exchange, error);
+                    exchange.getAttributes().put(Constants.ACCESS_LOG_MISS, named() + ":rule not match");
+                    return SoulResultUtils.error(exchange, SoulResultEnum.RULE_NOT_FIND);
                 }
                 return chain.execute(exchange);
             }
             if (rule.getLoged()) {
-                LogUtils.info(LOGGER, () -> Objects.requireNonNull(request).getModule() + ":" + request.getMethod() + " match " + named()
-                        + " rule is name :"
-                        + rule.getName());
+                exchange.getAttributes().put(Constants.ACCESS_LOG_RULE, rule.getName());
             }
             return doExecute(exchange, chain, selectorData, rule);
         }
         return chain.execute(exchange);
     }
 
+    private GatewayMetrics.PluginMeters meters() {
+        GatewayMetrics.PluginMeters pluginMeters = meters;
+        if (Objects.isNull(pluginMeters)) {
+            final GatewayMetrics gatewayMetrics = Singleton.INST.get(GatewayMetrics.class);
+            if (Objects.nonNull(gatewayMetrics)) {
+                pluginMeters = gatewayMetrics.plugin(named());
+                meters = pluginMeters;
+            }
+        }
+        return pluginMeters;
+    }
+
     private Boolean filterSelector(final SelectorData selector, final ServerWebExchange exchange) {
         if (selector.getType() == SelectorTypeEnum.CUSTOM_FLOW.getCode()) {
             if (CollectionUtils.isEmpty(selector.getConditionList())) {
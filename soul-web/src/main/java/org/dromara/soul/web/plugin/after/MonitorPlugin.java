@@ -26,45 +26,43 @@ import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.PluginTypeEnum;
 import org.dromara.soul.common.enums.ResultEnum;
 import org.dromara.soul.web.cache.LocalCacheManager;
-import org.dromara.soul.web.disruptor.publisher.SoulEventPublisher;
-import org.dromara.soul.web.influxdb.entity.MonitorDO;
+import org.dromara.soul.web.influxdb.service.MonitorAggregator;
 import org.dromara.soul.web.plugin.AbstractSoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.request.RequestDTO;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * the monitor plugin.
+ * records into the {@linkplain MonitorAggregator} once the response is done, the latency is
+ * measured from the monotonic start of the request.
  *
  * @author xiaoyu(Myth)
  */
 public class MonitorPlugin extends AbstractSoulPlugin {
 
-    private final SoulEventPublisher soulEventPublisher;
+    private final MonitorAggregator monitorAggregator;
 
 
     /**
      * Instantiates a new Monitor plugin.
      *
-     * @param soulEventPublisher the soul event publisher
-     * @param localCacheManager  the local cache manager
+     * @param monitorAggregator the monitor aggregator
+     * @param localCacheManager the local cache manager
      */
-    public MonitorPlugin(final SoulEventPublisher soulEventPublisher,
+    public MonitorPlugin(final MonitorAggregator monitorAggregator,
                          final LocalCacheManager localCacheManager) {
         super(localCacheManager);
-        this.soulEventPublisher = soulEventPublisher;
+        this.monitorAggregator = monitorAggregator;
     }
 
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
-        Optional.ofNullable(buildMonitorData(exchange)).ifPresent(soulEventPublisher::publishEvent);
-        return chain.execute(exchange);
+        return chain.execute(exchange).doFinally(signal -> record(exchange));
     }
 
     @Override
@@ -77,24 +75,20 @@ public class MonitorPlugin extends AbstractSoulPlugin {
         return PluginEnum.MONITOR.getCode();
     }
 
-    private MonitorDO buildMonitorData(final ServerWebExchange exchange) {
+    private void record(final ServerWebExchange exchange) {
         final RequestDTO requestDTO = exchange.getAttribute(Constants.REQUESTDTO);
-        if (Objects.isNull(requestDTO) || Objects.isNull(exchange.getRequest().getRemoteAddress())) {
-            return null;
+        if (Objects.isNull(requestDTO)) {
+            return;
         }
         String resultType = exchange.getAttribute(Constants.CLIENT_RESPONSE_RESULT_TYPE);
         if (StringUtils.isBlank(resultType)) {
             resultType = ResultEnum.ERROR.getName();
         }
-        return MonitorDO.builder().resultType(resultType)
-                .rpcType(requestDTO.getRpcType())
-                .count(1)
-                .module(requestDTO.getModule())
-                .method(requestDTO.getMethod())
-                .ip(exchange.getRequest().getRemoteAddress().getAddress().getHostAddress())
-                .host(exchange.getRequest().getRemoteAddress().getHostString())
-                .elapsedTime(Duration.between(LocalDateTime.now(), requestDTO.getStartDateTime()).toMillis())
-                .build();
+        final HttpStatus status = exchange.getResponse().getStatusCode();
+        final boolean error = !ResultEnum.SUCCESS.getName().equals(resultType)
+                || (Objects.nonNull(status) && status.is5xxServerError());
+        monitorAggregator.record(requestDTO.getModule(), requestDTO.getMethod(), requestDTO.getRpcType(),
+                resultType, error, System.nanoTime() - requestDTO.getStartNanos());
     }
 
     /**
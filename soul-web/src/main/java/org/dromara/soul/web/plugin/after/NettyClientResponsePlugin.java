@@ -27,9 +27,10 @@ import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.web.plugin.SoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.request.RequestDTO;
-import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.server.ServerWebExchange;
@@ -58,22 +59,27 @@ public class NettyClientResponsePlugin implements SoulPlugin {
         return Mono.defer(() -> {
             final RequestDTO requestDTO = exchange.getAttribute(Constants.REQUESTDTO);
             assert requestDTO != null;
+            ServerHttpResponse response = exchange.getResponse();
             Connection connection = exchange.getAttribute(Constants.CLIENT_RESPONSE_CONN_ATTR);
-            if (connection == null) {
+            final Flux<? extends DataBuffer> body;
+            if (connection != null) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("NettyWriteResponseFilter start inbound: "
+                            + connection.channel().id().asShortText() + ", outbound: "
+                            + exchange.getLogPrefix());
+                }
+                NettyDataBufferFactory factory = (NettyDataBufferFactory) response.bufferFactory();
+                body = connection
+                        .inbound()
+                        .receive()
+                        .retain()
+                        .map(factory::wrap);
+            } else if (exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR) instanceof ClientHttpResponse) {
+                ClientHttpResponse clientResponse = exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR);
+                body = clientResponse.getBody();
+            } else {
                 return Mono.empty();
             }
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("NettyWriteResponseFilter start inbound: "
-                        + connection.channel().id().asShortText() + ", outbound: "
-                        + exchange.getLogPrefix());
-            }
-            ServerHttpResponse response = exchange.getResponse();
-            NettyDataBufferFactory factory = (NettyDataBufferFactory) response.bufferFactory();
-            final Flux<NettyDataBuffer> body = connection
-                    .inbound()
-                    .receive()
-                    .retain()
-                    .map(factory::wrap);
             MediaType contentType = response.getHeaders().getContentType();
             return isStreamingMediaType(contentType)
                     ? response.writeAndFlushWith(body.map(Flux::just))
@@ -28,7 +28,6 @@ import org.dromara.soul.web.plugin.SoulPluginChain;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.reactive.function.BodyExtractors;
@@ -61,11 +60,9 @@ public class WebClientResponsePlugin implements SoulPlugin {
             if (Objects.isNull(clientResponse)
                     || response.getStatusCode() == HttpStatus.BAD_GATEWAY
                     || response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR) {
-                Object error = SoulResultWarp.error(SoulResultEnum.SERVICE_RESULT_ERROR.getCode(), SoulResultEnum.SERVICE_RESULT_ERROR.getMsg(), null);
-                return SoulResultUtils.result(exchange, error);
+                return SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_RESULT_ERROR);
             } else if (response.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT) {
-                Object error = SoulResultWarp.error(SoulResultEnum.SERVICE_TIMEOUT.getCode(), SoulResultEnum.SERVICE_TIMEOUT.getMsg(), null);
-                return SoulResultUtils.result(exchange, error);
+                return SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_TIMEOUT);
             }
             response.getHeaders().putAll(clientResponse.headers().asHttpHeaders());
             return response.writeWith(clientResponse.body(BodyExtractors.toDataBuffers()));
@@ -0,0 +1,127 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.breaker;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The type Adaptive concurrency limit.
+ * a gradient limit: while the latency stays near its long term average the limit grows by its
+ * square root, when the latency rises the limit shrinks by the ratio of the two. Timeouts back off.
+ * A sample arriving during another update is skipped rather than waited for.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final int INITIAL_LIMIT = 20;
+
+    private static final int MIN_LIMIT = 4;
+
+    private static final double SMOOTHING = 0.2D;
+
+    private static final double RTT_TOLERANCE = 1.5D;
+
+    private static final int LONG_WINDOW = 600;
+
+    private static final double BACKOFF_RATIO = 0.9D;
+
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    private volatile int maxLimit;
+
+    private volatile int limit;
+
+    private double estimatedLimit;
+
+    private double longRtt;
+
+    private long samples;
+
+    /**
+     * Instantiates a new Adaptive concurrency limit.
+     *
+     * @param maxLimit the max limit
+     */
+    AdaptiveConcurrencyLimit(final int maxLimit) {
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.min(INITIAL_LIMIT, maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * The current limit.
+     *
+     * @return the int
+     */
+    int getLimit() {
+        return Math.min(limit, maxLimit);
+    }
+
+    /**
+     * Sets max limit.
+     *
+     * @param maxLimit the max limit
+     */
+    void setMaxLimit(final int maxLimit) {
+        if (maxLimit != this.maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    /**
+     * Feed a finished call.
+     *
+     * @param rttNanos the round trip nanos
+     * @param inFlight the calls in flight when it started
+     * @param dropped  whether it timed out
+     */
+    void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (!updating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final double newLimit;
+            if (dropped) {
+                newLimit = estimatedLimit * BACKOFF_RATIO;
+            } else {
+                final double rtt = Math.max(rttNanos, 1L);
+                if (samples < LONG_WINDOW) {
+                    samples++;
+                }
+                final double factor = samples < LONG_WINDOW ? 1D / samples : 2D / (LONG_WINDOW + 1);
+                longRtt = longRtt == 0D ? rtt : longRtt + (rtt - longRtt) * factor;
+                if (longRtt / rtt > 2D) {
+                    // latency recovered, let the average catch up
+                    longRtt *= 0.95D;
+                }
+                if (inFlight < estimatedLimit / 2) {
+                    return;
+                }
+                final double gradient = Math.max(0.5D, Math.min(1D, RTT_TOLERANCE * longRtt / rtt));
+                newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            }
+            final double smoothed = estimatedLimit * (1D - SMOOTHING) + newLimit * SMOOTHING;
+            estimatedLimit = Math.min(maxLimit, Math.max(MIN_LIMIT, smoothed));
+            limit = (int) estimatedLimit;
+        } finally {
+            updating.set(false);
+        }
+    }
+}
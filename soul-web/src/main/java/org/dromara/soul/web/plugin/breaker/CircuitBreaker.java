@@ -0,0 +1,354 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.breaker;
+
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.dto.convert.HystrixHandle;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * The type Circuit breaker.
+ * a semaphore bulkhead plus a closed/open/half-open breaker over a ten second window, configured
+ * from the {@linkplain HystrixHandle} of the rule. Open circuits let one trial call through per
+ * sleep window. With adaptiveConcurrency the bulkhead size follows {@linkplain AdaptiveConcurrencyLimit}.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class CircuitBreaker {
+
+    private static final int WINDOW_BUCKETS = 10;
+
+    private static final long BUCKET_MILLIS = 1000L;
+
+    private final String name;
+
+    private final LongSupplier clock;
+
+    private final SlidingWindow window = new SlidingWindow(WINDOW_BUCKETS, BUCKET_MILLIS);
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder shortCircuited = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private volatile long openedAt;
+
+    private volatile long lastUsed;
+
+    private volatile int maxConcurrentRequests = Constants.MAX_CONCURRENT_REQUESTS;
+
+    private volatile int errorThresholdPercentage = Constants.ERROR_THRESHOLD_PERCENTAGE;
+
+    private volatile int requestVolumeThreshold = Constants.REQUEST_VOLUME_THRESHOLD;
+
+    private volatile int sleepWindowInMilliseconds = Constants.SLEEP_WINDOW_INMILLISECONDS;
+
+    private volatile long timeout = Constants.TIME_OUT;
+
+    private volatile AdaptiveConcurrencyLimit adaptiveLimit;
+
+    /**
+     * Instantiates a new Circuit breaker.
+     *
+     * @param name the name
+     */
+    public CircuitBreaker(final String name) {
+        this(name, System::currentTimeMillis);
+    }
+
+    /**
+     * Instantiates a new Circuit breaker.
+     *
+     * @param name  the name
+     * @param clock the millis clock
+     */
+    public CircuitBreaker(final String name, final LongSupplier clock) {
+        this.name = name;
+        this.clock = clock;
+        this.lastUsed = clock.getAsLong();
+    }
+
+    /**
+     * Apply the rule settings, zero keeps the default.
+     *
+     * @param handle the handle
+     */
+    public void configure(final HystrixHandle handle) {
+        final int maxConcurrent = orDefault(handle.getMaxConcurrentRequests(), Constants.MAX_CONCURRENT_REQUESTS);
+        if (maxConcurrent != maxConcurrentRequests) {
+            maxConcurrentRequests = maxConcurrent;
+        }
+        if (handle.isAdaptiveConcurrency()) {
+            if (adaptiveLimit == null) {
+                adaptiveLimit = new AdaptiveConcurrencyLimit(maxConcurrent);
+            } else {
+                adaptiveLimit.setMaxLimit(maxConcurrent);
+            }
+        } else if (adaptiveLimit != null) {
+            adaptiveLimit = null;
+        }
+        final int errorThreshold = orDefault(handle.getErrorThresholdPercentage(), Constants.ERROR_THRESHOLD_PERCENTAGE);
+        if (errorThreshold != errorThresholdPercentage) {
+            errorThresholdPercentage = errorThreshold;
+        }
+        final int volumeThreshold = orDefault(handle.getRequestVolumeThreshold(), Constants.REQUEST_VOLUME_THRESHOLD);
+        if (volumeThreshold != requestVolumeThreshold) {
+            requestVolumeThreshold = volumeThreshold;
+        }
+        final int sleepWindow = orDefault(handle.getSleepWindowInMilliseconds(), Constants.SLEEP_WINDOW_INMILLISECONDS);
+        if (sleepWindow != sleepWindowInMilliseconds) {
+            sleepWindowInMilliseconds = sleepWindow;
+        }
+        final long callTimeout = handle.getTimeout() > 0 ? handle.getTimeout() : Constants.TIME_OUT;
+        if (callTimeout != timeout) {
+            timeout = callTimeout;
+        }
+    }
+
+    /**
+     * Run the call through the bulkhead and the breaker, failures, timeouts and refusals go to the fallback.
+     *
+     * @param <T>      the type parameter
+     * @param call     the call
+     * @param fallback the fallback
+     * @return the mono
+     */
+    public <T> Mono<T> run(final Mono<T> call, final Function<Throwable, Mono<T>> fallback) {
+        return Mono.defer(() -> {
+            final AdaptiveConcurrencyLimit adaptive = adaptiveLimit;
+            final int concurrency = inFlight.incrementAndGet();
+            if (concurrency > (adaptive == null ? maxConcurrentRequests : adaptive.getLimit())) {
+                inFlight.decrementAndGet();
+                rejected.increment();
+                return fallback.apply(new BulkheadFullException(name + " bulkhead is full"));
+            }
+            final Permission permission = acquirePermission();
+            if (permission == Permission.REJECT) {
+                inFlight.decrementAndGet();
+                shortCircuited.increment();
+                return fallback.apply(new CallNotPermittedException(name + " circuit breaker is open"));
+            }
+            final boolean trial = permission == Permission.TRIAL;
+            final long start = System.nanoTime();
+            return call.timeout(Duration.ofMillis(timeout))
+                    .doOnError(e -> {
+                        if (e instanceof TimeoutException) {
+                            timeouts.increment();
+                            if (adaptive != null) {
+                                adaptive.onSample(System.nanoTime() - start, concurrency, true);
+                            }
+                        }
+                    })
+                    .doOnSuccess(v -> {
+                        if (adaptive != null) {
+                            adaptive.onSample(System.nanoTime() - start, concurrency, false);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        inFlight.decrementAndGet();
+                        onSignal(signal, trial);
+                    })
+                    .onErrorResume(fallback);
+        });
+    }
+
+    /**
+     * Is the circuit open.
+     *
+     * @return the boolean
+     */
+    public boolean isOpen() {
+        return state.get() != State.CLOSED;
+    }
+
+    /**
+     * Metrics.
+     *
+     * @return the circuit breaker metrics
+     */
+    public CircuitBreakerMetrics metrics() {
+        final long now = clock.getAsLong();
+        final AdaptiveConcurrencyLimit adaptive = adaptiveLimit;
+        return new CircuitBreakerMetrics(name, state.get(), adaptive == null ? maxConcurrentRequests : adaptive.getLimit(),
+                inFlight.get(), window.successes(now), window.failures(now),
+                shortCircuited.sum(), rejected.sum(), timeouts.sum());
+    }
+
+    /**
+     * Mark the breaker as used by a request.
+     *
+     * @param now the now millis
+     */
+    void touch(final long now) {
+        lastUsed = now;
+    }
+
+    /**
+     * Whether no request used the breaker for longer than the idle time.
+     *
+     * @param now        the now millis
+     * @param idleMillis the idle millis
+     * @return the boolean
+     */
+    boolean isIdle(final long now, final long idleMillis) {
+        return inFlight.get() == 0 && now - lastUsed > idleMillis;
+    }
+
+    /**
+     * Current state.
+     *
+     * @return the state
+     */
+    State state() {
+        return state.get();
+    }
+
+    /**
+     * Current concurrency limit, the adaptive one when enabled.
+     *
+     * @return the int
+     */
+    int limit() {
+        final AdaptiveConcurrencyLimit adaptive = adaptiveLimit;
+        return adaptive == null ? maxConcurrentRequests : adaptive.getLimit();
+    }
+
+    /**
+     * Calls in flight.
+     *
+     * @return the int
+     */
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Calls refused by the open circuit.
+     *
+     * @return the long
+     */
+    long shortCircuited() {
+        return shortCircuited.sum();
+    }
+
+    /**
+     * Calls refused by the full bulkhead.
+     *
+     * @return the long
+     */
+    long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Calls that timed out.
+     *
+     * @return the long
+     */
+    long timeouts() {
+        return timeouts.sum();
+    }
+
+    private Permission acquirePermission() {
+        final State current = state.get();
+        if (current == State.CLOSED) {
+            return Permission.PERMIT;
+        }
+        if (current == State.OPEN && clock.getAsLong() - openedAt >= sleepWindowInMilliseconds
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return Permission.TRIAL;
+        }
+        return Permission.REJECT;
+    }
+
+    private void onSignal(final SignalType signal, final boolean trial) {
+        final long now = clock.getAsLong();
+        if (signal == SignalType.ON_COMPLETE) {
+            window.success(now);
+            if (trial && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                window.reset();
+            }
+        } else if (signal == SignalType.ON_ERROR) {
+            window.failure(now);
+            if (trial) {
+                openedAt = now;
+                state.compareAndSet(State.HALF_OPEN, State.OPEN);
+            } else if (state.get() == State.CLOSED) {
+                tripIfNeeded(now);
+            }
+        } else if (signal == SignalType.CANCEL && trial) {
+            // the trial gave no answer, let the next request try again
+            openedAt = now - sleepWindowInMilliseconds;
+            state.compareAndSet(State.HALF_OPEN, State.OPEN);
+        }
+    }
+
+    private void tripIfNeeded(final long now) {
+        final long failures = window.failures(now);
+        final long total = failures + window.successes(now);
+        if (total >= requestVolumeThreshold && failures * 100 >= (long) errorThresholdPercentage * total) {
+            openedAt = now;
+            state.compareAndSet(State.CLOSED, State.OPEN);
+        }
+    }
+
+    private static int orDefault(final int value, final int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * The enum State.
+     */
+    public enum State {
+
+        /**
+         * Closed state, calls go through.
+         */
+        CLOSED,
+
+        /**
+         * Open state, calls are refused.
+         */
+        OPEN,
+
+        /**
+         * Half open state, one trial call is in flight.
+         */
+        HALF_OPEN
+    }
+
+    private enum Permission {
+
+        PERMIT, TRIAL, REJECT
+    }
+}
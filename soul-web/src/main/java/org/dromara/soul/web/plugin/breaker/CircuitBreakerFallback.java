@@ -0,0 +1,91 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.breaker;
+
+import org.dromara.soul.common.utils.LogUtils;
+import org.dromara.soul.web.result.SoulResultEnum;
+import org.dromara.soul.web.result.SoulResultUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The fallback responses of the rpc plugins.
+ *
+ * @author xiaoyu(Myth)
+ */
+public final class CircuitBreakerFallback {
+
+    /**
+     * logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerFallback.class);
+
+    private CircuitBreakerFallback() {
+    }
+
+    /**
+     * Http fallback, 503 when the concurrency limit is reached, 504 on timeout otherwise 500.
+     *
+     * @param exchange  the exchange
+     * @param throwable the throwable
+     * @return the mono
+     */
+    public static Mono<Void> http(final ServerWebExchange exchange, final Throwable throwable) {
+        if (throwable instanceof BulkheadFullException) {
+            return shed(exchange);
+        }
+        if (throwable instanceof TimeoutException) {
+            exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+        } else {
+            if (!(throwable instanceof CallNotPermittedException)) {
+                LOGGER.error("http execute have error:", throwable);
+            }
+            exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        return SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_RESULT_ERROR);
+    }
+
+    /**
+     * Dubbo fallback.
+     *
+     * @param exchange  the exchange
+     * @param throwable the throwable
+     * @return the mono
+     */
+    public static Mono<Void> dubbo(final ServerWebExchange exchange, final Throwable throwable) {
+        if (throwable instanceof BulkheadFullException) {
+            return shed(exchange);
+        }
+        if (!(throwable instanceof CallNotPermittedException)) {
+            LogUtils.error(LOGGER, "dubbo rpc have error:{}", throwable::getMessage);
+        }
+        exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+        return SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_RESULT_ERROR);
+    }
+
+    private static Mono<Void> shed(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        return SoulResultUtils.error(exchange, SoulResultEnum.SERVICE_UNAVAILABLE);
+    }
+}
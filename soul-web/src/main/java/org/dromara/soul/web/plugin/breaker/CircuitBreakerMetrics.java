@@ -0,0 +1,50 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.breaker;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The type Circuit breaker metrics, window counts cover the last ten seconds.
+ *
+ * @author xiaoyu(Myth)
+ */
+@Data
+@AllArgsConstructor
+public class CircuitBreakerMetrics {
+
+    private String name;
+
+    private CircuitBreaker.State state;
+
+    private int limit;
+
+    private int inFlight;
+
+    private long successes;
+
+    private long failures;
+
+    private long shortCircuited;
+
+    private long rejected;
+
+    private long timeouts;
+}
@@ -0,0 +1,157 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.breaker;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.dromara.soul.common.dto.convert.HystrixHandle;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * The type Circuit breaker registry, one breaker per group and command key.
+ * a breaker no request used for the idle time is dropped with its meters, so the breakers of
+ * deleted or rekeyed rules do not pile up.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class CircuitBreakerRegistry {
+
+    private static final long DEFAULT_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, List<Meter>> meters = new ConcurrentHashMap<>();
+
+    private final long idleMillis;
+
+    private final LongSupplier clock;
+
+    private final AtomicLong nextSweep;
+
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * Instantiates a new Circuit breaker registry.
+     */
+    public CircuitBreakerRegistry() {
+        this(DEFAULT_IDLE_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Instantiates a new Circuit breaker registry.
+     *
+     * @param idleMillis unused breakers are dropped after this time
+     * @param clock      the millis clock
+     */
+    public CircuitBreakerRegistry(final long idleMillis, final LongSupplier clock) {
+        this.idleMillis = idleMillis;
+        this.clock = clock;
+        this.nextSweep = new AtomicLong(clock.getAsLong() + idleMillis);
+    }
+
+    /**
+     * The breaker of the handle, its settings are applied.
+     *
+     * @param handle the handle
+     * @return the circuit breaker
+     */
+    public CircuitBreaker get(final HystrixHandle handle) {
+        final String name = handle.getGroupKey() + ":" + handle.getCommandKey();
+        final long now = clock.getAsLong();
+        sweepIfDue(now);
+        CircuitBreaker breaker = breakers.get(name);
+        if (breaker == null) {
+            breaker = breakers.computeIfAbsent(name, this::newBreaker);
+        }
+        breaker.touch(now);
+        breaker.configure(handle);
+        return breaker;
+    }
+
+    /**
+     * Metrics of every breaker.
+     *
+     * @return the map
+     */
+    public Map<String, CircuitBreakerMetrics> metrics() {
+        return breakers.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().metrics()));
+    }
+
+    /**
+     * Bind the meters of the known breakers and of those created later to the registry.
+     *
+     * @param registry the meter registry
+     */
+    public void bindTo(final MeterRegistry registry) {
+        this.meterRegistry = registry;
+        breakers.forEach(this::bind);
+    }
+
+    private CircuitBreaker newBreaker(final String name) {
+        final CircuitBreaker breaker = new CircuitBreaker(name, clock);
+        bind(name, breaker);
+        return breaker;
+    }
+
+    /**
+     * the state gauge reads 0 closed, 1 open and 2 half open.
+     */
+    private void bind(final String name, final CircuitBreaker breaker) {
+        final MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        meters.put(name, Arrays.asList(
+                Gauge.builder("soul.breaker.state", breaker, b -> b.state().ordinal()).tag("breaker", name).register(registry),
+                Gauge.builder("soul.breaker.in.flight", breaker, CircuitBreaker::inFlight).tag("breaker", name).register(registry),
+                Gauge.builder("soul.breaker.limit", breaker, CircuitBreaker::limit).tag("breaker", name).register(registry),
+                FunctionCounter.builder("soul.breaker.short.circuited", breaker, CircuitBreaker::shortCircuited)
+                        .tag("breaker", name).register(registry),
+                FunctionCounter.builder("soul.breaker.rejected", breaker, CircuitBreaker::rejected).tag("breaker", name).register(registry),
+                FunctionCounter.builder("soul.breaker.timeouts", breaker, CircuitBreaker::timeouts).tag("breaker", name).register(registry)));
+    }
+
+    private void sweepIfDue(final long now) {
+        final long due = nextSweep.get();
+        if (now < due || !nextSweep.compareAndSet(due, now + Math.max(idleMillis / 2, 1L))) {
+            return;
+        }
+        breakers.forEach((name, breaker) -> {
+            if (breaker.isIdle(now, idleMillis) && breakers.remove(name, breaker)) {
+                final List<Meter> removed = meters.remove(name);
+                final MeterRegistry registry = meterRegistry;
+                if (removed != null && registry != null) {
+                    removed.forEach(registry::remove);
+                }
+            }
+        });
+    }
+}
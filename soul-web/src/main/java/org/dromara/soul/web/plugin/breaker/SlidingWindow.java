@@ -0,0 +1,127 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.breaker;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The type Sliding window.
+ * a ring of time buckets, a bucket is reset by the first writer of a new epoch. Counts racing
+ * that reset may be lost, which is fine for error rates.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class SlidingWindow {
+
+    private final int size;
+
+    private final long bucketMillis;
+
+    private final AtomicLongArray epochs;
+
+    private final AtomicLongArray successes;
+
+    private final AtomicLongArray failures;
+
+    /**
+     * Instantiates a new Sliding window.
+     *
+     * @param size         the bucket count
+     * @param bucketMillis the bucket millis
+     */
+    SlidingWindow(final int size, final long bucketMillis) {
+        this.size = size;
+        this.bucketMillis = bucketMillis;
+        this.epochs = new AtomicLongArray(size);
+        this.successes = new AtomicLongArray(size);
+        this.failures = new AtomicLongArray(size);
+        reset();
+    }
+
+    /**
+     * Record a success.
+     *
+     * @param now the now millis
+     */
+    void success(final long now) {
+        successes.incrementAndGet(bucket(now));
+    }
+
+    /**
+     * Record a failure.
+     *
+     * @param now the now millis
+     */
+    void failure(final long now) {
+        failures.incrementAndGet(bucket(now));
+    }
+
+    /**
+     * Successes within the window.
+     *
+     * @param now the now millis
+     * @return the long
+     */
+    long successes(final long now) {
+        return sum(successes, now);
+    }
+
+    /**
+     * Failures within the window.
+     *
+     * @param now the now millis
+     * @return the long
+     */
+    long failures(final long now) {
+        return sum(failures, now);
+    }
+
+    /**
+     * Forget every bucket.
+     */
+    void reset() {
+        for (int i = 0; i < size; i++) {
+            epochs.set(i, -1L);
+            successes.set(i, 0L);
+            failures.set(i, 0L);
+        }
+    }
+
+    private int bucket(final long now) {
+        final long epoch = now / bucketMillis;
+        final int index = (int) (epoch % size);
+        final long current = epochs.get(index);
+        if (current != epoch && epochs.compareAndSet(index, current, epoch)) {
+            successes.set(index, 0L);
+            failures.set(index, 0L);
+        }
+        return index;
+    }
+
+    private long sum(final AtomicLongArray counters, final long now) {
+        final long oldest = now / bucketMillis - size;
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            if (epochs.get(i) > oldest) {
+                sum += counters.get(i);
+            }
+        }
+        return sum;
+    }
+}
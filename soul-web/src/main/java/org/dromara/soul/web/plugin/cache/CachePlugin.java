@@ -0,0 +1,243 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.cache;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.convert.rule.CacheRuleHandle;
+import org.dromara.soul.common.enums.PluginEnum;
+import org.dromara.soul.common.enums.PluginTypeEnum;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.common.utils.LogUtils;
+import org.dromara.soul.web.cache.LocalCacheManager;
+import org.dromara.soul.web.plugin.AbstractSoulPlugin;
+import org.dromara.soul.web.plugin.SoulPluginChain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Cache plugin.
+ * serves GET and HEAD responses from {@linkplain ResponseCache}, stale entries are served while
+ * one background request per key revalidates them against the upstream.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class CachePlugin extends AbstractSoulPlugin {
+
+    /**
+     * the cache status response header.
+     */
+    public static final String CACHE_STATUS = "X-Soul-Cache";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachePlugin.class);
+
+    private static final List<String> UNCACHED_HEADERS = Arrays.asList(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.UPGRADE,
+            HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.AGE, CACHE_STATUS);
+
+    private final ResponseCache responseCache;
+
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Instantiates a new Cache plugin.
+     *
+     * @param localCacheManager the local cache manager
+     * @param responseCache     the response cache
+     */
+    public CachePlugin(final LocalCacheManager localCacheManager, final ResponseCache responseCache) {
+        super(localCacheManager);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
+        final ServerHttpRequest request = exchange.getRequest();
+        if (!ResponseCachePolicy.isCacheable(request)) {
+            return chain.execute(exchange);
+        }
+        final CacheRuleHandle handle = Objects.isNull(rule.getHandle()) ? null
+                : GsonUtils.getInstance().fromJson(rule.getHandle(), CacheRuleHandle.class);
+        final CacheRuleHandle ruleHandle = Objects.isNull(handle) ? new CacheRuleHandle() : handle;
+        final String baseKey = ResponseCachePolicy.key(request, ruleHandle.getVaryHeaders());
+        final String key = ResponseCachePolicy.key(baseKey, request, responseCache.vary(baseKey));
+        final long now = System.currentTimeMillis();
+        final CachedResponse cached = responseCache.get(key);
+        if (Objects.nonNull(cached) && (cached.isFresh(now) || cached.isServableStale(now))) {
+            final boolean fresh = cached.isFresh(now);
+            final Mono<Void> served = serve(exchange, cached, fresh, now);
+            if (Objects.nonNull(served)) {
+                if (fresh) {
+                    responseCache.recordHit();
+                } else {
+                    responseCache.recordStaleHit();
+                    revalidate(exchange, chain, baseKey, key, ruleHandle, cached);
+                }
+                return served;
+            }
+        }
+        responseCache.recordMiss();
+        final ServerHttpResponse response = new CachingResponseDecorator(exchange.getResponse(), responseCache.maxEntryBytes(),
+            (status, headers, body) -> store(baseKey, request, ruleHandle, null, status, headers, body));
+        response.getHeaders().set(CACHE_STATUS, "MISS");
+        return chain.execute(exchange.mutate().response(response).build());
+    }
+
+    private Mono<Void> serve(final ServerWebExchange exchange, final CachedResponse cached, final boolean fresh, final long now) {
+        final ServerHttpResponse response = exchange.getResponse();
+        final String etag = cached.getHeaders().getETag();
+        if (StringUtils.isNotEmpty(etag) && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(etag);
+            response.getHeaders().set(CACHE_STATUS, fresh ? "HIT" : "STALE");
+            return response.setComplete();
+        }
+        final Flux<DataBuffer> body = cached.body(response.bufferFactory());
+        if (Objects.isNull(body)) {
+            return null;
+        }
+        response.setStatusCode(HttpStatus.valueOf(cached.getStatus()));
+        response.getHeaders().putAll(cached.getHeaders());
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(TimeUnit.MILLISECONDS.toSeconds(now - cached.getStoredAt())));
+        response.getHeaders().set(CACHE_STATUS, fresh ? "HIT" : "STALE");
+        return response.writeWith(body);
+    }
+
+    /**
+     * runs the rest of the chain a second time on a detached exchange, the client got the stale
+     * response already so this chain is otherwise unused.
+     */
+    private void revalidate(final ServerWebExchange exchange, final SoulPluginChain chain, final String baseKey,
+                            final String key, final CacheRuleHandle handle, final CachedResponse cached) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        final HttpHeaders cachedHeaders = cached.getHeaders();
+        final ServerHttpRequest request = exchange.getRequest().mutate().headers(headers -> {
+            if (StringUtils.isNotEmpty(cachedHeaders.getETag())) {
+                headers.setIfNoneMatch(cachedHeaders.getETag());
+            }
+            if (cachedHeaders.getLastModified() > 0) {
+                headers.setIfModifiedSince(cachedHeaders.getLastModified());
+            }
+        }).build();
+        final ServerHttpResponse response = new CachingResponseDecorator(new DetachedServerHttpResponse(exchange.getResponse().bufferFactory()),
+            responseCache.maxEntryBytes(), (status, headers, body) -> store(baseKey, exchange.getRequest(), handle, cached, status, headers, body));
+        final ServerWebExchange detached = new DetachedExchange(exchange.mutate().request(request).response(response).build());
+        chain.execute(detached)
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(v -> { }, e -> LogUtils.error(LOGGER, "cache revalidation failed：{}", () -> key + " " + e.getMessage()));
+    }
+
+    /**
+     * a response with a Vary header is stored under the values of those request headers, the
+     * names are remembered per base key so later requests look up the matching variant.
+     */
+    private void store(final String baseKey, final ServerHttpRequest request, final CacheRuleHandle handle,
+                       final CachedResponse cached, final int status, final HttpHeaders headers, final byte[] body) {
+        final long now = System.currentTimeMillis();
+        if (status == HttpStatus.NOT_MODIFIED.value() && Objects.nonNull(cached)) {
+            final String key = ResponseCachePolicy.key(baseKey, request, ResponseCachePolicy.vary(cached.getHeaders()));
+            final HttpHeaders freshness = headers.containsKey(HttpHeaders.CACHE_CONTROL)
+                    || headers.containsKey(HttpHeaders.EXPIRES) ? headers : cached.getHeaders();
+            final long fresh = ResponseCachePolicy.freshMillis(freshness, handle.getTtl());
+            if (fresh < 0) {
+                return;
+            }
+            final long stale = ResponseCachePolicy.staleMillis(freshness, handle.getStaleWhileRevalidate());
+            final CachedResponse refreshed = cached.refresh(now, now + fresh, now + fresh + stale);
+            if (Objects.nonNull(refreshed)) {
+                responseCache.put(key, refreshed);
+            }
+            return;
+        }
+        if (status != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return;
+        }
+        final long fresh = ResponseCachePolicy.freshMillis(headers, handle.getTtl());
+        final long stale = ResponseCachePolicy.staleMillis(headers, handle.getStaleWhileRevalidate());
+        if (fresh < 0 || fresh + stale == 0) {
+            return;
+        }
+        final HttpHeaders stored = new HttpHeaders();
+        stored.putAll(headers);
+        UNCACHED_HEADERS.forEach(stored::remove);
+        final List<String> vary = ResponseCachePolicy.vary(headers);
+        responseCache.vary(baseKey, vary);
+        responseCache.put(ResponseCachePolicy.key(baseKey, request, vary), status, stored, body, now, now + fresh, now + fresh + stale);
+    }
+
+    @Override
+    public PluginTypeEnum pluginType() {
+        return PluginTypeEnum.FUNCTION;
+    }
+
+    @Override
+    public int getOrder() {
+        return PluginEnum.CACHE.getCode();
+    }
+
+    @Override
+    public String named() {
+        return PluginEnum.CACHE.getName();
+    }
+
+    /**
+     * keeps the attributes of the background request apart from the client exchange.
+     */
+    private static final class DetachedExchange extends ServerWebExchangeDecorator {
+
+        private final Map<String, Object> attributes;
+
+        DetachedExchange(final ServerWebExchange delegate) {
+            super(delegate);
+            this.attributes = new HashMap<>(delegate.getAttributes());
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getAttribute(final String name) {
+            return (T) attributes.get(name);
+        }
+    }
+}
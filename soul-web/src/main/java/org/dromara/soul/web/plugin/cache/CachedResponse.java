@@ -0,0 +1,213 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.cache;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.IllegalReferenceCountException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Flux;
+
+/**
+ * A cached response, the body lives either on heap or in a direct buffer of the off-heap tier.
+ *
+ * @author xiaoyu(Myth)
+ */
+public final class CachedResponse {
+
+    private static final NettyDataBufferFactory OFF_HEAP_FACTORY = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+
+    private final int status;
+
+    private final HttpHeaders headers;
+
+    private final byte[] heapBody;
+
+    private final ByteBuf offHeapBody;
+
+    private final long storedAt;
+
+    private final long freshUntil;
+
+    private final long staleUntil;
+
+    private CachedResponse(final int status, final HttpHeaders headers, final byte[] heapBody, final ByteBuf offHeapBody,
+                           final long storedAt, final long freshUntil, final long staleUntil) {
+        this.status = status;
+        this.headers = headers;
+        this.heapBody = heapBody;
+        this.offHeapBody = offHeapBody;
+        this.storedAt = storedAt;
+        this.freshUntil = freshUntil;
+        this.staleUntil = staleUntil;
+    }
+
+    /**
+     * A response whose body stays on heap.
+     *
+     * @param status     the status
+     * @param headers    the headers
+     * @param body       the body
+     * @param storedAt   the stored at millis
+     * @param freshUntil the fresh until millis
+     * @param staleUntil the stale until millis
+     * @return the cached response
+     */
+    static CachedResponse onHeap(final int status, final HttpHeaders headers, final byte[] body,
+                                 final long storedAt, final long freshUntil, final long staleUntil) {
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body, null, storedAt, freshUntil, staleUntil);
+    }
+
+    /**
+     * A response whose body is copied into a direct buffer.
+     *
+     * @param status     the status
+     * @param headers    the headers
+     * @param body       the body
+     * @param storedAt   the stored at millis
+     * @param freshUntil the fresh until millis
+     * @param staleUntil the stale until millis
+     * @return the cached response
+     */
+    static CachedResponse offHeap(final int status, final HttpHeaders headers, final byte[] body,
+                                  final long storedAt, final long freshUntil, final long staleUntil) {
+        ByteBuf buffer = ByteBufAllocator.DEFAULT.directBuffer(body.length, body.length).writeBytes(body);
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), null, buffer, storedAt, freshUntil, staleUntil);
+    }
+
+    /**
+     * The same body with a new freshness, used when the upstream answered 304.
+     *
+     * @param storedAt   the stored at millis
+     * @param freshUntil the fresh until millis
+     * @param staleUntil the stale until millis
+     * @return the cached response, null when the off-heap body was already released
+     */
+    CachedResponse refresh(final long storedAt, final long freshUntil, final long staleUntil) {
+        if (offHeapBody != null && !tryRetain()) {
+            return null;
+        }
+        return new CachedResponse(status, headers, heapBody, offHeapBody, storedAt, freshUntil, staleUntil);
+    }
+
+    /**
+     * The body, null when the off-heap body was released by an eviction in between.
+     *
+     * @param bufferFactory the buffer factory
+     * @return the flux
+     */
+    Flux<DataBuffer> body(final DataBufferFactory bufferFactory) {
+        if (heapBody != null) {
+            return Flux.just(bufferFactory.wrap(heapBody));
+        }
+        if (!tryRetain()) {
+            return null;
+        }
+        NettyDataBufferFactory factory = bufferFactory instanceof NettyDataBufferFactory
+                ? (NettyDataBufferFactory) bufferFactory : OFF_HEAP_FACTORY;
+        return Flux.just(factory.wrap(offHeapBody.duplicate()));
+    }
+
+    /**
+     * Release the off-heap body.
+     */
+    void release() {
+        if (offHeapBody != null) {
+            offHeapBody.release();
+        }
+    }
+
+    /**
+     * The weight of the entry.
+     *
+     * @return the bytes
+     */
+    int weight() {
+        int size = heapBody != null ? heapBody.length : offHeapBody.capacity();
+        return size + headers.size() * 64;
+    }
+
+    /**
+     * Whether the body is off heap.
+     *
+     * @return the boolean
+     */
+    boolean isOffHeap() {
+        return offHeapBody != null;
+    }
+
+    /**
+     * Gets status.
+     *
+     * @return the status
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets headers.
+     *
+     * @return the headers
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets stored at.
+     *
+     * @return the stored at
+     */
+    public long getStoredAt() {
+        return storedAt;
+    }
+
+    /**
+     * Whether the entry is fresh.
+     *
+     * @param now the now millis
+     * @return the boolean
+     */
+    public boolean isFresh(final long now) {
+        return now < freshUntil;
+    }
+
+    /**
+     * Whether the stale entry may still be served while it is revalidated.
+     *
+     * @param now the now millis
+     * @return the boolean
+     */
+    public boolean isServableStale(final long now) {
+        return now < staleUntil;
+    }
+
+    private boolean tryRetain() {
+        try {
+            offHeapBody.retain();
+            return true;
+        } catch (IllegalReferenceCountException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Copies the body on its way to the client, the listener gets it once the body completed
+ * within the size limit. Streamed (flushed) bodies are never captured.
+ *
+ * @author xiaoyu(Myth)
+ */
+public final class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final int maxBytes;
+
+    private final Listener listener;
+
+    /**
+     * Instantiates a new Caching response decorator.
+     *
+     * @param delegate the delegate
+     * @param maxBytes the max bytes
+     * @param listener the listener
+     */
+    public CachingResponseDecorator(final ServerHttpResponse delegate, final int maxBytes, final Listener listener) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+        this.listener = listener;
+    }
+
+    @Override
+    public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final AtomicBoolean overflow = new AtomicBoolean();
+        final Flux<? extends DataBuffer> flux = Flux.from(body)
+                .doOnNext(buffer -> {
+                    if (overflow.get()) {
+                        return;
+                    }
+                    if (out.size() + buffer.readableByteCount() > maxBytes) {
+                        overflow.set(true);
+                        out.reset();
+                        return;
+                    }
+                    ByteBuffer byteBuffer = buffer.asByteBuffer();
+                    byte[] bytes = new byte[byteBuffer.remaining()];
+                    byteBuffer.get(bytes);
+                    out.write(bytes, 0, bytes.length);
+                });
+        return super.writeWith(flux).doOnSuccess(v -> {
+            if (!overflow.get()) {
+                notifyListener(out.toByteArray());
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        return super.setComplete().doOnSuccess(v -> notifyListener(new byte[0]));
+    }
+
+    private void notifyListener(final byte[] body) {
+        final int status = Optional.ofNullable(getStatusCode()).map(HttpStatus::value).orElse(HttpStatus.OK.value());
+        listener.onComplete(status, getHeaders(), body);
+    }
+
+    /**
+     * The interface Listener.
+     */
+    public interface Listener {
+
+        /**
+         * On complete.
+         *
+         * @param status  the status
+         * @param headers the headers
+         * @param body    the body
+         */
+        void onComplete(int status, HttpHeaders headers, byte[] body);
+    }
+}
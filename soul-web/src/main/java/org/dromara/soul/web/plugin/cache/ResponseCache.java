@@ -0,0 +1,266 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.dromara.soul.web.config.SoulConfig;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Response cache.
+ * both tiers are Caffeine caches, whose W-TinyLFU admission keeps one-hit wonders from flushing
+ * popular entries, bounded by their byte budget. Bodies above the off-heap threshold are kept in
+ * direct buffers so large responses do not weigh on the heap and the GC.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class ResponseCache {
+
+    private static final int MAX_VARIES = 10_000;
+
+    private final Cache<String, CachedResponse> heap;
+
+    private final Cache<String, CachedResponse> offHeap;
+
+    private final Cache<String, List<String>> varies = Caffeine.newBuilder().maximumSize(MAX_VARIES).build();
+
+    private final int offHeapThreshold;
+
+    private final int maxEntryBytes;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder staleHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Instantiates a new Response cache.
+     *
+     * @param config the config
+     */
+    public ResponseCache(final SoulConfig.Cache config) {
+        this.offHeapThreshold = config.getOffHeapThreshold();
+        this.maxEntryBytes = config.getMaxEntryBytes();
+        this.heap = build(config.getMaxHeapBytes());
+        this.offHeap = config.getMaxOffHeapBytes() > 0 ? build(config.getMaxOffHeapBytes()) : null;
+    }
+
+    /**
+     * Get the cached response.
+     *
+     * @param key the key
+     * @return the cached response or null
+     */
+    public CachedResponse get(final String key) {
+        CachedResponse response = heap.getIfPresent(key);
+        if (response == null && offHeap != null) {
+            response = offHeap.getIfPresent(key);
+        }
+        return response;
+    }
+
+    /**
+     * Store a response.
+     *
+     * @param key        the key
+     * @param status     the status
+     * @param headers    the headers
+     * @param body       the body
+     * @param storedAt   the stored at millis
+     * @param freshUntil the fresh until millis
+     * @param staleUntil the stale until millis
+     */
+    public void put(final String key, final int status, final HttpHeaders headers, final byte[] body,
+                    final long storedAt, final long freshUntil, final long staleUntil) {
+        if (body.length > maxEntryBytes) {
+            return;
+        }
+        if (offHeap != null && body.length > offHeapThreshold) {
+            put(key, CachedResponse.offHeap(status, headers, body, storedAt, freshUntil, staleUntil));
+        } else {
+            put(key, CachedResponse.onHeap(status, headers, body, storedAt, freshUntil, staleUntil));
+        }
+    }
+
+    /**
+     * Store a response.
+     *
+     * @param key      the key
+     * @param response the response
+     */
+    public void put(final String key, final CachedResponse response) {
+        if (response.isOffHeap()) {
+            offHeap.put(key, response);
+            heap.invalidate(key);
+        } else {
+            heap.put(key, response);
+            if (offHeap != null) {
+                offHeap.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * The request headers the responses of a base key vary on, as learned from their Vary header.
+     *
+     * @param baseKey the base key
+     * @return the header names or null
+     */
+    public List<String> vary(final String baseKey) {
+        return varies.getIfPresent(baseKey);
+    }
+
+    /**
+     * Remember the Vary header names of the latest response of a base key.
+     *
+     * @param baseKey the base key
+     * @param names   the header names, empty when the response does not vary
+     */
+    public void vary(final String baseKey, final List<String> names) {
+        if (names.isEmpty()) {
+            varies.invalidate(baseKey);
+        } else {
+            varies.put(baseKey, names);
+        }
+    }
+
+    /**
+     * Max entry bytes.
+     *
+     * @return the int
+     */
+    public int maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * Record a fresh hit.
+     */
+    public void recordHit() {
+        hits.increment();
+    }
+
+    /**
+     * Record a stale hit.
+     */
+    public void recordStaleHit() {
+        staleHits.increment();
+    }
+
+    /**
+     * Record a miss.
+     */
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * Hit ratio, stale hits count as hits.
+     *
+     * @return the double
+     */
+    public double hitRatio() {
+        long hit = hits.sum() + staleHits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0D : (double) hit / total;
+    }
+
+    /**
+     * Hits.
+     *
+     * @return the long
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Stale hits.
+     *
+     * @return the long
+     */
+    public long staleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Misses.
+     *
+     * @return the long
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Evictions.
+     *
+     * @return the long
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Heap bytes.
+     *
+     * @return the long
+     */
+    public long heapBytes() {
+        return weightedSize(heap);
+    }
+
+    /**
+     * Off heap bytes.
+     *
+     * @return the long
+     */
+    public long offHeapBytes() {
+        return offHeap == null ? 0L : weightedSize(offHeap);
+    }
+
+    private Cache<String, CachedResponse> build(final long maxBytes) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .removalListener((String key, CachedResponse response, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                    if (response != null) {
+                        response.release();
+                    }
+                })
+                .build();
+    }
+
+    private static long weightedSize(final Cache<String, CachedResponse> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+}
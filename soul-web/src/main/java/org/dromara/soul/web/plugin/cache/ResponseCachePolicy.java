@@ -0,0 +1,225 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.cache;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache key and freshness rules, a subset of RFC 7234 for a shared cache.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class ResponseCachePolicy {
+
+    private static final String NO_STORE = "no-store";
+
+    private static final String NO_CACHE = "no-cache";
+
+    private static final String PRIVATE = "private";
+
+    private static final String MAX_AGE = "max-age";
+
+    private static final String S_MAXAGE = "s-maxage";
+
+    private static final String STALE_WHILE_REVALIDATE = "stale-while-revalidate";
+
+    private static final String VARY_ANY = "*";
+
+    private ResponseCachePolicy() {
+    }
+
+    /**
+     * Whether the request may be answered from the cache, credentialed requests may get
+     * per user responses and are never shared.
+     *
+     * @param request the request
+     * @return the boolean
+     */
+    static boolean isCacheable(final ServerHttpRequest request) {
+        final HttpMethod method = request.getMethod();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            return false;
+        }
+        final HttpHeaders headers = request.getHeaders();
+        if (headers.containsKey(HttpHeaders.AUTHORIZATION) || headers.containsKey(HttpHeaders.COOKIE)) {
+            return false;
+        }
+        final Map<String, String> directives = directives(headers);
+        return !directives.containsKey(NO_STORE) && !directives.containsKey(NO_CACHE);
+    }
+
+    /**
+     * The cache key, method, path, query, Accept-Encoding and the vary header values.
+     *
+     * @param request     the request
+     * @param varyHeaders the vary headers
+     * @return the key
+     */
+    static String key(final ServerHttpRequest request, final List<String> varyHeaders) {
+        final StringBuilder key = new StringBuilder(128)
+                .append(request.getMethodValue()).append(' ')
+                .append(request.getURI().getRawPath());
+        final String query = request.getURI().getRawQuery();
+        if (StringUtils.isNotEmpty(query)) {
+            key.append('?').append(query);
+        }
+        key.append('\n').append(StringUtils.join(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING), ','));
+        appendVary(key, request, varyHeaders);
+        return key.toString();
+    }
+
+    /**
+     * The key of a response that varies on request headers, the base key and the values of those headers.
+     *
+     * @param baseKey the base key
+     * @param request the request
+     * @param vary    the names of the response Vary header
+     * @return the key
+     */
+    static String key(final String baseKey, final ServerHttpRequest request, final List<String> vary) {
+        if (vary == null || vary.isEmpty()) {
+            return baseKey;
+        }
+        final StringBuilder key = new StringBuilder(baseKey.length() + 64).append(baseKey).append("\nvary");
+        appendVary(key, request, vary);
+        return key.toString();
+    }
+
+    /**
+     * The header names of the Vary header.
+     *
+     * @param headers the response headers
+     * @return the names, empty when the response does not vary
+     */
+    static List<String> vary(final HttpHeaders headers) {
+        final List<String> values = headers.get(HttpHeaders.VARY);
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<String> names = new ArrayList<>(4);
+        for (String value : values) {
+            for (String name : value.split(",")) {
+                final String trimmed = name.trim().toLowerCase(Locale.ROOT);
+                if (!trimmed.isEmpty() && !names.contains(trimmed)) {
+                    names.add(trimmed);
+                }
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * How long the response stays fresh, s-maxage, max-age, Expires then the rule ttl.
+     *
+     * @param headers    the response headers
+     * @param ttlSeconds the rule ttl
+     * @return millis, -1 when the response must not be stored
+     */
+    static long freshMillis(final HttpHeaders headers, final long ttlSeconds) {
+        final Map<String, String> directives = directives(headers);
+        if (directives.containsKey(NO_STORE) || directives.containsKey(PRIVATE) || directives.containsKey(NO_CACHE)) {
+            return -1;
+        }
+        // Vary: * says the response depends on more than the request headers, no later request matches it
+        if (vary(headers).contains(VARY_ANY)) {
+            return -1;
+        }
+        long seconds = seconds(directives.get(S_MAXAGE));
+        if (seconds < 0) {
+            seconds = seconds(directives.get(MAX_AGE));
+        }
+        if (seconds >= 0) {
+            return TimeUnit.SECONDS.toMillis(seconds);
+        }
+        final long expires = headers.getExpires();
+        if (expires > 0) {
+            final long date = headers.getDate() > 0 ? headers.getDate() : System.currentTimeMillis();
+            return Math.max(expires - date, 0L);
+        }
+        return TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    /**
+     * How long a stale response may be served while it is refreshed.
+     *
+     * @param headers    the response headers
+     * @param swrSeconds the rule stale while revalidate
+     * @return millis
+     */
+    static long staleMillis(final HttpHeaders headers, final long swrSeconds) {
+        final long seconds = seconds(directives(headers).get(STALE_WHILE_REVALIDATE));
+        return TimeUnit.SECONDS.toMillis(seconds >= 0 ? seconds : swrSeconds);
+    }
+
+    private static void appendVary(final StringBuilder key, final ServerHttpRequest request, final List<String> names) {
+        if (names == null) {
+            return;
+        }
+        for (String name : names) {
+            key.append('\n').append(name.toLowerCase(Locale.ROOT)).append(':')
+                    .append(StringUtils.join(request.getHeaders().get(name), ','));
+        }
+    }
+
+    private static Map<String, String> directives(final HttpHeaders headers) {
+        final List<String> values = headers.get(HttpHeaders.CACHE_CONTROL);
+        if (values == null || values.isEmpty()) {
+            return new HashMap<>(0);
+        }
+        final Map<String, String> directives = new HashMap<>(8);
+        for (String value : values) {
+            for (String directive : value.split(",")) {
+                final String trimmed = directive.trim().toLowerCase(Locale.ROOT);
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                final int eq = trimmed.indexOf('=');
+                if (eq < 0) {
+                    directives.put(trimmed, "");
+                } else {
+                    directives.put(trimmed.substring(0, eq).trim(), StringUtils.strip(trimmed.substring(eq + 1).trim(), "\""));
+                }
+            }
+        }
+        return directives;
+    }
+
+    private static long seconds(final String value) {
+        if (StringUtils.isEmpty(value)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
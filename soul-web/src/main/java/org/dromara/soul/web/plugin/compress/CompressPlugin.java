@@ -0,0 +1,163 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.compress;
+
+import org.dromara.soul.common.enums.PluginEnum;
+import org.dromara.soul.common.enums.PluginTypeEnum;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.plugin.SoulPlugin;
+import org.dromara.soul.web.plugin.SoulPluginChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * The type Compress plugin.
+ * runs just ahead of the response plugins and compresses what they write with gzip or deflate,
+ * as negotiated from Accept-Encoding.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class CompressPlugin implements SoulPlugin {
+
+    /**
+     * The constant GZIP.
+     */
+    static final String GZIP = "gzip";
+
+    /**
+     * The constant DEFLATE.
+     */
+    static final String DEFLATE = "deflate";
+
+    private static final String ANY = "*";
+
+    private final DeflaterPool gzipPool;
+
+    private final DeflaterPool deflatePool;
+
+    private final List<MediaType> mediaTypes;
+
+    private final int minResponseSize;
+
+    private final CompressionMetrics metrics = new CompressionMetrics();
+
+    /**
+     * Instantiates a new Compress plugin.
+     *
+     * @param compress the compress config
+     */
+    public CompressPlugin(final SoulConfig.Compress compress) {
+        this.gzipPool = new DeflaterPool(compress.getLevel(), true, compress.getPoolSize());
+        this.deflatePool = new DeflaterPool(compress.getLevel(), false, compress.getPoolSize());
+        this.mediaTypes = compress.getMimeTypes().stream().map(MediaType::parseMediaType).collect(Collectors.toList());
+        this.minResponseSize = compress.getMinResponseSize();
+    }
+
+    @Override
+    public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
+        if (exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+            return chain.execute(exchange);
+        }
+        final String encoding = negotiate(exchange.getRequest().getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            return chain.execute(exchange);
+        }
+        final ServerHttpResponse response = new CompressingResponseDecorator(exchange.getResponse(), encoding,
+                GZIP.equals(encoding) ? gzipPool : deflatePool, mediaTypes, minResponseSize, metrics);
+        return chain.execute(exchange.mutate().response(response).build());
+    }
+
+    /**
+     * Metrics.
+     *
+     * @return the compression metrics
+     */
+    public CompressionMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public PluginTypeEnum pluginType() {
+        return PluginTypeEnum.LAST;
+    }
+
+    @Override
+    public int getOrder() {
+        return PluginEnum.COMPRESS.getCode();
+    }
+
+    @Override
+    public String named() {
+        return PluginEnum.COMPRESS.getName();
+    }
+
+    /**
+     * pick gzip or deflate by their q values, gzip wins a tie.
+     */
+    private static String negotiate(final List<String> acceptEncodings) {
+        if (acceptEncodings == null) {
+            return null;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String acceptEncoding : acceptEncodings) {
+            for (String coding : acceptEncoding.split(",")) {
+                final String[] parts = coding.split(";");
+                final String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                final double q = quality(parts);
+                if (GZIP.equals(name) || "x-gzip".equals(name)) {
+                    gzip = q;
+                } else if (DEFLATE.equals(name)) {
+                    deflate = q;
+                } else if (ANY.equals(name)) {
+                    any = q;
+                }
+            }
+        }
+        gzip = gzip < 0 ? any : gzip;
+        deflate = deflate < 0 ? any : deflate;
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : null;
+    }
+
+    private static double quality(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
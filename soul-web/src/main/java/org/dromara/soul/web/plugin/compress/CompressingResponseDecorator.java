@@ -0,0 +1,122 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.compress;
+
+import org.apache.commons.lang3.StringUtils;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The type Compressing response decorator.
+ * decides on the headers the response plugin set whether the body is worth compressing.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class CompressingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private static final String NO_TRANSFORM = "no-transform";
+
+    private final String encoding;
+
+    private final DeflaterPool pool;
+
+    private final List<MediaType> mediaTypes;
+
+    private final int minResponseSize;
+
+    private final CompressionMetrics metrics;
+
+    /**
+     * Instantiates a new Compressing response decorator.
+     *
+     * @param delegate        the delegate
+     * @param encoding        the negotiated encoding
+     * @param pool            the deflater pool of the encoding
+     * @param mediaTypes      the compressible media types
+     * @param minResponseSize the min response size
+     * @param metrics         the metrics
+     */
+    CompressingResponseDecorator(final ServerHttpResponse delegate, final String encoding, final DeflaterPool pool,
+                                 final List<MediaType> mediaTypes, final int minResponseSize, final CompressionMetrics metrics) {
+        super(delegate);
+        this.encoding = encoding;
+        this.pool = pool;
+        this.mediaTypes = mediaTypes;
+        this.minResponseSize = minResponseSize;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+        if (!isCompressible()) {
+            metrics.skip();
+            return super.writeWith(body);
+        }
+        final HttpHeaders headers = getHeaders();
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        final boolean gzip = CompressPlugin.GZIP.equals(encoding);
+        final Flux<DataBuffer> compressed = Flux.using(
+            () -> new StreamingCompressor(pool, gzip, bufferFactory(), metrics),
+            compressor -> Flux.from(body)
+                    .<DataBuffer>handle((buffer, sink) -> {
+                        final DataBuffer output = compressor.write(buffer);
+                        if (output != null) {
+                            sink.next(output);
+                        }
+                    })
+                    .concatWith(Mono.fromCallable(compressor::finish)),
+            StreamingCompressor::close);
+        return super.writeWith(compressed);
+    }
+
+    private boolean isCompressible() {
+        final HttpStatus status = getStatusCode();
+        if (status != null && (status.is1xxInformational() || status == HttpStatus.NO_CONTENT
+                || status == HttpStatus.NOT_MODIFIED || status == HttpStatus.PARTIAL_CONTENT)) {
+            return false;
+        }
+        final HttpHeaders headers = getHeaders();
+        final String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (StringUtils.isNotBlank(contentEncoding) && !"identity".equalsIgnoreCase(contentEncoding)) {
+            return false;
+        }
+        if (StringUtils.containsIgnoreCase(headers.getCacheControl(), NO_TRANSFORM)) {
+            return false;
+        }
+        final long contentLength = headers.getContentLength();
+        if (contentLength >= 0 && contentLength < minResponseSize) {
+            return false;
+        }
+        final MediaType contentType = headers.getContentType();
+        return contentType != null && mediaTypes.stream().anyMatch(mediaType -> mediaType.includes(contentType));
+    }
+}
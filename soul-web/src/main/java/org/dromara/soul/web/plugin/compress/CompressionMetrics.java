@@ -0,0 +1,98 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.compress;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Compression metrics.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class CompressionMetrics {
+
+    private final LongAdder compressed = new LongAdder();
+
+    private final LongAdder skipped = new LongAdder();
+
+    private final LongAdder bytesIn = new LongAdder();
+
+    private final LongAdder bytesOut = new LongAdder();
+
+    private final LongAdder nanos = new LongAdder();
+
+    /**
+     * Record a compressed response.
+     *
+     * @param in       the uncompressed bytes
+     * @param out      the compressed bytes
+     * @param cpuNanos the nanos spent deflating
+     */
+    void record(final long in, final long out, final long cpuNanos) {
+        compressed.increment();
+        bytesIn.add(in);
+        bytesOut.add(out);
+        nanos.add(cpuNanos);
+    }
+
+    /**
+     * Record a response sent as is.
+     */
+    void skip() {
+        skipped.increment();
+    }
+
+    /**
+     * Compressed responses.
+     *
+     * @return the long
+     */
+    public long compressed() {
+        return compressed.sum();
+    }
+
+    /**
+     * Responses sent as is.
+     *
+     * @return the long
+     */
+    public long skipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Compressed size over uncompressed size.
+     *
+     * @return the double
+     */
+    public double compressionRatio() {
+        final long in = bytesIn.sum();
+        return in == 0 ? 0D : (double) bytesOut.sum() / in;
+    }
+
+    /**
+     * Nanos spent deflating per uncompressed byte.
+     *
+     * @return the double
+     */
+    public double nanosPerByte() {
+        final long in = bytesIn.sum();
+        return in == 0 ? 0D : (double) nanos.sum() / in;
+    }
+}
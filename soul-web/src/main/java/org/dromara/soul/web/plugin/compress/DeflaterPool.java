@@ -0,0 +1,135 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.compress;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * The type Deflater pool.
+ * a Deflater holds native zlib memory that is costly to set up, so they are reset and reused
+ * together with their input and output scratch arrays.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class DeflaterPool {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final Queue<PooledDeflater> idle = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final int level;
+
+    private final boolean nowrap;
+
+    private final int maxIdle;
+
+    /**
+     * Instantiates a new Deflater pool.
+     *
+     * @param level   the level
+     * @param nowrap  raw deflate without the zlib wrapper, as gzip needs
+     * @param maxIdle the max idle deflaters
+     */
+    DeflaterPool(final int level, final boolean nowrap, final int maxIdle) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Borrow a deflater.
+     *
+     * @return the pooled deflater
+     */
+    PooledDeflater borrow() {
+        final PooledDeflater pooled = idle.poll();
+        if (pooled == null) {
+            return new PooledDeflater(new Deflater(level, nowrap));
+        }
+        idleCount.decrementAndGet();
+        return pooled;
+    }
+
+    /**
+     * Give a deflater back.
+     *
+     * @param pooled the pooled deflater
+     */
+    void release(final PooledDeflater pooled) {
+        pooled.deflater.reset();
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(pooled);
+        } else {
+            idleCount.decrementAndGet();
+            pooled.deflater.end();
+        }
+    }
+
+    /**
+     * The type Pooled deflater.
+     */
+    static final class PooledDeflater {
+
+        private final Deflater deflater;
+
+        private byte[] input = new byte[BUFFER_SIZE];
+
+        private final byte[] output = new byte[BUFFER_SIZE];
+
+        private PooledDeflater(final Deflater deflater) {
+            this.deflater = deflater;
+        }
+
+        /**
+         * Deflater.
+         *
+         * @return the deflater
+         */
+        Deflater deflater() {
+            return deflater;
+        }
+
+        /**
+         * Input scratch of at least the size.
+         *
+         * @param size the size
+         * @return the byte [ ]
+         */
+        byte[] input(final int size) {
+            if (input.length < size) {
+                input = new byte[size];
+            }
+            return input;
+        }
+
+        /**
+         * Output scratch.
+         *
+         * @return the byte [ ]
+         */
+        byte[] output() {
+            return output;
+        }
+    }
+}
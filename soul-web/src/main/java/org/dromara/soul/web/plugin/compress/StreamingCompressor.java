@@ -0,0 +1,159 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.compress;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * The type Streaming compressor.
+ * deflates one response chunk by chunk, gzip framing is written around the raw deflate stream.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class StreamingCompressor {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final DeflaterPool pool;
+
+    private final DeflaterPool.PooledDeflater pooled;
+
+    private final boolean gzip;
+
+    private final DataBufferFactory bufferFactory;
+
+    private final CompressionMetrics metrics;
+
+    private final CRC32 crc = new CRC32();
+
+    private boolean headerWritten;
+
+    private long bytesIn;
+
+    private long bytesOut;
+
+    private long nanos;
+
+    /**
+     * Instantiates a new Streaming compressor.
+     *
+     * @param pool          the pool
+     * @param gzip          gzip, otherwise zlib deflate
+     * @param bufferFactory the buffer factory
+     * @param metrics       the metrics
+     */
+    StreamingCompressor(final DeflaterPool pool, final boolean gzip,
+                        final DataBufferFactory bufferFactory, final CompressionMetrics metrics) {
+        this.pool = pool;
+        this.pooled = pool.borrow();
+        this.gzip = gzip;
+        this.bufferFactory = bufferFactory;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Compress a chunk, the input is released.
+     *
+     * @param input the input
+     * @return the compressed bytes so far, null when the deflater kept them all
+     */
+    DataBuffer write(final DataBuffer input) {
+        final long start = System.nanoTime();
+        try {
+            final int length = input.readableByteCount();
+            final byte[] bytes = pooled.input(length);
+            input.read(bytes, 0, length);
+            if (gzip) {
+                crc.update(bytes, 0, length);
+            }
+            bytesIn += length;
+            final Deflater deflater = pooled.deflater();
+            deflater.setInput(bytes, 0, length);
+            DataBuffer output = header();
+            while (!deflater.needsInput()) {
+                output = drain(output, deflater.deflate(pooled.output(), 0, pooled.output().length, Deflater.NO_FLUSH));
+            }
+            return output;
+        } finally {
+            DataBufferUtils.release(input);
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Finish the stream.
+     *
+     * @return the remaining bytes and the gzip trailer
+     */
+    DataBuffer finish() {
+        final long start = System.nanoTime();
+        final Deflater deflater = pooled.deflater();
+        DataBuffer output = header();
+        deflater.finish();
+        while (!deflater.finished()) {
+            output = drain(output, deflater.deflate(pooled.output(), 0, pooled.output().length, Deflater.NO_FLUSH));
+        }
+        if (gzip) {
+            final byte[] trailer = pooled.output();
+            writeInt(trailer, 0, (int) crc.getValue());
+            writeInt(trailer, 4, (int) bytesIn);
+            output = drain(output, 8);
+        }
+        nanos += System.nanoTime() - start;
+        metrics.record(bytesIn, bytesOut, nanos);
+        return output;
+    }
+
+    /**
+     * Give the deflater back to the pool, on completion, error or cancel.
+     */
+    void close() {
+        pool.release(pooled);
+    }
+
+    private DataBuffer header() {
+        if (!gzip || headerWritten) {
+            return null;
+        }
+        headerWritten = true;
+        bytesOut += GZIP_HEADER.length;
+        return bufferFactory.allocateBuffer().write(GZIP_HEADER);
+    }
+
+    private DataBuffer drain(final DataBuffer output, final int length) {
+        if (length <= 0) {
+            return output;
+        }
+        bytesOut += length;
+        final DataBuffer buffer = output == null ? bufferFactory.allocateBuffer(length) : output;
+        return buffer.write(pooled.output(), 0, length);
+    }
+
+    private static void writeInt(final byte[] bytes, final int offset, final int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >> 8);
+        bytes[offset + 2] = (byte) (value >> 16);
+        bytes[offset + 3] = (byte) (value >> 24);
+    }
+}
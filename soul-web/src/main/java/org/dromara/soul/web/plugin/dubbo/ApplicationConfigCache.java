@@ -22,13 +22,17 @@ package org.dromara.soul.web.plugin.dubbo;
 import com.alibaba.dubbo.config.ApplicationConfig;
 import com.alibaba.dubbo.config.ReferenceConfig;
 import com.alibaba.dubbo.config.RegistryConfig;
+import com.alibaba.dubbo.rpc.Invoker;
+import com.alibaba.dubbo.rpc.protocol.dubbo.DubboProtocol;
 import com.alibaba.dubbo.rpc.service.GenericService;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.cache.Weigher;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.apache.commons.lang3.StringUtils;
-
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.common.config.DubboRegisterConfig;
 import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.enums.LoadBalanceEnum;
 import org.dromara.soul.common.exception.SoulException;
@@ -36,55 +40,58 @@ import org.dromara.soul.common.utils.GsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The type Application config cache.
+ * References are keyed by interface, group, version and direct url, bounded in count and
+ * destroyed when they are evicted, replaced or idle for too long. A removed reference is
+ * destroyed only after its calls had time to finish, since a caller may still hold it.
  */
-@SuppressWarnings("all")
 public final class ApplicationConfigCache {
 
     private static final Logger LOG = LoggerFactory.getLogger(ApplicationConfigCache.class);
 
+    private static final int DEFAULT_MAX_REFERENCES = 10000;
+
+    private static final long DEFAULT_IDLE_SECONDS = 3600;
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private static final long DESTROY_GRACE_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private static final DubboParamExt EMPTY_EXT = new DubboParamExt();
+
+    private static final Cache<String, DubboParamExt> EXT_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(DEFAULT_MAX_REFERENCES)
+            .build();
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(SoulThreadFactory.create("dubbo-reference-cleaner", true));
+
+    private final AtomicLong createdCount = new AtomicLong();
+
+    private final AtomicLong destroyedCount = new AtomicLong();
+
     private ApplicationConfig applicationConfig;
 
     private RegistryConfig registryConfig;
 
-    private final int maxCount = 50000;
-
-    private final LoadingCache<String, ReferenceConfig<GenericService>> cache = CacheBuilder.newBuilder()
-            .maximumWeight(maxCount)
-            .weigher((Weigher<String, ReferenceConfig<GenericService>>) (string, ReferenceConfig) -> getSize())
-            .removalListener(notification -> {
-                ReferenceConfig config = notification.getValue();
-                if (config != null) {
-                    try {
-                        Class cz = config.getClass();
-                        Field field = cz.getDeclaredField("ref");
-                        field.setAccessible(true);
-                        field.set(config, null);
-                        //跟改配置之后dubbo 销毁该实例,但是未置空,如果不处理,重新初始化的时候将获取到NULL照成空指针问题.
-                    } catch (Exception e) {
-                        LOG.error("修改ref为null", e);
-                    }
-                }
-            })
-            .build(new CacheLoader<String, ReferenceConfig<GenericService>>() {
-                @Override
-                public ReferenceConfig<GenericService> load(final String key) {
-                    return new ReferenceConfig<>();
-                }
-            });
+    private int maxReferences = DEFAULT_MAX_REFERENCES;
 
-    private ApplicationConfigCache() {
-    }
+    private long idleSeconds = DEFAULT_IDLE_SECONDS;
 
-    private int getSize() {
-        return (int) cache.size();
+    private volatile Cache<String, ReferenceConfig<GenericService>> cache = buildCache();
+
+    private ApplicationConfigCache() {
+        scheduler.scheduleWithFixedDelay(() -> cache.cleanUp(), 1, 1, TimeUnit.MINUTES);
     }
 
     /**
@@ -99,133 +106,240 @@ public final class ApplicationConfigCache {
     /**
      * Init.
      *
-     * @param register the register
+     * @param dubboRegisterConfig the dubbo register config
      */
-    public void init(final String register) {
+    public synchronized void init(final DubboRegisterConfig dubboRegisterConfig) {
         if (applicationConfig == null) {
             applicationConfig = new ApplicationConfig("soul_proxy");
         }
-        if (registryConfig == null) {
+        if (registryConfig == null || !Objects.equals(registryConfig.getAddress(), dubboRegisterConfig.getRegister())) {
             registryConfig = new RegistryConfig();
             registryConfig.setProtocol("dubbo");
             registryConfig.setId("soul_proxy");
             registryConfig.setRegister(false);
-            registryConfig.setAddress(register);
+            registryConfig.setAddress(dubboRegisterConfig.getRegister());
+        }
+        int newMaxReferences = Optional.ofNullable(dubboRegisterConfig.getMaxReferences()).orElse(DEFAULT_MAX_REFERENCES);
+        long newIdleSeconds = Optional.ofNullable(dubboRegisterConfig.getReferenceIdleSeconds()).orElse(DEFAULT_IDLE_SECONDS);
+        if (newMaxReferences != maxReferences || newIdleSeconds != idleSeconds) {
+            maxReferences = newMaxReferences;
+            idleSeconds = newIdleSeconds;
+            Cache<String, ReferenceConfig<GenericService>> old = cache;
+            cache = buildCache();
+            old.invalidateAll();
         }
     }
 
     /**
-     * Init ref reference config.
+     * Init ref reference config, reusing the cached one when present.
      *
      * @param metaData the meta data
      * @return the reference config
      */
     public ReferenceConfig<GenericService> initRef(final MetaData metaData) {
         try {
-            ReferenceConfig<GenericService> referenceConfig = cache.get(metaData.getServiceName());
-            if (StringUtils.isNoneBlank(referenceConfig.getInterface())) {
-                return referenceConfig;
-            }
-        } catch (Exception e) {
-            LOG.error("init dubbo ref ex:{}", e.getMessage());
+            return cache.get(buildKey(metaData), () -> createReference(metaData));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            LOG.error("init dubbo ref ex:{}", e.getCause().getMessage());
+            throw new SoulException(e.getCause());
         }
-        return build(metaData);
-
     }
 
     /**
-     * Build reference config.
+     * Build reference config, replacing (and destroying) the cached one.
      *
      * @param metaData the meta data
      * @return the reference config
      */
     public ReferenceConfig<GenericService> build(final MetaData metaData) {
+        try {
+            ReferenceConfig<GenericService> reference = createReference(metaData);
+            cache.put(buildKey(metaData), reference);
+            return reference;
+        } catch (Exception ex) {
+            LOG.error("初始化引用没有找到提供者【{}】,ex:{}", metaData, ex.getMessage());
+            return null;
+        }
+    }
 
+    private ReferenceConfig<GenericService> createReference(final MetaData metaData) {
         ReferenceConfig<GenericService> reference = new ReferenceConfig<>();
-
         reference.setGeneric(true);
-
         reference.setApplication(applicationConfig);
-
         reference.setRegistry(registryConfig);
-
         reference.setInterface(metaData.getServiceName());
-
         reference.setProtocol("dubbo");
-
-        String rpcExt = metaData.getRpcExt();
-
-        try {
-            DubboParamExt dubboParamExt = GsonUtils.getInstance().fromJson(rpcExt, DubboParamExt.class);
-            if (Objects.nonNull(dubboParamExt)) {
-                if (StringUtils.isNoneBlank(dubboParamExt.getVersion())) {
-                    reference.setVersion(dubboParamExt.getVersion());
-                }
-                if (StringUtils.isNoneBlank(dubboParamExt.getGroup())) {
-                    reference.setGroup(dubboParamExt.getGroup());
-                }
-                if (StringUtils.isNoneBlank(dubboParamExt.getLoadbalance())) {
-                    final String loadBalance = dubboParamExt.getLoadbalance();
-                    if (LoadBalanceEnum.HASH.getName().equals(loadBalance) || "consistenthash".equals(loadBalance)) {
-                        reference.setLoadbalance("consistenthash");
-                    } else if (LoadBalanceEnum.ROUND_ROBIN.getName().equals(loadBalance)) {
-                        reference.setLoadbalance("roundrobin");
-                    } else {
-                        reference.setLoadbalance(loadBalance);
-                    }
+        DubboParamExt dubboParamExt = parseExt(metaData);
+        if (Objects.nonNull(dubboParamExt)) {
+            if (StringUtils.isNoneBlank(dubboParamExt.getVersion())) {
+                reference.setVersion(dubboParamExt.getVersion());
+            }
+            if (StringUtils.isNoneBlank(dubboParamExt.getGroup())) {
+                reference.setGroup(dubboParamExt.getGroup());
+            }
+            if (StringUtils.isNoneBlank(dubboParamExt.getLoadbalance())) {
+                final String loadBalance = dubboParamExt.getLoadbalance();
+                if (LoadBalanceEnum.HASH.getName().equals(loadBalance) || "consistenthash".equals(loadBalance)) {
+                    reference.setLoadbalance("consistenthash");
+                } else if (LoadBalanceEnum.ROUND_ROBIN.getName().equals(loadBalance)) {
+                    reference.setLoadbalance("roundrobin");
+                } else {
+                    reference.setLoadbalance(loadBalance);
                 }
-                Optional.ofNullable(dubboParamExt.getTimeout()).ifPresent(reference::setTimeout);
-                Optional.ofNullable(dubboParamExt.getRetries()).ifPresent(reference::setRetries);
             }
-        } catch (Exception e) {
-            LOG.error("rpc 扩展参数转成json异常,{}", metaData);
+            Optional.ofNullable(dubboParamExt.getTimeout()).ifPresent(reference::setTimeout);
+            Optional.ofNullable(dubboParamExt.getRetries()).ifPresent(reference::setRetries);
+            if (StringUtils.isNoneBlank(dubboParamExt.getUrl())) {
+                reference.setUrl(dubboParamExt.getUrl());
+            }
         }
         try {
-            Object obj = reference.get();
-            if (obj != null) {
-                LOG.info("初始化引用成功{}", metaData);
-                cache.put(metaData.getServiceName(), reference);
-            }
-        } catch (Exception ex) {
-            LOG.error("初始化引用没有找到提供者【{}】,ex:{}", metaData, ex.getMessage());
-
+            reference.get();
+        } catch (RuntimeException ex) {
+            reference.destroy();
+            throw ex;
         }
+        createdCount.incrementAndGet();
+        LOG.info("初始化引用成功{}", metaData);
         return reference;
     }
 
     /**
-     * Get reference config.
+     * Get the cached reference config.
      *
-     * @param <T>         the type parameter
-     * @param serviceName the service name
-     * @return the reference config
+     * @param metaData the meta data
+     * @return the reference config, or null when it is not cached
      */
-    public <T> ReferenceConfig<T> get(final String serviceName) {
-        try {
-            return (ReferenceConfig<T>) cache.get(serviceName);
-        } catch (ExecutionException e) {
-            throw new SoulException(e.getCause());
-        }
+    public ReferenceConfig<GenericService> get(final MetaData metaData) {
+        return cache.getIfPresent(buildKey(metaData));
     }
 
     /**
      * Invalidate.
      *
-     * @param serviceName the service name
+     * @param metaData the meta data
+     */
+    public void invalidate(final MetaData metaData) {
+        cache.invalidate(buildKey(metaData));
+    }
+
+    /**
+     * Invalidate all.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Build the reference key, interface:group:version:url.
+     *
+     * @param metaData the meta data
+     * @return the key
      */
-    public void invalidate(final String serviceName) {
+    public static String buildKey(final MetaData metaData) {
+        DubboParamExt dubboParamExt = parseExt(metaData);
+        String group = Objects.isNull(dubboParamExt) ? "" : StringUtils.defaultString(dubboParamExt.getGroup());
+        String version = Objects.isNull(dubboParamExt) ? "" : StringUtils.defaultString(dubboParamExt.getVersion());
+        String url = Objects.isNull(dubboParamExt) ? "" : StringUtils.defaultString(dubboParamExt.getUrl());
+        return String.join(KEY_SEPARATOR, metaData.getServiceName(), group, version, url);
+    }
+
+    /**
+     * Active references count.
+     *
+     * @return the count
+     */
+    public long activeReferences() {
+        return cache.size();
+    }
+
+    /**
+     * Active provider connections, one shared connection per provider address.
+     *
+     * @return the count
+     */
+    public long activeConnections() {
         try {
-            cache.invalidate(serviceName);
+            Collection<Invoker<?>> invokers = DubboProtocol.getDubboProtocol().getInvokers();
+            return invokers.stream()
+                    .filter(Invoker::isAvailable)
+                    .map(invoker -> invoker.getUrl().getAddress())
+                    .distinct()
+                    .count();
         } catch (Exception e) {
-            throw new SoulException(e.getCause());
+            return 0;
         }
     }
 
     /**
-     * Invalidate all.
+     * Created references count.
+     *
+     * @return the count
      */
-    public void invalidateAll(){
-        cache.invalidateAll();
+    public long createdReferences() {
+        return createdCount.get();
+    }
+
+    /**
+     * Destroyed references count.
+     *
+     * @return the count
+     */
+    public long destroyedReferences() {
+        return destroyedCount.get();
+    }
+
+    private Cache<String, ReferenceConfig<GenericService>> buildCache() {
+        RemovalListener<String, ReferenceConfig<GenericService>> listener = notification -> {
+            ReferenceConfig<GenericService> config = notification.getValue();
+            if (config != null) {
+                // a call that got the reference before it was removed may still be running on it
+                scheduler.schedule(() -> destroy(notification.getKey(), config, notification.getCause()),
+                        destroyDelayMillis(config), TimeUnit.MILLISECONDS);
+            }
+        };
+        return CacheBuilder.newBuilder()
+                .maximumSize(maxReferences)
+                .expireAfterAccess(idleSeconds, TimeUnit.SECONDS)
+                .removalListener(listener)
+                .build();
+    }
+
+    private void destroy(final String key, final ReferenceConfig<GenericService> config, final RemovalCause cause) {
+        try {
+            config.destroy();
+            destroyedCount.incrementAndGet();
+            LOG.info("destroy dubbo reference:{}, cause:{}", key, cause);
+        } catch (Exception e) {
+            LOG.error("destroy dubbo reference error:{}", key, e);
+        }
+    }
+
+    private static long destroyDelayMillis(final ReferenceConfig<GenericService> config) {
+        final long timeout = Optional.ofNullable(config.getTimeout()).orElse(0);
+        final long attempts = Optional.ofNullable(config.getRetries()).orElse(0) + 1L;
+        return Math.max(timeout * attempts, 0L) + DESTROY_GRACE_MILLIS;
+    }
+
+    private static DubboParamExt parseExt(final MetaData metaData) {
+        final String rpcExt = metaData.getRpcExt();
+        if (StringUtils.isBlank(rpcExt)) {
+            return null;
+        }
+        // parsed once per distinct rpcExt, the key is built on every call
+        final DubboParamExt dubboParamExt = EXT_CACHE.getIfPresent(rpcExt);
+        if (dubboParamExt != null) {
+            return dubboParamExt;
+        }
+        DubboParamExt parsed;
+        try {
+            parsed = Optional.ofNullable(GsonUtils.getInstance().fromJson(rpcExt, DubboParamExt.class)).orElse(EMPTY_EXT);
+        } catch (Exception e) {
+            LOG.error("rpc 扩展参数转成json异常,{}", metaData);
+            parsed = EMPTY_EXT;
+        }
+        EXT_CACHE.put(rpcExt, parsed);
+        return parsed;
     }
 
     /**
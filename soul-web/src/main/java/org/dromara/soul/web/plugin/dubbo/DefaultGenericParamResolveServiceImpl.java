@@ -19,22 +19,26 @@
 
 package org.dromara.soul.web.plugin.dubbo;
 
+import com.google.common.collect.Maps;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
-import org.dromara.soul.common.utils.GsonUtils;
 
-import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The type Default generic param resolve service.
+ * Codecs are compiled once per parameter types signature and reused for every call.
  *
  * @author xiaoyu
  */
 public class DefaultGenericParamResolveServiceImpl implements GenericParamResolveService {
 
+    private static final ConcurrentMap<String, GenericParamCodec> CODEC_MAP = Maps.newConcurrentMap();
+
     @Override
     public Pair<String[], Object[]> buildParameter(final String body, final String parameterTypes) {
-        final Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
-        return new ImmutablePair<>(new String[]{parameterTypes}, new Object[]{paramMap});
+        final GenericParamCodec codec = CODEC_MAP.computeIfAbsent(StringUtils.defaultString(parameterTypes), GenericParamCodec::compile);
+        return new ImmutablePair<>(codec.getTypes(), codec.decode(body));
     }
 }
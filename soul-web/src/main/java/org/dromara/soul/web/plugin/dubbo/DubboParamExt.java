@@ -38,4 +38,9 @@ public class DubboParamExt {
     private Integer retries;
 
     private Integer timeout;
+
+    /**
+     * direct provider url, bypasses the registry when set.
+     */
+    private String url;
 }
@@ -18,7 +18,6 @@
 
 package org.dromara.soul.web.plugin.dubbo;
 
-import com.alibaba.dubbo.config.ReferenceConfig;
 import com.alibaba.dubbo.rpc.service.GenericException;
 import com.alibaba.dubbo.rpc.service.GenericService;
 import org.apache.commons.lang3.StringUtils;
@@ -29,8 +28,6 @@ import org.dromara.soul.common.exception.SoulException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Objects;
-
 /**
  * dubbo proxy service is  use GenericService.
  *
@@ -64,23 +61,16 @@ public class DubboProxyService {
      * @throws SoulException the soul exception
      */
     public Object genericInvoker(final String body, final MetaData metaData, final DubboRuleHandle dubboRuleHandle) throws SoulException {
-        ReferenceConfig<GenericService> reference;
         GenericService genericService;
         try {
-            reference = ApplicationConfigCache.getInstance().get(metaData.getServiceName());
-            if (Objects.isNull(reference) || StringUtils.isEmpty(reference.getInterface())) {
-                ApplicationConfigCache.getInstance().invalidate(metaData.getServiceName());
-                reference = ApplicationConfigCache.getInstance().initRef(metaData);
-            }
-            genericService = reference.get();
+            genericService = ApplicationConfigCache.getInstance().initRef(metaData).get();
         } catch (Exception ex) {
             LOGGER.error("dubbo 泛化初始化异常:", ex);
-            ApplicationConfigCache.getInstance().invalidate(metaData.getServiceName());
-            reference = ApplicationConfigCache.getInstance().initRef(metaData);
-            genericService = reference.get();
+            ApplicationConfigCache.getInstance().invalidate(metaData);
+            genericService = ApplicationConfigCache.getInstance().initRef(metaData).get();
         }
         try {
-            if ("".equals(body) || "{}".equals(body) || "null".equals(body)) {
+            if (StringUtils.isBlank(metaData.getParameterTypes())) {
                 return genericService.$invoke(metaData.getMethodName(), new String[]{}, new Object[]{});
             } else {
                 Pair<String[], Object[]> pair = genericParamResolveService.buildParameter(body, metaData.getParameterTypes());
@@ -0,0 +1,343 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.dubbo;
+
+import com.google.common.base.Splitter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.exception.SoulException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The type Generic param codec.
+ * Compiled once per parameter types signature, it streams a json body straight into the
+ * dubbo generic argument array, without building an intermediate string or map of the body.
+ * <p>
+ * The signature is a comma separated list of types, each optionally followed by a name,
+ * e.g. {@code java.lang.String name,int age}. Supported bodies are a json array (positional),
+ * a json object keyed by parameter name or {@code argN} (named), a json object for a single
+ * pojo/map parameter, or a bare value for a single simple parameter.
+ *
+ * @author xiaoyu
+ */
+public final class GenericParamCodec {
+
+    private static final Map<String, ArgType> SIMPLE_TYPES = new HashMap<>(32);
+
+    static {
+        SIMPLE_TYPES.put("boolean", ArgType.BOOLEAN);
+        SIMPLE_TYPES.put("java.lang.Boolean", ArgType.BOOLEAN);
+        SIMPLE_TYPES.put("byte", ArgType.BYTE);
+        SIMPLE_TYPES.put("java.lang.Byte", ArgType.BYTE);
+        SIMPLE_TYPES.put("short", ArgType.SHORT);
+        SIMPLE_TYPES.put("java.lang.Short", ArgType.SHORT);
+        SIMPLE_TYPES.put("int", ArgType.INT);
+        SIMPLE_TYPES.put("java.lang.Integer", ArgType.INT);
+        SIMPLE_TYPES.put("long", ArgType.LONG);
+        SIMPLE_TYPES.put("java.lang.Long", ArgType.LONG);
+        SIMPLE_TYPES.put("float", ArgType.FLOAT);
+        SIMPLE_TYPES.put("java.lang.Float", ArgType.FLOAT);
+        SIMPLE_TYPES.put("double", ArgType.DOUBLE);
+        SIMPLE_TYPES.put("java.lang.Double", ArgType.DOUBLE);
+        SIMPLE_TYPES.put("char", ArgType.CHAR);
+        SIMPLE_TYPES.put("java.lang.Character", ArgType.CHAR);
+        SIMPLE_TYPES.put("java.lang.String", ArgType.STRING);
+        SIMPLE_TYPES.put("java.math.BigDecimal", ArgType.BIG_DECIMAL);
+        SIMPLE_TYPES.put("java.math.BigInteger", ArgType.BIG_INTEGER);
+        SIMPLE_TYPES.put("java.util.List", ArgType.LIST);
+        SIMPLE_TYPES.put("java.util.ArrayList", ArgType.LIST);
+        SIMPLE_TYPES.put("java.util.LinkedList", ArgType.LIST);
+        SIMPLE_TYPES.put("java.util.Collection", ArgType.LIST);
+        SIMPLE_TYPES.put("java.util.Set", ArgType.LIST);
+        SIMPLE_TYPES.put("java.util.HashSet", ArgType.LIST);
+    }
+
+    private static final String[] EMPTY_TYPES = new String[0];
+
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    private final String[] types;
+
+    private final ArgType[] argTypes;
+
+    private final boolean[] primitives;
+
+    private final Map<String, Integer> names;
+
+    private GenericParamCodec(final String[] types, final ArgType[] argTypes,
+                              final boolean[] primitives, final Map<String, Integer> names) {
+        this.types = types;
+        this.argTypes = argTypes;
+        this.primitives = primitives;
+        this.names = names;
+    }
+
+    /**
+     * Compile generic param codec.
+     *
+     * @param parameterTypes the parameter types
+     * @return the generic param codec
+     */
+    public static GenericParamCodec compile(final String parameterTypes) {
+        if (StringUtils.isBlank(parameterTypes)) {
+            return new GenericParamCodec(EMPTY_TYPES, new ArgType[0], new boolean[0], new HashMap<>(0));
+        }
+        List<String> declared = Splitter.on(',').trimResults().omitEmptyStrings().splitToList(parameterTypes);
+        int size = declared.size();
+        String[] types = new String[size];
+        ArgType[] argTypes = new ArgType[size];
+        boolean[] primitives = new boolean[size];
+        Map<String, Integer> names = new HashMap<>(size * 4);
+        for (int i = 0; i < size; i++) {
+            List<String> parts = Splitter.on(' ').trimResults().omitEmptyStrings().splitToList(declared.get(i));
+            types[i] = parts.get(0);
+            argTypes[i] = resolve(types[i]);
+            primitives[i] = !types[i].contains(".") && !types[i].endsWith("[]") && SIMPLE_TYPES.containsKey(types[i]);
+            names.put("arg" + i, i);
+            if (parts.size() > 1) {
+                names.put(parts.get(1), i);
+            }
+        }
+        return new GenericParamCodec(types, argTypes, primitives, names);
+    }
+
+    private static ArgType resolve(final String type) {
+        if (type.endsWith("[]") || type.startsWith("[")) {
+            return ArgType.LIST;
+        }
+        return SIMPLE_TYPES.getOrDefault(type, ArgType.OBJECT);
+    }
+
+    /**
+     * Parameter types for the generic invoke.
+     *
+     * @return the types
+     */
+    public String[] getTypes() {
+        return types;
+    }
+
+    /**
+     * Decode the body into the argument array.
+     *
+     * @param body the body
+     * @return the args
+     */
+    public Object[] decode(final String body) {
+        if (StringUtils.isBlank(body)) {
+            return defaults();
+        }
+        return decode(new StringReader(body));
+    }
+
+    /**
+     * Decode the body into the argument array.
+     *
+     * @param body the body reader
+     * @return the args
+     */
+    public Object[] decode(final Reader body) {
+        if (types.length == 0) {
+            return EMPTY_ARGS;
+        }
+        try (JsonReader reader = new JsonReader(body)) {
+            reader.setLenient(true);
+            JsonToken token = reader.peek();
+            if (token == JsonToken.END_DOCUMENT || token == JsonToken.NULL) {
+                return defaults();
+            }
+            Object[] args;
+            if (token == JsonToken.BEGIN_ARRAY && (types.length > 1 || argTypes[0] != ArgType.LIST)) {
+                args = readPositional(reader);
+            } else if (token == JsonToken.BEGIN_OBJECT && (types.length > 1 || argTypes[0] != ArgType.OBJECT)) {
+                args = readNamed(reader);
+            } else {
+                args = new Object[]{read(reader, argTypes[0])};
+            }
+            fillDefaults(args);
+            return args;
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new SoulException("dubbo param resolve error:" + e.getMessage());
+        }
+    }
+
+    private Object[] readPositional(final JsonReader reader) throws IOException {
+        Object[] args = new Object[types.length];
+        reader.beginArray();
+        int i = 0;
+        while (reader.hasNext()) {
+            if (i < types.length) {
+                args[i] = read(reader, argTypes[i]);
+            } else {
+                reader.skipValue();
+            }
+            i++;
+        }
+        reader.endArray();
+        return args;
+    }
+
+    private Object[] readNamed(final JsonReader reader) throws IOException {
+        Object[] args = new Object[types.length];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Integer index = names.get(reader.nextName());
+            if (index == null) {
+                reader.skipValue();
+            } else {
+                args[index] = read(reader, argTypes[index]);
+            }
+        }
+        reader.endObject();
+        return args;
+    }
+
+    private Object read(final JsonReader reader, final ArgType argType) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        switch (argType) {
+            case BOOLEAN:
+                return reader.peek() == JsonToken.STRING ? Boolean.valueOf(reader.nextString()) : reader.nextBoolean();
+            case BYTE:
+                return (byte) reader.nextInt();
+            case SHORT:
+                return (short) reader.nextInt();
+            case INT:
+                return reader.nextInt();
+            case LONG:
+                return reader.nextLong();
+            case FLOAT:
+                return (float) reader.nextDouble();
+            case DOUBLE:
+                return reader.nextDouble();
+            case CHAR:
+                String chars = reader.nextString();
+                return chars.isEmpty() ? null : chars.charAt(0);
+            case BIG_DECIMAL:
+                return new BigDecimal(reader.nextString());
+            case BIG_INTEGER:
+                return new BigInteger(reader.nextString());
+            case STRING:
+                return reader.peek() == JsonToken.BEGIN_OBJECT || reader.peek() == JsonToken.BEGIN_ARRAY
+                        ? null : reader.nextString();
+            case LIST:
+            case OBJECT:
+            default:
+                return readValue(reader);
+        }
+    }
+
+    private static Object readValue(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    map.put(reader.nextName(), readValue(reader));
+                }
+                reader.endObject();
+                return map;
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    list.add(readValue(reader));
+                }
+                reader.endArray();
+                return list;
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return toNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    private static Number toNumber(final String value) {
+        if (value.indexOf('.') < 0 && value.indexOf('e') < 0 && value.indexOf('E') < 0) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return new BigInteger(value);
+            }
+        }
+        return Double.parseDouble(value);
+    }
+
+    private Object[] defaults() {
+        Object[] args = new Object[types.length];
+        fillDefaults(args);
+        return args;
+    }
+
+    private void fillDefaults(final Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] == null && primitives[i]) {
+                args[i] = primitiveDefault(argTypes[i]);
+            }
+        }
+    }
+
+    private static Object primitiveDefault(final ArgType argType) {
+        switch (argType) {
+            case BOOLEAN:
+                return Boolean.FALSE;
+            case BYTE:
+                return (byte) 0;
+            case SHORT:
+                return (short) 0;
+            case INT:
+                return 0;
+            case LONG:
+                return 0L;
+            case FLOAT:
+                return 0F;
+            case DOUBLE:
+                return 0D;
+            case CHAR:
+                return '\u0000';
+            default:
+                return null;
+        }
+    }
+
+    private enum ArgType {
+        BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, CHAR, STRING, BIG_DECIMAL, BIG_INTEGER, LIST, OBJECT
+    }
+}
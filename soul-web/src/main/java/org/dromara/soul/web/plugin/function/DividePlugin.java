@@ -35,18 +35,20 @@ import org.dromara.soul.web.cache.LocalCacheManager;
 import org.dromara.soul.web.cache.UpstreamCacheManager;
 import org.dromara.soul.web.plugin.AbstractSoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
-import org.dromara.soul.web.plugin.hystrix.HttpCommand;
-import org.dromara.soul.web.plugin.hystrix.HystrixBuilder;
+import org.dromara.soul.web.plugin.breaker.CircuitBreaker;
+import org.dromara.soul.web.plugin.breaker.CircuitBreakerFallback;
+import org.dromara.soul.web.plugin.breaker.CircuitBreakerRegistry;
+import org.dromara.soul.web.plugin.http.coalesce.RequestCoalescer;
+import org.dromara.soul.web.plugin.http.hedge.HedgeRoute;
+import org.dromara.soul.web.plugin.http.retry.UpstreamFailover;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
-import rx.Subscription;
 
 import java.util.List;
 import java.util.Objects;
@@ -65,15 +67,24 @@ public class DividePlugin extends AbstractSoulPlugin {
 
     private final UpstreamCacheManager upstreamCacheManager;
 
+    private final RequestCoalescer requestCoalescer;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
     /**
      * Instantiates a new Divide plugin.
      *
-     * @param localCacheManager    the local cache manager
-     * @param upstreamCacheManager the upstream cache manager
+     * @param localCacheManager      the local cache manager
+     * @param upstreamCacheManager   the upstream cache manager
+     * @param requestCoalescer       the request coalescer
+     * @param circuitBreakerRegistry the circuit breaker registry
      */
-    public DividePlugin(final LocalCacheManager localCacheManager, final UpstreamCacheManager upstreamCacheManager) {
+    public DividePlugin(final LocalCacheManager localCacheManager, final UpstreamCacheManager upstreamCacheManager,
+                        final RequestCoalescer requestCoalescer, final CircuitBreakerRegistry circuitBreakerRegistry) {
         super(localCacheManager);
         this.upstreamCacheManager = upstreamCacheManager;
+        this.requestCoalescer = requestCoalescer;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
     }
 
     @Override
@@ -91,16 +102,14 @@ public class DividePlugin extends AbstractSoulPlugin {
                 upstreamCacheManager.findUpstreamListBySelectorId(selector.getId());
         if (CollectionUtils.isEmpty(upstreamList)) {
             LOGGER.error("divide upstream configuration error：{}", rule.toString());
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_URL);
         }
         final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
         DivideUpstream divideUpstream =
                 LoadBalanceUtils.selector(upstreamList, ruleHandle.getLoadBalance(), ip);
         if (Objects.isNull(divideUpstream)) {
             LOGGER.error("divide has no upstream");
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_URL);
         }
         //设置一下 http url
         String domain = buildDomain(divideUpstream);
@@ -108,15 +117,29 @@ public class DividePlugin extends AbstractSoulPlugin {
         exchange.getAttributes().put(Constants.HTTP_URL, realURL);
         //设置下超时时间
         exchange.getAttributes().put(Constants.HTTP_TIME_OUT, ruleHandle.getTimeout());
-        HttpCommand command = new HttpCommand(HystrixBuilder.build(ruleHandle), exchange, chain);
+        final boolean hedge = ruleHandle.isHedge() && isIdempotent(exchange, ruleHandle);
+        if ((ruleHandle.getRetry() > 0 || hedge) && upstreamList.size() > 1) {
+            exchange.getAttributes().put(Constants.HTTP_FAILOVER,
+                    new UpstreamFailover(upstreamList, ruleHandle.getLoadBalance(), ip, ruleHandle.getRetry(),
+                            upstream -> buildRealURL(buildDomain(upstream), requestDTO, exchange))
+                            .tried(divideUpstream));
+            if (hedge) {
+                exchange.getAttributes().put(Constants.HTTP_HEDGE, new HedgeRoute(rule.getId(), ruleHandle.getHedgeDelay()));
+            }
+        }
+        if (ruleHandle.isCoalesce() && isSafe(exchange)) {
+            return requestCoalescer.execute(exchange, rule.getId(), ruleHandle, coalesced -> execute(coalesced, chain, ruleHandle));
+        }
+        return execute(exchange, chain, ruleHandle);
+    }
 
-        return Mono.create(s -> {
-            Subscription sub = command.toObservable().subscribe(s::success,
-                    s::error, s::success);
-            s.onCancel(sub::unsubscribe);
-            if (command.isCircuitBreakerOpen()) {
+    private Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain, final DivideRuleHandle ruleHandle) {
+        final CircuitBreaker breaker = circuitBreakerRegistry.get(ruleHandle);
+        return breaker.run(chain.execute(exchange), throwable -> {
+            if (breaker.isOpen()) {
                 LOGGER.error("http execute 过程中发生了熔断 circuitBreaker is Open! 组key为:{}", ruleHandle.getGroupKey());
             }
+            return CircuitBreakerFallback.http(exchange, throwable);
         }).doOnError(throwable -> {
             LOGGER.error("http 调用异常:", throwable);
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE,
@@ -156,6 +179,15 @@ public class DividePlugin extends AbstractSoulPlugin {
         return PluginEnum.DIVIDE.getCode();
     }
 
+    private boolean isIdempotent(final ServerWebExchange exchange, final DivideRuleHandle ruleHandle) {
+        return isSafe(exchange) || ruleHandle.isIdempotent();
+    }
+
+    private boolean isSafe(final ServerWebExchange exchange) {
+        final HttpMethod method = exchange.getRequest().getMethod();
+        return method == HttpMethod.GET || method == HttpMethod.HEAD;
+    }
+
     private String buildDomain(final DivideUpstream divideUpstream) {
         String protocol = divideUpstream.getProtocol();
         if (StringUtils.isBlank(protocol)) {
@@ -18,9 +18,11 @@
 
 package org.dromara.soul.web.plugin.function;
 
+import com.alibaba.dubbo.rpc.RpcContext;
 import org.apache.commons.lang3.StringUtils;
 import org.dromara.soul.common.constant.Constants;
 import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.dto.convert.rule.DubboRuleHandle;
 import org.dromara.soul.common.enums.PluginEnum;
@@ -32,15 +34,16 @@ import org.dromara.soul.common.utils.LogUtils;
 import org.dromara.soul.web.cache.LocalCacheManager;
 import org.dromara.soul.web.plugin.AbstractSoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
+import org.dromara.soul.web.plugin.breaker.CircuitBreaker;
+import org.dromara.soul.web.plugin.breaker.CircuitBreakerFallback;
+import org.dromara.soul.web.plugin.breaker.CircuitBreakerRegistry;
 import org.dromara.soul.web.plugin.dubbo.DubboProxyService;
-import org.dromara.soul.web.plugin.hystrix.DubboCommand;
-import org.dromara.soul.web.plugin.hystrix.HystrixBuilder;
+import org.dromara.soul.web.plugin.trace.TraceContext;
 import org.dromara.soul.web.request.RequestDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
-import rx.Subscription;
 
 import java.util.Objects;
 
@@ -58,15 +61,20 @@ public class DubboPlugin extends AbstractSoulPlugin {
 
     private final DubboProxyService dubboProxyService;
 
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
     /**
      * Instantiates a new Dubbo plugin.
      *
-     * @param localCacheManager the local cache manager
-     * @param dubboProxyService the dubbo proxy service
+     * @param localCacheManager      the local cache manager
+     * @param dubboProxyService      the dubbo proxy service
+     * @param circuitBreakerRegistry the circuit breaker registry
      */
-    public DubboPlugin(final LocalCacheManager localCacheManager, final DubboProxyService dubboProxyService) {
+    public DubboPlugin(final LocalCacheManager localCacheManager, final DubboProxyService dubboProxyService,
+                       final CircuitBreakerRegistry circuitBreakerRegistry) {
         super(localCacheManager);
         this.dubboProxyService = dubboProxyService;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
     }
 
     @Override
@@ -88,17 +96,12 @@ public class DubboPlugin extends AbstractSoulPlugin {
             ruleHandle.setCommandKey(requestDTO.getMethod());
         }
 
-        DubboCommand command =
-                new DubboCommand(HystrixBuilder.build(ruleHandle), body,
-                        exchange, chain, dubboProxyService, requestDTO.getMetaData(), ruleHandle);
-
-        return Mono.create(s -> {
-            Subscription sub = command.toObservable().subscribe(s::success,
-                    s::error, s::success);
-            s.onCancel(sub::unsubscribe);
-            if (command.isCircuitBreakerOpen()) {
+        final CircuitBreaker breaker = circuitBreakerRegistry.get(ruleHandle);
+        return breaker.run(Mono.defer(() -> invoke(body, exchange, chain, requestDTO.getMetaData(), ruleHandle)), throwable -> {
+            if (breaker.isOpen()) {
                 LogUtils.error(LOGGER, () -> ruleHandle.getGroupKey() + ":dubbo execute circuitBreaker is Open !");
             }
+            return CircuitBreakerFallback.dubbo(exchange, throwable);
         }).doOnError(throwable -> {
             throwable.printStackTrace();
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE,
@@ -107,6 +110,23 @@ public class DubboPlugin extends AbstractSoulPlugin {
         }).then();
     }
 
+    private Mono<Void> invoke(final String body, final ServerWebExchange exchange, final SoulPluginChain chain,
+                              final MetaData metaData, final DubboRuleHandle ruleHandle) {
+        final TraceContext trace = exchange.getAttribute(Constants.TRACE_CONTEXT);
+        if (trace != null) {
+            // the invoke is synchronous, the consumer filter clears the attachments after it
+            RpcContext.getContext().setAttachment(TraceContext.TRACEPARENT, trace.getTraceparent());
+        }
+        final Object result = dubboProxyService.genericInvoker(body, metaData, ruleHandle);
+        if (Objects.nonNull(result)) {
+            exchange.getAttributes().put(Constants.DUBBO_RPC_RESULT, result);
+        } else {
+            exchange.getAttributes().put(Constants.DUBBO_RPC_RESULT, Constants.DUBBO_RPC_RESULT_EMPTY);
+        }
+        exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
+        return chain.execute(exchange);
+    }
+
     /**
      * return plugin type.
      *
@@ -23,14 +23,22 @@ import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.dto.convert.RateLimiterHandle;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.PluginTypeEnum;
+import org.dromara.soul.common.enums.RateLimiterModeEnum;
 import org.dromara.soul.common.utils.GsonUtils;
 import org.dromara.soul.web.cache.LocalCacheManager;
 import org.dromara.soul.web.plugin.AbstractSoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
+import org.dromara.soul.web.plugin.ratelimter.ConcurrentLimiter;
+import org.dromara.soul.web.plugin.ratelimter.HeavyHitterFilter;
+import org.dromara.soul.web.plugin.ratelimter.LocalConcurrentLimiter;
+import org.dromara.soul.web.plugin.ratelimter.LocalRateLimiter;
+import org.dromara.soul.web.plugin.ratelimter.RateLimiterKeyResolver;
+import org.dromara.soul.web.plugin.ratelimter.RateLimiterResponse;
+import org.dromara.soul.web.plugin.ratelimter.RedisConcurrentLimiter;
+import org.dromara.soul.web.plugin.ratelimter.RedisLeaseRateLimiter;
 import org.dromara.soul.web.plugin.ratelimter.RedisRateLimiter;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -44,16 +52,41 @@ public class RateLimiterPlugin extends AbstractSoulPlugin {
 
     private final RedisRateLimiter redisRateLimiter;
 
+    private final LocalRateLimiter localRateLimiter;
+
+    private final RedisLeaseRateLimiter redisLeaseRateLimiter;
+
+    private final HeavyHitterFilter heavyHitterFilter;
+
+    private final LocalConcurrentLimiter localConcurrentLimiter;
+
+    private final RedisConcurrentLimiter redisConcurrentLimiter;
+
     /**
      * Instantiates a new Rate limiter plugin.
      *
-     * @param localCacheManager the local cache manager
-     * @param redisRateLimiter  the redis rate limiter
+     * @param localCacheManager      the local cache manager
+     * @param redisRateLimiter       the redis rate limiter
+     * @param localRateLimiter       the local rate limiter
+     * @param redisLeaseRateLimiter  the redis lease rate limiter
+     * @param heavyHitterFilter      the heavy hitter filter
+     * @param localConcurrentLimiter the local concurrent limiter
+     * @param redisConcurrentLimiter the redis concurrent limiter
      */
     public RateLimiterPlugin(final LocalCacheManager localCacheManager,
-                             final RedisRateLimiter redisRateLimiter) {
+                             final RedisRateLimiter redisRateLimiter,
+                             final LocalRateLimiter localRateLimiter,
+                             final RedisLeaseRateLimiter redisLeaseRateLimiter,
+                             final HeavyHitterFilter heavyHitterFilter,
+                             final LocalConcurrentLimiter localConcurrentLimiter,
+                             final RedisConcurrentLimiter redisConcurrentLimiter) {
         super(localCacheManager);
         this.redisRateLimiter = redisRateLimiter;
+        this.localRateLimiter = localRateLimiter;
+        this.redisLeaseRateLimiter = redisLeaseRateLimiter;
+        this.heavyHitterFilter = heavyHitterFilter;
+        this.localConcurrentLimiter = localConcurrentLimiter;
+        this.redisConcurrentLimiter = redisConcurrentLimiter;
     }
 
     @Override
@@ -80,15 +113,40 @@ public class RateLimiterPlugin extends AbstractSoulPlugin {
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
         final String handle = rule.getHandle();
         final RateLimiterHandle limiterHandle = GsonUtils.getInstance().fromJson(handle, RateLimiterHandle.class);
-        return redisRateLimiter.isAllowed(rule.getId(), limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity())
+        final RateLimiterModeEnum mode = RateLimiterModeEnum.getRateLimiterModeEnumByName(limiterHandle.getMode());
+        final String key = RateLimiterKeyResolver.resolve(exchange, rule.getId(), limiterHandle.getKeyDimensions());
+        if (mode == RateLimiterModeEnum.REDIS_CONCURRENT || mode == RateLimiterModeEnum.LOCAL_CONCURRENT) {
+            final ConcurrentLimiter limiter = mode == RateLimiterModeEnum.REDIS_CONCURRENT ? redisConcurrentLimiter : localConcurrentLimiter;
+            return limiter.acquire(key, (long) limiterHandle.getBurstCapacity())
+                    .flatMap(permit -> permit.isAllowed()
+                            ? chain.execute(exchange).doFinally(signal -> permit.release()) : tooManyRequests(exchange));
+        }
+        // the sketch estimates request rate, a slow client under the rate may still hold many requests open,
+        // so it only pre-filters the rate modes
+        if (!key.equals(rule.getId()) && !heavyHitterFilter.isHeavy(key, limiterHandle.getReplenishRate())) {
+            return chain.execute(exchange);
+        }
+        if (mode == RateLimiterModeEnum.REDIS_LEASE) {
+            return redisLeaseRateLimiter.isAllowed(key, limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity())
+                    .flatMap(response -> response.isAllowed() ? chain.execute(exchange) : tooManyRequests(exchange));
+        }
+        if (mode != RateLimiterModeEnum.REDIS) {
+            final RateLimiterResponse response = localRateLimiter.isAllowed(key,
+                    limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity(), mode);
+            return response.isAllowed() ? chain.execute(exchange) : tooManyRequests(exchange);
+        }
+        return redisRateLimiter.isAllowed(key, limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity())
                 .flatMap(response -> {
                     if (!response.isAllowed()) {
-                        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-                        Object error = SoulResultWarp.error(SoulResultEnum.TOO_MANY_REQUESTS.getCode(), SoulResultEnum.TOO_MANY_REQUESTS.getMsg(), null);
-                        return SoulResultUtils.result(exchange, error);
+                        return tooManyRequests(exchange);
                     }
                     return chain.execute(exchange);
                 });
     }
 
+    private Mono<Void> tooManyRequests(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        return SoulResultUtils.error(exchange, SoulResultEnum.TOO_MANY_REQUESTS);
+    }
+
 }
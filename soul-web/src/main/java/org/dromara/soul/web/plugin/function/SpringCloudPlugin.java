@@ -31,12 +31,12 @@ import org.dromara.soul.common.utils.GsonUtils;
 import org.dromara.soul.web.cache.LocalCacheManager;
 import org.dromara.soul.web.plugin.AbstractSoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
-import org.dromara.soul.web.plugin.hystrix.HttpCommand;
-import org.dromara.soul.web.plugin.hystrix.HystrixBuilder;
+import org.dromara.soul.web.plugin.breaker.CircuitBreaker;
+import org.dromara.soul.web.plugin.breaker.CircuitBreakerFallback;
+import org.dromara.soul.web.plugin.breaker.CircuitBreakerRegistry;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.client.ServiceInstance;
@@ -44,7 +44,6 @@ import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
-import rx.Subscription;
 
 import java.net.URI;
 import java.util.Objects;
@@ -60,15 +59,20 @@ public class SpringCloudPlugin extends AbstractSoulPlugin {
 
     private final LoadBalancerClient loadBalancer;
 
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
     /**
      * Instantiates a new Spring cloud plugin.
      *
-     * @param localCacheManager the local cache manager
-     * @param loadBalancer      the load balancer
+     * @param localCacheManager      the local cache manager
+     * @param loadBalancer           the load balancer
+     * @param circuitBreakerRegistry the circuit breaker registry
      */
-    public SpringCloudPlugin(final LocalCacheManager localCacheManager, final LoadBalancerClient loadBalancer) {
+    public SpringCloudPlugin(final LocalCacheManager localCacheManager, final LoadBalancerClient loadBalancer,
+                             final CircuitBreakerRegistry circuitBreakerRegistry) {
         super(localCacheManager);
         this.loadBalancer = loadBalancer;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
     }
 
     @Override
@@ -87,14 +91,12 @@ public class SpringCloudPlugin extends AbstractSoulPlugin {
             ruleHandle.setCommandKey(requestDTO.getMethod());
         }
         if (StringUtils.isBlank(serviceId) || StringUtils.isBlank(ruleHandle.getPath())) {
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_CONFIG_SPRINGCLOUD_SERVICEID.getCode(), SoulResultEnum.CANNOT_CONFIG_SPRINGCLOUD_SERVICEID.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_CONFIG_SPRINGCLOUD_SERVICEID);
         }
 
         final ServiceInstance serviceInstance = loadBalancer.choose(serviceId);
         if (Objects.isNull(serviceInstance)) {
-            Object error = SoulResultWarp.error(SoulResultEnum.SPRINGCLOUD_SERVICEID_IS_ERROR.getCode(), SoulResultEnum.SPRINGCLOUD_SERVICEID_IS_ERROR.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.SPRINGCLOUD_SERVICEID_IS_ERROR);
         }
         final URI uri = loadBalancer.reconstructURI(serviceInstance, URI.create(requestDTO.getRealUrl()));
 
@@ -104,15 +106,12 @@ public class SpringCloudPlugin extends AbstractSoulPlugin {
         //设置下超时时间
         exchange.getAttributes().put(Constants.HTTP_TIME_OUT, ruleHandle.getTimeout());
 
-        HttpCommand command = new HttpCommand(HystrixBuilder.build(ruleHandle), exchange, chain);
-
-        return Mono.create(s -> {
-            Subscription sub = command.toObservable().subscribe(s::success,
-                    s::error, s::success);
-            s.onCancel(sub::unsubscribe);
-            if (command.isCircuitBreakerOpen()) {
+        final CircuitBreaker breaker = circuitBreakerRegistry.get(ruleHandle);
+        return breaker.run(chain.execute(exchange), throwable -> {
+            if (breaker.isOpen()) {
                 LOGGER.error("http execute 过程中发生了熔断 circuitBreaker is Open! 组key为:{}", ruleHandle.getGroupKey());
             }
+            return CircuitBreakerFallback.http(exchange, throwable);
         }).doOnError(throwable -> {
             LOGGER.error("springcloud 调用异常:", throwable);
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE,
@@ -25,18 +25,26 @@ import org.dromara.soul.common.constant.Constants;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.PluginTypeEnum;
 import org.dromara.soul.common.enums.RpcTypeEnum;
+import org.dromara.soul.common.utils.LogUtils;
+import org.dromara.soul.web.filter.support.CachedRequestBody;
+import org.dromara.soul.web.metrics.GatewayMetrics;
 import org.dromara.soul.web.plugin.SoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
-import org.dromara.soul.web.plugin.hystrix.HttpCommand;
+import org.dromara.soul.web.plugin.http.http2.Http2ConnectionPool;
+import org.dromara.soul.web.plugin.http.retry.HttpRetryPolicy;
+import org.dromara.soul.web.plugin.http.retry.UpstreamFailover;
+import org.dromara.soul.web.plugin.trace.TraceContext;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ClientHttpResponse;
 import org.springframework.http.server.reactive.AbstractServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -45,14 +53,17 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
 import reactor.netty.NettyPipeline;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientResponse;
 
+import java.net.URI;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
  * The type Netty http client plugin.
@@ -64,17 +75,30 @@ public class NettyHttpClientPlugin implements SoulPlugin {
     /**
      * logger.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(HttpCommand.class);
+    private static final Logger LOGGER = LoggerFactory.getLogger(NettyHttpClientPlugin.class);
 
     private final HttpClient httpClient;
 
+    private final Http2ConnectionPool http2ConnectionPool;
+
+    private final HttpRetryPolicy retryPolicy;
+
+    private final GatewayMetrics gatewayMetrics;
+
     /**
      * Instantiates a new Netty http client plugin.
      *
-     * @param httpClient the http client
+     * @param httpClient          the http client
+     * @param http2ConnectionPool the http2 connection pool
+     * @param retryPolicy         the retry policy
+     * @param gatewayMetrics      the gateway metrics
      */
-    public NettyHttpClientPlugin(final HttpClient httpClient) {
+    public NettyHttpClientPlugin(final HttpClient httpClient, final Http2ConnectionPool http2ConnectionPool,
+                                 final HttpRetryPolicy retryPolicy, final GatewayMetrics gatewayMetrics) {
         this.httpClient = httpClient;
+        this.http2ConnectionPool = http2ConnectionPool;
+        this.retryPolicy = retryPolicy;
+        this.gatewayMetrics = gatewayMetrics;
     }
 
     @Override
@@ -83,53 +107,116 @@ public class NettyHttpClientPlugin implements SoulPlugin {
         assert body != null;
         ServerHttpRequest request = exchange.getRequest();
         final HttpMethod method = HttpMethod.valueOf(request.getMethodValue());
-        HttpHeaders filtered = request.getHeaders();
+        final HttpHeaders headers = new HttpHeaders();
+        headers.addAll(request.getHeaders());
+        final TraceContext trace = exchange.getAttribute(Constants.TRACE_CONTEXT);
+        if (trace != null) {
+            headers.set(TraceContext.TRACEPARENT, trace.getTraceparent());
+        }
         final DefaultHttpHeaders httpHeaders = new DefaultHttpHeaders();
-        filtered.forEach(httpHeaders::set);
+        headers.forEach(httpHeaders::set);
         String url = exchange.getAttribute(Constants.HTTP_URL);
         if (StringUtils.isEmpty(url)) {
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_URL);
         }
-        LOGGER.info("you request,The resulting urlPath is :{}", url);
-        Flux<HttpClientResponse> responseFlux = this.httpClient.headers(headers -> headers.add(httpHeaders))
-                .request(method).uri(url).send((req, nettyOutbound) ->
-                        nettyOutbound.options(NettyPipeline.SendOptions::flushOnEach).send(
-                                request.getBody().map(dataBuffer -> ((NettyDataBuffer) dataBuffer)
-                                        .getNativeBuffer())))
-                .responseConnection((res, connection) -> {
-                    exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res);
-                    exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, connection);
-                    ServerHttpResponse response = exchange.getResponse();
-                    HttpHeaders headers = new HttpHeaders();
-                    res.responseHeaders()
-                            .forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
-                    String contentTypeValue = headers.getFirst(HttpHeaders.CONTENT_TYPE);
-                    if (StringUtils.hasLength(contentTypeValue)) {
-                        exchange.getAttributes().put(Constants.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentTypeValue);
-                    }
-                    HttpStatus status = HttpStatus.resolve(res.status().code());
-                    if (status != null) {
-                        response.setStatusCode(status);
-                    } else if (response instanceof AbstractServerHttpResponse) {
-                        ((AbstractServerHttpResponse) response)
-                                .setStatusCodeValue(res.status().code());
-                    } else {
-                        throw new IllegalStateException("Unable to set status code on response: "
-                                + res.status().code() + ", " + response.getClass());
-                    }
-                    response.getHeaders().putAll(headers);
-
-                    return Mono.just(res);
-                });
         long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
         Duration duration = Duration.ofMillis(timeout);
-        responseFlux = responseFlux.timeout(duration,
-                Mono.error(new TimeoutException("Response took longer than timeout: "
+        retryPolicy.recordRequest();
+        final UpstreamFailover failover = exchange.getAttribute(Constants.HTTP_FAILOVER);
+        Mono<UpstreamResponse> response;
+        if (Objects.isNull(failover)) {
+            response = send(exchange, method, httpHeaders, headers, url, request.getBody());
+        } else {
+            // the body is replayed on every attempt, h1 and h2 upstreams alike
+            response = CachedRequestBody.aggregate(exchange)
+                    .flatMap(cached -> send(exchange, method, httpHeaders, headers, url, cached, failover, 0))
+                    .doFinally(signal -> CachedRequestBody.release(exchange));
+        }
+        return response.doOnNext(res -> applyResponse(exchange, res))
+                .timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: "
                         + duration)))
-                .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th));
-        return responseFlux.then(chain.execute(exchange));
+                .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th))
+                .then(chain.execute(exchange));
+    }
+
+    private Mono<UpstreamResponse> send(final ServerWebExchange exchange, final HttpMethod method,
+                                        final DefaultHttpHeaders httpHeaders, final HttpHeaders headers,
+                                        final String url, final DataBuffer body,
+                                        final UpstreamFailover failover, final int attempt) {
+        final org.springframework.http.HttpMethod httpMethod = exchange.getRequest().getMethod();
+        // decide on this attempt's outcome only, the retry it maps to is returned as is
+        return send(exchange, method, httpHeaders, headers, url, CachedRequestBody.replayBody(body))
+                .map(res -> {
+                    if (attempt < failover.getRetry() && retryPolicy.isRetryable(res.status, httpMethod)) {
+                        return retry(exchange, method, httpHeaders, headers, body, failover, attempt, Mono.just(res));
+                    }
+                    if (attempt > 0) {
+                        retryPolicy.recordSuccess();
+                    }
+                    return Mono.just(res);
+                })
+                .onErrorResume(e -> attempt < failover.getRetry() && retryPolicy.isRetryable(e, httpMethod),
+                    e -> Mono.just(retry(exchange, method, httpHeaders, headers, body, failover, attempt, Mono.error(e))))
+                .flatMap(Function.identity());
+    }
+
+    private Mono<UpstreamResponse> retry(final ServerWebExchange exchange, final HttpMethod method,
+                                         final DefaultHttpHeaders httpHeaders, final HttpHeaders headers,
+                                         final DataBuffer body, final UpstreamFailover failover,
+                                         final int attempt, final Mono<UpstreamResponse> failure) {
+        final Optional<String> next = failover.next();
+        if (!next.isPresent() || !retryPolicy.tryAcquire()) {
+            return failure;
+        }
+        LogUtils.debug(LOGGER, "retry http request on {}", next::get);
+        exchange.getAttributes().put(Constants.HTTP_URL, next.get());
+        return failure.flatMap(UpstreamResponse::discard)
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.defer(() -> send(exchange, method, httpHeaders, headers, next.get(), body, failover, attempt + 1)));
+    }
+
+    private Mono<UpstreamResponse> send(final ServerWebExchange exchange, final HttpMethod method,
+                                        final DefaultHttpHeaders httpHeaders, final HttpHeaders headers,
+                                        final String url, final Flux<DataBuffer> body) {
+        final URI uri = URI.create(url);
+        if (Http2ConnectionPool.isHttp2(uri)) {
+            return gatewayMetrics.upstream(url).timed(http2ConnectionPool.exchange(exchange.getRequest().getMethod(), uri, headers, body),
+                    ClientHttpResponse::getRawStatusCode)
+                    .map(UpstreamResponse::new);
+        }
+        return gatewayMetrics.upstream(url).timed(this.httpClient.headers(h -> h.add(httpHeaders))
+                .request(method).uri(url).send((req, nettyOutbound) ->
+                        nettyOutbound.options(NettyPipeline.SendOptions::flushOnEach).send(
+                                body.map(NettyDataBufferFactory::toByteBuf)))
+                .responseConnection((res, connection) -> Mono.just(new UpstreamResponse(res, connection))),
+                res -> res.status)
+                .singleOrEmpty();
+    }
 
+    private void applyResponse(final ServerWebExchange exchange, final UpstreamResponse res) {
+        exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res.response);
+        if (res.connection != null) {
+            exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, res.connection);
+        }
+        applyResponse(exchange, res.status, res.headers);
+    }
+
+    private void applyResponse(final ServerWebExchange exchange, final int statusCode, final HttpHeaders headers) {
+        ServerHttpResponse response = exchange.getResponse();
+        String contentTypeValue = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (StringUtils.hasLength(contentTypeValue)) {
+            exchange.getAttributes().put(Constants.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentTypeValue);
+        }
+        HttpStatus status = HttpStatus.resolve(statusCode);
+        if (status != null) {
+            response.setStatusCode(status);
+        } else if (response instanceof AbstractServerHttpResponse) {
+            ((AbstractServerHttpResponse) response).setStatusCodeValue(statusCode);
+        } else {
+            throw new IllegalStateException("Unable to set status code on response: "
+                    + statusCode + ", " + response.getClass());
+        }
+        response.getHeaders().putAll(headers);
     }
 
     @Override
@@ -154,4 +241,46 @@ public class NettyHttpClientPlugin implements SoulPlugin {
     public String named() {
         return "NettyHttpClient";
     }
+
+    /**
+     * The response of one attempt, it is applied to the exchange once it is final.
+     */
+    private static final class UpstreamResponse {
+
+        private final Object response;
+
+        private final Connection connection;
+
+        private final int status;
+
+        private final HttpHeaders headers;
+
+        UpstreamResponse(final HttpClientResponse response, final Connection connection) {
+            this.response = response;
+            this.connection = connection;
+            this.status = response.status().code();
+            this.headers = new HttpHeaders();
+            response.responseHeaders().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
+        }
+
+        UpstreamResponse(final ClientHttpResponse response) {
+            this.response = response;
+            this.connection = null;
+            this.status = response.getRawStatusCode();
+            this.headers = response.getHeaders();
+        }
+
+        /**
+         * Drop a response that is retried, its connection or stream is released.
+         *
+         * @return the mono
+         */
+        Mono<Void> discard() {
+            if (connection != null) {
+                connection.dispose();
+                return Mono.empty();
+            }
+            return ((ClientHttpResponse) response).getBody().map(DataBufferUtils::release).then();
+        }
+    }
 }
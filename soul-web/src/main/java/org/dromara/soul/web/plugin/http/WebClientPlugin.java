@@ -26,15 +26,22 @@ import org.dromara.soul.common.enums.PluginTypeEnum;
 import org.dromara.soul.common.enums.ResultEnum;
 import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.common.utils.LogUtils;
+import org.dromara.soul.web.filter.support.CachedRequestBody;
+import org.dromara.soul.web.metrics.GatewayMetrics;
 import org.dromara.soul.web.plugin.SoulPlugin;
 import org.dromara.soul.web.plugin.SoulPluginChain;
-import org.dromara.soul.web.plugin.hystrix.HttpCommand;
+import org.dromara.soul.web.plugin.http.hedge.HedgePolicy;
+import org.dromara.soul.web.plugin.http.hedge.HedgeRoute;
+import org.dromara.soul.web.plugin.http.retry.HttpRetryPolicy;
+import org.dromara.soul.web.plugin.http.retry.UpstreamFailover;
+import org.dromara.soul.web.plugin.trace.TraceContext;
 import org.dromara.soul.web.request.RequestDTO;
 import org.dromara.soul.web.result.SoulResultEnum;
 import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
@@ -42,11 +49,16 @@ import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * The type Web client plugin.
@@ -58,17 +70,30 @@ public class WebClientPlugin implements SoulPlugin {
     /**
      * logger.
      */
-    private static final Logger LOGGER = LoggerFactory.getLogger(HttpCommand.class);
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebClientPlugin.class);
 
     private final WebClient webClient;
 
+    private final HttpRetryPolicy retryPolicy;
+
+    private final HedgePolicy hedgePolicy;
+
+    private final GatewayMetrics gatewayMetrics;
+
     /**
      * Instantiates a new Web client plugin.
      *
-     * @param webClient the web client
+     * @param webClient      the web client
+     * @param retryPolicy    the retry policy
+     * @param hedgePolicy    the hedge policy
+     * @param gatewayMetrics the gateway metrics
      */
-    public WebClientPlugin(final WebClient webClient) {
+    public WebClientPlugin(final WebClient webClient, final HttpRetryPolicy retryPolicy, final HedgePolicy hedgePolicy,
+                           final GatewayMetrics gatewayMetrics) {
         this.webClient = webClient;
+        this.retryPolicy = retryPolicy;
+        this.hedgePolicy = hedgePolicy;
+        this.gatewayMetrics = gatewayMetrics;
     }
 
     @Override
@@ -77,14 +102,24 @@ public class WebClientPlugin implements SoulPlugin {
         assert requestDTO != null;
         String urlPath = exchange.getAttribute(Constants.HTTP_URL);
         if (StringUtils.isEmpty(urlPath)) {
-            Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
-            return SoulResultUtils.result(exchange, error);
+            return SoulResultUtils.error(exchange, SoulResultEnum.CANNOT_FIND_URL);
         }
         long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
-        LOGGER.info("you request,The resulting urlPath is :{}", urlPath);
         HttpMethod method = HttpMethod.valueOf(exchange.getRequest().getMethodValue());
-        WebClient.RequestBodySpec requestBodySpec = webClient.method(method).uri(urlPath);
-        return handleRequestBody(requestBodySpec, exchange, timeout, chain);
+        retryPolicy.recordRequest();
+        final UpstreamFailover failover = exchange.getAttribute(Constants.HTTP_FAILOVER);
+        if (Objects.isNull(failover)) {
+            return handleRequestBody(method, urlPath, exchange.getRequest().getBody(), exchange, timeout)
+                    .flatMap(res -> doNext(res, exchange, chain));
+        }
+        final HedgeRoute hedgeRoute = exchange.getAttribute(Constants.HTTP_HEDGE);
+        // the body is replayed on every attempt
+        return CachedRequestBody.aggregate(exchange)
+                .flatMap(body -> Objects.isNull(hedgeRoute)
+                        ? failover(method, urlPath, body, exchange, timeout, failover)
+                        : hedge(method, urlPath, body, exchange, timeout, failover, hedgeRoute))
+                .flatMap(res -> doNext(res, exchange, chain))
+                .doFinally(signal -> CachedRequestBody.release(exchange));
     }
 
     @Override
@@ -117,21 +152,137 @@ public class WebClientPlugin implements SoulPlugin {
                 .orElse(MediaType.APPLICATION_JSON_UTF8_VALUE));
     }
 
-    private Mono<Void> handleRequestBody(final WebClient.RequestBodySpec requestBodySpec,
-                                         final ServerWebExchange exchange,
-                                         final long timeout,
-                                         final SoulPluginChain chain) {
-        return requestBodySpec.headers(httpHeaders -> {
+    private Mono<ClientResponse> failover(final HttpMethod method, final String url,
+                                          final DataBuffer body, final ServerWebExchange exchange,
+                                          final long timeout, final UpstreamFailover failover) {
+        final AtomicReference<String> target = new AtomicReference<>(url);
+        return handleRequestBody(method, url, body, exchange, timeout, failover, 0, target)
+                .doOnNext(res -> exchange.getAttributes().put(Constants.HTTP_URL, target.get()));
+    }
+
+    private Mono<ClientResponse> handleRequestBody(final HttpMethod method, final String url,
+                                                   final DataBuffer body, final ServerWebExchange exchange,
+                                                   final long timeout, final UpstreamFailover failover,
+                                                   final int attempt, final AtomicReference<String> target) {
+        // decide on this attempt's outcome only, the retry it maps to is returned as is
+        return handleRequestBody(method, url, CachedRequestBody.replayBody(body), exchange, timeout)
+                .map(res -> {
+                    if (attempt < failover.getRetry() && retryPolicy.isRetryable(res.rawStatusCode(), method)) {
+                        return retry(method, body, exchange, timeout, failover, attempt, target, Mono.just(res));
+                    }
+                    if (attempt > 0) {
+                        retryPolicy.recordSuccess();
+                    }
+                    return Mono.just(res);
+                })
+                .onErrorResume(e -> attempt < failover.getRetry() && retryPolicy.isRetryable(e, method),
+                    e -> Mono.just(retry(method, body, exchange, timeout, failover, attempt, target, Mono.error(e))))
+                .flatMap(Function.identity());
+    }
+
+    private Mono<ClientResponse> hedge(final HttpMethod method, final String url,
+                                       final DataBuffer body, final ServerWebExchange exchange,
+                                       final long timeout, final UpstreamFailover failover,
+                                       final HedgeRoute route) {
+        hedgePolicy.recordRequest();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicReference<ClientResponse> winner = new AtomicReference<>();
+        final AtomicReference<String> primaryTarget = new AtomicReference<>(url);
+        final Mono<AtomicReference<String>> primary = decide(winner,
+                timed(route, handleRequestBody(method, url, body, exchange, timeout, failover, 0, primaryTarget)))
+                .map(res -> primaryTarget);
+        // the hedge goes to another upstream and is not retried itself
+        final Mono<AtomicReference<String>> hedged = Mono.delay(Duration.ofMillis(hedgePolicy.delay(route)))
+                .flatMap(tick -> {
+                    if (!hedgePolicy.tryAcquire()) {
+                        return Mono.empty();
+                    }
+                    final Optional<String> next = failover.next();
+                    if (!next.isPresent()) {
+                        return Mono.empty();
+                    }
+                    LogUtils.debug(LOGGER, "hedge http request on {}", next::get);
+                    final AtomicReference<String> hedgedTarget = new AtomicReference<>(next.get());
+                    return decide(winner, timed(route, handleRequestBody(method, next.get(), body, exchange, timeout,
+                            failover, failover.getRetry(), hedgedTarget)))
+                            .map(res -> {
+                                hedgePolicy.recordWin();
+                                return hedgedTarget;
+                            });
+                });
+        // the first response wins, next() cancels the other request before the url is set
+        return Flux.merge(primary.onErrorResume(e -> {
+            failure.set(e);
+            return Mono.empty();
+        }), hedged.onErrorResume(e -> {
+            failure.compareAndSet(null, e);
+            return Mono.empty();
+        }))
+                .next()
+                .map(target -> {
+                    exchange.getAttributes().put(Constants.HTTP_URL, target.get());
+                    return winner.get();
+                })
+                .switchIfEmpty(Mono.defer(() -> Mono.error(failure.get())));
+    }
+
+    private Mono<ClientResponse> decide(final AtomicReference<ClientResponse> winner, final Mono<ClientResponse> request) {
+        // a response that lost the race, even one racing the cancel, is drained so its connection is released
+        return request.filter(res -> {
+            if (winner.compareAndSet(null, res)) {
+                return true;
+            }
+            res.bodyToMono(Void.class).onErrorResume(e -> Mono.empty()).subscribe();
+            return false;
+        });
+    }
+
+    private Mono<ClientResponse> timed(final HedgeRoute route, final Mono<ClientResponse> request) {
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            final AtomicBoolean recorded = new AtomicBoolean();
+            // a cancelled request took at least as long as the winner, leaving it out biases the percentile low
+            final Runnable record = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    hedgePolicy.recordLatency(route, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            };
+            return request.doOnNext(res -> record.run()).doOnCancel(record);
+        });
+    }
+
+    private Mono<ClientResponse> retry(final HttpMethod method, final DataBuffer body,
+                                       final ServerWebExchange exchange, final long timeout,
+                                       final UpstreamFailover failover, final int attempt,
+                                       final AtomicReference<String> target, final Mono<ClientResponse> failure) {
+        final Optional<String> next = failover.next();
+        if (!next.isPresent() || !retryPolicy.tryAcquire()) {
+            return failure;
+        }
+        LogUtils.debug(LOGGER, "retry http request on {}", next::get);
+        target.set(next.get());
+        return failure.flatMap(res -> res.bodyToMono(Void.class))
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.defer(() -> handleRequestBody(method, next.get(), body, exchange, timeout, failover, attempt + 1, target)));
+    }
+
+    private Mono<ClientResponse> handleRequestBody(final HttpMethod method, final String url,
+                                                   final Publisher<DataBuffer> body,
+                                                   final ServerWebExchange exchange,
+                                                   final long timeout) {
+        return gatewayMetrics.upstream(url).timed(webClient.method(method).uri(url).headers(httpHeaders -> {
             httpHeaders.addAll(exchange.getRequest().getHeaders());
             httpHeaders.remove(HttpHeaders.HOST);
+            final TraceContext trace = exchange.getAttribute(Constants.TRACE_CONTEXT);
+            if (trace != null) {
+                httpHeaders.set(TraceContext.TRACEPARENT, trace.getTraceparent());
+            }
         })
                 .contentType(buildMediaType(exchange))
-                .body(BodyInserters.fromDataBuffers(exchange.getRequest().getBody()))
+                .body(BodyInserters.fromDataBuffers(body))
                 .exchange()
                 .doOnError(e -> LogUtils.error(LOGGER, e::getMessage))
-                .timeout(Duration.ofMillis(timeout))
-                .flatMap(e -> doNext(e, exchange, chain));
-
+                .timeout(Duration.ofMillis(timeout)), ClientResponse::rawStatusCode);
     }
 
     private Mono<Void> doNext(final ClientResponse res, final ServerWebExchange exchange, final SoulPluginChain chain) {
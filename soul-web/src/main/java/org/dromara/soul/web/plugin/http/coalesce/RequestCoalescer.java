@@ -0,0 +1,251 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.coalesce;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
+import org.dromara.soul.web.plugin.cache.CachingResponseDecorator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The type Request coalescer.
+ * the first of identical concurrent requests calls the upstream, the others wait for its response
+ * and replay the shared body. Waiters call the upstream themselves when the shared call failed,
+ * timed out, was too large or already has too many waiters. Requests carrying Authorization or
+ * Cookie are not coalesced, and a response with Set-Cookie or Cache-Control private or no-store
+ * is not shared.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class RequestCoalescer {
+
+    private static final String PRIVATE = "private";
+
+    private static final String NO_STORE = "no-store";
+
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final int maxBodyBytes;
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder shared = new LongAdder();
+
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * Instantiates a new Request coalescer.
+     *
+     * @param maxBodyBytes the max shared body bytes
+     */
+    public RequestCoalescer(final int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * Execute the call once for identical concurrent requests.
+     *
+     * @param exchange the exchange
+     * @param scope    the scope of the key, the rule id
+     * @param handle   the rule handle
+     * @param call     the upstream call
+     * @return the mono
+     */
+    public Mono<Void> execute(final ServerWebExchange exchange, final String scope, final DivideRuleHandle handle,
+                              final Function<ServerWebExchange, Mono<Void>> call) {
+        // credentialed requests may get per user responses, they are never shared, ResponseCachePolicy refuses them too
+        final HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        if (requestHeaders.containsKey(HttpHeaders.AUTHORIZATION) || requestHeaders.containsKey(HttpHeaders.COOKIE)) {
+            return call.apply(exchange);
+        }
+        return Mono.defer(() -> {
+            final String key = key(scope, exchange.getRequest(), handle);
+            final Flight flight = new Flight();
+            final Flight current = flights.putIfAbsent(key, flight);
+            if (current == null) {
+                calls.increment();
+                return lead(exchange, key, flight, call);
+            }
+            if (!current.join(handle.getCoalesceMaxWaiters())) {
+                fallbacks.increment();
+                return call.apply(exchange);
+            }
+            return current.result
+                    .timeout(Duration.ofMillis(handle.getCoalesceTimeout()), Mono.empty())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> {
+                        if (response.isPresent()) {
+                            shared.increment();
+                            return write(exchange.getResponse(), response.get());
+                        }
+                        fallbacks.increment();
+                        return call.apply(exchange);
+                    });
+        });
+    }
+
+    /**
+     * Upstream calls made by leaders.
+     *
+     * @return the long
+     */
+    public long calls() {
+        return calls.sum();
+    }
+
+    /**
+     * Requests answered with a shared response.
+     *
+     * @return the long
+     */
+    public long shared() {
+        return shared.sum();
+    }
+
+    /**
+     * Waiters that called the upstream themselves.
+     *
+     * @return the long
+     */
+    public long fallbacks() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * Share of the coalesced requests that needed no upstream call.
+     *
+     * @return the double
+     */
+    public double collapseRatio() {
+        final long sharedCount = shared.sum();
+        final long total = sharedCount + calls.sum() + fallbacks.sum();
+        return total == 0 ? 0D : (double) sharedCount / total;
+    }
+
+    private Mono<Void> lead(final ServerWebExchange exchange, final String key, final Flight flight,
+                            final Function<ServerWebExchange, Mono<Void>> call) {
+        final ServerHttpResponse response = new CachingResponseDecorator(exchange.getResponse(), maxBodyBytes,
+            (status, headers, body) -> {
+                flights.remove(key, flight);
+                final HttpStatus httpStatus = HttpStatus.resolve(status);
+                if (httpStatus != null && isShareable(headers)) {
+                    final HttpHeaders copy = new HttpHeaders();
+                    copy.putAll(headers);
+                    copy.remove(HttpHeaders.TRANSFER_ENCODING);
+                    copy.remove(HttpHeaders.CONNECTION);
+                    flight.result.onNext(new SharedResponse(httpStatus, copy, body));
+                }
+            });
+        return call.apply(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    flights.remove(key, flight);
+                    flight.result.onComplete();
+                });
+    }
+
+    private Mono<Void> write(final ServerHttpResponse response, final SharedResponse sharedResponse) {
+        response.setStatusCode(sharedResponse.status);
+        response.getHeaders().putAll(sharedResponse.headers);
+        if (sharedResponse.body.length == 0) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(sharedResponse.body)));
+    }
+
+    private static boolean isShareable(final HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        final List<String> cacheControl = headers.get(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl == null) {
+            return true;
+        }
+        for (String value : cacheControl) {
+            for (String directive : value.split(",")) {
+                final String name = StringUtils.substringBefore(directive, "=").trim().toLowerCase(Locale.ROOT);
+                if (PRIVATE.equals(name) || NO_STORE.equals(name)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String key(final String scope, final ServerHttpRequest request, final DivideRuleHandle handle) {
+        final StringBuilder key = new StringBuilder(128)
+                .append(scope).append(' ')
+                .append(request.getMethodValue()).append(' ')
+                .append(request.getURI().getRawPath());
+        final String query = request.getURI().getRawQuery();
+        if (StringUtils.isNotEmpty(query)) {
+            key.append('?').append(query);
+        }
+        key.append('\n').append(StringUtils.join(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING), ','));
+        if (handle.getCoalesceVaryHeaders() != null) {
+            for (String name : handle.getCoalesceVaryHeaders()) {
+                key.append('\n').append(name).append(':')
+                        .append(StringUtils.join(request.getHeaders().get(name), ','));
+            }
+        }
+        return key.toString();
+    }
+
+    private static final class Flight {
+
+        private final MonoProcessor<SharedResponse> result = MonoProcessor.create();
+
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        private boolean join(final int maxWaiters) {
+            return waiters.incrementAndGet() <= maxWaiters;
+        }
+    }
+
+    private static final class SharedResponse {
+
+        private final HttpStatus status;
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+        private SharedResponse(final HttpStatus status, final HttpHeaders headers, final byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+}
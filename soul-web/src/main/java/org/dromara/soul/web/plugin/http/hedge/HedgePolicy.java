@@ -0,0 +1,162 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.hedge;
+
+import org.dromara.soul.web.config.SoulConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Hedge policy.
+ * every hedgeable request adds {@code ratio} of a token to a bucket holding at most {@code burst}
+ * tokens, a hedge takes a whole token. Hedges can therefore never exceed {@code ratio} of the
+ * traffic, even when every upstream is slow.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class HedgePolicy {
+
+    private static final long SCALE = 1000L;
+
+    private final long tokensPerRequest;
+
+    private final long maxTokens;
+
+    private final long defaultDelay;
+
+    private final int minSamples;
+
+    private final AtomicLong tokens;
+
+    private final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+
+    private final LongAdder hedged = new LongAdder();
+
+    private final LongAdder wins = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    /**
+     * Instantiates a new Hedge policy.
+     *
+     * @param hedge the hedge config
+     */
+    public HedgePolicy(final SoulConfig.Hedge hedge) {
+        this.tokensPerRequest = (long) (hedge.getRatio() * SCALE);
+        this.maxTokens = hedge.getBurst() * SCALE;
+        this.defaultDelay = hedge.getDefaultDelay();
+        this.minSamples = hedge.getMinSamples();
+        this.tokens = new AtomicLong(maxTokens);
+    }
+
+    /**
+     * Record a hedgeable request, it earns part of a hedge token.
+     */
+    public void recordRequest() {
+        long current;
+        long next;
+        do {
+            current = tokens.get();
+            next = Math.min(maxTokens, current + tokensPerRequest);
+        } while (current != next && !tokens.compareAndSet(current, next));
+    }
+
+    /**
+     * The delay after which the request is hedged.
+     *
+     * @param route the route
+     * @return the delay in millis
+     */
+    public long delay(final HedgeRoute route) {
+        if (route.getDelay() > 0) {
+            return route.getDelay();
+        }
+        final long p95 = tracker(route.getKey()).p95(minSamples);
+        return p95 > 0 ? p95 : defaultDelay;
+    }
+
+    /**
+     * Record the latency of a request of the route.
+     *
+     * @param route  the route
+     * @param millis the millis
+     */
+    public void recordLatency(final HedgeRoute route, final long millis) {
+        tracker(route.getKey()).record(millis);
+    }
+
+    /**
+     * Take a hedge token.
+     *
+     * @return false when hedging is throttled
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < SCALE) {
+                throttled.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+        hedged.increment();
+        return true;
+    }
+
+    /**
+     * Record that the hedge answered first.
+     */
+    public void recordWin() {
+        wins.increment();
+    }
+
+    /**
+     * Hedges sent.
+     *
+     * @return the long
+     */
+    public long hedged() {
+        return hedged.sum();
+    }
+
+    /**
+     * Hedges that answered before the original request.
+     *
+     * @return the long
+     */
+    public long wins() {
+        return wins.sum();
+    }
+
+    /**
+     * Hedges not sent for lack of tokens.
+     *
+     * @return the long
+     */
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    private LatencyTracker tracker(final String key) {
+        return trackers.computeIfAbsent(key, k -> new LatencyTracker());
+    }
+}
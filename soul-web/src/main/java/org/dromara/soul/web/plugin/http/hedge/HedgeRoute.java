@@ -0,0 +1,42 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.hedge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The hedging options of a divide rule, set on the exchange by the divide plugin.
+ *
+ * @author xiaoyu(Myth)
+ */
+@Getter
+@AllArgsConstructor
+public class HedgeRoute {
+
+    /**
+     * the rule id, latencies are observed per rule.
+     */
+    private final String key;
+
+    /**
+     * hedge delay in millis, 0 uses the observed p95 of the route.
+     */
+    private final long delay;
+}
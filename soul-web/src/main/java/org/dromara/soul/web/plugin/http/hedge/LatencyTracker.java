@@ -0,0 +1,74 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the latest latency samples of a route, the p95 is recomputed every
+ * {@code RECOMPUTE_INTERVAL} samples rather than on every read.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class LatencyTracker {
+
+    private static final int SIZE = 512;
+
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private volatile long p95 = -1;
+
+    /**
+     * Record a latency.
+     *
+     * @param millis the millis
+     */
+    void record(final long millis) {
+        final long n = count.getAndIncrement();
+        samples.set((int) (n % SIZE), millis);
+        if (n % RECOMPUTE_INTERVAL == RECOMPUTE_INTERVAL - 1) {
+            recompute(Math.min(n + 1, SIZE));
+        }
+    }
+
+    /**
+     * The p95 of the latest samples.
+     *
+     * @param minSamples samples needed before the p95 is trusted
+     * @return the p95 in millis, -1 when there are not enough samples
+     */
+    long p95(final int minSamples) {
+        return count.get() < minSamples ? -1 : p95;
+    }
+
+    private void recompute(final long size) {
+        final long[] copy = new long[(int) size];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        p95 = copy[(int) Math.min(copy.length - 1, (long) Math.ceil(copy.length * 0.95D) - 1)];
+    }
+}
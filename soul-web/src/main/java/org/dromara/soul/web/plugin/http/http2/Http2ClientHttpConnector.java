@@ -0,0 +1,63 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.http2;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.function.Function;
+
+/**
+ * The type Http2 client http connector.
+ * sends h2 and h2c uris through the {@link Http2ConnectionPool}, everything else through the delegate.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class Http2ClientHttpConnector implements ClientHttpConnector {
+
+    private final Http2ConnectionPool pool;
+
+    private final ClientHttpConnector delegate;
+
+    /**
+     * Instantiates a new Http2 client http connector.
+     *
+     * @param pool     the pool
+     * @param delegate the delegate
+     */
+    public Http2ClientHttpConnector(final Http2ConnectionPool pool, final ClientHttpConnector delegate) {
+        this.pool = pool;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<ClientHttpResponse> connect(final HttpMethod method, final URI uri,
+                                            final Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+        if (!Http2ConnectionPool.isHttp2(uri)) {
+            return delegate.connect(method, uri, requestCallback);
+        }
+        Http2ClientHttpRequest request = new Http2ClientHttpRequest(method, uri);
+        return requestCallback.apply(request)
+                .then(Mono.defer(() -> pool.exchange(method, uri, request.getHeaders(), request.getBody())));
+    }
+}
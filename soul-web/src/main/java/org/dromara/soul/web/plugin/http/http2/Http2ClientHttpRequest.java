@@ -0,0 +1,118 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.http2;
+
+import io.netty.buffer.ByteBufAllocator;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.AbstractClientHttpRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Captures the request written by a {@code WebClient} so it can be sent on an HTTP/2 stream.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class Http2ClientHttpRequest extends AbstractClientHttpRequest {
+
+    private static final DataBufferFactory BUFFER_FACTORY = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+
+    private final HttpMethod method;
+
+    private final URI uri;
+
+    private Flux<DataBuffer> body = Flux.empty();
+
+    /**
+     * Instantiates a new Http2 client http request.
+     *
+     * @param method the method
+     * @param uri    the uri
+     */
+    Http2ClientHttpRequest(final HttpMethod method, final URI uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    @Override
+    public URI getURI() {
+        return uri;
+    }
+
+    @Override
+    public DataBufferFactory bufferFactory() {
+        return BUFFER_FACTORY;
+    }
+
+    @Override
+    public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+        return doCommit(() -> {
+            this.body = Flux.from(body);
+            return Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(final Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).concatMap(p -> p));
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        return doCommit();
+    }
+
+    /**
+     * Gets body.
+     *
+     * @return the body
+     */
+    Flux<DataBuffer> getBody() {
+        return body;
+    }
+
+    @Override
+    protected void applyHeaders() {
+    }
+
+    @Override
+    protected void applyCookies() {
+        if (!getCookies().isEmpty()) {
+            getHeaders().add(HttpHeaders.COOKIE, getCookies().values().stream()
+                    .flatMap(Collection::stream)
+                    .map(HttpCookie::toString)
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.http2;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.concurrent.Future;
+import org.dromara.soul.common.exception.SoulException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One multiplexed HTTP/2 connection, every request is sent on its own stream.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class Http2Connection {
+
+    private static final int RETIRED = Integer.MAX_VALUE;
+
+    private final Channel channel;
+
+    private final Http2MultiplexCodec codec;
+
+    private final int maxConcurrentStreams;
+
+    private final NettyDataBufferFactory bufferFactory;
+
+    private final Mono<Void> ready;
+
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    private volatile long idleSince = System.nanoTime();
+
+    /**
+     * Instantiates a new Http2 connection.
+     *
+     * @param connectFuture        the connect future
+     * @param codec                the codec
+     * @param secure               whether h2 has to be negotiated by ALPN
+     * @param maxConcurrentStreams the local stream limit
+     */
+    Http2Connection(final ChannelFuture connectFuture, final Http2MultiplexCodec codec,
+                    final boolean secure, final int maxConcurrentStreams) {
+        this.channel = connectFuture.channel();
+        this.codec = codec;
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.bufferFactory = new NettyDataBufferFactory(channel.alloc());
+        this.ready = Mono.<Void>create(sink -> connectFuture.addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                sink.error(future.cause());
+                return;
+            }
+            SslHandler sslHandler = secure ? channel.pipeline().get(SslHandler.class) : null;
+            if (sslHandler == null) {
+                sink.success();
+                return;
+            }
+            sslHandler.handshakeFuture().addListener(handshake -> {
+                if (!handshake.isSuccess()) {
+                    sink.error(handshake.cause());
+                } else if (!Http2ConnectionPool.H2.equals(sslHandler.applicationProtocol())) {
+                    channel.close();
+                    sink.error(new SoulException("upstream did not negotiate h2 by ALPN: "
+                            + channel.remoteAddress()));
+                } else {
+                    sink.success();
+                }
+            });
+        })).cache();
+    }
+
+    /**
+     * Whether another stream may be opened.
+     *
+     * @return the boolean
+     */
+    boolean hasCapacity() {
+        return channel.isOpen() && activeStreams.get() < streamLimit();
+    }
+
+    /**
+     * Reserve a stream slot.
+     *
+     * @return false when the connection is full
+     */
+    boolean tryReserve() {
+        final int limit = streamLimit();
+        int current;
+        do {
+            current = activeStreams.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!activeStreams.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Active streams int.
+     *
+     * @return the int
+     */
+    int activeStreams() {
+        final int active = activeStreams.get();
+        return active == RETIRED ? 0 : active;
+    }
+
+    /**
+     * Retire the connection when it has carried no stream for longer than the max idle time,
+     * a retired connection accepts no more streams and has to be closed by the caller.
+     *
+     * @param now          the now nanos
+     * @param maxIdleNanos the max idle nanos
+     * @return true when the connection was retired
+     */
+    boolean tryRetire(final long now, final long maxIdleNanos) {
+        return activeStreams.get() == 0 && now - idleSince > maxIdleNanos
+                && activeStreams.compareAndSet(0, RETIRED);
+    }
+
+    /**
+     * Close future.
+     *
+     * @return the channel future
+     */
+    ChannelFuture closeFuture() {
+        return channel.closeFuture();
+    }
+
+    /**
+     * Close.
+     */
+    void close() {
+        channel.close();
+    }
+
+    /**
+     * Send the request on a new stream, the slot must have been reserved and is released
+     * once the stream is closed.
+     *
+     * @param method  the method
+     * @param uri     the uri
+     * @param headers the headers
+     * @param body    the body
+     * @return the client http response
+     */
+    Mono<ClientHttpResponse> exchange(final HttpMethod method, final URI uri,
+                                      final HttpHeaders headers, final Flux<DataBuffer> body) {
+        final boolean secure = Http2ConnectionPool.H2.equalsIgnoreCase(uri.getScheme());
+        final HttpRequest request = buildRequest(method, uri, headers, secure);
+        final AtomicBoolean released = new AtomicBoolean();
+        final Runnable release = () -> {
+            if (released.compareAndSet(false, true) && activeStreams.decrementAndGet() == 0) {
+                idleSince = System.nanoTime();
+            }
+        };
+        return ready.doOnError(e -> release.run())
+                .doOnCancel(release)
+                .then(Mono.<ClientHttpResponse>create(sink -> {
+                    final AtomicReference<Http2StreamChannel> streamRef = new AtomicReference<>();
+                    sink.onCancel(() -> {
+                        Http2StreamChannel stream = streamRef.get();
+                        if (stream != null) {
+                            stream.close();
+                        } else {
+                            release.run();
+                        }
+                    });
+                    final Http2StreamHandler handler = new Http2StreamHandler(sink, bufferFactory);
+                    new Http2StreamChannelBootstrap(channel)
+                            .option(ChannelOption.AUTO_READ, false)
+                            .handler(new ChannelInitializer<Http2StreamChannel>() {
+                                @Override
+                                protected void initChannel(final Http2StreamChannel ch) {
+                                    ch.closeFuture().addListener(f -> release.run());
+                                    ch.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false), handler);
+                                }
+                            })
+                            .open()
+                            .addListener((Future<Http2StreamChannel> future) -> {
+                                if (!future.isSuccess()) {
+                                    release.run();
+                                    sink.error(future.cause());
+                                    return;
+                                }
+                                Http2StreamChannel stream = future.getNow();
+                                streamRef.set(stream);
+                                stream.write(request);
+                                body.concatMap(buffer -> write(stream, new DefaultHttpContent(NettyDataBufferFactory.toByteBuf(buffer))))
+                                        .then(write(stream, LastHttpContent.EMPTY_LAST_CONTENT))
+                                        .subscribe(null, handler::fail);
+                            });
+                }));
+    }
+
+    private int streamLimit() {
+        return Math.min(maxConcurrentStreams, codec.connection().local().maxActiveStreams());
+    }
+
+    private static Mono<Void> write(final Http2StreamChannel stream, final HttpObject msg) {
+        return Mono.create(sink -> stream.writeAndFlush(msg).addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                sink.success();
+            } else {
+                sink.error(future.cause());
+            }
+        }));
+    }
+
+    private static HttpRequest buildRequest(final HttpMethod method, final URI uri,
+                                            final HttpHeaders headers, final boolean secure) {
+        final String scheme = secure ? "https" : "http";
+        StringBuilder target = new StringBuilder(scheme).append("://").append(uri.getRawAuthority())
+                .append(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath());
+        if (uri.getRawQuery() != null) {
+            target.append('?').append(uri.getRawQuery());
+        }
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+                io.netty.handler.codec.http.HttpMethod.valueOf(method.name()), target.toString());
+        headers.forEach((name, values) -> request.headers().add(name, values));
+        request.headers().set(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), scheme);
+        return request;
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.http2;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.common.exception.SoulException;
+import org.dromara.soul.web.config.HttpClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpResources;
+
+import javax.net.ssl.SSLException;
+import java.net.URI;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Http2 connection pool.
+ * keeps a bounded set of multiplexed HTTP/2 connections per upstream, an upstream is
+ * opted in through the {@code h2://} (TLS with ALPN) or {@code h2c://} (cleartext,
+ * prior knowledge) scheme of its divide protocol. Connections without streams for longer
+ * than the max idle time are closed, so the connections of an upstream that is no longer
+ * routed to are dropped together with its entry.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class Http2ConnectionPool implements DisposableBean {
+
+    /**
+     * The constant H2.
+     */
+    public static final String H2 = "h2";
+
+    /**
+     * The constant H2C.
+     */
+    public static final String H2C = "h2c";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Http2ConnectionPool.class);
+
+    private final HttpClientProperties properties;
+
+    private final int maxConnections;
+
+    private final int maxConcurrentStreams;
+
+    private final long maxIdleNanos;
+
+    private final ScheduledExecutorService evictor;
+
+    private final Map<String, List<Http2Connection>> connections = new ConcurrentHashMap<>();
+
+    private final LongAdder openedStreams = new LongAdder();
+
+    private final LongAdder rejectedStreams = new LongAdder();
+
+    private volatile SslContext sslContext;
+
+    /**
+     * Instantiates a new Http2 connection pool.
+     *
+     * @param properties the properties
+     */
+    public Http2ConnectionPool(final HttpClientProperties properties) {
+        this.properties = properties;
+        this.maxConnections = Math.max(1, properties.getHttp2().getMaxConnections());
+        this.maxConcurrentStreams = Math.max(1, properties.getHttp2().getMaxConcurrentStreams());
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getHttp2().getMaxIdleTime());
+        if (maxIdleNanos > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor(SoulThreadFactory.create("http2-pool-evictor", true));
+            evictor.scheduleWithFixedDelay(this::evict, 1, 1, TimeUnit.SECONDS);
+        } else {
+            evictor = null;
+        }
+    }
+
+    /**
+     * Whether the uri targets an HTTP/2 upstream.
+     *
+     * @param uri the uri
+     * @return the boolean
+     */
+    public static boolean isHttp2(final URI uri) {
+        return H2.equalsIgnoreCase(uri.getScheme()) || H2C.equalsIgnoreCase(uri.getScheme());
+    }
+
+    /**
+     * Send the request on a multiplexed stream of the upstream.
+     *
+     * @param method  the method
+     * @param uri     the h2 or h2c uri
+     * @param headers the headers
+     * @param body    the body
+     * @return the client http response
+     */
+    public Mono<ClientHttpResponse> exchange(final HttpMethod method, final URI uri,
+                                             final HttpHeaders headers, final Flux<DataBuffer> body) {
+        return Mono.defer(() -> {
+            Http2Connection connection = acquire(uri);
+            openedStreams.increment();
+            return connection.exchange(method, uri, headers, body);
+        });
+    }
+
+    /**
+     * Open connections.
+     *
+     * @return the int
+     */
+    public int connections() {
+        return connections.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Streams in flight over all connections.
+     *
+     * @return the int
+     */
+    public int activeStreams() {
+        return connections.values().stream()
+                .flatMap(List::stream)
+                .mapToInt(Http2Connection::activeStreams)
+                .sum();
+    }
+
+    /**
+     * Streams opened since start.
+     *
+     * @return the long
+     */
+    public long openedStreams() {
+        return openedStreams.sum();
+    }
+
+    /**
+     * Streams rejected because every connection of the upstream was full.
+     *
+     * @return the long
+     */
+    public long rejectedStreams() {
+        return rejectedStreams.sum();
+    }
+
+    @Override
+    public void destroy() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        connections.values().forEach(list -> list.forEach(Http2Connection::close));
+        connections.clear();
+    }
+
+    private Http2Connection acquire(final URI uri) {
+        final String key = buildKey(uri);
+        while (true) {
+            final List<Http2Connection> list = connections.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+            Http2Connection connection = reserve(list);
+            if (connection != null) {
+                return connection;
+            }
+            synchronized (list) {
+                // the evictor dropped the empty list meanwhile, start over on the current one
+                if (connections.get(key) != list) {
+                    continue;
+                }
+                connection = reserve(list);
+                if (connection != null) {
+                    return connection;
+                }
+                if (list.size() < maxConnections) {
+                    connection = connect(uri, list);
+                    connection.tryReserve();
+                    list.add(connection);
+                    return connection;
+                }
+            }
+            break;
+        }
+        rejectedStreams.increment();
+        throw new SoulException("http2 upstream " + key + " has no free stream on "
+                + maxConnections + " connections");
+    }
+
+    private Http2Connection reserve(final List<Http2Connection> list) {
+        while (true) {
+            Http2Connection candidate = null;
+            for (Http2Connection connection : list) {
+                if (connection.hasCapacity()
+                        && (candidate == null || connection.activeStreams() < candidate.activeStreams())) {
+                    candidate = connection;
+                }
+            }
+            if (candidate == null) {
+                return null;
+            }
+            if (candidate.tryReserve()) {
+                return candidate;
+            }
+        }
+    }
+
+    private void evict() {
+        final long now = System.nanoTime();
+        connections.forEach((key, list) -> {
+            list.stream().filter(connection -> connection.tryRetire(now, maxIdleNanos)).forEach(connection -> {
+                LOGGER.debug("close idle http2 connection of {}", key);
+                list.remove(connection);
+                connection.close();
+            });
+            synchronized (list) {
+                if (list.isEmpty()) {
+                    connections.remove(key, list);
+                }
+            }
+        });
+    }
+
+    private Http2Connection connect(final URI uri, final List<Http2Connection> list) {
+        final boolean secure = H2.equalsIgnoreCase(uri.getScheme());
+        final String host = uri.getHost();
+        final int port = uri.getPort() > 0 ? uri.getPort() : secure ? 443 : 80;
+        final SslContext ssl = secure ? sslContext() : null;
+        final Http2MultiplexCodec codec = Http2MultiplexCodecBuilder
+                .forClient(RejectPushHandler.INSTANCE)
+                .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                .build();
+        Bootstrap bootstrap = new Bootstrap()
+                .group(HttpResources.get().onClient(false))
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(final SocketChannel ch) {
+                        if (ssl != null) {
+                            ch.pipeline().addLast(ssl.newHandler(ch.alloc(), host, port));
+                        }
+                        ch.pipeline().addLast(codec);
+                    }
+                });
+        if (properties.getConnectTimeout() != null) {
+            bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.getConnectTimeout());
+        }
+        final Http2Connection connection = new Http2Connection(bootstrap.connect(host, port),
+                codec, secure, maxConcurrentStreams);
+        connection.closeFuture().addListener(f -> {
+            list.remove(connection);
+            LOGGER.info("http2 connection to {}:{} closed", host, port);
+        });
+        return connection;
+    }
+
+    private SslContext sslContext() {
+        if (sslContext == null) {
+            synchronized (this) {
+                if (sslContext == null) {
+                    sslContext = buildSslContext(properties.getSsl());
+                }
+            }
+        }
+        return sslContext;
+    }
+
+    private static SslContext buildSslContext(final HttpClientProperties.Ssl ssl) {
+        SslProvider provider = SslProvider.isAlpnSupported(SslProvider.OPENSSL) ? SslProvider.OPENSSL : SslProvider.JDK;
+        SslContextBuilder builder = SslContextBuilder.forClient()
+                .sslProvider(provider)
+                .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+                .applicationProtocolConfig(new ApplicationProtocolConfig(
+                        ApplicationProtocolConfig.Protocol.ALPN,
+                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                        ApplicationProtocolNames.HTTP_2));
+        X509Certificate[] trustedX509Certificates = ssl.getTrustedX509CertificatesForTrustManager();
+        if (trustedX509Certificates.length > 0) {
+            builder.trustManager(trustedX509Certificates);
+        } else if (ssl.isUseInsecureTrustManager()) {
+            builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+        }
+        try {
+            return builder.build();
+        } catch (SSLException e) {
+            throw new SoulException("can not build http2 ssl context", e);
+        }
+    }
+
+    private static String buildKey(final URI uri) {
+        return uri.getScheme().toLowerCase() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * Server push is disabled in the settings, any pushed stream is closed right away.
+     */
+    @ChannelHandler.Sharable
+    private static final class RejectPushHandler extends ChannelInboundHandlerAdapter {
+
+        private static final RejectPushHandler INSTANCE = new RejectPushHandler();
+
+        @Override
+        public void channelRegistered(final ChannelHandlerContext ctx) {
+            ctx.close();
+        }
+    }
+}
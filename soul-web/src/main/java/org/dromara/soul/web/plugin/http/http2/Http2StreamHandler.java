@@ -0,0 +1,172 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.http2;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.UnicastProcessor;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads the response of one HTTP/2 stream, the headers complete the sink and the
+ * data frames are handed to the response body. The stream channel does not auto read,
+ * frames are only read while the body has demand, so an unread body holds back the
+ * stream window instead of filling the heap.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class Http2StreamHandler extends SimpleChannelInboundHandler<HttpObject> {
+
+    private final MonoSink<ClientHttpResponse> sink;
+
+    private final NettyDataBufferFactory bufferFactory;
+
+    private final Queue<DataBuffer> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong demand = new AtomicLong();
+
+    private volatile ChannelHandlerContext context;
+
+    private volatile UnicastProcessor<DataBuffer> body;
+
+    private volatile boolean done;
+
+    /**
+     * Instantiates a new Http2 stream handler.
+     *
+     * @param sink          the sink
+     * @param bufferFactory the buffer factory
+     */
+    Http2StreamHandler(final MonoSink<ClientHttpResponse> sink, final NettyDataBufferFactory bufferFactory) {
+        this.sink = sink;
+        this.bufferFactory = bufferFactory;
+    }
+
+    /**
+     * Fail the exchange, used when the request could not be written.
+     *
+     * @param cause the cause
+     */
+    void fail(final Throwable cause) {
+        terminate(cause);
+        ChannelHandlerContext ctx = context;
+        if (ctx != null) {
+            ctx.close();
+        }
+    }
+
+    @Override
+    public void handlerAdded(final ChannelHandlerContext ctx) {
+        this.context = ctx;
+    }
+
+    @Override
+    public void channelActive(final ChannelHandlerContext ctx) throws Exception {
+        // the headers are read right away, the body only once it is requested
+        ctx.read();
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelReadComplete(final ChannelHandlerContext ctx) {
+        if (!done && (body == null || demand.get() > 0)) {
+            ctx.read();
+        }
+    }
+
+    @Override
+    protected void channelRead0(final ChannelHandlerContext ctx, final HttpObject msg) {
+        if (msg instanceof HttpResponse) {
+            HttpResponse response = (HttpResponse) msg;
+            if (response.status().codeClass() == HttpStatusClass.INFORMATIONAL) {
+                return;
+            }
+            body = UnicastProcessor.create(queue, () -> {
+                if (!done) {
+                    DataBuffer buffer;
+                    while ((buffer = queue.poll()) != null) {
+                        DataBufferUtils.release(buffer);
+                    }
+                    ctx.close();
+                }
+            });
+            HttpHeaders headers = new HttpHeaders();
+            response.headers().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
+            headers.remove(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text());
+            sink.success(new Http2ClientHttpResponse(response.status().code(), headers, body.doOnRequest(n -> {
+                if (demand.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add) == 0) {
+                    ctx.read();
+                }
+            })));
+        }
+        if (msg instanceof HttpContent && body != null) {
+            HttpContent content = (HttpContent) msg;
+            if (content.content().isReadable()) {
+                demand.getAndUpdate(current -> current == Long.MAX_VALUE || current == 0 ? current : current - 1);
+                body.onNext(bufferFactory.wrap(content.content().retain()));
+            }
+            if (msg instanceof LastHttpContent) {
+                done = true;
+                body.onComplete();
+                ctx.close();
+            }
+        }
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        terminate(cause);
+        ctx.close();
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        terminate(new IOException("http2 stream closed before the response completed"));
+        super.channelInactive(ctx);
+    }
+
+    private void terminate(final Throwable cause) {
+        if (done) {
+            return;
+        }
+        done = true;
+        UnicastProcessor<DataBuffer> processor = body;
+        if (processor == null) {
+            sink.error(cause);
+        } else {
+            processor.onError(cause);
+        }
+    }
+}
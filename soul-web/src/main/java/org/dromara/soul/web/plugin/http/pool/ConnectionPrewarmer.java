@@ -0,0 +1,73 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.pool;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.web.cache.UpstreamListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * The type Connection prewarmer.
+ * opens connections to a newly learned upstream in the background, so the first user requests
+ * do not pay the connect and handshake cost. The connections are opened by concurrent
+ * {@code OPTIONS} requests, which are safe and leave the connections in the upstream pool.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class ConnectionPrewarmer implements UpstreamListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPrewarmer.class);
+
+    private final HttpClient httpClient;
+
+    private final int connections;
+
+    /**
+     * Instantiates a new Connection prewarmer.
+     *
+     * @param httpClient  the http client
+     * @param connections the connections to open per upstream
+     */
+    public ConnectionPrewarmer(final HttpClient httpClient, final int connections) {
+        this.httpClient = httpClient;
+        this.connections = connections;
+    }
+
+    @Override
+    public void onAdded(final DivideUpstream upstream) {
+        final String protocol = StringUtils.isBlank(upstream.getProtocol()) ? "http://" : upstream.getProtocol().trim();
+        if (!"http://".equalsIgnoreCase(protocol) && !"https://".equalsIgnoreCase(protocol)) {
+            return;
+        }
+        final String url = protocol + upstream.getUpstreamUrl().trim() + "/";
+        Flux.range(0, connections)
+                .flatMap(i -> httpClient.options().uri(url)
+                        .response((response, body) -> body.then())
+                        .onErrorResume(e -> {
+                            LOGGER.debug("prewarm connection to {} failed: {}", url, e.getMessage());
+                            return Mono.empty();
+                        }), connections)
+                .subscribe(null, null, () -> LOGGER.info("prewarmed {} connections to {}", connections, url));
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.pool;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.common.exception.SoulException;
+import org.dromara.soul.web.config.HttpClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.channel.BootstrapHandlers;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * The type Upstream connection provider.
+ * the delegate pools connections per remote address, this adds a bound on the pending acquires
+ * of each upstream, idle and lifetime eviction, and per upstream acquire/active/idle/pending metrics.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class UpstreamConnectionProvider implements ConnectionProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpstreamConnectionProvider.class);
+
+    private static final AttributeKey<PooledChannel> POOLED_CHANNEL = AttributeKey.valueOf("soulPooledChannel");
+
+    private final ConnectionProvider delegate;
+
+    private final int maxPendingAcquires;
+
+    private final long maxIdleNanos;
+
+    private final long maxLifeNanos;
+
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService evictor;
+
+    private final AtomicBoolean disposed = new AtomicBoolean();
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * Instantiates a new Upstream connection provider.
+     *
+     * @param delegate the delegate
+     * @param pool     the pool
+     */
+    public UpstreamConnectionProvider(final ConnectionProvider delegate, final HttpClientProperties.Pool pool) {
+        this.delegate = delegate;
+        this.maxPendingAcquires = pool.getMaxPendingAcquires();
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(pool.getMaxIdleTime());
+        this.maxLifeNanos = TimeUnit.MILLISECONDS.toNanos(pool.getMaxLifeTime());
+        if (maxIdleNanos > 0 || maxLifeNanos > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor(SoulThreadFactory.create("upstream-pool-evictor", true));
+            evictor.scheduleWithFixedDelay(this::evict, 1, 1, TimeUnit.SECONDS);
+        } else {
+            evictor = null;
+        }
+    }
+
+    @Override
+    public Mono<? extends Connection> acquire(final Bootstrap bootstrap) {
+        final Upstream upstream = upstreams.computeIfAbsent(buildKey(bootstrap.config().remoteAddress()), this::newUpstream);
+        // reactor netty may hand the same bootstrap in again on redirects, so swap the tracking instead of stacking it
+        final ConnectionObserver current = BootstrapHandlers.connectionObserver(bootstrap);
+        if (!(current instanceof TrackedObserver) || ((TrackedObserver) current).upstream != upstream) {
+            final ConnectionObserver original = current instanceof TrackedObserver ? ((TrackedObserver) current).original : current;
+            BootstrapHandlers.connectionObserver(bootstrap, new TrackedObserver(original, upstream));
+        }
+        return Mono.defer(() -> {
+            if (maxPendingAcquires >= 0 && upstream.pending.incrementAndGet() > maxPendingAcquires) {
+                upstream.pending.decrementAndGet();
+                upstream.rejected.increment();
+                return Mono.error(new SoulException("too many pending connection acquires for " + upstream.key));
+            }
+            if (maxPendingAcquires < 0) {
+                upstream.pending.incrementAndGet();
+            }
+            final long start = System.nanoTime();
+            return delegate.acquire(bootstrap)
+                    .doOnSuccess(connection -> upstream.recordAcquire(System.nanoTime() - start))
+                    .doFinally(signal -> upstream.pending.decrementAndGet());
+        });
+    }
+
+    /**
+     * Per upstream pool metrics.
+     *
+     * @return the map
+     */
+    public Map<String, UpstreamPoolMetrics> metrics() {
+        return upstreams.values().stream()
+                .collect(Collectors.toMap(upstream -> upstream.key, Upstream::snapshot));
+    }
+
+    /**
+     * Bind the pool gauges of the known upstreams and of those learned later to the registry.
+     *
+     * @param meterRegistry the meter registry
+     */
+    public void bindTo(final MeterRegistry meterRegistry) {
+        this.registry = meterRegistry;
+        upstreams.values().forEach(upstream -> bind(meterRegistry, upstream));
+    }
+
+    @Override
+    public Mono<Void> disposeLater() {
+        return Mono.defer(() -> {
+            if (disposed.compareAndSet(false, true) && evictor != null) {
+                evictor.shutdownNow();
+            }
+            return delegate.disposeLater();
+        });
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed.get();
+    }
+
+    private Upstream newUpstream(final String key) {
+        final Upstream upstream = new Upstream(key);
+        final MeterRegistry meterRegistry = registry;
+        if (meterRegistry != null) {
+            bind(meterRegistry, upstream);
+        }
+        return upstream;
+    }
+
+    private static void bind(final MeterRegistry meterRegistry, final Upstream upstream) {
+        Gauge.builder("soul.upstream.pool.active", upstream.active, AtomicInteger::get)
+                .tag("upstream", upstream.key).register(meterRegistry);
+        Gauge.builder("soul.upstream.pool.idle", upstream, u -> Math.max(0, u.channels.size() - u.active.get()))
+                .tag("upstream", upstream.key).register(meterRegistry);
+        Gauge.builder("soul.upstream.pool.pending", upstream.pending, AtomicInteger::get)
+                .tag("upstream", upstream.key).register(meterRegistry);
+        FunctionCounter.builder("soul.upstream.pool.rejected", upstream.rejected, LongAdder::sum)
+                .tag("upstream", upstream.key).register(meterRegistry);
+    }
+
+    private void evict() {
+        final long now = System.nanoTime();
+        upstreams.values().forEach(upstream -> upstream.channels.forEach(channel -> {
+            PooledChannel pooled = channel.attr(POOLED_CHANNEL).get();
+            if (pooled == null || pooled.inUse.get()) {
+                return;
+            }
+            boolean idleExpired = maxIdleNanos > 0 && now - pooled.releasedAt > maxIdleNanos;
+            boolean lifeExpired = maxLifeNanos > 0 && now - pooled.createdAt > maxLifeNanos;
+            if (idleExpired || lifeExpired) {
+                LOGGER.debug("evict {} connection {} of {}", idleExpired ? "idle" : "expired", channel, upstream.key);
+                channel.close();
+            }
+        }));
+    }
+
+    private static String buildKey(final SocketAddress address) {
+        if (address instanceof InetSocketAddress) {
+            InetSocketAddress inet = (InetSocketAddress) address;
+            return inet.getHostString() + ":" + inet.getPort();
+        }
+        return String.valueOf(address);
+    }
+
+    private static final class TrackedObserver implements ConnectionObserver {
+
+        private final ConnectionObserver original;
+
+        private final Upstream upstream;
+
+        TrackedObserver(final ConnectionObserver original, final Upstream upstream) {
+            this.original = original;
+            this.upstream = upstream;
+        }
+
+        @Override
+        public void onUncaughtException(final Connection connection, final Throwable error) {
+            original.onUncaughtException(connection, error);
+        }
+
+        @Override
+        public void onStateChange(final Connection connection, final State newState) {
+            original.onStateChange(connection, newState);
+            upstream.onStateChange(connection, newState);
+        }
+    }
+
+    private static final class PooledChannel {
+
+        private final long createdAt = System.nanoTime();
+
+        private final AtomicBoolean inUse = new AtomicBoolean();
+
+        private volatile long releasedAt = createdAt;
+    }
+
+    private static final class Upstream implements ConnectionObserver {
+
+        private final String key;
+
+        private final Set<Channel> channels = ConcurrentHashMap.newKeySet();
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private final LongAdder acquireCount = new LongAdder();
+
+        private final LongAdder acquireNanos = new LongAdder();
+
+        private final AtomicLong acquireMaxNanos = new AtomicLong();
+
+        private final LongAdder rejected = new LongAdder();
+
+        Upstream(final String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void onStateChange(final Connection connection, final State newState) {
+            final Channel channel = connection.channel();
+            if (newState == State.RELEASED) {
+                PooledChannel pooled = channel.attr(POOLED_CHANNEL).get();
+                if (pooled != null && pooled.inUse.compareAndSet(true, false)) {
+                    pooled.releasedAt = System.nanoTime();
+                    active.decrementAndGet();
+                }
+            } else if (newState == State.CONNECTED || newState == State.ACQUIRED || newState == State.CONFIGURED) {
+                PooledChannel pooled = channel.attr(POOLED_CHANNEL).get();
+                if (pooled == null) {
+                    pooled = new PooledChannel();
+                    if (channel.attr(POOLED_CHANNEL).setIfAbsent(pooled) == null) {
+                        track(channel, pooled);
+                    } else {
+                        pooled = channel.attr(POOLED_CHANNEL).get();
+                    }
+                }
+                if (pooled.inUse.compareAndSet(false, true)) {
+                    active.incrementAndGet();
+                }
+            }
+        }
+
+        private void track(final Channel channel, final PooledChannel pooled) {
+            channels.add(channel);
+            channel.closeFuture().addListener(future -> {
+                channels.remove(channel);
+                if (pooled.inUse.compareAndSet(true, false)) {
+                    active.decrementAndGet();
+                }
+            });
+        }
+
+        private void recordAcquire(final long nanos) {
+            acquireCount.increment();
+            acquireNanos.add(nanos);
+            acquireMaxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private UpstreamPoolMetrics snapshot() {
+            final long count = acquireCount.sum();
+            final int inUse = active.get();
+            return new UpstreamPoolMetrics(key, inUse, Math.max(0, channels.size() - inUse), pending.get(),
+                    count, rejected.sum(),
+                    count == 0 ? 0D : acquireNanos.sum() / (double) count / 1_000_000D,
+                    acquireMaxNanos.get() / 1_000_000D);
+        }
+    }
+}
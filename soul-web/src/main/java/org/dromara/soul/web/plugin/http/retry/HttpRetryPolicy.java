@@ -0,0 +1,146 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.retry;
+
+import org.dromara.soul.web.config.SoulConfig;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Http retry policy.
+ * connect failures are retried for every method since the request never left the gateway,
+ * resets and the configured statuses only for idempotent methods. Every retry is taken
+ * from the shared {@link RetryBudget}.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class HttpRetryPolicy {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD,
+            HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.TRACE);
+
+    private final RetryBudget budget;
+
+    private final Set<Integer> statuses;
+
+    private final LongAdder attempts = new LongAdder();
+
+    private final LongAdder successes = new LongAdder();
+
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    /**
+     * Instantiates a new Http retry policy.
+     *
+     * @param retry the retry config
+     */
+    public HttpRetryPolicy(final SoulConfig.Retry retry) {
+        this.budget = new RetryBudget(retry.getBudgetRatio(), retry.getMinRetriesPerSecond(), retry.getWindowSeconds());
+        this.statuses = new HashSet<>(retry.getStatuses());
+    }
+
+    /**
+     * Record a request sent upstream, retries are budgeted against these.
+     */
+    public void recordRequest() {
+        budget.recordRequest();
+    }
+
+    /**
+     * Whether the failure may be retried.
+     *
+     * @param throwable the throwable
+     * @param method    the method
+     * @return the boolean
+     */
+    public boolean isRetryable(final Throwable throwable, final HttpMethod method) {
+        if (throwable instanceof ConnectException || throwable instanceof NoRouteToHostException
+                || throwable instanceof UnknownHostException) {
+            return true;
+        }
+        return throwable instanceof IOException && IDEMPOTENT_METHODS.contains(method);
+    }
+
+    /**
+     * Whether the upstream status may be retried.
+     *
+     * @param status the status
+     * @param method the method
+     * @return the boolean
+     */
+    public boolean isRetryable(final int status, final HttpMethod method) {
+        return statuses.contains(status) && IDEMPOTENT_METHODS.contains(method);
+    }
+
+    /**
+     * Take a retry from the budget.
+     *
+     * @return false when the budget is exhausted
+     */
+    public boolean tryAcquire() {
+        if (budget.tryAcquire()) {
+            attempts.increment();
+            return true;
+        }
+        budgetExhausted.increment();
+        return false;
+    }
+
+    /**
+     * Record that a retried request succeeded.
+     */
+    public void recordSuccess() {
+        successes.increment();
+    }
+
+    /**
+     * Retries attempted.
+     *
+     * @return the long
+     */
+    public long attempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * Retried requests that ended with a non retryable outcome.
+     *
+     * @return the long
+     */
+    public long successes() {
+        return successes.sum();
+    }
+
+    /**
+     * Retries refused by the budget.
+     *
+     * @return the long
+     */
+    public long budgetExhausted() {
+        return budgetExhausted.sum();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Retry budget.
+ * retries over a sliding window of one second buckets may not exceed {@code ratio} of the
+ * requests of the window plus a small per second allowance, so retries can not multiply
+ * the load on an upstream that is already failing.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class RetryBudget {
+
+    private final double ratio;
+
+    private final long minRetries;
+
+    private final Bucket[] buckets;
+
+    /**
+     * Instantiates a new Retry budget.
+     *
+     * @param ratio               the ratio
+     * @param minRetriesPerSecond the min retries per second
+     * @param windowSeconds       the window seconds
+     */
+    public RetryBudget(final double ratio, final int minRetriesPerSecond, final int windowSeconds) {
+        this.ratio = ratio;
+        this.minRetries = (long) minRetriesPerSecond * windowSeconds;
+        this.buckets = new Bucket[Math.max(1, windowSeconds)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Record a request.
+     */
+    public void recordRequest() {
+        bucket(currentSecond()).requests.increment();
+    }
+
+    /**
+     * Take a retry from the budget.
+     *
+     * @return false when the budget is exhausted
+     */
+    public boolean tryAcquire() {
+        final long now = currentSecond();
+        long requests = 0;
+        long retries = 0;
+        for (Bucket bucket : buckets) {
+            if (now - bucket.second < buckets.length) {
+                requests += bucket.requests.sum();
+                retries += bucket.retries.sum();
+            }
+        }
+        if (retries >= (long) (requests * ratio) + minRetries) {
+            return false;
+        }
+        bucket(now).retries.increment();
+        return true;
+    }
+
+    private Bucket bucket(final long second) {
+        final Bucket bucket = buckets[(int) (second % buckets.length)];
+        if (bucket.second != second) {
+            synchronized (bucket) {
+                if (bucket.second != second) {
+                    bucket.requests.reset();
+                    bucket.retries.reset();
+                    bucket.second = second;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    private static long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+    }
+
+    private static final class Bucket {
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder retries = new LongAdder();
+
+        private volatile long second = Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.retry;
+
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.web.balance.utils.LoadBalanceUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The type Upstream failover.
+ * set by the divide plugin on the exchange when the rule allows retries, it hands out the
+ * url of an upstream that has not been tried for this request yet.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class UpstreamFailover {
+
+    private final List<DivideUpstream> upstreamList;
+
+    private final String loadBalance;
+
+    private final String ip;
+
+    private final int retry;
+
+    private final Function<DivideUpstream, String> urlBuilder;
+
+    private final Set<String> tried = new HashSet<>();
+
+    /**
+     * Instantiates a new Upstream failover.
+     *
+     * @param upstreamList the upstream list
+     * @param loadBalance  the load balance
+     * @param ip           the ip
+     * @param retry        the retry
+     * @param urlBuilder   builds the request url for an upstream
+     */
+    public UpstreamFailover(final List<DivideUpstream> upstreamList, final String loadBalance, final String ip,
+                            final int retry, final Function<DivideUpstream, String> urlBuilder) {
+        this.upstreamList = upstreamList;
+        this.loadBalance = loadBalance;
+        this.ip = ip;
+        this.retry = retry;
+        this.urlBuilder = urlBuilder;
+    }
+
+    /**
+     * Gets retry.
+     *
+     * @return the retry
+     */
+    public int getRetry() {
+        return retry;
+    }
+
+    /**
+     * Mark the upstream as tried.
+     *
+     * @param upstream the upstream
+     * @return this
+     */
+    public synchronized UpstreamFailover tried(final DivideUpstream upstream) {
+        tried.add(upstream.getUpstreamUrl());
+        return this;
+    }
+
+    /**
+     * Select an upstream not tried yet.
+     *
+     * @return the url of the upstream, empty when every upstream was tried
+     */
+    public synchronized Optional<String> next() {
+        final List<DivideUpstream> candidates = upstreamList.stream()
+                .filter(upstream -> !tried.contains(upstream.getUpstreamUrl()))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        final DivideUpstream upstream = LoadBalanceUtils.selector(candidates, loadBalance, ip);
+        if (Objects.isNull(upstream)) {
+            return Optional.empty();
+        }
+        tried(upstream);
+        return Optional.of(urlBuilder.apply(upstream));
+    }
+}
@@ -1,99 +0,0 @@
-/*
- *   Licensed to the Apache Software Foundation (ASF) under one or more
- *   contributor license agreements.  See the NOTICE file distributed with
- *   this work for additional information regarding copyright ownership.
- *   The ASF licenses this file to You under the Apache License, Version 2.0
- *   (the "License"); you may not use this file except in compliance with
- *   the License.  You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- *   Unless required by applicable law or agreed to in writing, software
- *   distributed under the License is distributed on an "AS IS" BASIS,
- *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- *   See the License for the specific language governing permissions and
- *   limitations under the License.
- *
- */
-
-package org.dromara.soul.web.plugin.hystrix;
-
-import com.netflix.hystrix.HystrixObservableCommand;
-import com.netflix.hystrix.exception.HystrixRuntimeException;
-import com.netflix.hystrix.exception.HystrixTimeoutException;
-import org.dromara.soul.web.plugin.SoulPluginChain;
-import org.dromara.soul.web.result.SoulResultEnum;
-import org.dromara.soul.web.result.SoulResultUtils;
-import org.dromara.soul.web.result.SoulResultWarp;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
-import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Mono;
-import rx.Observable;
-import rx.RxReactiveStreams;
-
-/**
- * the spring cloud command.
- *
- * @author xiaoyu(Myth)
- */
-public class HttpCommand extends HystrixObservableCommand<Void> {
-
-    /**
-     * logger.
-     */
-    private static final Logger LOGGER = LoggerFactory.getLogger(HttpCommand.class);
-
-    private final ServerWebExchange exchange;
-
-    private final SoulPluginChain chain;
-
-    /**
-     * Instantiates a new Http command.
-     *
-     * @param setter   the setter
-     * @param exchange the exchange
-     * @param chain    the chain
-     */
-    public HttpCommand(final Setter setter,
-                       final ServerWebExchange exchange,
-                       final SoulPluginChain chain) {
-
-        super(setter);
-        this.exchange = exchange;
-        this.chain = chain;
-    }
-
-    @Override
-    protected Observable<Void> construct() {
-        return RxReactiveStreams.toObservable(chain.execute(exchange));
-    }
-
-    @Override
-    protected Observable<Void> resumeWithFallback() {
-        return RxReactiveStreams.toObservable(doFallback());
-    }
-
-    private Mono<Void> doFallback() {
-        if (isFailedExecution()) {
-            LOGGER.error("http execute have error:", getExecutionException());
-        }
-        final Throwable exception = getExecutionException();
-        if (exception instanceof HystrixRuntimeException) {
-            HystrixRuntimeException e = (HystrixRuntimeException) getExecutionException();
-            if (e.getFailureType() == HystrixRuntimeException.FailureType.TIMEOUT) {
-                exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
-            } else {
-                exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
-            }
-        } else if (exception instanceof HystrixTimeoutException) {
-            exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
-        } else {
-            exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
-        Object error = SoulResultWarp.error(SoulResultEnum.SERVICE_RESULT_ERROR.getCode(), SoulResultEnum.SERVICE_RESULT_ERROR.getMsg(), null);
-        return SoulResultUtils.result(exchange, error);
-    }
-
-}
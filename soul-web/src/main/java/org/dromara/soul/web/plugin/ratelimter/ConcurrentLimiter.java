@@ -0,0 +1,39 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The interface Concurrent limiter.
+ * bounds the requests in flight per key instead of their rate.
+ *
+ * @author xiaoyu(Myth)
+ */
+public interface ConcurrentLimiter {
+
+    /**
+     * Try to take a slot, the permit must be released when the request ends.
+     *
+     * @param id       the key
+     * @param capacity the requests allowed in flight
+     * @return the permit
+     */
+    Mono<ConcurrentPermit> acquire(String id, long capacity);
+}
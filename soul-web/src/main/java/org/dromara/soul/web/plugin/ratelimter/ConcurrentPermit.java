@@ -0,0 +1,78 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The type Concurrent permit.
+ *
+ * @author xiaoyu(Myth)
+ */
+public final class ConcurrentPermit {
+
+    private static final ConcurrentPermit REJECTED = new ConcurrentPermit(false, 0L, () -> { });
+
+    @Getter
+    private final boolean allowed;
+
+    @Getter
+    private final long remaining;
+
+    private final Runnable release;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private ConcurrentPermit(final boolean allowed, final long remaining, final Runnable release) {
+        this.allowed = allowed;
+        this.remaining = remaining;
+        this.release = release;
+    }
+
+    /**
+     * A granted slot.
+     *
+     * @param remaining the free slots left
+     * @param release   gives the slot back
+     * @return the concurrent permit
+     */
+    public static ConcurrentPermit granted(final long remaining, final Runnable release) {
+        return new ConcurrentPermit(true, remaining, release);
+    }
+
+    /**
+     * A refused request.
+     *
+     * @return the concurrent permit
+     */
+    public static ConcurrentPermit rejected() {
+        return REJECTED;
+    }
+
+    /**
+     * Release the slot, only the first call counts.
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.dromara.soul.web.config.SoulConfig;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Heavy hitter filter.
+ * per client keys go through a count-min sketch first, reset every second. A client only gets
+ * an exact bucket once its estimated count reaches the heavy hitter share of the rate, so the
+ * state kept for millions of light clients is the fixed size sketch. The sketch can only
+ * over count, a client above the threshold is never missed. Only the rate modes use it, a
+ * concurrency limit is not a rate and every key there gets its own count.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class HeavyHitterFilter {
+
+    private static final int DEPTH = 4;
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicIntegerArray counters;
+
+    private final int mask;
+
+    private final double ratio;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    private final Cache<String, Boolean> heavyHitters;
+
+    /**
+     * Instantiates a new Heavy hitter filter.
+     *
+     * @param config the config
+     */
+    public HeavyHitterFilter(final SoulConfig.RateLimiter config) {
+        final int width = Integer.highestOneBit(Math.max(config.getSketchWidth(), 16));
+        this.counters = new AtomicIntegerArray(width * DEPTH);
+        this.mask = width - 1;
+        this.ratio = config.getHeavyHitterRatio();
+        this.heavyHitters = Caffeine.newBuilder()
+                .expireAfterAccess(config.getIdleTimeout(), TimeUnit.MILLISECONDS)
+                .maximumSize(config.getMaxKeys())
+                .build();
+    }
+
+    /**
+     * Count the request and tell whether the key needs an exact bucket.
+     *
+     * @param key           the client key
+     * @param replenishRate the requests per second
+     * @return true once the key is a heavy hitter
+     */
+    public boolean isHeavy(final String key, final double replenishRate) {
+        if (heavyHitters.getIfPresent(key) != null) {
+            return true;
+        }
+        if (increment(key, System.nanoTime()) >= Math.max(1D, replenishRate * ratio)) {
+            heavyHitters.put(key, Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Keys holding an exact bucket.
+     *
+     * @return the long
+     */
+    public long heavyHitters() {
+        return heavyHitters.estimatedSize();
+    }
+
+    /**
+     * conservative update, only the smallest counters of the key are raised.
+     */
+    private int increment(final String key, final long now) {
+        rotate(now);
+        final int hash = spread(key.hashCode());
+        final int[] indexes = new int[DEPTH];
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            indexes[i] = i * (mask + 1) + index(hash, i);
+            min = Math.min(min, counters.get(indexes[i]));
+        }
+        for (int index : indexes) {
+            final int current = counters.get(index);
+            if (current == min) {
+                counters.compareAndSet(index, current, current + 1);
+            }
+        }
+        return min + 1;
+    }
+
+    private void rotate(final long now) {
+        final long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            for (int i = 0; i < counters.length(); i++) {
+                counters.lazySet(i, 0);
+            }
+        }
+    }
+
+    private int index(final int hash, final int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.dromara.soul.web.config.SoulConfig;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * The type Local concurrent limiter.
+ * counts the requests in flight of this gateway. Each slot keeps its start, when a key is full
+ * the slots older than the timeout are dropped as leaked before the request is refused.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class LocalConcurrentLimiter implements ConcurrentLimiter {
+
+    private final long timeoutNanos;
+
+    private final Cache<String, Slots> slots;
+
+    private final LongSupplier clock;
+
+    /**
+     * Instantiates a new Local concurrent limiter.
+     *
+     * @param config the config
+     */
+    public LocalConcurrentLimiter(final SoulConfig.RateLimiter config) {
+        this(config, System::nanoTime);
+    }
+
+    /**
+     * Instantiates a new Local concurrent limiter.
+     *
+     * @param config the config
+     * @param clock  the nanos clock, also used to expire idle keys
+     */
+    LocalConcurrentLimiter(final SoulConfig.RateLimiter config, final LongSupplier clock) {
+        this.clock = clock;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getConcurrentTimeout());
+        this.slots = Caffeine.newBuilder()
+                .expireAfterAccess(Math.max(config.getIdleTimeout(), config.getConcurrentTimeout()), TimeUnit.MILLISECONDS)
+                .maximumSize(config.getMaxKeys())
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    @Override
+    public Mono<ConcurrentPermit> acquire(final String id, final long capacity) {
+        final Slots keySlots = slots.get(id, key -> new Slots());
+        final long now = clock.getAsLong();
+        long seq = keySlots.tryAcquire(now, capacity);
+        if (seq < 0 && keySlots.expire(now - timeoutNanos) > 0) {
+            seq = keySlots.tryAcquire(now, capacity);
+        }
+        if (seq < 0) {
+            return Mono.just(ConcurrentPermit.rejected());
+        }
+        final long slot = seq;
+        return Mono.just(ConcurrentPermit.granted(capacity - keySlots.count.get(), () -> keySlots.release(slot)));
+    }
+
+    private static final class Slots {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        private final Map<Long, Long> started = new ConcurrentHashMap<>();
+
+        private long tryAcquire(final long now, final long capacity) {
+            while (true) {
+                final int current = count.get();
+                if (current >= capacity) {
+                    return -1L;
+                }
+                if (count.compareAndSet(current, current + 1)) {
+                    final long seq = sequence.incrementAndGet();
+                    started.put(seq, now);
+                    return seq;
+                }
+            }
+        }
+
+        private void release(final long seq) {
+            if (started.remove(seq) != null) {
+                count.decrementAndGet();
+            }
+        }
+
+        private int expire(final long before) {
+            int expired = 0;
+            for (Map.Entry<Long, Long> entry : started.entrySet()) {
+                if (entry.getValue() - before < 0 && started.remove(entry.getKey(), entry.getValue())) {
+                    count.decrementAndGet();
+                    expired++;
+                }
+            }
+            return expired;
+        }
+    }
+}
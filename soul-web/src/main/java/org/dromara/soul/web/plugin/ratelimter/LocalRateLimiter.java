@@ -0,0 +1,126 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.dromara.soul.common.enums.RateLimiterModeEnum;
+import org.dromara.soul.web.config.SoulConfig;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * The type Local rate limiter.
+ * the same limits as {@linkplain RedisRateLimiter} kept in process, without a network hop.
+ * The token bucket is kept as a theoretical arrival time (GCRA) in one AtomicLong, so a request
+ * costs one CAS and refills at nanosecond resolution. Keys unused for the idle timeout are dropped.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class LocalRateLimiter {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Cache<String, AtomicLong> tokenBuckets;
+
+    private final Cache<String, SlidingWindowCounter> windows;
+
+    private final LongSupplier clock;
+
+    /**
+     * Instantiates a new Local rate limiter.
+     *
+     * @param config the config
+     */
+    public LocalRateLimiter(final SoulConfig.RateLimiter config) {
+        this(config, System::nanoTime);
+    }
+
+    /**
+     * Instantiates a new Local rate limiter.
+     *
+     * @param config the config
+     * @param clock  the nanos clock, also used to expire idle keys
+     */
+    LocalRateLimiter(final SoulConfig.RateLimiter config, final LongSupplier clock) {
+        this.clock = clock;
+        this.tokenBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(config.getIdleTimeout(), TimeUnit.MILLISECONDS)
+                .maximumSize(config.getMaxKeys())
+                .ticker(clock::getAsLong)
+                .build();
+        this.windows = Caffeine.newBuilder()
+                .expireAfterAccess(config.getIdleTimeout(), TimeUnit.MILLISECONDS)
+                .maximumSize(config.getMaxKeys())
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Whether the request is allowed.
+     *
+     * @param id            the key
+     * @param replenishRate the requests per second
+     * @param burstCapacity the bucket size, the token bucket only
+     * @param mode          the local mode
+     * @return the rate limiter response
+     */
+    public RateLimiterResponse isAllowed(final String id, final double replenishRate, final double burstCapacity,
+                                         final RateLimiterModeEnum mode) {
+        if (replenishRate <= 0) {
+            return new RateLimiterResponse(false, 0L);
+        }
+        final long now = clock.getAsLong();
+        if (mode == RateLimiterModeEnum.LOCAL_SLIDING_WINDOW) {
+            final long remaining = windows.get(id, key -> new SlidingWindowCounter()).tryAcquire(now, WINDOW_NANOS, replenishRate);
+            return new RateLimiterResponse(remaining >= 0, Math.max(remaining, 0L));
+        }
+        return acquireToken(tokenBuckets.get(id, key -> new AtomicLong(now)), now, replenishRate, burstCapacity);
+    }
+
+    /**
+     * Keys currently held.
+     *
+     * @return the long
+     */
+    long keys() {
+        tokenBuckets.cleanUp();
+        windows.cleanUp();
+        return tokenBuckets.estimatedSize() + windows.estimatedSize();
+    }
+
+    private static RateLimiterResponse acquireToken(final AtomicLong arrival, final long now,
+                                                    final double replenishRate, final double burstCapacity) {
+        final double interval = WINDOW_NANOS / replenishRate;
+        final double tolerance = Math.max(burstCapacity, 1D) * interval;
+        while (true) {
+            final long tat = arrival.get();
+            final long next = (long) (Math.max(tat, now) + interval);
+            final double ahead = next - now;
+            if (ahead > tolerance) {
+                return new RateLimiterResponse(false, 0L);
+            }
+            if (arrival.compareAndSet(tat, next)) {
+                return new RateLimiterResponse(true, (long) ((tolerance - ahead) / interval));
+            }
+        }
+    }
+}
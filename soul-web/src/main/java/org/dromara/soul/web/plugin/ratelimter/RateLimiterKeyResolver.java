@@ -0,0 +1,128 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.utils.LogUtils;
+import org.dromara.soul.web.request.RequestDTO;
+import org.dromara.soul.web.support.HostAddressUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The type Rate limiter key resolver.
+ * composes the limit key of a rule from the configured client dimensions, so one client
+ * cannot use up the quota of a route for everyone. The dimensions of a rule are parsed once
+ * and again only when they change; an unknown or malformed dimension is logged and left out.
+ *
+ * @author xiaoyu(Myth)
+ */
+public final class RateLimiterKeyResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimiterKeyResolver.class);
+
+    private static final String IP = "ip";
+
+    private static final String HEADER = "header:";
+
+    private static final String PATH = "path:";
+
+    private static final ConcurrentMap<String, CompiledDimensions> COMPILED = new ConcurrentHashMap<>();
+
+    private RateLimiterKeyResolver() {
+    }
+
+    /**
+     * Resolve the limit key.
+     *
+     * @param exchange   the exchange
+     * @param ruleId     the rule id
+     * @param dimensions the key dimensions
+     * @return the rule id, followed by the value of each valid dimension
+     */
+    public static String resolve(final ServerWebExchange exchange, final String ruleId, final List<String> dimensions) {
+        if (dimensions == null || dimensions.isEmpty()) {
+            return ruleId;
+        }
+        CompiledDimensions compiled = COMPILED.get(ruleId);
+        if (compiled == null || !compiled.source.equals(dimensions)) {
+            compiled = new CompiledDimensions(ruleId, dimensions);
+            COMPILED.put(ruleId, compiled);
+        }
+        final StringBuilder key = new StringBuilder(ruleId);
+        for (Function<ServerWebExchange, String> value : compiled.values) {
+            key.append(':').append(StringUtils.defaultString(value.apply(exchange)));
+        }
+        return key.toString();
+    }
+
+    private static Function<ServerWebExchange, String> compile(final String ruleId, final String dimension) {
+        if (IP.equals(dimension)) {
+            return HostAddressUtils::acquireIp;
+        }
+        if (Constants.APP_KEY.equals(dimension)) {
+            return exchange -> {
+                final RequestDTO requestDTO = exchange.getAttribute(Constants.REQUESTDTO);
+                return Objects.nonNull(requestDTO) && StringUtils.isNoneBlank(requestDTO.getAppKey())
+                        ? requestDTO.getAppKey() : exchange.getRequest().getHeaders().getFirst(Constants.APP_KEY);
+            };
+        }
+        if (dimension.startsWith(HEADER)) {
+            final String name = dimension.substring(HEADER.length());
+            return exchange -> exchange.getRequest().getHeaders().getFirst(name);
+        }
+        if (dimension.startsWith(PATH)) {
+            final int index = NumberUtils.toInt(dimension.substring(PATH.length()), -1);
+            if (index >= 0) {
+                return exchange -> {
+                    final String[] segments = StringUtils.split(exchange.getRequest().getURI().getPath(), '/');
+                    return index < segments.length ? segments[index] : null;
+                };
+            }
+        }
+        LogUtils.warn(LOGGER, "rule {} has an invalid rate limiter key dimension, it is ignored", () -> ruleId + " " + dimension);
+        return null;
+    }
+
+    private static final class CompiledDimensions {
+
+        private final List<String> source;
+
+        private final List<Function<ServerWebExchange, String>> values;
+
+        private CompiledDimensions(final String ruleId, final List<String> dimensions) {
+            this.source = new ArrayList<>(dimensions);
+            this.values = dimensions.stream()
+                    .map(dimension -> compile(ruleId, dimension))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+    }
+}
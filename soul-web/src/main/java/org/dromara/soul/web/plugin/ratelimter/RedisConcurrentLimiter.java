@@ -0,0 +1,107 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.plugin.config.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * The type Redis concurrent limiter.
+ * the requests in flight of all gateways are kept in a sorted set scored by their start, see
+ * concurrent_request_rate_limiter.lua. A release removes the request, members older than the
+ * timeout are dropped as leaked by the next acquire. Redis errors let the request through.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class RedisConcurrentLimiter implements ConcurrentLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisConcurrentLimiter.class);
+
+    private final RedisScript<List<Long>> script;
+
+    private final long timeout;
+
+    private final LongSupplier clock;
+
+    /**
+     * Instantiates a new Redis concurrent limiter.
+     *
+     * @param config the config
+     */
+    public RedisConcurrentLimiter(final SoulConfig.RateLimiter config) {
+        this(config, System::currentTimeMillis);
+    }
+
+    /**
+     * Instantiates a new Redis concurrent limiter.
+     *
+     * @param config the config
+     * @param clock  the millis clock the slots are scored by
+     */
+    RedisConcurrentLimiter(final SoulConfig.RateLimiter config, final LongSupplier clock) {
+        this.clock = clock;
+        this.script = redisScript();
+        this.timeout = config.getConcurrentTimeout();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<ConcurrentPermit> acquire(final String id, final long capacity) {
+        final String key = "concurrent_request_rate_limiter.{" + id + "}";
+        final String requestId = UUID.randomUUID().toString();
+        final List<String> args = Arrays.asList(capacity + "", clock.getAsLong() + "", requestId, timeout + "");
+        final ReactiveRedisTemplate<String, String> template = Singleton.INST.get(ReactiveRedisTemplate.class);
+        return template.execute(this.script, Collections.singletonList(key), args)
+                .next()
+                .map(results -> {
+                    final List<Long> result = (List<Long>) results;
+                    if (result.get(0) != 1L) {
+                        return ConcurrentPermit.rejected();
+                    }
+                    return ConcurrentPermit.granted(result.get(1), () -> template.opsForZSet().remove(key, requestId)
+                            .subscribe(v -> { }, e -> LOGGER.error("Error releasing concurrent slot in redis:", e)));
+                })
+                .onErrorResume(e -> {
+                    LOGGER.error("Error determining if user allowed from redis:", e);
+                    return Mono.just(ConcurrentPermit.granted(-1L, () -> { }));
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisScript<List<Long>> redisScript() {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("/META-INF/scripts/concurrent_request_rate_limiter.lua")));
+        redisScript.setResultType(List.class);
+        return redisScript;
+    }
+}
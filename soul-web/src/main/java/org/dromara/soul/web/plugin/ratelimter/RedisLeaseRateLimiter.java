@@ -0,0 +1,274 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.plugin.config.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The type Redis lease rate limiter.
+ * the token bucket stays in redis, but each gateway takes tokens in batches and serves requests
+ * from its lease. A batch covers the local rate over one lease time and never exceeds the error
+ * ratio of the burst capacity, which bounds how far the cluster can overshoot. The next batch is
+ * fetched in the background when a lease runs low, unused tokens go back when it expires.
+ * The script is sent by sha (EVALSHA), the template falls back to EVAL only once per redis.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class RedisLeaseRateLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisLeaseRateLimiter.class);
+
+    private final RedisScript<List<Long>> script;
+
+    private final long leaseTime;
+
+    private final double errorRatio;
+
+    private final Cache<String, Lease> leases;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder redisCalls = new LongAdder();
+
+    private final LongSupplier clock;
+
+    /**
+     * Instantiates a new Redis lease rate limiter.
+     *
+     * @param config the config
+     */
+    public RedisLeaseRateLimiter(final SoulConfig.RateLimiter config) {
+        this(config, System::currentTimeMillis);
+    }
+
+    /**
+     * Instantiates a new Redis lease rate limiter.
+     *
+     * @param config the config
+     * @param clock  the millis clock, also used to expire idle leases
+     */
+    RedisLeaseRateLimiter(final SoulConfig.RateLimiter config, final LongSupplier clock) {
+        this.clock = clock;
+        this.script = redisScript();
+        this.leaseTime = config.getLeaseTime();
+        this.errorRatio = config.getLeaseErrorRatio();
+        this.leases = Caffeine.newBuilder()
+                .expireAfterAccess(config.getIdleTimeout(), TimeUnit.MILLISECONDS)
+                .maximumSize(config.getMaxKeys())
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .removalListener((String id, Lease lease, RemovalCause cause) -> {
+                    if (id != null && lease != null) {
+                        giveBack(id, lease);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Whether the request is allowed.
+     *
+     * @param id            is rule id
+     * @param replenishRate replenishRate
+     * @param burstCapacity burstCapacity
+     * @return the mono
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final double replenishRate, final double burstCapacity) {
+        requests.increment();
+        final long now = clock.getAsLong();
+        final Lease lease = leases.get(id, key -> new Lease(now));
+        lease.replenishRate = replenishRate;
+        lease.burstCapacity = burstCapacity;
+        if (lease.expiresAt <= now) {
+            giveBack(id, lease);
+        }
+        final long left = lease.tryTake();
+        if (left >= 0) {
+            if (left <= lease.lastBatch / 5) {
+                refill(id, lease, now).subscribe();
+            }
+            return Mono.just(new RateLimiterResponse(true, left));
+        }
+        return refill(id, lease, now).map(leased -> {
+            if (!leased) {
+                return new RateLimiterResponse(true, -1L);
+            }
+            final long remaining = lease.tryTake();
+            return new RateLimiterResponse(remaining >= 0, Math.max(remaining, 0L));
+        });
+    }
+
+    /**
+     * Requests seen.
+     *
+     * @return the long
+     */
+    public long requests() {
+        return requests.sum();
+    }
+
+    /**
+     * Script calls made to redis.
+     *
+     * @return the long
+     */
+    public long redisCalls() {
+        return redisCalls.sum();
+    }
+
+    /**
+     * Drop the leases due for eviction, their tokens go back to redis.
+     */
+    void cleanUp() {
+        leases.cleanUp();
+    }
+
+    /**
+     * one lease request per key at a time, the others wait for it.
+     */
+    private Mono<Boolean> refill(final String id, final Lease lease, final long now) {
+        final Mono<Boolean> pending = lease.pending.get();
+        if (pending != null) {
+            return pending;
+        }
+        final long batch = lease.nextBatch(now, leaseTime, errorRatio);
+        final Mono<Boolean> call = execute(id, lease.replenishRate, lease.burstCapacity, batch)
+                .map(granted -> {
+                    lease.grant(granted, clock.getAsLong() + leaseTime);
+                    return true;
+                })
+                .onErrorResume(e -> {
+                    LOGGER.error("Error leasing rate limiter tokens from redis:", e);
+                    return Mono.just(false);
+                })
+                .doFinally(signal -> lease.pending.set(null))
+                .cache();
+        if (!lease.pending.compareAndSet(null, call)) {
+            final Mono<Boolean> current = lease.pending.get();
+            return current == null ? Mono.just(lease.tokens.get() > 0) : current;
+        }
+        return call;
+    }
+
+    private void giveBack(final String id, final Lease lease) {
+        final long unused = lease.tokens.getAndSet(0L);
+        if (unused > 0 && lease.burstCapacity > 0) {
+            execute(id, lease.replenishRate, lease.burstCapacity, -unused)
+                    .subscribe(v -> { }, e -> LOGGER.error("Error returning rate limiter tokens to redis:", e));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Long> execute(final String id, final double replenishRate, final double burstCapacity, final long requested) {
+        redisCalls.increment();
+        final String prefix = "request_rate_limiter_lease.{" + id;
+        final List<String> keys = Arrays.asList(prefix + "}.tokens", prefix + "}.timestamp");
+        final List<String> args = Arrays.asList(replenishRate + "", burstCapacity + "",
+                clock.getAsLong() + "", requested + "");
+        return Singleton.INST.get(ReactiveRedisTemplate.class).execute(this.script, keys, args)
+                .next()
+                .map(results -> ((List<Long>) results).get(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisScript<List<Long>> redisScript() {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("/META-INF/scripts/request_rate_limiter_lease.lua")));
+        redisScript.setResultType(List.class);
+        return redisScript;
+    }
+
+    private static final class Lease {
+
+        private final AtomicLong tokens = new AtomicLong();
+
+        private final AtomicReference<Mono<Boolean>> pending = new AtomicReference<>();
+
+        private final LongAdder taken = new LongAdder();
+
+        private volatile double replenishRate;
+
+        private volatile double burstCapacity;
+
+        private volatile long expiresAt;
+
+        private volatile long lastBatch = 1L;
+
+        private volatile long sampledAt;
+
+        private volatile double ratePerMilli;
+
+        private Lease(final long now) {
+            this.sampledAt = now;
+        }
+
+        private long tryTake() {
+            while (true) {
+                final long current = tokens.get();
+                if (current <= 0) {
+                    return -1L;
+                }
+                if (tokens.compareAndSet(current, current - 1)) {
+                    taken.increment();
+                    return current - 1;
+                }
+            }
+        }
+
+        /**
+         * the local rate over one lease time, within the error budget.
+         */
+        private long nextBatch(final long now, final long leaseTime, final double errorRatio) {
+            final long elapsed = Math.max(now - sampledAt, 1L);
+            final double sample = (double) taken.sumThenReset() / elapsed;
+            ratePerMilli = ratePerMilli == 0D ? sample : ratePerMilli * 0.7D + sample * 0.3D;
+            sampledAt = now;
+            final long max = Math.max(1L, (long) (burstCapacity * errorRatio));
+            final long batch = Math.min(max, Math.max(1L, (long) Math.ceil(ratePerMilli * leaseTime)));
+            lastBatch = batch;
+            return batch;
+        }
+
+        private void grant(final long granted, final long expiresAt) {
+            if (granted > 0) {
+                tokens.addAndGet(granted);
+            }
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Sliding window counter.
+ * the previous window is weighted by its overlap with the sliding window, so two counters give the
+ * precision of a request log. The first caller of a new window rotates it, counts racing the
+ * rotation may be lost.
+ *
+ * @author xiaoyu(Myth)
+ */
+final class SlidingWindowCounter {
+
+    private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+
+    private final AtomicLong current = new AtomicLong();
+
+    private final AtomicLong previous = new AtomicLong();
+
+    /**
+     * Try to count one request.
+     *
+     * @param now         the now nanos
+     * @param windowNanos the window nanos
+     * @param limit       the requests allowed per window
+     * @return the remaining requests, negative when refused
+     */
+    long tryAcquire(final long now, final long windowNanos, final double limit) {
+        final long index = Math.floorDiv(now, windowNanos);
+        final long last = window.get();
+        if (index != last && window.compareAndSet(last, index)) {
+            previous.set(index == last + 1 ? current.get() : 0L);
+            current.set(0L);
+        }
+        final double weight = 1D - (double) Math.floorMod(now, windowNanos) / windowNanos;
+        final double carried = previous.get() * weight;
+        while (true) {
+            final long count = current.get();
+            final double remaining = limit - carried - count - 1;
+            if (remaining < 0) {
+                return -1L;
+            }
+            if (current.compareAndSet(count, count + 1)) {
+                return (long) remaining;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.trace;
+
+import org.dromara.soul.common.utils.GsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The type Json lines span exporter.
+ * appends one json object per span to a local file, flushed once per batch.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class JsonLinesSpanExporter implements SpanExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonLinesSpanExporter.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+
+    private Writer writer;
+
+    /**
+     * Instantiates a new Json lines span exporter.
+     *
+     * @param path the file path
+     */
+    public JsonLinesSpanExporter(final String path) {
+        this.file = new File(path).getAbsoluteFile();
+    }
+
+    @Override
+    public void export(final List<TraceSpan> spans) throws IOException {
+        if (writer == null) {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException("can not create trace dir:" + parent);
+            }
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        }
+        for (TraceSpan span : spans) {
+            writer.write(GsonUtils.getInstance().toJson(span));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.error("close trace file error", e);
+            }
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.trace;
+
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The type Trace context.
+ * the W3C trace context of the gateway span of one request. The parsed traceparent gives the trace id,
+ * the caller span and the sampled flag; the gateway span gets a new id and is sent downstream.
+ *
+ * @author xiaoyu(Myth)
+ */
+@Getter
+public final class TraceContext {
+
+    /**
+     * The constant TRACEPARENT.
+     */
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final String VERSION = "00";
+
+    private static final int TRACE_ID_LENGTH = 32;
+
+    private static final int SPAN_ID_LENGTH = 16;
+
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentSpanId;
+
+    private final boolean sampled;
+
+    private final String traceparent;
+
+    private TraceContext(final String traceId, final String parentSpanId, final boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = randomId(SPAN_ID_LENGTH);
+        this.parentSpanId = parentSpanId;
+        this.sampled = sampled;
+        this.traceparent = VERSION + "-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    /**
+     * The gateway span of a request without a valid traceparent.
+     *
+     * @param sampled the head sampling decision
+     * @return the trace context
+     */
+    public static TraceContext root(final boolean sampled) {
+        return new TraceContext(randomId(TRACE_ID_LENGTH), null, sampled);
+    }
+
+    /**
+     * The gateway span as a child of the caller span of the header.
+     *
+     * @param header the traceparent header
+     * @return the trace context, null when the header is missing or invalid
+     */
+    public static TraceContext parse(final String header) {
+        if (header == null || header.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+        final String version = header.substring(0, 2);
+        if (!isHex(version) || "ff".equals(version)
+                || (VERSION.equals(version) && header.length() != TRACEPARENT_LENGTH)
+                || (header.length() > TRACEPARENT_LENGTH && header.charAt(TRACEPARENT_LENGTH) != '-')
+                || header.charAt(2) != '-' || header.charAt(35) != '-' || header.charAt(52) != '-') {
+            return null;
+        }
+        final String traceId = header.substring(3, 35);
+        final String parentId = header.substring(36, 52);
+        final String flags = header.substring(53, 55);
+        if (!isHex(traceId) || !isHex(parentId) || !isHex(flags) || isZero(traceId) || isZero(parentId)) {
+            return null;
+        }
+        return new TraceContext(traceId, parentId, (Character.digit(flags.charAt(1), 16) & 1) == 1);
+    }
+
+    private static String randomId(final int length) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i += SPAN_ID_LENGTH) {
+            long value = random.nextLong();
+            while (value == 0) {
+                value = random.nextLong();
+            }
+            for (int j = SPAN_ID_LENGTH - 1; j >= 0; j--) {
+                chars[i + j] = HEX[(int) (value & 0xF)];
+                value >>>= 4;
+            }
+        }
+        return new String(chars);
+    }
+
+    private static boolean isHex(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.trace;
+
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.enums.PluginEnum;
+import org.dromara.soul.common.enums.PluginTypeEnum;
+import org.dromara.soul.common.enums.ResultEnum;
+import org.dromara.soul.common.enums.RpcTypeEnum;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.plugin.SoulPlugin;
+import org.dromara.soul.web.plugin.SoulPluginChain;
+import org.dromara.soul.web.request.RequestDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Trace plugin.
+ * the first plugin of the chain, it takes the W3C traceparent of the caller or starts a trace, and
+ * puts the gateway span on the exchange for the http and dubbo plugins to send downstream. The span
+ * is reported when the caller sampled it or the head sampling picks it, or at the end when the
+ * request failed or was slow.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class TracePlugin implements SoulPlugin {
+
+    private static final String SPAN_NAME = "soul-gateway";
+
+    private final TraceReporter traceReporter;
+
+    private final double headSampleRate;
+
+    private final long tailSlowNanos;
+
+    private final boolean tailErrors;
+
+    /**
+     * Instantiates a new Trace plugin.
+     *
+     * @param trace         the trace config
+     * @param traceReporter the trace reporter
+     */
+    public TracePlugin(final SoulConfig.Trace trace, final TraceReporter traceReporter) {
+        this.traceReporter = traceReporter;
+        this.headSampleRate = trace.getHeadSampleRate();
+        this.tailSlowNanos = TimeUnit.MILLISECONDS.toNanos(trace.getTailSlowThreshold());
+        this.tailErrors = trace.getTailErrors();
+    }
+
+    @Override
+    public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
+        final long startMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        final long startNanos = System.nanoTime();
+        final TraceContext parent = TraceContext.parse(exchange.getRequest().getHeaders().getFirst(TraceContext.TRACEPARENT));
+        final TraceContext context = parent != null ? parent
+                : TraceContext.root(headSampleRate > 0D && ThreadLocalRandom.current().nextDouble() < headSampleRate);
+        exchange.getAttributes().put(Constants.TRACE_CONTEXT, context);
+        return chain.execute(exchange)
+                .doOnSuccess(v -> finish(exchange, context, startMicros, startNanos, null))
+                .doOnError(e -> finish(exchange, context, startMicros, startNanos, e.getClass().getName()))
+                .doOnCancel(() -> finish(exchange, context, startMicros, startNanos, "cancelled"));
+    }
+
+    private void finish(final ServerWebExchange exchange, final TraceContext context,
+                        final long startMicros, final long startNanos, final String error) {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        final HttpStatus httpStatus = exchange.getResponse().getStatusCode();
+        final int status = httpStatus == null ? HttpStatus.OK.value() : httpStatus.value();
+        final boolean failed = error != null || status >= HttpStatus.INTERNAL_SERVER_ERROR.value()
+                || Objects.equals(exchange.getAttribute(Constants.CLIENT_RESPONSE_RESULT_TYPE), ResultEnum.ERROR.getName());
+        final String sampling;
+        if (context.isSampled()) {
+            sampling = "head";
+        } else if ((tailErrors && failed) || elapsedNanos >= tailSlowNanos) {
+            sampling = "tail";
+        } else {
+            return;
+        }
+        final TraceSpan span = new TraceSpan();
+        span.setTraceId(context.getTraceId());
+        span.setSpanId(context.getSpanId());
+        span.setParentSpanId(context.getParentSpanId());
+        span.setName(SPAN_NAME);
+        span.setStartMicros(startMicros);
+        span.setDurationMicros(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        span.setMethod(exchange.getRequest().getMethodValue());
+        span.setPath(exchange.getRequest().getURI().getRawPath());
+        span.setStatus(status);
+        span.setError(error);
+        span.setSampling(sampling);
+        final RequestDTO requestDTO = exchange.getAttribute(Constants.REQUESTDTO);
+        if (requestDTO != null) {
+            span.setRpcType(requestDTO.getRpcType());
+            span.setModule(requestDTO.getModule());
+            if (Objects.equals(requestDTO.getRpcType(), RpcTypeEnum.DUBBO.getName()) && requestDTO.getMetaData() != null) {
+                span.setUpstream(requestDTO.getMetaData().getServiceName());
+            }
+        }
+        if (span.getUpstream() == null) {
+            span.setUpstream(exchange.getAttribute(Constants.HTTP_URL));
+        }
+        traceReporter.report(span);
+    }
+
+    @Override
+    public PluginTypeEnum pluginType() {
+        return PluginTypeEnum.BEFORE;
+    }
+
+    @Override
+    public int getOrder() {
+        return PluginEnum.TRACE.getCode();
+    }
+
+    @Override
+    public String named() {
+        return PluginEnum.TRACE.getName();
+    }
+}
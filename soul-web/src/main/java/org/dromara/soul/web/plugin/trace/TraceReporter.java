@@ -0,0 +1,156 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.trace;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.IgnoreExceptionHandler;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.common.utils.LogUtils;
+import org.dromara.soul.web.config.SoulConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Trace reporter.
+ * hands the kept spans to the exporter in batches on a single thread. Reporting never blocks the
+ * request, when the ring is full the span is dropped and counted.
+ *
+ * @author xiaoyu(Myth)
+ */
+public class TraceReporter implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TraceReporter.class);
+
+    private static final EventTranslatorOneArg<SpanEvent, TraceSpan> TRANSLATOR = (event, sequence, span) -> event.span = span;
+
+    private final SoulConfig.Trace config;
+
+    private final SpanExporter exporter;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private Disruptor<SpanEvent> disruptor;
+
+    /**
+     * Instantiates a new Trace reporter.
+     *
+     * @param config   the trace config
+     * @param exporter the exporter
+     */
+    public TraceReporter(final SoulConfig.Trace config, final SpanExporter exporter) {
+        this.config = config;
+        this.exporter = exporter;
+    }
+
+    /**
+     * Report a span, without blocking.
+     *
+     * @param span the span
+     * @return false when the ring was full and the span dropped
+     */
+    public boolean report(final TraceSpan span) {
+        if (disruptor.getRingBuffer().tryPublishEvent(TRANSLATOR, span)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Spans dropped because the ring was full.
+     *
+     * @return the long
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Spans lost because the exporter failed.
+     *
+     * @return the long
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        disruptor = new Disruptor<>(SpanEvent::new, config.getBufferSize(),
+                SoulThreadFactory.create("trace-reporter", true),
+                ProducerType.MULTI,
+                new SleepingWaitStrategy());
+        disruptor.handleEventsWith(new SpanBatcher(config.getBatchSize()));
+        disruptor.setDefaultExceptionHandler(new IgnoreExceptionHandler());
+        disruptor.start();
+    }
+
+    @Override
+    public void destroy() {
+        if (disruptor != null) {
+            disruptor.shutdown();
+        }
+        exporter.close();
+    }
+
+    private static final class SpanEvent {
+
+        private TraceSpan span;
+    }
+
+    private final class SpanBatcher implements EventHandler<SpanEvent> {
+
+        private final int batchSize;
+
+        private final List<TraceSpan> batch;
+
+        private SpanBatcher(final int batchSize) {
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void onEvent(final SpanEvent event, final long sequence, final boolean endOfBatch) {
+            batch.add(event.span);
+            event.span = null;
+            if (endOfBatch || batch.size() >= batchSize) {
+                try {
+                    exporter.export(batch);
+                } catch (Exception e) {
+                    failed.add(batch.size());
+                    LogUtils.error(LOGGER, "export trace spans error:{}", e::getMessage);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.trace;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * The type Trace span.
+ * the gateway span of a request, built only when the request is kept by head or tail sampling.
+ *
+ * @author xiaoyu(Myth)
+ */
+@Data
+public class TraceSpan implements Serializable {
+
+    private static final long serialVersionUID = 2466127398745012371L;
+
+    private String traceId;
+
+    private String spanId;
+
+    private String parentSpanId;
+
+    private String name;
+
+    private long startMicros;
+
+    private long durationMicros;
+
+    private String method;
+
+    private String path;
+
+    private String rpcType;
+
+    private String module;
+
+    private String upstream;
+
+    private int status;
+
+    private String error;
+
+    private String sampling;
+}
@@ -107,6 +107,11 @@ public class RequestDTO implements Serializable {
      */
     private LocalDateTime startDateTime;
 
+    /**
+     * startNanos, monotonic, for measuring the elapsed time.
+     */
+    private long startNanos;
+
     /**
      * Transform map request dto.
      *
@@ -56,6 +56,11 @@ public enum SoulResultEnum {
      */
     TOO_MANY_REQUESTS(429, "您已经被限流，请稍后重试!"),
 
+    /**
+     * Service unavailable soul result enum.
+     */
+    SERVICE_UNAVAILABLE(503, "服务繁忙，请稍后重试!"),
+
     /**
      * full selector type enum.
      */
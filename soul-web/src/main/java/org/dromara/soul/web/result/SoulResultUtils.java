@@ -19,19 +19,30 @@
 
 package org.dromara.soul.web.result;
 
+import org.dromara.soul.common.exception.SoulException;
 import org.dromara.soul.common.utils.JsonUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Objects;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The type Soul result utils.
+ * Results are serialized straight into a pooled response buffer, static error bodies are encoded once.
  *
  * @author xiaoyu
  */
 public final class SoulResultUtils {
 
+    private static final Map<SoulResultEnum, byte[]> ERROR_BODIES = new ConcurrentHashMap<>(SoulResultEnum.values().length);
+
     /**
      * Error mono.
      *
@@ -40,7 +51,45 @@ public final class SoulResultUtils {
      * @return the mono
      */
     public static Mono<Void> result(final ServerWebExchange exchange, final Object result) {
-        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse()
-                .bufferFactory().wrap(Objects.requireNonNull(JsonUtils.toJson(result)).getBytes())));
+        return exchange.getResponse().writeWith(Mono.fromSupplier(() -> encode(exchange.getResponse().bufferFactory(), result)));
+    }
+
+    /**
+     * Write the preencoded error body of the result enum.
+     *
+     * @param exchange   the exchange
+     * @param resultEnum the result enum
+     * @return the mono
+     */
+    public static Mono<Void> error(final ServerWebExchange exchange, final SoulResultEnum resultEnum) {
+        byte[] body = ERROR_BODIES.computeIfAbsent(resultEnum,
+                e -> encode(SoulResultWarp.error(e.getCode(), e.getMsg(), null)));
+        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+    }
+
+    private static DataBuffer encode(final DataBufferFactory bufferFactory, final Object result) {
+        DataBuffer buffer = bufferFactory.allocateBuffer();
+        boolean release = true;
+        try (OutputStream out = buffer.asOutputStream()) {
+            JsonUtils.writeWithoutClass(out, result);
+            release = false;
+            return buffer;
+        } catch (IOException e) {
+            throw new SoulException(e);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    private static byte[] encode(final Object result) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try {
+            JsonUtils.writeWithoutClass(out, result);
+        } catch (IOException e) {
+            throw new SoulException(e);
+        }
+        return out.toByteArray();
     }
 }
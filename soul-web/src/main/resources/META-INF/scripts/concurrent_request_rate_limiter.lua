@@ -1,14 +1,21 @@
 local key = KEYS[1]
 
 local capacity = tonumber(ARGV[1])
+-- timestamp is in milliseconds
 local timestamp = tonumber(ARGV[2])
 local id = ARGV[3]
+-- slots older than the timeout were leaked by a lost release
+local timeout = tonumber(ARGV[4])
 
-local count = redis.call("zcard", key)
-local allowed = count < capacity
+redis.call("zremrangebyscore", key, "-inf", timestamp - timeout)
 
-if allowed then
+local count = redis.call("zcard", key)
+local allowed = 0
+if count < capacity then
   redis.call("zadd", key, timestamp, id)
+  allowed = 1
+  count = count + 1
 end
-redis.call("setex", key, timestamp)
-return { allowed, count }
\ No newline at end of file
+redis.call("pexpire", key, timeout)
+
+return { allowed, capacity - count }
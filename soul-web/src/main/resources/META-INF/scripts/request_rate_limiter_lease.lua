@@ -0,0 +1,37 @@
+local tokens_key = KEYS[1]
+local timestamp_key = KEYS[2]
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+-- now is in milliseconds
+local now = tonumber(ARGV[3])
+-- the tokens to lease, a negative value gives unused tokens back
+local requested = tonumber(ARGV[4])
+
+local fill_time = capacity/rate
+local ttl = math.max(1, math.floor(fill_time*2))
+
+local last_tokens = tonumber(redis.call("get", tokens_key))
+if last_tokens == nil then
+  last_tokens = capacity
+end
+
+local last_refreshed = tonumber(redis.call("get", timestamp_key))
+if last_refreshed == nil then
+  last_refreshed = 0
+end
+
+local delta = math.max(0, now-last_refreshed)/1000
+local filled_tokens = math.min(capacity, last_tokens+(delta*rate))
+local granted = 0
+if requested < 0 then
+  filled_tokens = math.min(capacity, filled_tokens-requested)
+else
+  granted = math.min(requested, math.floor(filled_tokens))
+  filled_tokens = filled_tokens - granted
+end
+
+redis.call("setex", tokens_key, ttl, filled_tokens)
+redis.call("setex", timestamp_key, ttl, now)
+
+return { granted, math.floor(filled_tokens) }
@@ -0,0 +1,79 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.disruptor.publisher;
+
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.disruptor.sink.MemorySink;
+import org.dromara.soul.web.influxdb.entity.MonitorDO;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Soul event publisher test.
+ *
+ * @author xiaoyu
+ */
+public class SoulEventPublisherTest {
+
+    private final MemorySink sink = new MemorySink();
+
+    private SoulEventPublisher publisher;
+
+    /**
+     * Starts a publisher writing to memory.
+     */
+    @Before
+    public void setUp() {
+        publisher = new SoulEventPublisher(Collections.singletonList(sink), new SoulConfig.Disruptor());
+        publisher.afterPropertiesSet();
+    }
+
+    /**
+     * Stops the disruptor.
+     */
+    @After
+    public void tearDown() {
+        publisher.destroy();
+    }
+
+    /**
+     * Every published row reaches the sink, in fewer batches than rows.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void testPublishInBatches() throws InterruptedException {
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(publisher.tryPublish(MonitorDO.builder().module("m").count((long) i).build()));
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (publisher.written() < 1000 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1000, sink.getWritten().size());
+        Assert.assertEquals(1000L, publisher.published());
+        Assert.assertEquals(0L, publisher.dropped());
+        Assert.assertTrue(sink.getBatches() < 1000);
+    }
+}
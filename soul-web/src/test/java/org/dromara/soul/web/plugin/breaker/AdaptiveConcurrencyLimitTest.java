@@ -0,0 +1,109 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.breaker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Adaptive concurrency limit test.
+ *
+ * @author xiaoyu
+ */
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * A steady latency at full concurrency grows the limit up to the max.
+     */
+    @Test
+    public void testGrowsToMax() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100);
+        Assert.assertEquals(20, limit.getLimit());
+        feed(limit, RTT, 10);
+        final int grown = limit.getLimit();
+        Assert.assertTrue(grown > 20);
+        feed(limit, RTT, 500);
+        Assert.assertEquals(100, limit.getLimit());
+    }
+
+    /**
+     * Samples at low concurrency say nothing about the limit and leave it as is.
+     */
+    @Test
+    public void testLowConcurrencyIgnored() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, 1, false);
+        }
+        Assert.assertEquals(20, limit.getLimit());
+    }
+
+    /**
+     * A latency well above the long term average shrinks the limit.
+     */
+    @Test
+    public void testShrinksOnRisingLatency() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100);
+        feed(limit, RTT, 100);
+        final int before = limit.getLimit();
+        feed(limit, RTT * 5, 10);
+        Assert.assertTrue(limit.getLimit() < before);
+    }
+
+    /**
+     * Timeouts back off down to the min limit.
+     */
+    @Test
+    public void testBacksOffOnTimeouts() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100);
+        int previous = limit.getLimit();
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT, limit.getLimit(), true);
+            Assert.assertTrue(limit.getLimit() <= previous);
+            previous = limit.getLimit();
+        }
+        Assert.assertTrue(limit.getLimit() < 20);
+        for (int i = 0; i < 500; i++) {
+            limit.onSample(RTT, limit.getLimit(), true);
+        }
+        Assert.assertEquals(4, limit.getLimit());
+    }
+
+    /**
+     * A lowered max caps the limit right away.
+     */
+    @Test
+    public void testMaxLimitLowered() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100);
+        feed(limit, RTT, 200);
+        limit.setMaxLimit(30);
+        Assert.assertEquals(30, limit.getLimit());
+        Assert.assertEquals(10, new AdaptiveConcurrencyLimit(10).getLimit());
+    }
+
+    private static void feed(final AdaptiveConcurrencyLimit limit, final long rtt, final int samples) {
+        for (int i = 0; i < samples; i++) {
+            limit.onSample(rtt, limit.getLimit(), false);
+        }
+    }
+}
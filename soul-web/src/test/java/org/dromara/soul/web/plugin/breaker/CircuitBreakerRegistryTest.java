@@ -0,0 +1,95 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.breaker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dromara.soul.common.dto.convert.HystrixHandle;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Circuit breaker registry test.
+ *
+ * @author xiaoyu
+ */
+public class CircuitBreakerRegistryTest {
+
+    private final AtomicLong clock = new AtomicLong(100_000L);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CircuitBreakerRegistry registry;
+
+    /**
+     * Sets up a registry dropping breakers unused for ten seconds.
+     */
+    @Before
+    public void setUp() {
+        registry = new CircuitBreakerRegistry(10_000L, clock::get);
+        registry.bindTo(meterRegistry);
+    }
+
+    /**
+     * Every breaker gets its meters, tagged by name.
+     */
+    @Test
+    public void testMeters() {
+        final CircuitBreaker breaker = registry.get(handle("a"));
+        breaker.run(Mono.error(new IllegalStateException()), e -> Mono.just("fallback")).block();
+
+        Assert.assertEquals(0D, meterRegistry.get("soul.breaker.state").tag("breaker", "group:a").gauge().value(), 0D);
+        Assert.assertEquals(0D, meterRegistry.get("soul.breaker.in.flight").tag("breaker", "group:a").gauge().value(), 0D);
+        Assert.assertNotNull(meterRegistry.find("soul.breaker.short.circuited").tag("breaker", "group:a").functionCounter());
+        Assert.assertNotNull(meterRegistry.find("soul.breaker.rejected").tag("breaker", "group:a").functionCounter());
+        Assert.assertNotNull(meterRegistry.find("soul.breaker.timeouts").tag("breaker", "group:a").functionCounter());
+    }
+
+    /**
+     * A breaker no request used for the idle time is dropped with its meters, a used one is kept.
+     */
+    @Test
+    public void testIdleBreakerRemoved() {
+        final CircuitBreaker deleted = registry.get(handle("deleted"));
+        final CircuitBreaker live = registry.get(handle("live"));
+        Assert.assertSame(live, registry.get(handle("live")));
+
+        clock.addAndGet(6_000L);
+        registry.get(handle("live"));
+        clock.addAndGet(6_000L);
+        Assert.assertSame(live, registry.get(handle("live")));
+
+        Assert.assertFalse(registry.metrics().containsKey("group:deleted"));
+        Assert.assertTrue(registry.metrics().containsKey("group:live"));
+        Assert.assertNull(meterRegistry.find("soul.breaker.state").tag("breaker", "group:deleted").gauge());
+        Assert.assertNotNull(meterRegistry.find("soul.breaker.state").tag("breaker", "group:live").gauge());
+        Assert.assertNotSame(deleted, registry.get(handle("deleted")));
+        Assert.assertNotNull(meterRegistry.find("soul.breaker.state").tag("breaker", "group:deleted").gauge());
+    }
+
+    private static HystrixHandle handle(final String commandKey) {
+        final HystrixHandle handle = new HystrixHandle();
+        handle.setGroupKey("group");
+        handle.setCommandKey(commandKey);
+        return handle;
+    }
+}
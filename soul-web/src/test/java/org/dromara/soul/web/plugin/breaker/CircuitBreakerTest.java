@@ -0,0 +1,92 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.breaker;
+
+import org.dromara.soul.common.dto.convert.HystrixHandle;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Circuit breaker test.
+ *
+ * @author xiaoyu
+ */
+public class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(100_000L);
+
+    private CircuitBreaker breaker;
+
+    /**
+     * Sets up a breaker that opens at half errors out of four calls.
+     */
+    @Before
+    public void setUp() {
+        HystrixHandle handle = new HystrixHandle();
+        handle.setRequestVolumeThreshold(4);
+        handle.setErrorThresholdPercentage(50);
+        handle.setSleepWindowInMilliseconds(1000);
+        handle.setMaxConcurrentRequests(10);
+        breaker = new CircuitBreaker("test", clock::get);
+        breaker.configure(handle);
+    }
+
+    /**
+     * Opens on errors, then closes after a successful trial.
+     */
+    @Test
+    public void testOpenAndRecover() {
+        Assert.assertEquals("ok", call(Mono.just("ok")));
+        Assert.assertEquals("ok", call(Mono.just("ok")));
+        Assert.assertEquals("fallback", call(Mono.error(new IllegalStateException())));
+        Assert.assertFalse(breaker.isOpen());
+        Assert.assertEquals("fallback", call(Mono.error(new IllegalStateException())));
+        Assert.assertTrue(breaker.isOpen());
+
+        Assert.assertEquals("fallback", call(Mono.just("ok")));
+        Assert.assertEquals(1L, breaker.metrics().getShortCircuited());
+
+        clock.addAndGet(1000L);
+        Assert.assertEquals("ok", call(Mono.just("ok")));
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, breaker.metrics().getState());
+    }
+
+    /**
+     * A failed trial keeps the circuit open.
+     */
+    @Test
+    public void testFailedTrial() {
+        for (int i = 0; i < 4; i++) {
+            call(Mono.error(new IllegalStateException()));
+        }
+        Assert.assertTrue(breaker.isOpen());
+        clock.addAndGet(1000L);
+        Assert.assertEquals("fallback", call(Mono.error(new IllegalStateException())));
+        Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.metrics().getState());
+        Assert.assertEquals("fallback", call(Mono.just("ok")));
+    }
+
+    private String call(final Mono<String> mono) {
+        return breaker.run(mono, e -> Mono.just("fallback")).block();
+    }
+}
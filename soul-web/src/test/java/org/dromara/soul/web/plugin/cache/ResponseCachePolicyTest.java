@@ -0,0 +1,158 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The type Response cache policy test.
+ *
+ * @author xiaoyu
+ */
+public class ResponseCachePolicyTest {
+
+    /**
+     * Only plain GET and HEAD requests are answered from the cache.
+     */
+    @Test
+    public void testIsCacheable() {
+        Assert.assertTrue(ResponseCachePolicy.isCacheable(MockServerHttpRequest.get("/a").build()));
+        Assert.assertTrue(ResponseCachePolicy.isCacheable(MockServerHttpRequest.head("/a").build()));
+        Assert.assertFalse(ResponseCachePolicy.isCacheable(MockServerHttpRequest.post("/a").build()));
+        Assert.assertFalse(ResponseCachePolicy.isCacheable(MockServerHttpRequest.get("/a")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache").build()));
+        Assert.assertFalse(ResponseCachePolicy.isCacheable(MockServerHttpRequest.get("/a")
+                .header(HttpHeaders.CACHE_CONTROL, "no-store").build()));
+    }
+
+    /**
+     * Credentialed requests are never shared.
+     */
+    @Test
+    public void testCredentialedRefused() {
+        Assert.assertFalse(ResponseCachePolicy.isCacheable(MockServerHttpRequest.get("/a")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token").build()));
+        Assert.assertFalse(ResponseCachePolicy.isCacheable(MockServerHttpRequest.get("/a")
+                .header(HttpHeaders.COOKIE, "session=1").build()));
+    }
+
+    /**
+     * The key holds the method, path, query, Accept-Encoding and the rule vary headers.
+     */
+    @Test
+    public void testKey() {
+        final List<String> vary = Collections.singletonList("X-Tenant");
+        final String key = ResponseCachePolicy.key(MockServerHttpRequest.get("/a?b=1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").header("X-Tenant", "t1").build(), vary);
+        Assert.assertEquals("GET /a?b=1\ngzip\nx-tenant:t1", key);
+        Assert.assertNotEquals(key, ResponseCachePolicy.key(MockServerHttpRequest.get("/a?b=1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").header("X-Tenant", "t2").build(), vary));
+        Assert.assertNotEquals(key, ResponseCachePolicy.key(MockServerHttpRequest.get("/a?b=1")
+                .header("X-Tenant", "t1").build(), vary));
+        Assert.assertNotEquals(key, ResponseCachePolicy.key(MockServerHttpRequest.head("/a?b=1")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").header("X-Tenant", "t1").build(), vary));
+    }
+
+    /**
+     * The response Vary headers extend the base key with the request values.
+     */
+    @Test
+    public void testVaryKey() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.VARY, "Accept-Language, Origin");
+        headers.add(HttpHeaders.VARY, "origin");
+        final List<String> vary = ResponseCachePolicy.vary(headers);
+        Assert.assertEquals(Arrays.asList("accept-language", "origin"), vary);
+
+        final MockServerHttpRequest en = MockServerHttpRequest.get("/a").header(HttpHeaders.ACCEPT_LANGUAGE, "en").build();
+        final MockServerHttpRequest fr = MockServerHttpRequest.get("/a").header(HttpHeaders.ACCEPT_LANGUAGE, "fr").build();
+        final String base = ResponseCachePolicy.key(en, null);
+        Assert.assertEquals(base, ResponseCachePolicy.key(fr, null));
+        Assert.assertNotEquals(ResponseCachePolicy.key(base, en, vary), ResponseCachePolicy.key(base, fr, vary));
+        Assert.assertEquals(base, ResponseCachePolicy.key(base, en, Collections.emptyList()));
+        Assert.assertEquals(base, ResponseCachePolicy.key(base, en, null));
+    }
+
+    /**
+     * A response with Vary: * is never stored.
+     */
+    @Test
+    public void testVaryAnyNotStored() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=60");
+        headers.add(HttpHeaders.VARY, "Accept-Language, *");
+        Assert.assertEquals(-1L, ResponseCachePolicy.freshMillis(headers, 10));
+    }
+
+    /**
+     * Freshness comes from s-maxage, max-age, Expires and finally the rule ttl.
+     */
+    @Test
+    public void testFreshMillis() {
+        Assert.assertEquals(30_000L, ResponseCachePolicy.freshMillis(cacheControl("max-age=60, s-maxage=30"), 10));
+        Assert.assertEquals(60_000L, ResponseCachePolicy.freshMillis(cacheControl("public, max-age=60"), 10));
+        Assert.assertEquals(10_000L, ResponseCachePolicy.freshMillis(new HttpHeaders(), 10));
+        Assert.assertEquals(10_000L, ResponseCachePolicy.freshMillis(cacheControl("max-age=abc"), 10));
+
+        final HttpHeaders expires = new HttpHeaders();
+        expires.setDate(1_000_000L);
+        expires.setExpires(1_020_000L);
+        Assert.assertEquals(20_000L, ResponseCachePolicy.freshMillis(expires, 10));
+        expires.setExpires(900_000L);
+        Assert.assertEquals(0L, ResponseCachePolicy.freshMillis(expires, 10));
+    }
+
+    /**
+     * Private and uncacheable responses are refused.
+     */
+    @Test
+    public void testPrivateRefused() {
+        Assert.assertEquals(-1L, ResponseCachePolicy.freshMillis(cacheControl("private, max-age=60"), 10));
+        Assert.assertEquals(-1L, ResponseCachePolicy.freshMillis(cacheControl("no-store"), 10));
+        Assert.assertEquals(-1L, ResponseCachePolicy.freshMillis(cacheControl("No-Cache"), 10));
+    }
+
+    /**
+     * The stale-while-revalidate directive wins over the rule default.
+     */
+    @Test
+    public void testStaleWhileRevalidate() {
+        Assert.assertEquals(5_000L, ResponseCachePolicy.staleMillis(cacheControl("max-age=60, stale-while-revalidate=5"), 30));
+        Assert.assertEquals(30_000L, ResponseCachePolicy.staleMillis(cacheControl("max-age=60"), 30));
+
+        final CachedResponse cached = CachedResponse.onHeap(200, new HttpHeaders(), new byte[0], 0L, 1_000L, 6_000L);
+        Assert.assertTrue(cached.isFresh(999L));
+        Assert.assertFalse(cached.isFresh(1_000L));
+        Assert.assertTrue(cached.isServableStale(5_999L));
+        Assert.assertFalse(cached.isServableStale(6_000L));
+    }
+
+    private static HttpHeaders cacheControl(final String value) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(value);
+        return headers;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.compress;
+
+import org.dromara.soul.web.config.SoulConfig;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The type Compressing response decorator test.
+ *
+ * @author xiaoyu
+ */
+public class CompressingResponseDecoratorTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final SoulConfig.Compress config = new SoulConfig.Compress();
+
+    private final List<MediaType> mediaTypes = config.getMimeTypes().stream().map(MediaType::parseMediaType).collect(Collectors.toList());
+
+    private CompressionMetrics metrics;
+
+    private MockServerHttpResponse response;
+
+    /**
+     * Sets up.
+     */
+    @Before
+    public void setUp() {
+        metrics = new CompressionMetrics();
+        response = new MockServerHttpResponse();
+    }
+
+    /**
+     * A gzip body inflates back to the original and the headers announce it.
+     */
+    @Test
+    public void testGzipRoundTrip() throws IOException {
+        final byte[] body = body(8192);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+
+        write(decorator(CompressPlugin.GZIP, true), body);
+
+        Assert.assertEquals(CompressPlugin.GZIP, response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assert.assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        Assert.assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        final byte[] compressed = responseBytes();
+        Assert.assertTrue(compressed.length < body.length);
+        Assert.assertArrayEquals(body, read(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+        Assert.assertEquals(1L, metrics.compressed());
+        Assert.assertTrue(metrics.compressionRatio() > 0D && metrics.compressionRatio() < 1D);
+        Assert.assertTrue(metrics.nanosPerByte() > 0D);
+    }
+
+    /**
+     * A deflate body inflates back to the original, split over several buffers.
+     */
+    @Test
+    public void testDeflateRoundTrip() throws IOException {
+        final byte[] body = body(8192);
+        response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+
+        decorator(CompressPlugin.DEFLATE, false).writeWith(Flux.just(
+                response.bufferFactory().wrap(Arrays.copyOfRange(body, 0, 3000)),
+                response.bufferFactory().wrap(Arrays.copyOfRange(body, 3000, body.length)))).block(WAIT);
+
+        Assert.assertEquals(CompressPlugin.DEFLATE, response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assert.assertArrayEquals(body, read(new InflaterInputStream(new ByteArrayInputStream(responseBytes()))));
+    }
+
+    /**
+     * A body the upstream encoded already is sent as is.
+     */
+    @Test
+    public void testAlreadyEncodedSkipped() {
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "br");
+
+        assertSkipped();
+    }
+
+    /**
+     * A body below the min response size is sent as is.
+     */
+    @Test
+    public void testSmallBodySkipped() {
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(config.getMinResponseSize() - 1);
+
+        assertSkipped();
+    }
+
+    /**
+     * A media type outside the configured ones is sent as is.
+     */
+    @Test
+    public void testMimeTypeSkipped() {
+        response.getHeaders().setContentType(MediaType.IMAGE_PNG);
+
+        assertSkipped();
+    }
+
+    /**
+     * No content and not modified responses are sent as is.
+     */
+    @Test
+    public void testBodilessStatusSkipped() {
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.setStatusCode(HttpStatus.NO_CONTENT);
+        assertSkipped();
+
+        setUp();
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        assertSkipped();
+    }
+
+    /**
+     * HEAD requests and requests without Accept-Encoding are passed on undecorated.
+     */
+    @Test
+    public void testPluginSkipsHead() {
+        final CompressPlugin plugin = new CompressPlugin(config);
+        final MockServerWebExchange head = MockServerWebExchange.from(MockServerHttpRequest.head("/a")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").build());
+        plugin.execute(head, exchange -> {
+            Assert.assertSame(head.getResponse(), exchange.getResponse());
+            return Mono.empty();
+        }).block(WAIT);
+
+        final MockServerWebExchange plain = MockServerWebExchange.from(MockServerHttpRequest.get("/a").build());
+        plugin.execute(plain, exchange -> {
+            Assert.assertSame(plain.getResponse(), exchange.getResponse());
+            return Mono.empty();
+        }).block(WAIT);
+
+        final MockServerWebExchange get = MockServerWebExchange.from(MockServerHttpRequest.get("/a")
+                .header(HttpHeaders.ACCEPT_ENCODING, "deflate;q=0.5, gzip;q=0.8").build());
+        plugin.execute(get, exchange -> {
+            Assert.assertTrue(exchange.getResponse() instanceof CompressingResponseDecorator);
+            return Mono.empty();
+        }).block(WAIT);
+    }
+
+    private void assertSkipped() {
+        final byte[] body = body(4096);
+        write(decorator(CompressPlugin.GZIP, true), body);
+        Assert.assertNotEquals(CompressPlugin.GZIP, response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assert.assertArrayEquals(body, responseBytes());
+        Assert.assertEquals(0L, metrics.compressed());
+        Assert.assertEquals(1L, metrics.skipped());
+    }
+
+    private ServerHttpResponse decorator(final String encoding, final boolean gzip) {
+        return new CompressingResponseDecorator(response, encoding, new DeflaterPool(config.getLevel(), gzip, 1),
+                mediaTypes, config.getMinResponseSize(), metrics);
+    }
+
+    private void write(final ServerHttpResponse decorator, final byte[] body) {
+        decorator.writeWith(Mono.just(response.bufferFactory().wrap(body))).block(WAIT);
+    }
+
+    private byte[] responseBytes() {
+        final DataBuffer joined = DataBufferUtils.join(response.getBody()).block(WAIT);
+        Assert.assertNotNull(joined);
+        final byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        return bytes;
+    }
+
+    private static byte[] body(final int size) {
+        final StringBuilder builder = new StringBuilder(size);
+        while (builder.length() < size) {
+            builder.append("{\"name\":\"soul\",\"value\":").append(builder.length()).append('}');
+        }
+        return builder.substring(0, size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[1024];
+        int read;
+        while ((read = in.read(chunk)) > 0) {
+            out.write(chunk, 0, read);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.dubbo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The type Generic param codec test.
+ *
+ * @author xiaoyu
+ */
+public class GenericParamCodecTest {
+
+    /**
+     * Test single pojo param.
+     */
+    @Test
+    public void testSinglePojo() {
+        GenericParamCodec codec = GenericParamCodec.compile("org.dromara.soul.test.dubbo.api.entity.DubboTest");
+        Object[] args = codec.decode("{\"id\":\"xxx\",\"name\":\"xiaoyu\",\"age\":18}");
+        Assert.assertArrayEquals(new String[]{"org.dromara.soul.test.dubbo.api.entity.DubboTest"}, codec.getTypes());
+        Map<?, ?> pojo = (Map<?, ?>) args[0];
+        Assert.assertEquals("xiaoyu", pojo.get("name"));
+        Assert.assertEquals(18L, pojo.get("age"));
+    }
+
+    /**
+     * Test positional multi args.
+     */
+    @Test
+    public void testPositional() {
+        GenericParamCodec codec = GenericParamCodec.compile("java.lang.String,int,java.util.List");
+        Object[] args = codec.decode("[\"666\", 1, [1, 2]]");
+        Assert.assertEquals("666", args[0]);
+        Assert.assertEquals(1, args[1]);
+        Assert.assertEquals(2, ((List<?>) args[2]).size());
+    }
+
+    /**
+     * Test named multi args and primitive defaults.
+     */
+    @Test
+    public void testNamed() {
+        GenericParamCodec codec = GenericParamCodec.compile("java.lang.String id, long count, boolean flag");
+        Object[] args = codec.decode("{\"id\":\"666\",\"unknown\":{\"a\":1}}");
+        Assert.assertArrayEquals(new String[]{"java.lang.String", "long", "boolean"}, codec.getTypes());
+        Assert.assertEquals("666", args[0]);
+        Assert.assertEquals(0L, args[1]);
+        Assert.assertEquals(Boolean.FALSE, args[2]);
+    }
+}
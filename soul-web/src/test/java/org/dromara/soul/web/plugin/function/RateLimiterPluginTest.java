@@ -0,0 +1,105 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.function;
+
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.web.cache.LocalCacheManager;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.plugin.ratelimter.ConcurrentPermit;
+import org.dromara.soul.web.plugin.ratelimter.LocalConcurrentLimiter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * The type Rate limiter plugin test.
+ * the concurrent modes must give the slot back however the rest of the chain ends.
+ *
+ * @author xiaoyu
+ */
+public class RateLimiterPluginTest {
+
+    private static final String HANDLE = "{\"mode\":\"localConcurrent\",\"burstCapacity\":1}";
+
+    private final RuleData rule = new RuleData().setId("rule").setHandle(HANDLE);
+
+    private LocalConcurrentLimiter limiter;
+
+    private RateLimiterPlugin plugin;
+
+    /**
+     * Sets up.
+     */
+    @Before
+    public void setUp() {
+        limiter = new LocalConcurrentLimiter(new SoulConfig.RateLimiter());
+        plugin = new RateLimiterPlugin(Mockito.mock(LocalCacheManager.class), null, null, null, null, limiter, null);
+    }
+
+    /**
+     * The slot is released when the chain completes.
+     */
+    @Test
+    public void testReleaseOnComplete() {
+        plugin.doExecute(exchange(), exchange -> Mono.empty(), null, rule).block();
+        Assert.assertTrue(free());
+    }
+
+    /**
+     * The slot is released when the chain fails.
+     */
+    @Test
+    public void testReleaseOnError() {
+        plugin.doExecute(exchange(), exchange -> Mono.error(new IllegalStateException("upstream")), null, rule)
+                .onErrorResume(e -> Mono.empty())
+                .block();
+        Assert.assertTrue(free());
+    }
+
+    /**
+     * The slot is held while the request runs and released when it is cancelled.
+     */
+    @Test
+    public void testReleaseOnCancel() {
+        final Disposable request = plugin.doExecute(exchange(), exchange -> Mono.never(), null, rule).subscribe();
+        Assert.assertFalse(free());
+        final ServerWebExchange refused = exchange();
+        plugin.doExecute(refused, exchange -> Mono.empty(), null, rule).block();
+        Assert.assertEquals(HttpStatus.TOO_MANY_REQUESTS, refused.getResponse().getStatusCode());
+        request.dispose();
+        Assert.assertTrue(free());
+    }
+
+    private boolean free() {
+        final ConcurrentPermit permit = limiter.acquire("rule", 1).block();
+        permit.release();
+        return permit.isAllowed();
+    }
+
+    private static ServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/").build());
+    }
+}
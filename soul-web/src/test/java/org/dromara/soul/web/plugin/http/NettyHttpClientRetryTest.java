@@ -0,0 +1,170 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.web.config.HttpClientProperties;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.metrics.GatewayMetrics;
+import org.dromara.soul.web.plugin.http.http2.Http2ConnectionPool;
+import org.dromara.soul.web.plugin.http.retry.HttpRetryPolicy;
+import org.dromara.soul.web.plugin.http.retry.UpstreamFailover;
+import org.dromara.soul.web.request.RequestDTO;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Netty http client retry test.
+ *
+ * @author xiaoyu
+ */
+public class NettyHttpClientRetryTest {
+
+    private final List<DisposableServer> servers = new ArrayList<>();
+
+    private final AtomicInteger okHits = new AtomicInteger();
+
+    private final AtomicInteger unavailableHits = new AtomicInteger();
+
+    private String ok;
+
+    private String unavailable;
+
+    private String refused;
+
+    private Http2ConnectionPool http2ConnectionPool;
+
+    private HttpRetryPolicy retryPolicy;
+
+    private NettyHttpClientPlugin plugin;
+
+    /**
+     * Starts an upstream answering 200, one answering 503 and finds a port nobody listens on.
+     */
+    @Before
+    public void setUp() {
+        ok = start(200, okHits);
+        unavailable = start(503, unavailableHits);
+        DisposableServer closed = HttpServer.create().host("127.0.0.1").port(0)
+                .handle((req, res) -> res.send()).bindNow();
+        refused = "127.0.0.1:" + closed.port();
+        closed.disposeNow();
+        http2ConnectionPool = new Http2ConnectionPool(new HttpClientProperties());
+        retryPolicy = new HttpRetryPolicy(new SoulConfig.Retry());
+        plugin = new NettyHttpClientPlugin(HttpClient.create(), http2ConnectionPool, retryPolicy,
+                new GatewayMetrics(new SimpleMeterRegistry()));
+    }
+
+    /**
+     * Stops the upstreams.
+     */
+    @After
+    public void tearDown() {
+        servers.forEach(DisposableServer::disposeNow);
+        http2ConnectionPool.destroy();
+    }
+
+    /**
+     * A 503 of an idempotent request is retried on the next upstream.
+     */
+    @Test
+    public void testUnavailableRetried() {
+        Assert.assertEquals(HttpStatus.OK, execute(MockServerHttpRequest.get("http://localhost/test").build(), unavailable, ok));
+        Assert.assertEquals(1, unavailableHits.get());
+        Assert.assertEquals(1, okHits.get());
+        Assert.assertEquals(1L, retryPolicy.attempts());
+        Assert.assertEquals(1L, retryPolicy.successes());
+    }
+
+    /**
+     * A 503 of a post is handed back as is.
+     */
+    @Test
+    public void testUnavailableNotRetriedForPost() {
+        Assert.assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                execute(MockServerHttpRequest.post("http://localhost/test").body("body"), unavailable, ok));
+        Assert.assertEquals(0, okHits.get());
+        Assert.assertEquals(0L, retryPolicy.attempts());
+    }
+
+    /**
+     * A refused connection retried onto a 503 is not retried again once the retries are used up.
+     */
+    @Test
+    public void testRefusedThenUnavailable() {
+        Assert.assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                execute(MockServerHttpRequest.get("http://localhost/test").build(), refused, unavailable));
+        Assert.assertEquals(1, unavailableHits.get());
+        Assert.assertEquals(1L, retryPolicy.attempts());
+        Assert.assertEquals(1L, retryPolicy.successes());
+    }
+
+    private String start(final int status, final AtomicInteger hits) {
+        DisposableServer server = HttpServer.create().host("127.0.0.1").port(0)
+                .handle((req, res) -> {
+                    hits.incrementAndGet();
+                    return req.receive().then(res.status(status).send().then());
+                })
+                .bindNow();
+        servers.add(server);
+        return "127.0.0.1:" + server.port();
+    }
+
+    private HttpStatus execute(final MockServerHttpRequest request, final String first, final String... others) {
+        final List<DivideUpstream> upstreamList = new ArrayList<>();
+        upstreamList.add(upstream(first));
+        Arrays.stream(others).map(this::upstream).forEach(upstreamList::add);
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(Constants.REQUESTDTO, new RequestDTO());
+        exchange.getAttributes().put(Constants.HTTP_URL, "http://" + first + "/test");
+        exchange.getAttributes().put(Constants.HTTP_FAILOVER,
+                new UpstreamFailover(upstreamList, "roundRobin", "127.0.0.1", 1,
+                        upstream -> "http://" + upstream.getUpstreamUrl() + "/test")
+                        .tried(upstreamList.get(0)));
+        plugin.execute(exchange, e -> Mono.empty()).block();
+        final Connection connection = exchange.getAttribute(Constants.CLIENT_RESPONSE_CONN_ATTR);
+        Assert.assertNotNull(connection);
+        connection.dispose();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private DivideUpstream upstream(final String url) {
+        DivideUpstream upstream = new DivideUpstream();
+        upstream.setUpstreamUrl(url);
+        upstream.setWeight(50);
+        return upstream;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.metrics.GatewayMetrics;
+import org.dromara.soul.web.plugin.http.hedge.HedgePolicy;
+import org.dromara.soul.web.plugin.http.hedge.HedgeRoute;
+import org.dromara.soul.web.plugin.http.retry.HttpRetryPolicy;
+import org.dromara.soul.web.plugin.http.retry.UpstreamFailover;
+import org.dromara.soul.web.request.RequestDTO;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Web client hedge test.
+ *
+ * @author xiaoyu
+ */
+public class WebClientHedgeTest {
+
+    private final Map<String, Mono<ClientResponse>> upstreams = new ConcurrentHashMap<>();
+
+    private final List<String> calls = new ArrayList<>();
+
+    private final AtomicInteger cancelled = new AtomicInteger();
+
+    private HedgePolicy hedgePolicy;
+
+    private WebClientPlugin plugin;
+
+    /**
+     * A slow primary is cancelled once the hedge answers, so its connection goes back to the pool.
+     */
+    @Test
+    public void testLosingPrimaryCancelled() {
+        setUp(new SoulConfig.Hedge());
+        upstreams.put("a", slow());
+        upstreams.put("b", Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+
+        MockServerWebExchange exchange = execute("a", "b");
+
+        Assert.assertEquals(HttpStatus.OK, status(exchange));
+        Assert.assertEquals("http://b/test", exchange.getAttribute(Constants.HTTP_URL));
+        Assert.assertEquals(Arrays.asList("a", "b"), calls);
+        Assert.assertEquals(1, cancelled.get());
+        Assert.assertEquals(1L, hedgePolicy.hedged());
+        Assert.assertEquals(1L, hedgePolicy.wins());
+    }
+
+    /**
+     * A slow hedge is cancelled once the primary answers.
+     */
+    @Test
+    public void testLosingHedgeCancelled() {
+        setUp(new SoulConfig.Hedge());
+        upstreams.put("a", Mono.delay(Duration.ofMillis(100))
+                .map(tick -> ClientResponse.create(HttpStatus.OK).build()));
+        upstreams.put("b", slow());
+
+        MockServerWebExchange exchange = execute("a", "b");
+
+        Assert.assertEquals(HttpStatus.OK, status(exchange));
+        Assert.assertEquals("http://a/test", exchange.getAttribute(Constants.HTTP_URL));
+        Assert.assertEquals(Arrays.asList("a", "b"), calls);
+        Assert.assertEquals(1, cancelled.get());
+        Assert.assertEquals(1L, hedgePolicy.hedged());
+        Assert.assertEquals(0L, hedgePolicy.wins());
+    }
+
+    /**
+     * Without a token the request is not hedged and waits for the primary.
+     */
+    @Test
+    public void testThrottled() {
+        SoulConfig.Hedge hedge = new SoulConfig.Hedge();
+        hedge.setBurst(0);
+        setUp(hedge);
+        upstreams.put("a", Mono.delay(Duration.ofMillis(100))
+                .map(tick -> ClientResponse.create(HttpStatus.OK).build()));
+        upstreams.put("b", slow());
+
+        MockServerWebExchange exchange = execute("a", "b");
+
+        Assert.assertEquals(HttpStatus.OK, status(exchange));
+        Assert.assertEquals(Collections.singletonList("a"), calls);
+        Assert.assertEquals(0L, hedgePolicy.hedged());
+        Assert.assertEquals(1L, hedgePolicy.throttled());
+    }
+
+    private void setUp(final SoulConfig.Hedge hedge) {
+        WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+            final String host = request.url().getHost();
+            synchronized (calls) {
+                calls.add(host);
+            }
+            return upstreams.get(host);
+        }).build();
+        hedgePolicy = new HedgePolicy(hedge);
+        plugin = new WebClientPlugin(webClient, new HttpRetryPolicy(new SoulConfig.Retry()), hedgePolicy,
+                new GatewayMetrics(new SimpleMeterRegistry()));
+    }
+
+    private Mono<ClientResponse> slow() {
+        return Mono.<ClientResponse>never().doOnCancel(cancelled::incrementAndGet);
+    }
+
+    private MockServerWebExchange execute(final String first, final String second) {
+        final List<DivideUpstream> upstreamList = Arrays.asList(upstream(first), upstream(second));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost/test"));
+        exchange.getAttributes().put(Constants.REQUESTDTO, new RequestDTO());
+        exchange.getAttributes().put(Constants.HTTP_URL, "http://" + first + "/test");
+        exchange.getAttributes().put(Constants.HTTP_HEDGE, new HedgeRoute("test", 10L));
+        exchange.getAttributes().put(Constants.HTTP_FAILOVER,
+                new UpstreamFailover(upstreamList, "roundRobin", "127.0.0.1", 1,
+                        upstream -> "http://" + upstream.getUpstreamUrl() + "/test")
+                        .tried(upstreamList.get(0)));
+        plugin.execute(exchange, e -> Mono.empty()).block(Duration.ofSeconds(5));
+        return exchange;
+    }
+
+    private HttpStatus status(final MockServerWebExchange exchange) {
+        final ClientResponse response = exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR);
+        Assert.assertNotNull(response);
+        return response.statusCode();
+    }
+
+    private DivideUpstream upstream(final String url) {
+        DivideUpstream upstream = new DivideUpstream();
+        upstream.setUpstreamUrl(url);
+        upstream.setWeight(50);
+        return upstream;
+    }
+}
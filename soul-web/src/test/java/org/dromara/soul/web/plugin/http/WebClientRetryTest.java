@@ -0,0 +1,131 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.metrics.GatewayMetrics;
+import org.dromara.soul.web.plugin.http.hedge.HedgePolicy;
+import org.dromara.soul.web.plugin.http.retry.HttpRetryPolicy;
+import org.dromara.soul.web.plugin.http.retry.UpstreamFailover;
+import org.dromara.soul.web.request.RequestDTO;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The type Web client retry test.
+ *
+ * @author xiaoyu
+ */
+public class WebClientRetryTest {
+
+    private final Map<String, Mono<ClientResponse>> upstreams = new ConcurrentHashMap<>();
+
+    private final List<String> calls = new ArrayList<>();
+
+    private HttpRetryPolicy retryPolicy;
+
+    private WebClientPlugin plugin;
+
+    /**
+     * Sets up a plugin whose web client answers from the stubbed upstreams.
+     */
+    @Before
+    public void setUp() {
+        WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+            final String host = request.url().getHost();
+            synchronized (calls) {
+                calls.add(host);
+            }
+            return upstreams.get(host);
+        }).build();
+        retryPolicy = new HttpRetryPolicy(new SoulConfig.Retry());
+        plugin = new WebClientPlugin(webClient, retryPolicy, new HedgePolicy(new SoulConfig.Hedge()),
+                new GatewayMetrics(new SimpleMeterRegistry()));
+    }
+
+    /**
+     * A connect error retried onto a 503 is not retried again once the retries are used up.
+     */
+    @Test
+    public void testErrorThenUnavailable() {
+        upstreams.put("a", Mono.error(new ConnectException("refused")));
+        upstreams.put("b", Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+        upstreams.put("c", Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+
+        Assert.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, execute("a", "b", "c"));
+        Assert.assertEquals(2, calls.size());
+        Assert.assertEquals(1L, retryPolicy.attempts());
+        Assert.assertEquals(1L, retryPolicy.successes());
+    }
+
+    /**
+     * A success after an error retry is recorded once.
+     */
+    @Test
+    public void testErrorThenSuccess() {
+        upstreams.put("a", Mono.error(new ConnectException("refused")));
+        upstreams.put("b", Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+
+        Assert.assertEquals(HttpStatus.OK, execute("a", "b"));
+        Assert.assertEquals(Arrays.asList("a", "b"), calls);
+        Assert.assertEquals(1L, retryPolicy.successes());
+    }
+
+    private HttpStatus execute(final String first, final String... others) {
+        final List<DivideUpstream> upstreamList = new ArrayList<>();
+        upstreamList.add(upstream(first));
+        upstreamList.addAll(Arrays.stream(others).map(this::upstream).collect(Collectors.toList()));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost/test"));
+        exchange.getAttributes().put(Constants.REQUESTDTO, new RequestDTO());
+        exchange.getAttributes().put(Constants.HTTP_URL, "http://" + first + "/test");
+        exchange.getAttributes().put(Constants.HTTP_FAILOVER,
+                new UpstreamFailover(upstreamList, "roundRobin", "127.0.0.1", 1,
+                        upstream -> "http://" + upstream.getUpstreamUrl() + "/test")
+                        .tried(upstreamList.get(0)));
+        plugin.execute(exchange, e -> Mono.empty()).block();
+        final ClientResponse response = exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR);
+        Assert.assertNotNull(response);
+        return response.statusCode();
+    }
+
+    private DivideUpstream upstream(final String url) {
+        DivideUpstream upstream = new DivideUpstream();
+        upstream.setUpstreamUrl(url);
+        upstream.setWeight(50);
+        return upstream;
+    }
+}
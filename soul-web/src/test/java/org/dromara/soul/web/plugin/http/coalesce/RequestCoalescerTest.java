@@ -0,0 +1,197 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.http.coalesce;
+
+import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The type Request coalescer test.
+ *
+ * @author xiaoyu
+ */
+public class RequestCoalescerTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private RequestCoalescer coalescer;
+
+    private DivideRuleHandle handle;
+
+    /**
+     * Sets up.
+     */
+    @Before
+    public void setUp() {
+        coalescer = new RequestCoalescer(1024);
+        handle = new DivideRuleHandle();
+        handle.setCoalesce(true);
+    }
+
+    /**
+     * A waiter replays the response of the leader.
+     */
+    @Test
+    public void testShared() {
+        final MonoProcessor<Void> release = MonoProcessor.create();
+        final MockServerWebExchange leader = exchange(MockServerHttpRequest.get("/a"));
+        final MockServerWebExchange waiter = exchange(MockServerHttpRequest.get("/a"));
+        final MonoProcessor<Void> leaderDone = start(leader, respond(release, "ok"));
+        final MonoProcessor<Void> waiterDone = start(waiter, respond(Mono.empty(), "own"));
+
+        release.onComplete();
+        leaderDone.block(WAIT);
+        waiterDone.block(WAIT);
+
+        Assert.assertEquals(1, upstreamCalls.get());
+        Assert.assertEquals(HttpStatus.OK, waiter.getResponse().getStatusCode());
+        Assert.assertEquals("ok", waiter.getResponse().getBodyAsString().block(WAIT));
+        Assert.assertEquals(1L, coalescer.calls());
+        Assert.assertEquals(1L, coalescer.shared());
+        Assert.assertEquals(0.5D, coalescer.collapseRatio(), 0.0001D);
+    }
+
+    /**
+     * A waiter calls the upstream itself when the leader fails.
+     */
+    @Test
+    public void testLeaderFailureFallback() {
+        final MonoProcessor<Void> failure = MonoProcessor.create();
+        final MockServerWebExchange waiter = exchange(MockServerHttpRequest.get("/a"));
+        final MonoProcessor<Void> leaderDone = start(exchange(MockServerHttpRequest.get("/a")), ex -> {
+            upstreamCalls.incrementAndGet();
+            return failure;
+        });
+        final MonoProcessor<Void> waiterDone = start(waiter, respond(Mono.empty(), "own"));
+
+        failure.onError(new IllegalStateException("upstream failed"));
+        waiterDone.block(WAIT);
+
+        Assert.assertTrue(leaderDone.isError());
+        Assert.assertEquals(2, upstreamCalls.get());
+        Assert.assertEquals("own", waiter.getResponse().getBodyAsString().block(WAIT));
+        Assert.assertEquals(1L, coalescer.fallbacks());
+        Assert.assertEquals(0L, coalescer.shared());
+    }
+
+    /**
+     * Waiters beyond the bound do not wait and call the upstream right away.
+     */
+    @Test
+    public void testMaxWaiters() {
+        handle.setCoalesceMaxWaiters(1);
+        final MonoProcessor<Void> release = MonoProcessor.create();
+        final MockServerWebExchange first = exchange(MockServerHttpRequest.get("/a"));
+        final MockServerWebExchange second = exchange(MockServerHttpRequest.get("/a"));
+        final MonoProcessor<Void> leaderDone = start(exchange(MockServerHttpRequest.get("/a")), respond(release, "ok"));
+        final MonoProcessor<Void> firstDone = start(first, respond(Mono.empty(), "own"));
+        final MonoProcessor<Void> secondDone = start(second, respond(Mono.empty(), "own"));
+
+        secondDone.block(WAIT);
+        Assert.assertFalse(firstDone.isTerminated());
+        Assert.assertEquals("own", second.getResponse().getBodyAsString().block(WAIT));
+
+        release.onComplete();
+        leaderDone.block(WAIT);
+        firstDone.block(WAIT);
+        Assert.assertEquals("ok", first.getResponse().getBodyAsString().block(WAIT));
+        Assert.assertEquals(2, upstreamCalls.get());
+        Assert.assertEquals(1L, coalescer.shared());
+        Assert.assertEquals(1L, coalescer.fallbacks());
+    }
+
+    /**
+     * A waiter calls the upstream itself once the coalesce timeout passed.
+     */
+    @Test
+    public void testTimeoutFallback() {
+        handle.setCoalesceTimeout(50);
+        final MockServerWebExchange waiter = exchange(MockServerHttpRequest.get("/a"));
+        start(exchange(MockServerHttpRequest.get("/a")), respond(Mono.never(), "ok"));
+        final MonoProcessor<Void> waiterDone = start(waiter, respond(Mono.empty(), "own"));
+
+        waiterDone.block(WAIT);
+
+        Assert.assertEquals(2, upstreamCalls.get());
+        Assert.assertEquals("own", waiter.getResponse().getBodyAsString().block(WAIT));
+        Assert.assertEquals(1L, coalescer.fallbacks());
+    }
+
+    /**
+     * Credentialed requests and private responses are never shared.
+     */
+    @Test
+    public void testNotShared() {
+        final MonoProcessor<Void> release = MonoProcessor.create();
+        start(exchange(MockServerHttpRequest.get("/a").header(HttpHeaders.COOKIE, "session=1")), respond(Mono.never(), "ok"));
+        start(exchange(MockServerHttpRequest.get("/a").header(HttpHeaders.AUTHORIZATION, "Bearer token")), respond(Mono.never(), "ok"));
+        Assert.assertEquals(2, upstreamCalls.get());
+        Assert.assertEquals(0L, coalescer.calls());
+
+        final MockServerWebExchange waiter = exchange(MockServerHttpRequest.get("/a"));
+        final MonoProcessor<Void> leaderDone = start(exchange(MockServerHttpRequest.get("/a")), ex -> {
+            ex.getResponse().getHeaders().setCacheControl("private");
+            return respond(release, "ok").apply(ex);
+        });
+        final MonoProcessor<Void> waiterDone = start(waiter, respond(Mono.empty(), "own"));
+        release.onComplete();
+        leaderDone.block(WAIT);
+        waiterDone.block(WAIT);
+
+        Assert.assertEquals("own", waiter.getResponse().getBodyAsString().block(WAIT));
+        Assert.assertEquals(0L, coalescer.shared());
+    }
+
+    private MonoProcessor<Void> start(final ServerWebExchange exchange, final Function<ServerWebExchange, Mono<Void>> call) {
+        final MonoProcessor<Void> done = MonoProcessor.create();
+        coalescer.execute(exchange, "rule", handle, call).subscribe(done);
+        return done;
+    }
+
+    private Function<ServerWebExchange, Mono<Void>> respond(final Mono<Void> trigger, final String body) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            return trigger.then(Mono.defer(() -> {
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                        .wrap(body.getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+    }
+
+    private static MockServerWebExchange exchange(final MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request.build());
+    }
+}
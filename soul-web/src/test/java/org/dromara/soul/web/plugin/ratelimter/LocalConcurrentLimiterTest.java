@@ -0,0 +1,95 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import org.dromara.soul.web.config.SoulConfig;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Local concurrent limiter test.
+ *
+ * @author xiaoyu
+ */
+public class LocalConcurrentLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    private LocalConcurrentLimiter limiter;
+
+    /**
+     * Sets up.
+     */
+    @Before
+    public void setUp() {
+        final SoulConfig.RateLimiter config = new SoulConfig.RateLimiter();
+        config.setConcurrentTimeout(1000L);
+        limiter = new LocalConcurrentLimiter(config, clock::get);
+    }
+
+    /**
+     * Slots are granted up to the capacity and come back on release.
+     */
+    @Test
+    public void testCapacity() {
+        final ConcurrentPermit first = acquire();
+        Assert.assertTrue(first.isAllowed());
+        Assert.assertEquals(1L, first.getRemaining());
+        Assert.assertEquals(0L, acquire().getRemaining());
+        Assert.assertFalse(acquire().isAllowed());
+        first.release();
+        Assert.assertTrue(acquire().isAllowed());
+    }
+
+    /**
+     * Releasing a permit twice frees one slot.
+     */
+    @Test
+    public void testDoubleRelease() {
+        final ConcurrentPermit first = acquire();
+        acquire();
+        first.release();
+        first.release();
+        Assert.assertTrue(acquire().isAllowed());
+        Assert.assertFalse(acquire().isAllowed());
+    }
+
+    /**
+     * Slots never released are dropped after the timeout.
+     */
+    @Test
+    public void testLeakedSlotsExpire() {
+        acquire();
+        acquire();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        Assert.assertFalse(acquire().isAllowed());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2));
+        Assert.assertTrue(acquire().isAllowed());
+        Assert.assertTrue(acquire().isAllowed());
+        Assert.assertFalse(acquire().isAllowed());
+    }
+
+    private ConcurrentPermit acquire() {
+        return limiter.acquire("rule", 2).block();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import org.dromara.soul.common.enums.RateLimiterModeEnum;
+import org.dromara.soul.web.config.SoulConfig;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Local rate limiter test.
+ *
+ * @author xiaoyu
+ */
+public class LocalRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    private LocalRateLimiter limiter;
+
+    /**
+     * Sets up.
+     */
+    @Before
+    public void setUp() {
+        final SoulConfig.RateLimiter config = new SoulConfig.RateLimiter();
+        config.setIdleTimeout(5000L);
+        limiter = new LocalRateLimiter(config, clock::get);
+    }
+
+    /**
+     * The burst capacity is served at once, then one request per replenish interval, as in the redis script.
+     */
+    @Test
+    public void testTokenBucketBurstAndRefill() {
+        for (long remaining = 4; remaining >= 0; remaining--) {
+            final RateLimiterResponse response = bucket();
+            Assert.assertTrue(response.isAllowed());
+            Assert.assertEquals(remaining, response.getTokensRemaining());
+        }
+        Assert.assertFalse(bucket().isAllowed());
+        advance(500);
+        Assert.assertFalse(bucket().isAllowed());
+        advance(500);
+        Assert.assertTrue(bucket().isAllowed());
+        Assert.assertFalse(bucket().isAllowed());
+        advance(10000);
+        int allowed = 0;
+        while (bucket().isAllowed()) {
+            allowed++;
+        }
+        Assert.assertEquals(5, allowed);
+    }
+
+    /**
+     * A zero rate refuses everything.
+     */
+    @Test
+    public void testZeroRate() {
+        Assert.assertFalse(limiter.isAllowed("a", 0, 5, RateLimiterModeEnum.LOCAL_TOKEN_BUCKET).isAllowed());
+    }
+
+    /**
+     * The previous window counts by its overlap with the sliding window.
+     */
+    @Test
+    public void testSlidingWindowWeighting() {
+        Assert.assertEquals(10, drain());
+        advance(1500);
+        Assert.assertEquals(5, drain());
+        advance(250);
+        Assert.assertEquals(2, drain());
+        advance(2250);
+        Assert.assertEquals(10, drain());
+    }
+
+    /**
+     * Keys unused for the idle timeout are dropped, used ones are kept.
+     */
+    @Test
+    public void testIdleEviction() {
+        bucket();
+        limiter.isAllowed("b", 10, 10, RateLimiterModeEnum.LOCAL_SLIDING_WINDOW);
+        Assert.assertEquals(2, limiter.keys());
+        advance(3000);
+        bucket();
+        advance(3000);
+        Assert.assertEquals(1, limiter.keys());
+        advance(3000);
+        Assert.assertEquals(0, limiter.keys());
+    }
+
+    private RateLimiterResponse bucket() {
+        return limiter.isAllowed("a", 1, 5, RateLimiterModeEnum.LOCAL_TOKEN_BUCKET);
+    }
+
+    private int drain() {
+        int allowed = 0;
+        while (limiter.isAllowed("w", 10, 10, RateLimiterModeEnum.LOCAL_SLIDING_WINDOW).isAllowed()) {
+            allowed++;
+        }
+        return allowed;
+    }
+
+    private void advance(final long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
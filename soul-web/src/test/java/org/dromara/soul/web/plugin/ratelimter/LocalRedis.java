@@ -0,0 +1,60 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * The type Local redis.
+ * a template on a redis at localhost:6379, for the script tests that are skipped without one.
+ *
+ * @author xiaoyu
+ */
+final class LocalRedis {
+
+    private static final String HOST = "localhost";
+
+    private static final int PORT = 6379;
+
+    private LocalRedis() {
+    }
+
+    /**
+     * The template, null when no redis is listening.
+     *
+     * @return the reactive redis template
+     */
+    static ReactiveRedisTemplate<String, String> template() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(HOST, PORT), 200);
+        } catch (IOException e) {
+            return null;
+        }
+        final LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(HOST, PORT));
+        factory.afterPropertiesSet();
+        return new ReactiveRedisTemplate<>(factory, RedisSerializationContext.string());
+    }
+}
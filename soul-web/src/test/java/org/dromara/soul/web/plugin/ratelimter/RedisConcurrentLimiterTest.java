@@ -0,0 +1,125 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.plugin.config.Singleton;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Redis concurrent limiter test.
+ * the release against a mocked template, concurrent_request_rate_limiter.lua against a local redis when there is one.
+ *
+ * @author xiaoyu
+ */
+public class RedisConcurrentLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * A permit removes its member once, however often it is released.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReleaseOnce() {
+        final ReactiveRedisTemplate template = mockTemplate(Flux.just(Arrays.asList(1L, 4L)));
+        final ReactiveZSetOperations zSet = Mockito.mock(ReactiveZSetOperations.class);
+        Mockito.when(zSet.remove(Mockito.any(), Mockito.any())).thenReturn(Mono.just(1L));
+        Mockito.when(template.opsForZSet()).thenReturn(zSet);
+        final ConcurrentPermit permit = limiter().acquire("rule", 5).block();
+        Assert.assertTrue(permit.isAllowed());
+        Assert.assertEquals(4L, permit.getRemaining());
+        permit.release();
+        permit.release();
+        Mockito.verify(zSet, Mockito.times(1)).remove(Mockito.eq("concurrent_request_rate_limiter.{rule}"), Mockito.any());
+    }
+
+    /**
+     * A full key refuses the request.
+     */
+    @Test
+    public void testRejected() {
+        mockTemplate(Flux.just(Arrays.asList(0L, 0L)));
+        Assert.assertFalse(limiter().acquire("rule", 5).block().isAllowed());
+    }
+
+    /**
+     * A redis error lets the request through.
+     */
+    @Test
+    public void testRedisErrorAllows() {
+        mockTemplate(Flux.error(new IllegalStateException("redis down")));
+        final ConcurrentPermit permit = limiter().acquire("rule", 5).block();
+        Assert.assertTrue(permit.isAllowed());
+        permit.release();
+    }
+
+    /**
+     * The script counts members up to the capacity, a release frees one and members older than the timeout are dropped.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void testScript() throws InterruptedException {
+        final ReactiveRedisTemplate<String, String> template = LocalRedis.template();
+        Assume.assumeNotNull(template);
+        Singleton.INST.single(ReactiveRedisTemplate.class, template);
+        final String id = UUID.randomUUID().toString();
+        final String key = "concurrent_request_rate_limiter.{" + id + "}";
+        final RedisConcurrentLimiter limiter = limiter();
+        final ConcurrentPermit first = limiter.acquire(id, 2).block();
+        Assert.assertTrue(first.isAllowed());
+        Assert.assertEquals(1L, first.getRemaining());
+        Assert.assertTrue(limiter.acquire(id, 2).block().isAllowed());
+        Assert.assertFalse(limiter.acquire(id, 2).block().isAllowed());
+        first.release();
+        for (int i = 0; i < 100 && template.opsForZSet().size(key).block() > 1L; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(limiter.acquire(id, 2).block().isAllowed());
+        Assert.assertFalse(limiter.acquire(id, 2).block().isAllowed());
+        clock.addAndGet(60001L);
+        Assert.assertTrue(limiter.acquire(id, 2).block().isAllowed());
+        template.delete(key).block();
+    }
+
+    private RedisConcurrentLimiter limiter() {
+        return new RedisConcurrentLimiter(new SoulConfig.RateLimiter(), clock::get);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ReactiveRedisTemplate mockTemplate(final Flux<?> result) {
+        final ReactiveRedisTemplate template = Mockito.mock(ReactiveRedisTemplate.class);
+        Mockito.when(template.execute(Mockito.any(RedisScript.class), Mockito.anyList(), Mockito.anyList())).thenReturn(result);
+        Singleton.INST.single(ReactiveRedisTemplate.class, template);
+        return template;
+    }
+}
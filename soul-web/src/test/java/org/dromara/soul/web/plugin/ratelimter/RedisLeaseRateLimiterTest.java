@@ -0,0 +1,176 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.ratelimter;
+
+import org.dromara.soul.web.config.SoulConfig;
+import org.dromara.soul.web.plugin.config.Singleton;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Redis lease rate limiter test.
+ * the limiter runs against a port of the lease script, the script itself against a local redis when there is one.
+ *
+ * @author xiaoyu
+ */
+public class RedisLeaseRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    private final Map<String, Double> tokens = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> timestamps = new ConcurrentHashMap<>();
+
+    private final List<Long> requested = new CopyOnWriteArrayList<>();
+
+    private RedisLeaseRateLimiter limiter;
+
+    /**
+     * Sets up.
+     */
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final ReactiveRedisTemplate template = Mockito.mock(ReactiveRedisTemplate.class);
+        Mockito.when(template.execute(Mockito.any(RedisScript.class), Mockito.anyList(), Mockito.anyList()))
+                .thenAnswer(invocation -> eval(invocation.getArgument(1), invocation.getArgument(2)));
+        Singleton.INST.single(ReactiveRedisTemplate.class, template);
+        final SoulConfig.RateLimiter config = new SoulConfig.RateLimiter();
+        config.setIdleTimeout(5000L);
+        limiter = new RedisLeaseRateLimiter(config, clock::get);
+    }
+
+    /**
+     * Tokens are leased in batches bounded by the error ratio, the burst is served exactly.
+     */
+    @Test
+    public void testLeasesInBatches() {
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(take().isAllowed());
+        }
+        Assert.assertFalse(take().isAllowed());
+        Assert.assertEquals(Long.valueOf(1L), requested.get(0));
+        Assert.assertEquals(Long.valueOf(10L), Collections.max(requested));
+        Assert.assertEquals(101, limiter.requests());
+        Assert.assertEquals(requested.size(), limiter.redisCalls());
+        Assert.assertTrue(limiter.redisCalls() < 20);
+    }
+
+    /**
+     * An expired lease gives its unused tokens back before leasing again.
+     */
+    @Test
+    public void testGivesBackOnExpiry() {
+        take();
+        take();
+        Assert.assertFalse(requested.contains(-9L));
+        clock.addAndGet(1001L);
+        Assert.assertTrue(take().isAllowed());
+        Assert.assertTrue(requested.contains(-9L));
+    }
+
+    /**
+     * An evicted lease gives its unused tokens back.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void testGivesBackOnEviction() throws InterruptedException {
+        take();
+        take();
+        clock.addAndGet(6000L);
+        limiter.cleanUp();
+        for (int i = 0; i < 100 && !requested.contains(-9L); i++) {
+            Thread.sleep(20);
+        }
+        Assert.assertTrue(requested.contains(-9L));
+        Assert.assertEquals(100D, tokens.values().iterator().next(), 0D);
+    }
+
+    /**
+     * The script grants what is there, takes unused tokens back up to the capacity and refills at the rate.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLeaseScript() {
+        final ReactiveRedisTemplate<String, String> template = LocalRedis.template();
+        Assume.assumeNotNull(template);
+        final DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("/META-INF/scripts/request_rate_limiter_lease.lua")));
+        redisScript.setResultType(List.class);
+        final String prefix = "request_rate_limiter_lease.{" + UUID.randomUUID();
+        final List<String> keys = Arrays.asList(prefix + "}.tokens", prefix + "}.timestamp");
+        final long now = System.currentTimeMillis();
+        Assert.assertEquals(Arrays.asList(10L, 90L), script(template, redisScript, keys, now, 10));
+        Assert.assertEquals(Arrays.asList(90L, 0L), script(template, redisScript, keys, now, 200));
+        Assert.assertEquals(Arrays.asList(0L, 50L), script(template, redisScript, keys, now, -50));
+        Assert.assertEquals(Arrays.asList(0L, 60L), script(template, redisScript, keys, now + 1000, 0));
+        Assert.assertEquals(Arrays.asList(0L, 100L), script(template, redisScript, keys, now + 1000, -500));
+    }
+
+    private RateLimiterResponse take() {
+        return limiter.isAllowed("rule", 10, 100).block();
+    }
+
+    private static List<Long> script(final ReactiveRedisTemplate<String, String> template, final RedisScript<List<Long>> script,
+                                     final List<String> keys, final long now, final long lease) {
+        return template.execute(script, keys, Arrays.asList("10", "100", now + "", lease + "")).blockFirst();
+    }
+
+    /**
+     * the lease script in java.
+     */
+    private Flux<List<Long>> eval(final List<String> keys, final List<String> args) {
+        final double rate = Double.parseDouble(args.get(0));
+        final double capacity = Double.parseDouble(args.get(1));
+        final long now = Long.parseLong(args.get(2));
+        final long lease = Long.parseLong(args.get(3));
+        requested.add(lease);
+        final double delta = Math.max(0L, now - timestamps.getOrDefault(keys.get(1), 0L)) / 1000D;
+        double filled = Math.min(capacity, tokens.getOrDefault(keys.get(0), capacity) + delta * rate);
+        long granted = 0L;
+        if (lease < 0) {
+            filled = Math.min(capacity, filled - lease);
+        } else {
+            granted = Math.min(lease, (long) Math.floor(filled));
+            filled -= granted;
+        }
+        tokens.put(keys.get(0), filled);
+        timestamps.put(keys.get(1), now);
+        return Flux.just(Arrays.asList(granted, (long) Math.floor(filled)));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.web.plugin.trace;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The type Trace context test.
+ *
+ * @author xiaoyu
+ */
+public class TraceContextTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    /**
+     * The gateway span is a child of the caller span and keeps its trace and flag.
+     */
+    @Test
+    public void testParse() {
+        final TraceContext context = TraceContext.parse(TRACEPARENT);
+        Assert.assertNotNull(context);
+        Assert.assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.getTraceId());
+        Assert.assertEquals("00f067aa0ba902b7", context.getParentSpanId());
+        Assert.assertTrue(context.isSampled());
+        Assert.assertNotEquals(context.getParentSpanId(), context.getSpanId());
+        Assert.assertEquals("00-4bf92f3577b34da6a3ce929d0e0e4736-" + context.getSpanId() + "-01", context.getTraceparent());
+    }
+
+    /**
+     * Invalid headers start a new trace.
+     */
+    @Test
+    public void testParseInvalid() {
+        Assert.assertNull(TraceContext.parse(null));
+        Assert.assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7"));
+        Assert.assertNull(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        Assert.assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"));
+        Assert.assertNull(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+        Assert.assertNull(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+        Assert.assertNull(TraceContext.parse(TRACEPARENT + "-extra"));
+        Assert.assertNotNull(TraceContext.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00-extra"));
+    }
+
+    /**
+     * A root context round trips through its own traceparent.
+     */
+    @Test
+    public void testRoot() {
+        final TraceContext root = TraceContext.root(false);
+        Assert.assertNull(root.getParentSpanId());
+        final TraceContext child = TraceContext.parse(root.getTraceparent());
+        Assert.assertNotNull(child);
+        Assert.assertEquals(root.getTraceId(), child.getTraceId());
+        Assert.assertEquals(root.getSpanId(), child.getParentSpanId());
+        Assert.assertFalse(child.isSampled());
+    }
+}